@@ -153,6 +153,7 @@ public class App extends AbstractUIPlugin
     @Override
     public void stop(BundleContext context) throws Exception
     {
+        AppContainer.Container.getComponent(IDstController.class).Dispose();
         AppContainer.Container.getComponent(IHubController.class).Close();
         AppContainer.Container.stop();
         super.stop(context);
@@ -0,0 +1,121 @@
+/*
+ * CountingHubTransferRegistrar.java
+ *
+ * Copyright (c) 2020-2024 Starion Group S.A.
+ *
+ * Author: Sam Gerené, Alex Vorobiev, Nathanael Smiechowski 
+ *
+ * This file is part of DEH-MDSYSML
+ *
+ * The DEH-MDSYSML is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * The DEH-MDSYSML is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package DstController;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import cdp4common.commondata.Thing;
+import cdp4common.engineeringmodeldata.ParameterOverride;
+import cdp4common.engineeringmodeldata.ParameterValueSetBase;
+import cdp4common.engineeringmodeldata.ValueSet;
+import cdp4common.types.ContainerList;
+import cdp4dal.operations.ThingTransaction;
+
+/**
+ * The {@linkplain CountingHubTransferRegistrar} is the {@linkplain IHubTransferRegistrar} of the transfer dry runs, 
+ * it only counts the {@linkplain Thing}s in a {@linkplain TransferEstimate}: nothing gets attached, registered, recorded or given an Iid
+ */
+public final class CountingHubTransferRegistrar implements IHubTransferRegistrar
+{
+    /**
+     * The {@linkplain TransferEstimate} that counts the registered {@linkplain Thing}s
+     */
+    private final TransferEstimate estimate;
+
+    /**
+     * The {@linkplain Thing}s registered so far
+     */
+    private final List<Thing> registeredThings = new ArrayList<>();
+
+    /**
+     * Initializes a new {@linkplain CountingHubTransferRegistrar}
+     * 
+     * @param estimate the {@linkplain TransferEstimate} that counts the registered {@linkplain Thing}s
+     */
+    public CountingHubTransferRegistrar(TransferEstimate estimate)
+    {
+        this.estimate = estimate;
+    }
+
+    /**
+     * Counts the provided {@linkplain Thing} without adding it to the provided {@linkplain ContainerList}
+     * 
+     * @param <TThing> the type of {@linkplain Thing}
+     * @param thing the {@linkplain Thing}
+     * @param containerList the {@linkplain ContainerList} of {@linkplain Thing} typed as TThing
+     * @param transaction the {@linkplain ThingTransaction}
+     */
+    @Override
+    public <TThing extends Thing> void AddOrUpdate(TThing thing, ContainerList<TThing> containerList, ThingTransaction transaction)
+    {
+        this.Register(transaction, thing);
+    }
+
+    /**
+     * Counts the provided {@linkplain Thing} without registering it in the provided {@linkplain ThingTransaction}
+     * 
+     * @param transaction the {@linkplain ThingTransaction}
+     * @param thing the {@linkplain Thing} to count
+     */
+    @Override
+    public void Register(ThingTransaction transaction, Thing thing)
+    {
+        this.estimate.AddThing(thing);
+        this.registeredThings.add(thing);
+    }
+
+    /**
+     * Records nothing, a dry run leaves the exchange history untouched
+     * 
+     * @param clone the {@linkplain ParameterValueSetBase} to update
+     * @param valueSet the {@linkplain ValueSet} that contains the new values
+     */
+    @Override
+    public void Record(ParameterValueSetBase clone, ValueSet valueSet) { }
+
+    /**
+     * Assigns nothing, a dry run leaves the mapped {@linkplain Thing}s untouched
+     * 
+     * @param parameterOverride the {@linkplain ParameterOverride}
+     */
+    @Override
+    public void PreassignIids(ParameterOverride parameterOverride) { }
+
+    /**
+     * Gets the counted {@linkplain Thing}s that do not exist yet on the HUB, that is the ones with the revision number 0
+     * 
+     * @param transaction the {@linkplain ThingTransaction}
+     * @return a {@linkplain Collection} of {@linkplain Thing}
+     */
+    @Override
+    public Collection<? extends Thing> GetAddedThings(ThingTransaction transaction)
+    {
+        return this.registeredThings.stream()
+                .filter(x -> x.getRevisionNumber() == 0)
+                .collect(Collectors.toList());
+    }
+}
@@ -26,22 +26,41 @@ package DstController;
 import static Utils.Operators.Operators.AreTheseEquals;
 
 import java.awt.EventQueue;
+import java.lang.reflect.InvocationTargetException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import org.apache.commons.lang3.time.StopWatch;
+import org.apache.commons.lang3.tuple.ImmutableTriple;
 import org.apache.commons.lang3.tuple.MutablePair;
 import org.apache.commons.lang3.tuple.Pair;
+import org.apache.commons.lang3.tuple.Triple;
 import org.apache.logging.log4j.Level;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.NullProgressMonitor;
 import org.eclipse.emf.common.util.EList;
+import org.eclipse.sirius.business.api.session.Session;
 import org.polarsys.capella.core.data.capellacore.CapellaElement;
 import org.polarsys.capella.core.data.capellacore.EnumerationPropertyType;
 import org.polarsys.capella.core.data.capellacore.NamedElement;
@@ -63,15 +82,18 @@ import org.polarsys.kitalpha.emde.model.Element;
 import org.polarsys.kitalpha.vp.requirements.Requirements.Folder;
 import org.polarsys.kitalpha.vp.requirements.Requirements.Requirement;
 
+import DstController.ElementDefinitionTransferPlan.ElementUsageTransferPlan;
 import Enumerations.CapellaArchitecture;
 import Enumerations.MappingDirection;
 import HubController.IHubController;
-import MappingRules.ComponentToElementMappingRule;
 import MappingRules.ElementToComponentMappingRule;
 import Reactive.ObservableCollection;
 import Reactive.ObservableValue;
 import Services.CapellaLog.ICapellaLogService;
+import Services.CapellaLog.NullCapellaLogService;
+import Services.CapellaSession.CapellaSessionChange;
 import Services.CapellaSession.ICapellaSessionService;
+import Services.CapellaTransaction.CapellaTransactionStage;
 import Services.CapellaTransaction.ClonedReferenceElement;
 import Services.CapellaTransaction.ICapellaTransactionService;
 import Services.CapellaUserPreference.ICapellaUserPreferenceService;
@@ -106,7 +128,6 @@ import cdp4common.commondata.ShortNamedThing;
 import cdp4common.commondata.Thing;
 import cdp4common.engineeringmodeldata.BinaryRelationship;
 import cdp4common.engineeringmodeldata.ElementDefinition;
-import cdp4common.engineeringmodeldata.ElementUsage;
 import cdp4common.engineeringmodeldata.Iteration;
 import cdp4common.engineeringmodeldata.Parameter;
 import cdp4common.engineeringmodeldata.ParameterOrOverrideBase;
@@ -189,9 +210,119 @@ public final class DstController implements IDstController
     private boolean isHubSessionRefreshSilent;
 
     /**
-     * The private collection of mapped {@linkplain BinaryRelationship} to {@linkplain Traces}
+     * Holds the {@linkplain CapellaSessionChange}s committed since the mapping was last loaded
      */
-    private ObservableCollection<Trace> mappedBinaryRelationshipsToTraces = new ObservableCollection<>();
+    private final ArrayList<CapellaSessionChange> pendingSessionChanges = new ArrayList<>();
+
+    /**
+     * The number of {@linkplain CapellaSessionChange}s received so far
+     */
+    private final AtomicLong sessionChangeCount = new AtomicLong();
+
+    /**
+     * The number of changes that occurred to the {@linkplain #dstMapResult} and to the {@linkplain #hubMapResult} so far
+     */
+    private final AtomicLong mapResultRevision = new AtomicLong();
+
+    /**
+     * The {@linkplain MappingReloadScheduler} that coalesces the requests to reload the mapping
+     */
+    private final MappingReloadScheduler mappingReloadScheduler;
+
+    /**
+     * Gets the number of mapping reloads that were requested but got coalesced with another one or skipped because nothing changed
+     * 
+     * @return the number of suppressed reloads
+     */
+    @Override
+    public long GetSuppressedMappingReloadCount()
+    {
+        return this.mappingReloadScheduler.GetSuppressedReloadCount();
+    }
+
+    /**
+     * Stops the scheduled reloads of the mapping and releases the thread that runs them
+     */
+    @Override
+    public void Dispose()
+    {
+        this.mappingReloadScheduler.Dispose();
+    }
+
+    /**
+     * The rows added to the {@linkplain #dstMapResult} whose traces have not been mapped yet
+     */
+    private final ArrayList<MappedElementRowViewModel<DefinedThing, Element>> pendingDstTraceRows = new ArrayList<>();
+
+    /**
+     * The rows added to the {@linkplain #hubMapResult} whose {@linkplain BinaryRelationship}s have not been mapped yet
+     */
+    private final ArrayList<MappedElementRowViewModel<DefinedThing, Element>> pendingHubTraceRows = new ArrayList<>();
+
+    /**
+     * The number of bulk mapping operations in progress, the trace mapping is deferred until the last one completes
+     */
+    private int traceMappingDeferral;
+
+    /**
+     * The lock that guards the {@linkplain #pendingDstTraceRows}, the {@linkplain #pendingHubTraceRows} and the {@linkplain #traceMappingDeferral}, 
+     * the map results can be published from the mapping reload thread while rows are mapped from the UI thread
+     */
+    private final Object traceMappingLock = new Object();
+
+    /**
+     * The {@linkplain UUID}s of the {@linkplain ParameterOrOverrideBase} already registered in the current transfer {@linkplain ThingTransaction}
+     */
+    private final Set<UUID> parametersPreparedForTransfer = new HashSet<>();
+
+    /**
+     * The number of writes to the HUB performed by the transfer to the HUB in progress
+     */
+    private int hubTransferWriteCount;
+
+    /**
+     * The number of refreshes of the HUB cache performed by the transfer to the HUB in progress
+     */
+    private int hubTransferRefreshCount;
+
+    /**
+     * The {@linkplain TransferReport} of the last transfer
+     */
+    private TransferReport lastTransferReport = new TransferReport(MappingDirection.FromDstToHub);
+
+    /**
+     * The {@linkplain HubTransferCheckpoint} of the last chunked transfer to the HUB that did not complete
+     */
+    private HubTransferCheckpoint hubTransferCheckpoint;
+
+    /**
+     * The {@linkplain IHubTransferRegistrar} the preparation of the transfers to the HUB goes through, a {@linkplain CountingHubTransferRegistrar} during a dry run
+     */
+    private IHubTransferRegistrar hubTransferRegistrar;
+
+    /**
+     * The {@linkplain ICapellaLogService} the preparation of the transfers to the HUB reports to, a {@linkplain NullCapellaLogService} during a dry run
+     */
+    private ICapellaLogService transferLogService;
+
+    /**
+     * Gets the {@linkplain TransferReport} of the last transfer
+     * 
+     * @return a {@linkplain TransferReport}
+     */
+    @Override
+    public TransferReport GetLastTransferReport()
+    {
+        return this.lastTransferReport;
+    }
+
+    /**
+     * The private collection of mapped {@linkplain BinaryRelationship} to {@linkplain Traces}, keyed by the ids of their source and target elements
+     */
+    private KeyedObservableCollection<Pair<String, String>, Trace> mappedBinaryRelationshipsToTraces = 
+            new KeyedObservableCollection<>(x -> x.getSourceElement() != null && x.getTargetElement() != null 
+                ? Pair.of(x.getSourceElement().getId(), x.getTargetElement().getId()) 
+                : null);
     
     /**
      * Gets the {@linkplain ObservableCollection} of mapped {@linkplain Trace}s
@@ -205,9 +336,12 @@ public final class DstController implements IDstController
     }
     
     /**
-     * The private collection of mapped {@linkplain Traces} to  {@linkplain BinaryRelationship}
+     * The private collection of mapped {@linkplain Traces} to  {@linkplain BinaryRelationship}, keyed by the Iids of their source and target {@linkplain Thing}s
      */
-    private ObservableCollection<BinaryRelationship> mappedTracesToBinaryRelationships = new ObservableCollection<>();
+    private KeyedObservableCollection<Pair<UUID, UUID>, BinaryRelationship> mappedTracesToBinaryRelationships = 
+            new KeyedObservableCollection<>(x -> x.getSource() != null && x.getTarget() != null 
+                ? Pair.of(x.getSource().getIid(), x.getTarget().getIid()) 
+                : null);
 
     /**
      * Gets the {@linkplain ObservableCollection} of mapped {@linkplain BinaryRelationship}s
@@ -221,9 +355,10 @@ public final class DstController implements IDstController
     }
     
     /**
-     * Backing field for {@linkplain GetDstMapResult}
+     * Backing field for {@linkplain GetHubMapResult}, keyed by the id of the mapped {@linkplain Element}
      */
-    private ObservableCollection<MappedElementRowViewModel<DefinedThing, Element>> hubMapResult = new ObservableCollection<>();
+    private KeyedObservableCollection<String, MappedElementRowViewModel<DefinedThing, Element>> hubMapResult = 
+            new KeyedObservableCollection<>(x -> x.GetDstElement() != null ? ElementUtils.GetId(x.GetDstElement()) : null);
     
     /**
      * Gets The {@linkplain ObservableCollection} of Hub map result
@@ -237,9 +372,13 @@ public final class DstController implements IDstController
     }
     
     /**
-     * Backing field for {@linkplain GetDstMapResult}
+     * Backing field for {@linkplain GetDstMapResult}, keyed by the Iid of the mapped {@linkplain Thing}
+     * or by the id of the source {@linkplain Element} when the {@linkplain Thing} is not known yet
      */
-    private ObservableCollection<MappedElementRowViewModel<DefinedThing, Element>> dstMapResult = new ObservableCollection<>();
+    private KeyedObservableCollection<Object, MappedElementRowViewModel<DefinedThing, Element>> dstMapResult = 
+            new KeyedObservableCollection<>(x -> x.GetHubElement() != null 
+                ? x.GetHubElement().getIid() 
+                : x.GetDstElement() != null ? ElementUtils.GetId(x.GetDstElement()) : null);
 
     /**
      * Gets The {@linkplain ObservableCollection} of DST map result
@@ -376,6 +515,25 @@ public final class DstController implements IDstController
         this.exchangeHistory = exchangeHistory;
         this.userPreferenceService = userPreferenceService;
         this.navigationService = navigationService;
+        this.hubTransferRegistrar = new HubTransferRegistrar(exchangeHistory);
+        this.transferLogService = logService;
+        
+        this.mappingReloadScheduler = new MappingReloadScheduler(this.GetMappingReloadWindow(), 
+                Executors.newSingleThreadExecutor(MappingReloadScheduler::CreateThread), 
+                this::GetMappingReloadState, (isFullReload, monitor) -> 
+                {
+                    if(isFullReload)
+                    {
+                        this.LoadMapping(monitor);
+                    }
+                    else
+                    {
+                        this.LoadPendingMapping(monitor);
+                    }
+                });
+        
+        this.dstMapResult.Changed().subscribe(x -> this.mapResultRevision.incrementAndGet());
+        this.hubMapResult.Changed().subscribe(x -> this.mapResultRevision.incrementAndGet());
         
         this.hubController.GetIsSessionOpenObservable().subscribe(isSessionOpen ->
         {
@@ -385,20 +543,39 @@ public final class DstController implements IDstController
                 this.dstMapResult.clear();
                 this.mappedTracesToBinaryRelationships.clear();
                 this.mappedBinaryRelationshipsToTraces.clear();
+                
+                synchronized(this.traceMappingLock)
+                {
+                    this.pendingDstTraceRows.clear();
+                    this.pendingHubTraceRows.clear();
+                }
+                
                 this.selectedDstMapResultForTransfer.clear();
                 this.selectedHubMapResultForTransfer.clear();
+                this.hubTransferCheckpoint = null;
             }
         });
         
+        this.capellaSessionService.SessionChanged()
+            .subscribe(x -> 
+            {
+                synchronized(this.pendingSessionChanges)
+                {
+                    this.pendingSessionChanges.add(x);
+                }
+                
+                this.sessionChangeCount.incrementAndGet();
+            });
+        
         this.capellaSessionService.SessionUpdated()
-            .subscribe(x -> this.LoadMapping());
+            .subscribe(x -> this.mappingReloadScheduler.Request(false));
         
         this.hubController.GetSessionEventObservable()
             .subscribe(x -> 
             {
                 if(!this.isHubSessionRefreshSilent)
                 {
-                    this.LoadMapping();
+                    this.mappingReloadScheduler.Request(true);
                 }
             });
         
@@ -428,8 +605,61 @@ public final class DstController implements IDstController
                  });
         }
         
-        this.GetDstMapResult().ItemsAdded().subscribe(x -> this.MapTraces(MappingDirection.FromDstToHub));
-        this.GetHubMapResult().ItemsAdded().subscribe(x -> this.MapTraces(MappingDirection.FromHubToDst));
+        this.GetDstMapResult().ItemsAdded().subscribe(x -> this.OnMapResultAdded(x, MappingDirection.FromDstToHub));
+        this.GetHubMapResult().ItemsAdded().subscribe(x -> this.OnMapResultAdded(x, MappingDirection.FromHubToDst));
+    }
+
+    /**
+     * Gets the time window within which the requests to reload the mapping are coalesced, from the user preferences
+     * 
+     * @return the window in milliseconds
+     */
+    private long GetMappingReloadWindow()
+    {
+        return this.userPreferenceService.Get(UserPreferenceKey.MappingReloadWindowInMilliseconds, 
+                Number.class, MappingReloadScheduler.DEFAULTWINDOWINMILLISECONDS).longValue();
+    }
+
+    /**
+     * Gets the maximum number of things written to the HUB at once, from the user preferences
+     * 
+     * @return the batch size, zero when the transfer is to be written in one go
+     */
+    private int GetHubTransferBatchSize()
+    {
+        return this.userPreferenceService.Get(UserPreferenceKey.HubTransferBatchSize, Number.class, 0).intValue();
+    }
+
+    /**
+     * Gets the state the mapping gets reloaded from, the hub iteration and mapping configuration revisions, the Capella models timestamps
+     * and the number of changes that occurred to the Capella models and to the map results
+     * 
+     * @return a {@linkplain List} of the state values, two equal states produce the same mapping
+     */
+    private List<Object> GetMappingReloadState()
+    {
+        var iteration = this.hubController.GetOpenIteration();
+        var externalIdentifierMap = this.mappingConfigurationService.GetExternalIdentifierMap();
+        
+        var state = new ArrayList<Object>(Arrays.asList(
+                iteration != null ? iteration.getIid() : null,
+                iteration != null ? iteration.getRevisionNumber() : null,
+                externalIdentifierMap != null ? externalIdentifierMap.getIid() : null,
+                externalIdentifierMap != null ? externalIdentifierMap.getRevisionNumber() : null,
+                this.sessionChangeCount.get(),
+                this.mapResultRevision.get()));
+        
+        for (var session : this.capellaSessionService.GetOpenSessions())
+        {
+            state.add(session);
+            
+            for (var resource : session.getSemanticResources())
+            {
+                state.add(resource.getTimeStamp());
+            }
+        }
+        
+        return state;
     }
 
     /**
@@ -438,13 +668,21 @@ public final class DstController implements IDstController
     private void AddOrRemoveTracesForTransfer()
     {
         this.selectedHubMapResultForTransfer.removeIf(x -> x instanceof Trace);
-        
-        var transferableTraces = this.mappedBinaryRelationshipsToTraces.stream()
-                .filter(x -> this.selectedHubMapResultForTransfer.stream().anyMatch(m -> AreTheseEquals(ElementUtils.GetId(m), x.getTargetElement().getId()))
-                        && this.selectedHubMapResultForTransfer.stream().anyMatch(m -> AreTheseEquals(ElementUtils.GetId(m), x.getSourceElement().getId())))
+        this.selectedHubMapResultForTransfer.addAll(this.GetTransferableTraces(this.selectedHubMapResultForTransfer));
+    }
+
+    /**
+     * Gets the mapped {@linkplain Trace}s whose source and target are both part of the provided selection
+     * 
+     * @param selection the {@linkplain Collection} of selected {@linkplain Element}
+     * @return a {@linkplain List} of {@linkplain Trace}
+     */
+    private List<Trace> GetTransferableTraces(Collection<? extends Element> selection)
+    {
+        return this.mappedBinaryRelationshipsToTraces.stream()
+                .filter(x -> selection.stream().anyMatch(m -> AreTheseEquals(ElementUtils.GetId(m), x.getTargetElement().getId()))
+                        && selection.stream().anyMatch(m -> AreTheseEquals(ElementUtils.GetId(m), x.getSourceElement().getId())))
                 .collect(Collectors.toList());
-        
-        this.selectedHubMapResultForTransfer.addAll(transferableTraces);
     }
 
     /**
@@ -453,14 +691,21 @@ public final class DstController implements IDstController
     private void AddOrRemoveBinaryRelationshipForTransfer()
     {
         this.selectedHubMapResultForTransfer.removeIf(x -> x instanceof BinaryRelationship);
+        this.selectedDstMapResultForTransfer.addAll(this.GetTransferableBinaryRelationships(this.selectedDstMapResultForTransfer));
+    }
 
-        var transferableBinaryRelationship = this.mappedTracesToBinaryRelationships.stream()
-                .filter(x -> this.selectedDstMapResultForTransfer.stream().anyMatch(m -> AreTheseEquals(m.getIid(), x.getTarget().getIid()))
-                        && this.selectedDstMapResultForTransfer.stream().anyMatch(m -> AreTheseEquals(m.getIid(), x.getSource().getIid())))
+    /**
+     * Gets the mapped {@linkplain BinaryRelationship}s whose source and target are both part of the provided selection
+     * 
+     * @param selection the {@linkplain Collection} of selected {@linkplain Thing}
+     * @return a {@linkplain List} of {@linkplain BinaryRelationship}
+     */
+    private List<BinaryRelationship> GetTransferableBinaryRelationships(Collection<? extends Thing> selection)
+    {
+        return this.mappedTracesToBinaryRelationships.stream()
+                .filter(x -> selection.stream().anyMatch(m -> AreTheseEquals(m.getIid(), x.getTarget().getIid()))
+                        && selection.stream().anyMatch(m -> AreTheseEquals(m.getIid(), x.getSource().getIid())))
                 .collect(Collectors.toList());
-        
-        this.selectedDstMapResultForTransfer.addAll(transferableBinaryRelationship);
-        
     }
 
     /**
@@ -469,12 +714,188 @@ public final class DstController implements IDstController
     @Override
     public void LoadMapping()
     {
+        this.LoadMapping(new NullProgressMonitor());
+    }
+
+    /**
+     * Loads the saved mapping and applies the mapping rule to the loaded things, 
+     * the map results are only published when the {@linkplain IProgressMonitor} has not been canceled in between
+     * 
+     * @param monitor the {@linkplain IProgressMonitor}
+     * @return a value indicating whether the loaded mapping got published
+     */
+    private boolean LoadMapping(IProgressMonitor monitor)
+    {
+        StopWatch timer = StopWatch.createStarted();
+        
+        synchronized(this.pendingSessionChanges)
+        {
+            this.pendingSessionChanges.clear();
+        }
+        
+        var mappedElements = new ArrayList<IMappedElementRowViewModel>();
+        var loadedDstMapResult = new ArrayList<MappedElementRowViewModel<DefinedThing, Element>>();
+        var loadedHubMapResult = new ArrayList<MappedElementRowViewModel<DefinedThing, Element>>();
+        var hasRun = false;
+        var result = false;
+        CapellaTransactionStage stage;
+        
+        this.transactionService.BeginStage();
+        
+        try
+        {
+            hasRun = this.capellaSessionService.RunExclusive(() -> mappedElements.addAll(this.mappingConfigurationService.LoadMapping(monitor)));
+            result = hasRun && !monitor.isCanceled() && this.MapLoadedElements(mappedElements, loadedDstMapResult, loadedHubMapResult, monitor);
+        }
+        finally
+        {
+            stage = this.transactionService.EndStage();
+        }
+        
+        if(!hasRun || monitor.isCanceled() || !this.PublishMapResult(x -> true, loadedDstMapResult, loadedHubMapResult, stage, monitor))
+        {
+            this.logService.Append("The loading of the saved mapping has been canceled by a newer request");
+            return false;
+        }
+        
+        timer.stop();
+            
+        if(!result)
+        {
+            this.logService.Append(String.format("Could not load %s saved mapped things for some reason, check the log for details", mappedElements.size()), Level.ERROR);
+            mappedElements.clear();
+            return true;
+        }
+        
+        this.logService.Append(String.format("Loaded %s saved mapping, done in %s ms", mappedElements.size(), timer.getTime(TimeUnit.MILLISECONDS)));
+        return true;
+    }
+
+    /**
+     * Reloads the saved mapping of the elements affected by the provided {@linkplain CapellaSessionChange}s only,
+     * the rows of the other elements are kept as they are. Falls back to {@linkplain #LoadMapping()} when no change is provided
+     * 
+     * @param changes the {@linkplain Collection} of {@linkplain CapellaSessionChange}
+     */
+    @Override
+    public void LoadMapping(Collection<CapellaSessionChange> changes)
+    {
+        this.LoadMapping(changes, new NullProgressMonitor());
+    }
+
+    /**
+     * Reloads the saved mapping of the elements affected by the provided {@linkplain CapellaSessionChange}s only,
+     * the map results are only published when the {@linkplain IProgressMonitor} has not been canceled in between
+     * 
+     * @param changes the {@linkplain Collection} of {@linkplain CapellaSessionChange}
+     * @param monitor the {@linkplain IProgressMonitor}
+     * @return a value indicating whether the reloaded mapping got published
+     */
+    private boolean LoadMapping(Collection<CapellaSessionChange> changes, IProgressMonitor monitor)
+    {
+        if(changes == null || changes.isEmpty())
+        {
+            return this.LoadMapping(monitor);
+        }
+        
         StopWatch timer = StopWatch.createStarted();
         
-        this.transactionService.Reset();
+        var affectedElements = new LinkedHashMap<String, Element>();
         
-        var mappedElements = this.mappingConfigurationService.LoadMapping();
+        for (var change : changes)
+        {
+            change.GetAddedElements().forEach(x -> affectedElements.put(ElementUtils.GetId(x), x));
+            change.GetChangedElements().forEach(x -> affectedElements.put(ElementUtils.GetId(x), x));
+            change.GetRemovedElements().forEach(x -> affectedElements.put(ElementUtils.GetId(x), null));
+        }
         
+        affectedElements.remove(null);
+        
+        Predicate<MappedElementRowViewModel<DefinedThing, Element>> isAffected = x -> x.GetDstElement() != null 
+                && affectedElements.containsKey(ElementUtils.GetId(x.GetDstElement()));
+        
+        var mappedElements = new ArrayList<IMappedElementRowViewModel>();
+        var reloadedDstMapResult = new ArrayList<MappedElementRowViewModel<DefinedThing, Element>>();
+        var reloadedHubMapResult = new ArrayList<MappedElementRowViewModel<DefinedThing, Element>>();
+        var hasRun = false;
+        var result = false;
+        CapellaTransactionStage stage;
+        
+        this.transactionService.BeginStage(affectedElements.keySet());
+        
+        try
+        {
+            hasRun = this.capellaSessionService.RunExclusive(() -> 
+                mappedElements.addAll(this.mappingConfigurationService.ReloadMapping(affectedElements.values().stream()
+                        .filter(x -> x != null)
+                        .collect(Collectors.toList()), monitor)));
+            
+            result = hasRun && !monitor.isCanceled() && this.MapLoadedElements(mappedElements, reloadedDstMapResult, reloadedHubMapResult, monitor);
+        }
+        finally
+        {
+            stage = this.transactionService.EndStage();
+        }
+        
+        if(!hasRun || monitor.isCanceled() || !this.PublishMapResult(isAffected, reloadedDstMapResult, reloadedHubMapResult, stage, monitor))
+        {
+            this.logService.Append("The reloading of the saved mapping has been canceled by a newer request");
+            return false;
+        }
+        
+        timer.stop();
+        
+        if(!result)
+        {
+            this.logService.Append(String.format("Could not reload %s saved mapped things for some reason, check the log for details", mappedElements.size()), Level.ERROR);
+            return true;
+        }
+        
+        this.logService.Append(String.format("Reloaded %s saved mapping for %s changed elements, done in %s ms", 
+                mappedElements.size(), affectedElements.size(), timer.getTime(TimeUnit.MILLISECONDS)));
+        
+        return true;
+    }
+
+    /**
+     * Reloads the mapping of the elements affected by the {@linkplain #pendingSessionChanges}, 
+     * the changes are put back in the {@linkplain #pendingSessionChanges} when the reload gets canceled
+     * 
+     * @param monitor the {@linkplain IProgressMonitor}
+     */
+    private void LoadPendingMapping(IProgressMonitor monitor)
+    {
+        List<CapellaSessionChange> changes;
+        
+        synchronized(this.pendingSessionChanges)
+        {
+            changes = new ArrayList<>(this.pendingSessionChanges);
+            this.pendingSessionChanges.clear();
+        }
+        
+        if(!this.LoadMapping(changes, monitor))
+        {
+            synchronized(this.pendingSessionChanges)
+            {
+                this.pendingSessionChanges.addAll(0, changes);
+            }
+        }
+    }
+
+    /**
+     * Sorts the provided loaded {@linkplain IMappedElementRowViewModel} by direction and by type and maps them
+     * into the provided map results, the mapping stops as soon as the {@linkplain IProgressMonitor} is canceled
+     * 
+     * @param mappedElements the loaded {@linkplain Collection} of {@linkplain IMappedElementRowViewModel}
+     * @param dstMapResult the {@linkplain Collection} that receives the {@linkplain MappingDirection#FromDstToHub} map result
+     * @param hubMapResult the {@linkplain Collection} that receives the {@linkplain MappingDirection#FromHubToDst} map result
+     * @param monitor the {@linkplain IProgressMonitor}
+     * @return a value indicating whether all the mapping operations went well
+     */
+    private boolean MapLoadedElements(Collection<IMappedElementRowViewModel> mappedElements, 
+            Collection<MappedElementRowViewModel<DefinedThing, Element>> dstMapResult,
+            Collection<MappedElementRowViewModel<DefinedThing, Element>> hubMapResult, IProgressMonitor monitor)
+    {
         var allMappedCapellaComponents = new CapellaComponentCollection();
         var allMappedCapellaRequirements = new CapellaRequirementCollection();
         var allMappedHubElements = new HubElementCollection();
@@ -487,27 +908,123 @@ public final class DstController implements IDstController
         mappedElements.stream()
             .filter(x -> x.GetMappingDirection() == MappingDirection.FromHubToDst)
             .forEach(x -> SortMappedElementByType(allMappedHubElements, allMappedHubRequirements, x));
-    
-        this.dstMapResult.clear();
-        this.hubMapResult.clear();
-        this.selectedHubMapResultForTransfer.clear();
-        this.selectedDstMapResultForTransfer.clear();
         
-        var result = this.Map(allMappedCapellaComponents, MappingDirection.FromDstToHub)
-                   & this.Map(allMappedCapellaRequirements, MappingDirection.FromDstToHub)
-                   & this.Map(allMappedHubElements, MappingDirection.FromHubToDst)
-                   & this.Map(allMappedHubRequirements, MappingDirection.FromHubToDst);
-    
-        timer.stop();
+        var result = true;
+        
+        for (var input : Arrays.<Pair<IMappableThingCollection, MappingDirection>>asList(
+                Pair.of(allMappedCapellaComponents, MappingDirection.FromDstToHub),
+                Pair.of(allMappedCapellaRequirements, MappingDirection.FromDstToHub),
+                Pair.of(allMappedHubElements, MappingDirection.FromHubToDst),
+                Pair.of(allMappedHubRequirements, MappingDirection.FromHubToDst)))
+        {
+            if(monitor.isCanceled())
+            {
+                return false;
+            }
             
-        if(!result)
+            result &= this.Map(input.getLeft(), input.getRight(), input.getRight() == MappingDirection.FromDstToHub ? dstMapResult : hubMapResult);
+        }
+        
+        return result;
+    }
+
+    /**
+     * Publishes the provided map results on the UI thread, where the views iterate over the map results and the selections, 
+     * unless the provided {@linkplain IProgressMonitor} gets canceled before the UI thread runs the publication.
+     * The provided {@linkplain CapellaTransactionStage} holding the clones the map results point to is applied along with the publication only
+     * 
+     * @param isReplaced the {@linkplain Predicate} that matches the rows to remove
+     * @param dstMapResult the {@linkplain Collection} of {@linkplain MappingDirection#FromDstToHub} {@linkplain MappedElementRowViewModel} to publish
+     * @param hubMapResult the {@linkplain Collection} of {@linkplain MappingDirection#FromHubToDst} {@linkplain MappedElementRowViewModel} to publish
+     * @param stage the {@linkplain CapellaTransactionStage} registered while mapping
+     * @param monitor the {@linkplain IProgressMonitor} to check for cancellation
+     * @return a value indicating whether the map results got published
+     */
+    private boolean PublishMapResult(Predicate<MappedElementRowViewModel<DefinedThing, Element>> isReplaced,
+            Collection<MappedElementRowViewModel<DefinedThing, Element>> dstMapResult,
+            Collection<MappedElementRowViewModel<DefinedThing, Element>> hubMapResult, CapellaTransactionStage stage, IProgressMonitor monitor)
+    {
+        var refIsPublished = new Ref<>(Boolean.class, false);
+        
+        this.RunOnUIThread(() -> 
         {
-            this.logService.Append(String.format("Could not load %s saved mapped things for some reason, check the log for details", mappedElements.size()), Level.ERROR);
-            mappedElements.clear();
+            if(!monitor.isCanceled())
+            {
+                this.transactionService.Apply(stage);
+                this.PublishMapResult(isReplaced, dstMapResult, hubMapResult);
+                refIsPublished.Set(true);
+            }
+        });
+        
+        return refIsPublished.Get();
+    }
+
+    /**
+     * Runs the provided {@linkplain Runnable} on the UI thread and waits for it to complete
+     * 
+     * @param runnable the {@linkplain Runnable} to run
+     */
+    private void RunOnUIThread(Runnable runnable)
+    {
+        if(EventQueue.isDispatchThread())
+        {
+            runnable.run();
             return;
         }
         
-        this.logService.Append(String.format("Loaded %s saved mapping, done in %s ms", mappedElements.size(), timer.getTime(TimeUnit.MILLISECONDS)));
+        try
+        {
+            EventQueue.invokeAndWait(runnable);
+        }
+        catch(InterruptedException exception)
+        {
+            Thread.currentThread().interrupt();
+        }
+        catch(InvocationTargetException exception)
+        {
+            this.logger.catching(exception.getCause());
+        }
+    }
+
+    /**
+     * Publishes the provided map results, the rows matching the provided {@linkplain Predicate} are removed and the provided rows are upserted 
+     * in one batch per map result, then the traces of the published rows are mapped
+     * 
+     * @param isReplaced the {@linkplain Predicate} that matches the rows to remove
+     * @param dstMapResult the {@linkplain Collection} of {@linkplain MappingDirection#FromDstToHub} {@linkplain MappedElementRowViewModel} to publish
+     * @param hubMapResult the {@linkplain Collection} of {@linkplain MappingDirection#FromHubToDst} {@linkplain MappedElementRowViewModel} to publish
+     */
+    private void PublishMapResult(Predicate<MappedElementRowViewModel<DefinedThing, Element>> isReplaced,
+            Collection<MappedElementRowViewModel<DefinedThing, Element>> dstMapResult,
+            Collection<MappedElementRowViewModel<DefinedThing, Element>> hubMapResult)
+    {
+        synchronized(this.traceMappingLock)
+        {
+            this.traceMappingDeferral++;
+        }
+        
+        try
+        {
+            this.selectedHubMapResultForTransfer.clear();
+            this.selectedDstMapResultForTransfer.clear();
+            this.dstMapResult.Replace(isReplaced, dstMapResult);
+            this.hubMapResult.Replace(isReplaced, hubMapResult);
+        }
+        finally
+        {
+            boolean isLastBulkOperation;
+            
+            synchronized(this.traceMappingLock)
+            {
+                isLastBulkOperation = --this.traceMappingDeferral == 0;
+            }
+            
+            if(isLastBulkOperation)
+            {
+                this.MapTraces(MappingDirection.FromDstToHub);
+                this.MapTraces(MappingDirection.FromHubToDst);
+            }
+        }
     }
 
     /**
@@ -535,7 +1052,31 @@ public final class DstController implements IDstController
     }
 
     /**
-     * Maps the traces/BinaryRelationship from either the {@linkplain #dstMapResult} or the {@linkplain #hubMapResult} depending on the provided {@linkplain MappingDirection}
+     * Occurs when rows are added to either the {@linkplain #dstMapResult} or the {@linkplain #hubMapResult}, 
+     * registers them for the trace mapping and maps their traces unless a bulk mapping operation is in progress
+     * 
+     * @param addedRows the added {@linkplain MappedElementRowViewModel}s
+     * @param mappingDirection the {@linkplain MappingDirection}
+     */
+    private void OnMapResultAdded(Collection<? extends MappedElementRowViewModel<DefinedThing, Element>> addedRows, MappingDirection mappingDirection)
+    {
+        boolean isDeferred;
+        
+        synchronized(this.traceMappingLock)
+        {
+            (mappingDirection == MappingDirection.FromDstToHub ? this.pendingDstTraceRows : this.pendingHubTraceRows).addAll(addedRows);
+            isDeferred = this.traceMappingDeferral > 0;
+        }
+        
+        if(!isDeferred)
+        {
+            this.MapTraces(mappingDirection);
+        }
+    }
+
+    /**
+     * Maps the traces/BinaryRelationship of the rows added to either the {@linkplain #dstMapResult} or the {@linkplain #hubMapResult} 
+     * since the last trace mapping, depending on the provided {@linkplain MappingDirection}. The other rows are only looked up as counterparts
      * 
      * @param mappingDirection the {@linkplain MappingDirection}
      * @return a {@linkplain boolean} indicating whether the mapping operation went well
@@ -543,21 +1084,93 @@ public final class DstController implements IDstController
     @SuppressWarnings("unchecked")
     private boolean MapTraces(MappingDirection mappingDirection)
     {
-        IMappableThingCollection input = null;
+        var isFromDstToHub = mappingDirection == MappingDirection.FromDstToHub;
+        var mapResult = isFromDstToHub ? this.dstMapResult : this.hubMapResult;
+        List<MappedElementRowViewModel<DefinedThing, Element>> pendingRows;
         
-        if(mappingDirection == MappingDirection.FromDstToHub)
+        synchronized(this.traceMappingLock)
         {
-            input = new CapellaTracedElementCollection();
-            ((ArrayList<MappedElementRowViewModel<? extends Thing, ? extends Element>>) input).addAll(this.dstMapResult);
+            var pendingTraceRows = isFromDstToHub ? this.pendingDstTraceRows : this.pendingHubTraceRows;
+            pendingRows = new ArrayList<>(pendingTraceRows);
+            pendingTraceRows.clear();
         }
-        else if(mappingDirection == MappingDirection.FromHubToDst)
+        
+        if(pendingRows.isEmpty())
         {
-            input = new HubRelationshipElementsCollection();
-            ((ArrayList<MappedElementRowViewModel<? extends Thing, ? extends Element>>) input).addAll(this.hubMapResult);
+            return true;
         }
-
+        
+        var mapResultRows = Collections.newSetFromMap(new IdentityHashMap<MappedElementRowViewModel<DefinedThing, Element>, Boolean>());
+        mapResultRows.addAll(mapResult);
+        
+        var addedRows = pendingRows.stream()
+                .filter(x -> mapResultRows.remove(x))
+                .collect(Collectors.toList());
+        
+        if(addedRows.isEmpty())
+        {
+            return true;
+        }
+        
+        this.RemoveMappedTracesOf(addedRows, mappingDirection);
+        
+        var allRows = (Collection<? extends MappedElementRowViewModel<? extends Thing, ? extends CapellaElement>>)(Collection<?>)mapResult;
+        var addedRowsToExamine = (Collection<? extends MappedElementRowViewModel<? extends Thing, ? extends CapellaElement>>)(Collection<?>)addedRows;
+        var shouldExamineAllRows = addedRows.size() == mapResult.size();
+        
+        if(isFromDstToHub)
+        {
+            var input = new CapellaTracedElementCollection();
+            input.addAll(allRows);
+            
+            if(!shouldExamineAllRows)
+            {
+                input.SetAddedElements(addedRowsToExamine);
+            }
+            
+            return this.MapTraces(input, mappingDirection);
+        }
+        
+        var input = new HubRelationshipElementsCollection();
+        input.addAll(allRows);
+        
+        if(!shouldExamineAllRows)
+        {
+            input.SetAddedElements(addedRowsToExamine);
+        }
+        
         return this.MapTraces(input, mappingDirection);
     }
+
+    /**
+     * Removes the mapped traces/BinaryRelationship that start from or end at one of the provided rows so they get mapped again from their current state
+     * 
+     * @param rows the {@linkplain Collection} of {@linkplain MappedElementRowViewModel} 
+     * @param mappingDirection the {@linkplain MappingDirection}
+     */
+    private void RemoveMappedTracesOf(Collection<MappedElementRowViewModel<DefinedThing, Element>> rows, MappingDirection mappingDirection)
+    {
+        if(mappingDirection == MappingDirection.FromDstToHub)
+        {
+            var hubElementIids = rows.stream()
+                    .filter(x -> x.GetHubElement() != null)
+                    .map(x -> x.GetHubElement().getIid())
+                    .collect(Collectors.toSet());
+            
+            this.mappedTracesToBinaryRelationships.removeIf(x -> (x.getSource() != null && hubElementIids.contains(x.getSource().getIid()))
+                    || (x.getTarget() != null && hubElementIids.contains(x.getTarget().getIid())));
+        }
+        else
+        {
+            var dstElementIds = rows.stream()
+                    .filter(x -> x.GetDstElement() != null)
+                    .map(x -> ElementUtils.GetId(x.GetDstElement()))
+                    .collect(Collectors.toSet());
+            
+            this.mappedBinaryRelationshipsToTraces.removeIf(x -> (x.getSourceElement() != null && dstElementIds.contains(x.getSourceElement().getId()))
+                    || (x.getTargetElement() != null && dstElementIds.contains(x.getTargetElement().getId())));
+        }
+    }
     
     /**
      * Maps the {@linkplain input} by calling the {@linkplain IMappingEngine}
@@ -567,28 +1180,33 @@ public final class DstController implements IDstController
      * @param mappingDirection the {@linkplain MappingDirection} towards the {@linkplain IMappableThingCollection} maps to
      * @return a {@linkplain boolean} indicating whether the mapping operation went well
      */
-    @SuppressWarnings("unchecked")
     private boolean MapTraces(IMappableThingCollection input, MappingDirection mappingDirection)
     {
         this.logService.Append("Mapping of Traces/BinaryRelationships in progress");
         var output = new Ref<ArrayList<?>>(null);
         var result = new Ref<Boolean>(Boolean.class, false);
         
-        if(this.TryMap(input, output, result));
+        if(this.TryMap(input, output, result))
         {
             if(mappingDirection == MappingDirection.FromDstToHub)
             {
-                var mappedBinaryRelationship = (ArrayList<BinaryRelationship>)output.Get();
-                this.mappedTracesToBinaryRelationships.removeIf(x -> mappedBinaryRelationship.stream().anyMatch(r -> AreTheseEquals(x.getIid(), r.getIid())));
-                this.mappedTracesToBinaryRelationships.addAll(mappedBinaryRelationship);
-                this.logService.Append("%s Binary Relationships were mapped from Capella Traces", output.Get().size());
+                var mappedBinaryRelationships = output.Get().stream()
+                        .filter(x -> x instanceof BinaryRelationship)
+                        .map(x -> (BinaryRelationship)x)
+                        .collect(Collectors.toList());
+                
+                this.mappedTracesToBinaryRelationships.Upsert(mappedBinaryRelationships);
+                this.logService.Append("%s Binary Relationships were mapped from Capella Traces", mappedBinaryRelationships.size());
             }
             else if(mappingDirection == MappingDirection.FromHubToDst)
             {
-                var mappedTraces = (ArrayList<Trace>)output.Get();
-                this.mappedBinaryRelationshipsToTraces.removeIf(x -> mappedTraces.stream().anyMatch(t -> AreTheseEquals(t.getSummary(), x.getSummary())));
-                this.mappedBinaryRelationshipsToTraces.addAll(mappedTraces);
-                this.logService.Append("%s Capella Traces were mapped from Binary Relationships", output.Get().size());
+                var mappedTraces = output.Get().stream()
+                        .filter(x -> x instanceof Trace)
+                        .map(x -> (Trace)x)
+                        .collect(Collectors.toList());
+                
+                this.mappedBinaryRelationshipsToTraces.Upsert(mappedTraces);
+                this.logService.Append("%s Capella Traces were mapped from Binary Relationships", mappedTraces.size());
             }
         }
         
@@ -604,37 +1222,55 @@ public final class DstController implements IDstController
      * @return a {@linkplain boolean} indicating whether the mapping operation went well
      */
     @Override
-    @SuppressWarnings("unchecked")
     public boolean Map(IMappableThingCollection input, MappingDirection mappingDirection)
+    {
+        var mapResult = new ArrayList<MappedElementRowViewModel<DefinedThing, Element>>();
+        var result = this.Map(input, mappingDirection, mapResult);
+        
+        if(mapResult.isEmpty())
+        {
+            return result;
+        }
+        
+        if (mappingDirection == MappingDirection.FromDstToHub)
+        {
+            this.selectedDstMapResultForTransfer.clear();                
+            return this.dstMapResult.Upsert(mapResult);
+        }
+        
+        this.selectedHubMapResultForTransfer.clear();
+        return this.hubMapResult.Upsert(mapResult);
+    }
+
+    /**
+     * Maps the {@linkplain input} by calling the {@linkplain IMappingEngine} and collects the map result into the provided {@linkplain Collection}
+     * 
+     * @param input the {@linkplain IMappableThingCollection} in other words the  {@linkplain Collection} of {@linkplain Object} to map
+     * @param mappingDirection the {@linkplain MappingDirection} towards the {@linkplain IMappableThingCollection} maps to
+     * @param mapResult the {@linkplain Collection} of {@linkplain MappedElementRowViewModel} that receives the map result
+     * @return a {@linkplain boolean} indicating whether the mapping operation went well
+     */
+    @SuppressWarnings("unchecked")
+    private boolean Map(IMappableThingCollection input, MappingDirection mappingDirection, Collection<MappedElementRowViewModel<DefinedThing, Element>> mapResult)
     {
         var output = new Ref<ArrayList<?>>(null);
         var result = new Ref<Boolean>(Boolean.class, false);
         
-        if(this.TryMap(input, output, result));
+        this.TryMap(input, output, result);
+        
+        var resultAsCollection = (ArrayList<MappedElementRowViewModel<DefinedThing, Element>>) output.Get();
+        
+        if(resultAsCollection != null && !resultAsCollection.isEmpty())
         {
-            var resultAsCollection = (ArrayList<MappedElementRowViewModel<DefinedThing, Element>>) output.Get();
-            
-            if(resultAsCollection != null && !resultAsCollection.isEmpty())
+            if (mappingDirection == MappingDirection.FromDstToHub
+                    && resultAsCollection.stream().allMatch(x -> x.GetHubElement() instanceof Thing || x.GetHubElement() == null))
             {
-                if (mappingDirection == MappingDirection.FromDstToHub
-                        && resultAsCollection.stream().allMatch(x -> x.GetHubElement() instanceof Thing || x.GetHubElement() == null))
-                {
-                    this.dstMapResult.removeIf(x -> resultAsCollection.stream()
-                            .filter(d -> d.GetHubElement() == null)
-                            .anyMatch(d -> AreTheseEquals(((Thing) d.GetHubElement()).getIid(), x.GetHubElement().getIid())));
-        
-                    this.selectedDstMapResultForTransfer.clear();                
-                    return this.dstMapResult.addAll(resultAsCollection.stream().filter(x -> x != null).collect(Collectors.toList()));
-                }
-                else if (mappingDirection == MappingDirection.FromHubToDst
-                        && resultAsCollection.stream().allMatch(x -> x.GetDstElement() instanceof Element))
-                {
-                    this.hubMapResult.removeIf(x -> resultAsCollection.stream()
-                            .anyMatch(d -> AreTheseEquals(ElementUtils.GetId(d.GetDstElement()), ElementUtils.GetId(x.GetDstElement()))));
-    
-                    this.selectedHubMapResultForTransfer.clear();
-                    return this.hubMapResult.addAll(resultAsCollection);
-                }
+                return mapResult.addAll(resultAsCollection.stream().filter(x -> x != null).collect(Collectors.toList()));
+            }
+            else if (mappingDirection == MappingDirection.FromHubToDst
+                    && resultAsCollection.stream().allMatch(x -> x.GetDstElement() instanceof Element))
+            {
+                return mapResult.addAll(resultAsCollection);
             }
         }
 
@@ -683,6 +1319,8 @@ public final class DstController implements IDstController
             switch(this.CurrentMappingDirection())
             {
                 case FromDstToHub:
+                    this.hubTransferWriteCount = 0;
+                    this.hubTransferRefreshCount = 0;
                     result = this.TransferToHub();
                     break;
                 case FromHubToDst:
@@ -696,7 +1334,18 @@ public final class DstController implements IDstController
             if(result.getRight().booleanValue())
             {
                 this.SaveMappingConfiguration();
-                result.left &= this.hubController.Refresh();
+                result.left &= this.RefreshHubForTransfer();
+            }
+            
+            if(this.CurrentMappingDirection() == MappingDirection.FromDstToHub)
+            {
+                this.ReportHubTransferRoundTrips();
+            }
+            
+            if(result.getLeft().booleanValue())
+            {
+                this.lastTransferReport.ResolveRevisionNumbers(this::GetRevisionNumber);
+                this.lastTransferReport.SetComplete();
             }
         } 
         catch (TransactionException exception)
@@ -707,11 +1356,195 @@ public final class DstController implements IDstController
         {
             (this.CurrentMappingDirection() == MappingDirection.FromHubToDst ? this.selectedHubMapResultForTransfer : this.selectedDstMapResultForTransfer).clear();
             this.isHubSessionRefreshSilent = false;
+            this.ApplyTransferReport(this.lastTransferReport);
+        }
+        
+        return result.getLeft();
+    }
+    
+    /**
+     * Runs the preparation of the selected things to be transfered depending on the current {@linkplain MappingDirection}
+     * without writing anything, neither to the HUB nor to Capella
+     * 
+     * @return the {@linkplain TransferEstimate} of what would be transfered
+     */
+    @Override
+    public TransferEstimate DryRunTransfer()
+    {
+        var estimate = new TransferEstimate(this.CurrentMappingDirection());
+        var transferReport = this.lastTransferReport;
+        var hubTransferRegistrar = this.hubTransferRegistrar;
+        var transferLogService = this.transferLogService;
+        
+        try
+        {
+            this.hubTransferRegistrar = new CountingHubTransferRegistrar(estimate);
+            this.transferLogService = new NullCapellaLogService();
+            this.lastTransferReport = new TransferReport(this.CurrentMappingDirection());
+            
+            if(this.CurrentMappingDirection() == MappingDirection.FromHubToDst)
+            {
+                this.DryRunTransferToDst(estimate);
+            }
+            else
+            {
+                this.DryRunTransferToHub(estimate);
+            }
+            
+            this.logService.Append("Transfer dry run: %s", estimate);
+        }
+        catch (Exception exception)
+        {
+            this.logService.Append(String.format("The transfer dry run failed because %s : %s", exception.getClass().getSimpleName(), exception.toString()), exception);
+        }
+        finally
+        {
+            this.hubTransferRegistrar = hubTransferRegistrar;
+            this.transferLogService = transferLogService;
+            this.lastTransferReport = transferReport;
+            this.parametersPreparedForTransfer.clear();
+        }
+        
+        return estimate;
+    }
+
+    /**
+     * Runs the preparation of the selected things to transfer to the HUB against a {@linkplain ThingTransaction} that never gets written
+     * 
+     * @param estimate the {@linkplain TransferEstimate} to fill
+     * @throws TransactionException can throw {@linkplain TransactionException}
+     */
+    private void DryRunTransferToHub(TransferEstimate estimate) throws TransactionException
+    {
+        StopWatch timer = StopWatch.createStarted();
+        
+        var selection = new ArrayList<Thing>(this.selectedDstMapResultForTransfer);
+        selection.addAll(this.GetTransferableBinaryRelationships(selection));
+        var thingsToTransfer = this.GetThingsToTransfer(selection);
+        estimate.AddPhase("Selection", timer.getTime(TimeUnit.MILLISECONDS));
+        
+        Pair<Iteration, ThingTransaction> iterationTransaction = this.hubController.GetIterationTransaction();
+        
+        timer.reset();
+        timer.start();
+        this.parametersPreparedForTransfer.clear();
+        this.PrepareThingsForTransfer(iterationTransaction.getLeft(), iterationTransaction.getRight(), thingsToTransfer);
+        estimate.AddPhase("Things preparation", timer.getTime(TimeUnit.MILLISECONDS));
+
+        timer.reset();
+        timer.start();
+        this.PrepareParameterValueSetsForTransfer(iterationTransaction.getRight(), thingsToTransfer);
+        estimate.AddPhase("Value sets preparation", timer.getTime(TimeUnit.MILLISECONDS));
+        
+        var batchSize = this.GetHubTransferBatchSize();
+        
+        if(batchSize > 0)
+        {
+            estimate.SetWriteCount(HubTransferBatchPlanner.Plan(thingsToTransfer, batchSize).size());
+        }
+        else
+        {
+            var hasDeferredParameterOverrides = this.HasParameterOverridesToTransferSeparately(thingsToTransfer);
+            estimate.SetWriteCount(hasDeferredParameterOverrides ? 2 : 1);
+            
+            if(hasDeferredParameterOverrides)
+            {
+                thingsToTransfer.stream()
+                    .filter(x -> x instanceof ElementDefinition)
+                    .flatMap(x -> ((ElementDefinition)x).getContainedElement().stream())
+                    .flatMap(x -> x.getParameterOverride().stream())
+                    .filter(ElementDefinitionTransferPlan::IsToBeTransferred)
+                    .forEach(estimate::AddThing);
+            }
+        }
+    }
+
+    /**
+     * Computes what the transfer of the selected elements to Capella would write. Nothing gets executed against the model, 
+     * the estimate is computed from the clones and the new elements the mapping has planned
+     * 
+     * @param estimate the {@linkplain TransferEstimate} to fill
+     */
+    private void DryRunTransferToDst(TransferEstimate estimate)
+    {
+        StopWatch timer = StopWatch.createStarted();
+        
+        var selection = new ArrayList<Element>(this.selectedHubMapResultForTransfer);
+        selection.removeIf(x -> x instanceof Trace);
+        selection.addAll(this.GetTransferableTraces(selection));
+        estimate.AddPhase("Selection", timer.getTime(TimeUnit.MILLISECONDS));
+        
+        timer.reset();
+        timer.start();
+        
+        for (var element : selection)
+        {
+            estimate.AddElement(element);
+            
+            if(this.transactionService.IsNew(element))
+            {
+                element.eAllContents().forEachRemaining(estimate::AddElement);
+            }
+            else if(this.transactionService.IsCloned(element))
+            {
+                element.eAllContents().forEachRemaining(x -> 
+                {
+                    if(x instanceof Element && this.transactionService.IsClonedOrNew((Element)x))
+                    {
+                        estimate.AddElement(x);
+                    }
+                });
+            }
+        }
+        
+        estimate.AddPhase("Elements analysis", timer.getTime(TimeUnit.MILLISECONDS));
+        estimate.SetWriteCount(selection.isEmpty() ? 0 : 1);
+    }
+    
+    /**
+     * Gets the revision number of the {@linkplain Thing} identified by the provided {@linkplain UUID} from the HUB cache
+     * 
+     * @param iid the {@linkplain UUID} of the {@linkplain Thing}
+     * @return the revision number or null when the {@linkplain Thing} is not found
+     */
+    private Integer GetRevisionNumber(UUID iid)
+    {
+        var refThing = new Ref<>(Thing.class);
+        return this.hubController.TryGetThingById(iid, refThing) ? refThing.Get().getRevisionNumber() : null;
+    }
+    
+    /**
+     * Applies the provided {@linkplain TransferReport} to the mapping state, only the mapping of the transferred elements gets reloaded.
+     * The whole mapping is reloaded when the transfer did not go through since what actually got written is unknown
+     * 
+     * @param transferReport the {@linkplain TransferReport} to apply
+     */
+    private void ApplyTransferReport(TransferReport transferReport)
+    {
+        if(!transferReport.IsComplete())
+        {
             this.logService.Append("Reloading the mapping configuration in progress...");
-            this.LoadMapping();
+            this.mappingReloadScheduler.Request(true);
+            return;
+        }
+        
+        this.logService.Append("Transfer report: %s", transferReport);
+        
+        if(transferReport.IsEmpty())
+        {
+            return;
+        }
+        
+        this.logService.Append("Reloading the mapping of the transferred elements in progress...");
+        
+        synchronized(this.pendingSessionChanges)
+        {
+            this.pendingSessionChanges.add(new CapellaSessionChange(null, 
+                    transferReport.GetCreatedElements(), Collections.emptyList(), transferReport.GetUpdatedElements()));
         }
         
-        return result.getLeft();
+        this.sessionChangeCount.incrementAndGet();
+        this.mappingReloadScheduler.Request(false);
     }
     
     /**
@@ -745,9 +1578,15 @@ public final class DstController implements IDstController
      */
     public boolean TransferToDst()
     {
+        this.lastTransferReport = new TransferReport(MappingDirection.FromHubToDst);
+        
         try
         {
-            var result = this.transactionService.Commit(() -> this.PrepareElementsForTransferToCapella());
+            var result = this.transactionService.Commit(() -> 
+            {
+                this.AddOrRemoveTracesForTransfer();
+                this.PrepareElementsForTransferToCapella(this.selectedHubMapResultForTransfer);
+            });
             this.logService.Append(String.format("Transfered %s elements to Capella", this.selectedHubMapResultForTransfer.size()), result);
             
             return result;
@@ -761,18 +1600,21 @@ public final class DstController implements IDstController
     }
 
     /**
-     * Prepares and transfers the actual changes selected in {@linkplain #selectedHubMapResultForTransfer}
+     * Prepares and transfers the actual changes of the provided selection, typically {@linkplain #selectedHubMapResultForTransfer}
+     * 
+     * @param selection the {@linkplain Collection} of selected {@linkplain Element}, including the transferable {@linkplain Trace}s
      */
-    private void PrepareElementsForTransferToCapella()
+    private void PrepareElementsForTransferToCapella(Collection<? extends Element> selection)
     {
-        this.AddOrRemoveTracesForTransfer();
-        
         var targetArchitecture = CapellaArchitecture.PhysicalArchitecture;
         
-        for (var element : this.selectedHubMapResultForTransfer)
+        for (var element : selection)
         {
             targetArchitecture = this.transactionService.GetTargetArchitecture(element);
             
+            this.lastTransferReport.AddElement(this.transactionService.IsCloned(element) ? this.transactionService.GetOriginal(element) : element, 
+                    this.transactionService.IsNew(element));
+            
             if(element instanceof Requirement)
             {
                 this.PrepareRequirement((Requirement)element, targetArchitecture);
@@ -793,7 +1635,7 @@ public final class DstController implements IDstController
             
             if(element instanceof Namespace)
             {
-                this.PrepareTraces((Namespace) element);
+                this.PrepareTraces((Namespace) element, selection);
             }
         }
 
@@ -802,40 +1644,105 @@ public final class DstController implements IDstController
 
 
     /**
-     * Prepares the deployment link by updating the part
+     * Prepares the deployment links of the top level {@linkplain Part}s of the provided {@linkplain CapellaArchitecture}
+     * by only adding or removing the links that differ from the mapped deployable {@linkplain Part}s
      * 
-     * @param element
+     * @param architecture the {@linkplain CapellaArchitecture}
      */
     private void PrepareDeployementLinks(CapellaArchitecture architecture)
     {
         var topElement = architecture != null ? this.capellaSessionService.GetTopElement(architecture) : this.capellaSessionService.GetTopElement();
         
+        if(topElement == null)
+        {
+            return;
+        }
+        
+        var partsToDeploy = this.GetDeployablePartsByContainer().getOrDefault(topElement.getId(), Collections.emptySet());
+        int keptLinkCount = 0;
+        int addedLinkCount = 0;
+        int removedLinkCount = 0;
+        
         for(var part : topElement.eContents().stream().filter(x -> x instanceof Part).map(x -> (Part)x).collect(Collectors.toList()))
         {
-            var partsToDeploy = this.hubMapResult.stream()
-                    .map(x -> this.transactionService.GetOriginal(x.GetDstElement()))
-                    .filter(x -> x.eContainer() != null && x.eContainer() instanceof Component && AreTheseEquals(((Component)x.eContainer()).getId(), topElement.getId()))
-                    .flatMap(x -> x.eContents().stream().filter(p -> p instanceof Part).map(p -> (Part)p))
-                    .collect(Collectors.toList());
-            
-            part.getOwnedDeploymentLinks().clear();
+            var reconciliation = this.ReconcileDeploymentLinks(part, partsToDeploy);
+            keptLinkCount += reconciliation.getLeft();
+            addedLinkCount += reconciliation.getMiddle();
+            removedLinkCount += reconciliation.getRight();
+        }
+        
+        this.logService.Append("Deployment links: %s kept, %s added, %s removed", keptLinkCount, addedLinkCount, removedLinkCount);
+    }
+
+    /**
+     * Gets the deployable {@linkplain Part}s of the mapped elements, keyed by the id of the {@linkplain Component} that contains the mapped elements
+     * 
+     * @return a {@linkplain Map} of the container id and the {@linkplain Set} of deployable {@linkplain Part}s
+     */
+    private Map<String, Set<Part>> GetDeployablePartsByContainer()
+    {
+        var deployablePartsByContainer = new HashMap<String, Set<Part>>();
+        
+        for (var mappedElement : this.hubMapResult)
+        {
+            var element = mappedElement.GetDstElement() != null ? this.transactionService.GetOriginal(mappedElement.GetDstElement()) : null;
             
-            for(var partToDeploy : partsToDeploy)
+            if(element == null || !(element.eContainer() instanceof Component))
             {
-                var newLink = this.transactionService.Create(PartDeploymentLink.class);
-                newLink.setLocation(part);
-                newLink.setDeployedElement(partToDeploy);
-                part.getOwnedDeploymentLinks().add(newLink);
+                continue;
             }
-        }        
+            
+            var deployableParts = deployablePartsByContainer.computeIfAbsent(((Component)element.eContainer()).getId(), x -> new LinkedHashSet<>());
+            
+            element.eContents().stream()
+                .filter(x -> x instanceof Part)
+                .map(x -> (Part)x)
+                .forEach(deployableParts::add);
+        }
+        
+        return deployablePartsByContainer;
+    }
+
+    /**
+     * Reconciles the deployment links owned by the provided location {@linkplain Part} with the provided deployable {@linkplain Part}s.
+     * Links that already deploy one of them are kept, missing ones are created, stale or duplicated ones are removed
+     * 
+     * @param location the {@linkplain Part} that owns the deployment links
+     * @param partsToDeploy the {@linkplain Set} of {@linkplain Part} that should be deployed on the location
+     * @return a {@linkplain Triple} of the kept, added and removed link counts
+     */
+    private Triple<Integer, Integer, Integer> ReconcileDeploymentLinks(Part location, Set<Part> partsToDeploy)
+    {
+        var missingParts = new LinkedHashSet<>(partsToDeploy);
+        var existingLinkCount = location.getOwnedDeploymentLinks().size();
+        
+        var linksToRemove = location.getOwnedDeploymentLinks().stream()
+                .filter(x -> !missingParts.remove(x.getDeployedElement()))
+                .collect(Collectors.toList());
+        
+        if(!linksToRemove.isEmpty())
+        {
+            location.getOwnedDeploymentLinks().removeAll(linksToRemove);
+        }
+        
+        for(var partToDeploy : missingParts)
+        {
+            var newLink = this.transactionService.Create(PartDeploymentLink.class);
+            newLink.setLocation(location);
+            newLink.setDeployedElement(partToDeploy);
+            location.getOwnedDeploymentLinks().add(newLink);
+        }
+        
+        return ImmutableTriple.of(existingLinkCount - linksToRemove.size(), missingParts.size(), linksToRemove.size());
     }
     
     /**
      * Prepares all the {@linkplain Traces} that can be added to the model where the specified {@linkplain Component} is the source element
      * 
      * @param element the {@linkplain Component} source element
+     * @param selection the {@linkplain Collection} of selected {@linkplain Element} that holds the {@linkplain Trace}s
      */
-    private void PrepareTraces(Namespace element)
+    private void PrepareTraces(Namespace element, Collection<? extends Element> selection)
     {
         var original = element;
         
@@ -844,7 +1751,7 @@ public final class DstController implements IDstController
            original = this.transactionService.GetClone(element).GetOriginal();
         }
         
-        original.getOwnedTraces().addAll(this.selectedHubMapResultForTransfer.stream().filter(x -> x instanceof Trace)
+        original.getOwnedTraces().addAll(selection.stream().filter(x -> x instanceof Trace)
             .map(x -> (Trace)x)
             .filter(x -> AreTheseEquals(x.getSourceElement().getId(), element.getId()))
             .collect(Collectors.toList()));
@@ -871,6 +1778,7 @@ public final class DstController implements IDstController
                     this.capellaSessionService.GetArchitectureInstance(targetArchitecture), true);
             
             interfacePackage.getOwnedInterfaces().add(interfaceToAdd);
+
             this.exchangeHistory.Append(interfaceToAdd, ChangeKind.CREATE);
         }
         
@@ -1167,12 +2075,15 @@ public final class DstController implements IDstController
                     }
                 }
                 
-                optionalProperty.get().setOwnedDefaultValue(clonedProperty.getOwnedDefaultValue());                
+                optionalProperty.get().setOwnedDefaultValue(clonedProperty.getOwnedDefaultValue());
+
                 this.exchangeHistory.Append(clonedProperty, optionalProperty.get());
+
                 continue;
             }
             
             clonedReference.GetOriginal().getOwnedFeatures().add(clonedProperty);
+
             this.exchangeHistory.Append(clonedProperty, ChangeKind.CREATE);
         }
         
@@ -1201,10 +2112,12 @@ public final class DstController implements IDstController
                 this.UpdateInterfaces(clonedPort.getRequiredInterfaces(), optionalPort.get().getRequiredInterfaces());
                 
                 this.exchangeHistory.Append(optionalPort.get(), ChangeKind.UPDATE);
+
                 continue;
             }
             
             clonedReference.GetOriginal().getOwnedFeatures().add(clonedPort);
+
             this.exchangeHistory.Append(clonedPort, ChangeKind.CREATE);
         }
     }
@@ -1238,6 +2151,7 @@ public final class DstController implements IDstController
                     }
 
                     clonedPart.GetOriginal().getOwnedPropertyValues().add(clonedProperty);
+
                     this.exchangeHistory.Append(clonedProperty, ChangeKind.CREATE);
                 }
 
@@ -1302,6 +2216,8 @@ public final class DstController implements IDstController
     @Override
     public MutablePair<Boolean, Boolean> TransferToHub()
     {
+        this.lastTransferReport = new TransferReport(MappingDirection.FromDstToHub);
+        
         try
         {
             Pair<Iteration, ThingTransaction> iterationTransaction = this.hubController.GetIterationTransaction();
@@ -1314,13 +2230,28 @@ public final class DstController implements IDstController
                 return MutablePair.of(true, false);
             }
             
-            this.PrepareThingsForTransfer(iterationClone, transaction);
-            this.hubController.Write(transaction);
+            this.AddOrRemoveBinaryRelationshipForTransfer();
+            var thingsToTransfer = this.GetThingsToTransfer(this.selectedDstMapResultForTransfer);
+            var batchSize = this.GetHubTransferBatchSize();
+            
+            if(batchSize > 0)
+            {
+                return this.TransferToHubInBatches(iterationTransaction, thingsToTransfer, batchSize);
+            }
+            
+            this.parametersPreparedForTransfer.clear();
+            this.PrepareThingsForTransfer(iterationClone, transaction, thingsToTransfer);
+            this.PrepareParameterValueSetsForTransfer(transaction, thingsToTransfer);
+            this.WriteToHubForTransfer(transaction);
+            
+            var result = true;
+            
+            if(this.HasParameterOverridesToTransferSeparately(thingsToTransfer))
+            {
+                result = this.RefreshHubForTransfer();
+                this.PrepareParameterOverrides(thingsToTransfer);
+            }
             
-            boolean result = this.hubController.Refresh();
-            this.PrepareParameterOverrides();
-            result &= this.hubController.Refresh();
-            this.UpdateParameterValueSets();
             return MutablePair.of(result, true);
         }
         catch (Exception exception)
@@ -1330,19 +2261,145 @@ public final class DstController implements IDstController
         }
     }
 
+    /**
+     * Transfers the provided {@linkplain Thing}s to the HUB in dependency ordered batches written one after the other.
+     * Each committed batch is recorded in the {@linkplain #hubTransferCheckpoint} so that a failed transfer resumes after the last committed batch
+     * 
+     * @param iterationTransaction the {@linkplain Iteration} clone and the {@linkplain ThingTransaction} that carries the log entry
+     * @param thingsToTransfer the {@linkplain Collection} of {@linkplain Thing} to transfer
+     * @param batchSize the maximum number of {@linkplain Thing}s per batch
+     * @return a {@linkplain MutablePair} of value where one indicates that all transfer could be completed and
+     * the other one indicates whether the mapping configuration should be persisted
+     * @throws TransactionException can throw {@linkplain TransactionException}
+     */
+    private MutablePair<Boolean, Boolean> TransferToHubInBatches(Pair<Iteration, ThingTransaction> iterationTransaction, 
+            Collection<Thing> thingsToTransfer, int batchSize) throws TransactionException
+    {
+        if(this.hubTransferCheckpoint == null || !this.hubTransferCheckpoint.CanResume(this.sessionChangeCount.get(), 
+                this.mapResultRevision.get(), thingsToTransfer, this.GetOpenIterationRevisionNumber()))
+        {
+            this.hubTransferCheckpoint = new HubTransferCheckpoint(this.sessionChangeCount.get(), 
+                    this.mapResultRevision.get(), thingsToTransfer, this.GetOpenIterationRevisionNumber());
+        }
+        else
+        {
+            this.logService.Append("Resuming the transfer to the HUB after %s committed batch(es)", this.hubTransferCheckpoint.GetCommittedBatchCount());
+        }
+        
+        var batches = HubTransferBatchPlanner.Plan(thingsToTransfer.stream()
+                .filter(x -> !this.hubTransferCheckpoint.IsCommitted(x))
+                .collect(Collectors.toList()), batchSize);
+        
+        var result = true;
+        
+        for (var index = 0; index < batches.size(); index++)
+        {
+            var batch = batches.get(index);
+            
+            if(index > 0)
+            {
+                iterationTransaction = this.hubController.GetIterationTransaction();
+            }
+            
+            this.parametersPreparedForTransfer.clear();
+            this.PrepareThingsForTransfer(iterationTransaction.getLeft(), iterationTransaction.getRight(), batch);
+            this.PrepareParameterValueSetsForTransfer(iterationTransaction.getRight(), batch);
+            this.WriteToHubForTransfer(iterationTransaction.getRight());
+            
+            var hasParameterOverridesToTransferSeparately = this.HasParameterOverridesToTransferSeparately(batch);
+            
+            if(hasParameterOverridesToTransferSeparately || index < batches.size() - 1)
+            {
+                result &= this.RefreshHubForTransfer();
+            }
+            
+            if(hasParameterOverridesToTransferSeparately)
+            {
+                this.PrepareParameterOverrides(batch);
+            }
+            
+            this.hubTransferCheckpoint.Commit(batch, this.GetOpenIterationRevisionNumber());
+            this.logService.Append("Batch %s/%s of %s thing(s) transferred to the HUB", index + 1, batches.size(), batch.size());
+        }
+        
+        this.hubTransferCheckpoint = null;
+        this.logService.Append("Transfer to the HUB done in %s batch(es)", batches.size());
+        return MutablePair.of(result, true);
+    }
+
+    /**
+     * Gets the revision number of the open {@linkplain Iteration}
+     * 
+     * @return the revision number, or -1 when no {@linkplain Iteration} is open
+     */
+    private int GetOpenIterationRevisionNumber()
+    {
+        var iteration = this.hubController.GetOpenIteration();
+        return iteration != null ? iteration.getRevisionNumber() : -1;
+    }
+
+    /**
+     * Gets a value indicating whether any of the {@linkplain ParameterOverride}s to transfer could not be part of the main {@linkplain ThingTransaction}
+     * 
+     * @param thingsToTransfer the {@linkplain Collection} of {@linkplain Thing} to transfer
+     * @return a value indicating whether a second write is required
+     */
+    private boolean HasParameterOverridesToTransferSeparately(Collection<? extends Thing> thingsToTransfer)
+    {
+        return thingsToTransfer.stream()
+                .filter(x -> x instanceof ElementDefinition)
+                .flatMap(x -> ((ElementDefinition)x).getContainedElement().stream())
+                .anyMatch(u -> u.getParameterOverride().stream()
+                        .anyMatch(x -> ElementDefinitionTransferPlan.IsToBeTransferred(x) 
+                                && !ElementDefinitionTransferPlan.IsTransferableWithItsContainer(u, x)));
+    }
+
+    /**
+     * Writes the provided {@linkplain ThingTransaction} to the HUB and counts the write as a round trip of the transfer in progress
+     * 
+     * @param transaction the {@linkplain ThingTransaction}
+     * @throws TransactionException can throw {@linkplain TransactionException}
+     */
+    private void WriteToHubForTransfer(ThingTransaction transaction) throws TransactionException
+    {
+        this.hubController.Write(transaction);
+        this.hubTransferWriteCount++;
+    }
+
+    /**
+     * Refreshes the HUB cache and counts the refresh as a round trip of the transfer in progress
+     * 
+     * @return a value indicating whether the refresh succeeded
+     */
+    private boolean RefreshHubForTransfer()
+    {
+        this.hubTransferRefreshCount++;
+        return this.hubController.Refresh();
+    }
+
+    /**
+     * Reports the writes and refreshes the last transfer to the HUB performed
+     */
+    private void ReportHubTransferRoundTrips()
+    {
+        this.logService.Append("Transfer to the HUB done in %s round trip(s), %s write(s) and %s refresh(es)", 
+                this.hubTransferWriteCount + this.hubTransferRefreshCount, this.hubTransferWriteCount, this.hubTransferRefreshCount);
+    }
+
    /**
     * Prepares all the {@linkplain ParameterOverrides}s that are to be updated or created
     * 
+    * @param thingsToTransfer the {@linkplain Collection} of {@linkplain Thing} to transfer
     * @throws TransactionException can throw {@linkplain TransactionException}
     */
     @Annotations.ExludeFromCodeCoverageGeneratedReport
-   private void PrepareParameterOverrides() throws TransactionException
+   private void PrepareParameterOverrides(Collection<? extends Thing> thingsToTransfer) throws TransactionException
     {
        Pair<Iteration, ThingTransaction> iterationTransaction = this.hubController.GetIterationTransaction();
        Iteration iterationClone = iterationTransaction.getLeft();
        ThingTransaction transaction = iterationTransaction.getRight();
        
-        var elementDefinitions = this.selectedDstMapResultForTransfer.stream()
+        var elementDefinitions = thingsToTransfer.stream()
                 .filter(x -> x instanceof ElementDefinition)
                 .map(x -> (ElementDefinition)x)
                 .filter(x -> !x.getContainedElement().isEmpty())
@@ -1357,12 +2414,14 @@ public final class DstController implements IDstController
             {
                 var updatedElementDefinition = refElementDefinition.Get().clone(false);
                 this.AddOrUpdateIterationAndTransaction(updatedElementDefinition, iterationClone.getElement(), transaction);
-                this.PrepareElementUsageForTransfer(iterationClone, transaction, updatedElementDefinition, true);
+                var elementDefinitionPlan = ElementDefinitionTransferPlan.Create(updatedElementDefinition, true);
+                this.PrepareElementUsageForTransfer(iterationClone, transaction, elementDefinitionPlan);
+                this.PrepareDefinitionsOfAddedElementUsagesForTransfer(transaction, elementDefinitionPlan.GetElementUsages());
             }           
         }
 
         transaction.createOrUpdate(iterationClone);
-        this.hubController.Write(transaction);
+        this.WriteToHubForTransfer(transaction);
     }
 
     /**
@@ -1376,14 +2435,31 @@ public final class DstController implements IDstController
         Iteration iterationClone = iterationTransaction.getLeft();
         ThingTransaction transaction = iterationTransaction.getRight();
         
-        var allParameterOverrides = this.selectedDstMapResultForTransfer.stream()
+        this.parametersPreparedForTransfer.clear();
+        this.PrepareParameterValueSetsForTransfer(transaction, this.selectedDstMapResultForTransfer);
+        
+        transaction.createOrUpdate(iterationClone);
+        this.WriteToHubForTransfer(transaction);
+    }
+    
+    /**
+     * Prepares the {@linkplain ValueSet}s of the {@linkplain Parameter}s and {@linkplain ParameterOverride}s that already exist on the HUB.
+     * Their value sets identifiers are known before anything is written, hence they can go along with the other {@linkplain Thing}s
+     * 
+     * @param transaction the {@linkplain ThingTransaction}
+     * @param thingsToTransfer the {@linkplain Collection} of {@linkplain Thing} to transfer
+     * @throws TransactionException can throw {@linkplain TransactionException}
+     */
+    private void PrepareParameterValueSetsForTransfer(ThingTransaction transaction, Collection<? extends Thing> thingsToTransfer) throws TransactionException
+    {
+        var allParameterOverrides = thingsToTransfer.stream()
                 .filter(x -> x instanceof ElementDefinition)
                 .flatMap(x -> ((ElementDefinition)x).getContainedElement().stream())
                 .flatMap(x -> x.getParameterOverride().stream())
                 .filter(x -> x.getOriginal() != null)
                 .collect(Collectors.toList());
         
-        var allParameters = this.selectedDstMapResultForTransfer.stream()
+        var allParameters = thingsToTransfer.stream()
                 .filter(x -> x instanceof ElementDefinition)
                 .flatMap(x -> ((ElementDefinition)x).getParameter().stream())
                 .filter(x -> x.getOriginal() != null)
@@ -1392,10 +2468,7 @@ public final class DstController implements IDstController
         this.UpdateParameterValueSets(transaction, allParameters, Parameter.class);
         this.UpdateParameterValueSets(transaction, allParameterOverrides, ParameterOverride.class);
         
-        transaction.createOrUpdate(iterationClone);
-        this.hubController.Write(transaction);
-        
-        this.logService.Append("%s ParameterOverrides and %s Parameter have been updated or created", allParameterOverrides.size(), allParameters.size());
+        this.transferLogService.Append("%s ParameterOverrides and %s Parameter have been updated or created", allParameterOverrides.size(), allParameters.size());
     }
     
     /**
@@ -1422,10 +2495,13 @@ public final class DstController implements IDstController
                 {
                     var clone = newParameterCloned.getValueSet().get(index).clone(false);
                     this.UpdateValueSet(clone, parameter.getValueSets().get(index));
-                    transaction.createOrUpdate(clone);
+                    this.Register(transaction, clone);
                 }
 
-                transaction.createOrUpdate(newParameterCloned);
+                if(this.parametersPreparedForTransfer.add(newParameterCloned.getIid()))
+                {
+                    this.Register(transaction, newParameterCloned);
+                }
             }
         }
     }
@@ -1438,42 +2514,76 @@ public final class DstController implements IDstController
      */
     private void UpdateValueSet(ParameterValueSetBase clone, ValueSet valueSet)
     {
-        this.exchangeHistory.Append(clone, valueSet);
+        this.hubTransferRegistrar.Record(clone, valueSet);
+        
         clone.setManual(valueSet.getManual());
         clone.setValueSwitch(valueSet.getValueSwitch());
     }
 
     /**
-     * Prepares all the {@linkplain Thing}s that are to be updated or created
+     * Gets all the {@linkplain Thing}s that are to be updated or created, that is the selected ones and the relationships of their mapped rows
      * 
-     * @param iterationClone the {@linkplain Iteration} clone
-     * @param transaction the {@linkplain ThingTransaction}
-     * @throws TransactionException can throw {@linkplain TransactionException}
+     * @param selection the {@linkplain Collection} of selected {@linkplain Thing}, including the transferable {@linkplain BinaryRelationship}s
+     * @return an {@linkplain ArrayList} of {@linkplain Thing}
      */
-    @Annotations.ExludeFromCodeCoverageGeneratedReport
-    private void PrepareThingsForTransfer(Iteration iterationClone, ThingTransaction transaction) throws TransactionException
+    private ArrayList<Thing> GetThingsToTransfer(Collection<? extends Thing> selection)
     {
-        this.AddOrRemoveBinaryRelationshipForTransfer();
-        ArrayList<Thing> thingsToTransfer = new ArrayList<>(this.selectedDstMapResultForTransfer);
+        ArrayList<Thing> thingsToTransfer = new ArrayList<>(selection);
+        
+        var selectedIids = selection.stream()
+                .map(Thing::getIid)
+                .collect(Collectors.toSet());
         
         Predicate<? super MappedElementRowViewModel<? extends Thing, ? extends Element>> selectedMappedElement = 
-                x -> this.selectedDstMapResultForTransfer.stream().anyMatch(t -> AreTheseEquals(t.getIid(), x.GetHubElement().getIid()));
+                x -> x.GetHubElement() != null && selectedIids.contains(x.GetHubElement().getIid());
                 
-        Collection<Relationship> relationships = this.dstMapResult.stream()
+        var selectedRows = this.dstMapResult.stream()
                 .filter(selectedMappedElement)
+                .collect(Collectors.toList());
+        
+        selectedRows.forEach(x -> this.lastTransferReport.AddElement(x.GetDstElement(), false));
+        
+        Collection<Relationship> relationships = selectedRows.stream()
                 .flatMap(x -> x.GetRelationships().stream())
                 .collect(Collectors.toList());
         
-        this.logService.Append("Processing %s relationship(s)", relationships.size() + this.selectedDstMapResultForTransfer.stream().filter(x -> x instanceof BinaryRelationship).count());
+        this.transferLogService.Append("Processing %s relationship(s)", relationships.size() + selection.stream().filter(x -> x instanceof BinaryRelationship).count());
         
         thingsToTransfer.addAll(relationships);
-                
+        return thingsToTransfer;
+    }
+
+    /**
+     * Prepares all the provided {@linkplain Thing}s that are to be updated or created
+     * 
+     * @param iterationClone the {@linkplain Iteration} clone
+     * @param transaction the {@linkplain ThingTransaction}
+     * @param thingsToTransfer the {@linkplain Collection} of {@linkplain Thing} to transfer
+     * @throws TransactionException can throw {@linkplain TransactionException}
+     */
+    @Annotations.ExludeFromCodeCoverageGeneratedReport
+    private void PrepareThingsForTransfer(Iteration iterationClone, ThingTransaction transaction, Collection<? extends Thing> thingsToTransfer) throws TransactionException
+    {
+        StopWatch timer = StopWatch.createStarted();
+        
+        var elementDefinitionPlans = new IdentityHashMap<ElementDefinition, ElementDefinitionTransferPlan>();
+        
+        ElementDefinitionTransferPlan.CreateAll(thingsToTransfer.stream()
+                    .filter(x -> x instanceof ElementDefinition)
+                    .map(x -> (ElementDefinition)x)
+                    .collect(Collectors.toList()), false)
+            .forEach(x -> elementDefinitionPlans.put(x.GetElementDefinition(), x));
+        
+        var planningTime = timer.getTime(TimeUnit.MILLISECONDS);
+        
         for (Thing thing : thingsToTransfer)
         {
+            this.lastTransferReport.AddThing(thing);
+            
             switch(thing.getClassKind())
             {
                 case ElementDefinition:
-                    this.PrepareElementDefinitionForTransfer(iterationClone, transaction, (ElementDefinition)thing);
+                    this.PrepareElementDefinitionForTransfer(iterationClone, transaction, elementDefinitionPlans.get(thing));
                     break;
                 case Requirement:
                     this.PrepareRequirementForTransfer(iterationClone, transaction, thing.getContainerOfType(RequirementsSpecification.class));
@@ -1490,90 +2600,106 @@ public final class DstController implements IDstController
             
             if(thing.getContainer() == null)
             {
-                this.logService.Append("%s thing %s has a null container", thing.getClassKind(), Level.ERROR, thing.getUserFriendlyName());
+                this.transferLogService.Append("%s thing %s has a null container", thing.getClassKind(), Level.ERROR, thing.getUserFriendlyName());
             }
         }
+        
+        this.PrepareDefinitionsOfAddedElementUsagesForTransfer(transaction, elementDefinitionPlans.values().stream()
+                .flatMap(x -> x.GetElementUsages().stream())
+                .collect(Collectors.toList()));
+        
+        timer.stop();
+        
+        this.transferLogService.Append("Planned %s element definition(s) in %s ms, prepared %s thing(s) for transfer in %s ms", 
+                elementDefinitionPlans.size(), planningTime, thingsToTransfer.size(), timer.getTime(TimeUnit.MILLISECONDS));
     }
 
     /**
-     * Prepares the provided {@linkplain ElementDefinition} for transfer
+     * Registers the provided {@linkplain ElementDefinitionTransferPlan} for transfer
      * 
      * @param iterationClone the {@linkplain Iteration} clone
      * @param transaction the {@linkplain ThingTransaction}
-     * @param elementDefinition the {@linkplain ElementDefinition} to prepare
+     * @param elementDefinitionPlan the {@linkplain ElementDefinitionTransferPlan} to register
      * @throws TransactionException can throw {@linkplain TransactionException}
      */
     private void PrepareElementDefinitionForTransfer(Iteration iterationClone, ThingTransaction transaction, 
-            ElementDefinition elementDefinition) throws TransactionException
+            ElementDefinitionTransferPlan elementDefinitionPlan) throws TransactionException
     {
-        this.PrepareElementUsageForTransfer(iterationClone, transaction, elementDefinition, false);
+        this.PrepareElementUsageForTransfer(iterationClone, transaction, elementDefinitionPlan);
 
-        this.AddOrUpdateIterationAndTransaction(elementDefinition, iterationClone.getElement(), transaction);
+        this.AddOrUpdateIterationAndTransaction(elementDefinitionPlan.GetElementDefinition(), iterationClone.getElement(), transaction);
         
-        this.PrepareParameterOrOverrideForTransfer(transaction, elementDefinition.getParameter());
+        this.PrepareParameterOrOverrideForTransfer(transaction, elementDefinitionPlan.GetParameters());
     }
 
     /**
-     * Prepares the provided {@linkplain ElementDefinition} contained {@linkplain ElementUsages} for transfer
+     * Registers the {@linkplain ElementUsages} of the provided {@linkplain ElementDefinitionTransferPlan} for transfer
      * 
      * @param iterationClone the {@linkplain Iteration} clone
      * @param transaction the {@linkplain ThingTransaction}
-     * @param elementDefinition the {@linkplain ElementDefinition} that might contain {@linkplain ElementUsages}
+     * @param elementDefinitionPlan the {@linkplain ElementDefinitionTransferPlan} that might contain {@linkplain ElementUsages}
      * @throws TransactionException can throw {@linkplain TransactionException}
      */
     private void PrepareElementUsageForTransfer(Iteration iterationClone, ThingTransaction transaction,
-            ElementDefinition elementDefinition, boolean shouldPrepareParameterOverride) throws TransactionException
+            ElementDefinitionTransferPlan elementDefinitionPlan) throws TransactionException
     {
-        for (ElementUsage elementUsage : elementDefinition.getContainedElement())
+        for (var elementUsagePlan : elementDefinitionPlan.GetElementUsages())
         {
-           this.AddOrUpdateIterationAndTransaction(elementUsage.getElementDefinition().clone(false), iterationClone.getElement(), transaction);
-           this.AddOrUpdateIterationAndTransaction(elementUsage, elementDefinition.getContainedElement(), transaction);
+           var elementUsage = elementUsagePlan.GetElementUsage();
+           this.AddOrUpdateIterationAndTransaction(elementUsagePlan.GetUsedElementDefinition(), iterationClone.getElement(), transaction);
+           this.AddOrUpdateIterationAndTransaction(elementUsage, elementDefinitionPlan.GetElementDefinition().getContainedElement(), transaction);
            
-           if(transaction.getAddedThing().stream().anyMatch(x -> AreTheseEquals(x.getIid(), elementUsage.getIid())))
-           {
-               this.PrepareDefinition(transaction, elementUsage);
-           }
+           elementUsagePlan.GetParameterOverrides().forEach(this.hubTransferRegistrar::PreassignIids);
            
-           if(shouldPrepareParameterOverride)
-           {
-               this.PrepareParameterOrOverrideForTransfer(transaction, elementUsage.getParameterOverride());
-           }
+           this.PrepareParameterOrOverrideForTransfer(transaction, elementUsagePlan.GetParameterOverrides());
         }
     }
 
     /**
-     * Prepare the provided parameters
+     * Registers the CIID {@linkplain Definition} of the provided {@linkplain ElementUsageTransferPlan}s whose {@linkplain ElementUsage} 
+     * got added to the {@linkplain ThingTransaction}. The added {@linkplain Thing}s are indexed once by Iid instead of being scanned for every usage
      * 
-     * @param <TParameter> the type of {@linkplain ParameterOrOverrideBase} to prepare
      * @param transaction the {@linkplain ThingTransaction}
-     * @param parameters the {@linkplain ContainerList} of {@linkplain ParameterOrOverrideBase} to prepare
-     * @param clazz the {@linkplain Class} of {@linkplain #TParameter}
+     * @param elementUsagePlans the {@linkplain Collection} of {@linkplain ElementUsageTransferPlan} that were registered
      * @throws TransactionException can throw {@linkplain TransactionException}
      */
-    private <TParameter extends ParameterOrOverrideBase> void PrepareParameterOrOverrideForTransfer(ThingTransaction transaction, ContainerList<TParameter> parameters) throws TransactionException
+    private void PrepareDefinitionsOfAddedElementUsagesForTransfer(ThingTransaction transaction, Collection<ElementUsageTransferPlan> elementUsagePlans) throws TransactionException
     {
-        for(var parameter : parameters.stream().filter(x -> x.getOriginal() != null || x.getRevisionNumber() == 0).collect(Collectors.toList()))
+        if(elementUsagePlans.stream().noneMatch(x -> x.GetDefinition() != null))
+        {
+            return;
+        }
+        
+        var addedThingIids = this.hubTransferRegistrar.GetAddedThings(transaction).stream()
+                .map(Thing::getIid)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        
+        for (var elementUsagePlan : elementUsagePlans)
         {
-            transaction.createOrUpdate(parameter);
+            var elementUsage = elementUsagePlan.GetElementUsage();
+            
+            if(elementUsagePlan.GetDefinition() != null && elementUsage.getIid() != null && addedThingIids.contains(elementUsage.getIid()))
+            {
+                this.AddOrUpdateIterationAndTransaction(elementUsagePlan.GetDefinition(), elementUsage.getDefinition(), transaction);
+            }
         }
     }
-    
+
     /**
-     * Prepares any transferable {@linkplain Definition} from the provided {@linkplain DefinedThing}
+     * Prepare the provided parameters
      * 
+     * @param <TParameter> the type of {@linkplain ParameterOrOverrideBase} to prepare
      * @param transaction the {@linkplain ThingTransaction}
-     * @param definedThing the {@linkplain DefinedThing} that can contain a transferable {@linkplain Definition}
+     * @param parameters the {@linkplain Collection} of new or modified {@linkplain ParameterOrOverrideBase} to prepare
      * @throws TransactionException can throw {@linkplain TransactionException}
      */
-    private void PrepareDefinition(ThingTransaction transaction, DefinedThing definedThing) throws TransactionException
+    private <TParameter extends ParameterOrOverrideBase> void PrepareParameterOrOverrideForTransfer(ThingTransaction transaction, Collection<TParameter> parameters) throws TransactionException
     {
-        var definition = definedThing.getDefinition().stream()
-                                                .filter(x -> AreTheseEquals(x.getLanguageCode(), ComponentToElementMappingRule.CIID))
-                                                .findFirst();
-        
-        if(definition.isPresent())
+        for(var parameter : parameters)
         {
-            this.AddOrUpdateIterationAndTransaction(definition.get(), definedThing.getDefinition(), transaction);
+            this.Register(transaction, parameter);
+            this.parametersPreparedForTransfer.add(parameter.getIid());
         }
     }
 
@@ -1596,11 +2722,11 @@ public final class DstController implements IDstController
         
         for(var requirement : requirementsSpecification.getRequirement())
         {
-            transaction.createOrUpdate(requirement);
+            this.Register(transaction, requirement);
             
             for (Definition definition : requirement.getDefinition())
             {
-                transaction.createOrUpdate(definition);
+                this.Register(transaction, definition);
             }
         }
     }
@@ -1616,7 +2742,7 @@ public final class DstController implements IDstController
     {
         for(RequirementsGroup requirementsGroup : groups)
         {
-            transaction.createOrUpdate(requirementsGroup);
+            this.Register(transaction, requirementsGroup);
             
             if(!requirementsGroup.getGroup().isEmpty())
             {
@@ -1639,17 +2765,7 @@ public final class DstController implements IDstController
     {
         try
         {
-            if(thing.getContainer() == null || containerList.stream().noneMatch(x -> x.getIid().equals(thing.getIid())))
-            {
-                containerList.add(thing);
-                this.exchangeHistory.Append(thing, ChangeKind.CREATE);   
-            }
-            else
-            {
-                this.exchangeHistory.Append(thing, ChangeKind.UPDATE);
-            }
-
-            transaction.createOrUpdate(thing);
+            this.hubTransferRegistrar.AddOrUpdate(thing, containerList, transaction);
         }
         catch (Exception exception)
         {
@@ -1657,6 +2773,18 @@ public final class DstController implements IDstController
         }
     }
 
+    /**
+     * Registers the provided {@linkplain Thing} in the provided {@linkplain ThingTransaction} through the current {@linkplain IHubTransferRegistrar}
+     * 
+     * @param transaction the {@linkplain ThingTransaction}
+     * @param thing the {@linkplain Thing} to create or update
+     * @throws TransactionException can throw {@linkplain TransactionException}
+     */
+    private void Register(ThingTransaction transaction, Thing thing) throws TransactionException
+    {
+        this.hubTransferRegistrar.Register(transaction, thing);
+    }
+
     /**
      * Adds or Removes all {@linkplain TElement} from/to the relevant selected things to transfer
      * depending on whether the {@linkplain ClassKind} was specified
@@ -1727,7 +2855,13 @@ public final class DstController implements IDstController
      */
     public <TElement extends Element> boolean TryGetElementByName(DefinedThing thing, Ref<TElement> refElement)
     {
-        return this.TryGetElementBy(x -> x instanceof NamedElement
+        return this.TryGetIndexedElementBy(session -> 
+        {
+            var candidates = new LinkedHashSet<Element>(this.capellaSessionService.GetElementsByName(session, thing.getName()));
+            candidates.addAll(this.capellaSessionService.GetElementsByName(session, thing.getShortName()));
+            return candidates;
+        }, 
+        x -> x instanceof NamedElement
                 && (AreTheseEquals(thing.getName(), ((NamedElement)x).getName(), true)
                         || AreTheseEquals(thing.getShortName(), ((NamedElement)x).getName(), true)), refElement);
     }
@@ -1741,10 +2875,15 @@ public final class DstController implements IDstController
      */
     public boolean TryGetRequirementByName(cdp4common.engineeringmodeldata.Requirement thing, Ref<Requirement> refElement)
     {
-        return this.TryGetElementBy(x -> x instanceof Requirement
-                && (AreTheseEquals(thing.getName(), ElementUtils.GetName(x), true)
-                && AreTheseEquals(thing.getShortName(), ((Requirement)x).getReqIFIdentifier(), true))
-                && thing.getContainer() instanceof cdp4common.commondata.NamedThing, refElement);
+        if(!(thing.getContainer() instanceof cdp4common.commondata.NamedThing))
+        {
+            return false;
+        }
+        
+        return this.TryGetIndexedElementBy(session -> this.capellaSessionService.GetElementsByReqIFIdentifier(session, thing.getShortName()),
+                x -> x instanceof Requirement
+                    && AreTheseEquals(thing.getName(), ElementUtils.GetName(x), true)
+                    && AreTheseEquals(thing.getShortName(), ((Requirement)x).getReqIFIdentifier(), true), refElement);
     }
         
     /**
@@ -1757,7 +2896,20 @@ public final class DstController implements IDstController
      */
     public <TElement extends Element> boolean TryGetElementById(String elementId, Ref<TElement> refElement)
     {
-        return this.TryGetElementBy(x -> AreTheseEquals(elementId, 
+        return this.TryGetIndexedElementBy(session -> 
+        {
+            var candidates = new ArrayList<Element>();
+            var element = this.capellaSessionService.GetElementById(session, elementId);
+            
+            if(element != null)
+            {
+                candidates.add(element);
+            }
+            
+            candidates.addAll(this.capellaSessionService.GetElementsByReqIFIdentifier(session, elementId));
+            return candidates;
+        }, 
+        x -> AreTheseEquals(elementId, 
                 (x instanceof Requirement 
                         ? ((Requirement)x).getReqIFIdentifier() 
                         : ((CapellaElement)x).getId())), refElement);
@@ -1772,18 +2924,57 @@ public final class DstController implements IDstController
      * @return a value indicating whether the {@linkplain CapellaElement} has been found
      */
     @Override
-    @SuppressWarnings("unchecked")
     public <TElement extends Element> boolean TryGetElementBy(Predicate<? super Element> predicate, Ref<TElement> refElement)
     {
-        var elementsBySession = this.capellaSessionService.GetAllCapellaElementsFromOpenSessions();
-        
-        for (var elements : elementsBySession.values())
+        return this.TryGetIndexedElementBy(session -> this.capellaSessionService.GetElementsOfType(session, refElement.GetType()), predicate, refElement);
+    }
+
+    /**
+     * Tries to get the corresponding element whose name matches the provided one and that answer to the provided {@linkplain Predicate}.
+     * The candidates come from the name index of each session, only the ones that belong to the provided {@linkplain CapellaArchitecture} 
+     * are then verified with the provided {@linkplain Predicate}
+     * 
+     * @param <TElement> the type of {@linkplain CapellaElement} to query
+     * @param name the {@linkplain String} name of the searched element
+     * @param targetArchitecture the {@linkplain CapellaArchitecture} the element belongs to, or null when any architecture fits
+     * @param predicate the {@linkplain Predicate} to verify in order to match the element
+     * @param refElement the {@linkplain Ref} of {@linkplain #TElement}
+     * @return a value indicating whether the {@linkplain CapellaElement} has been found
+     */
+    @Override
+    public <TElement extends Element> boolean TryGetElementBy(String name, CapellaArchitecture targetArchitecture, 
+            Predicate<? super Element> predicate, Ref<TElement> refElement)
+    {
+        return this.TryGetIndexedElementBy(session -> this.capellaSessionService.GetElementsByName(session, name).stream()
+                    .filter(x -> targetArchitecture == null || targetArchitecture.AreSameArchitecture(x))
+                    .collect(Collectors.toList()), 
+                predicate, refElement);
+    }
+
+    /**
+     * Tries to get the first candidate element that answer to the provided {@linkplain Predicate}, 
+     * the sessions are visited in the {@linkplain ICapellaSessionService#GetOpenSessionsInLookupOrder()} order 
+     * so that the result is the same regardless of the order the sessions were opened in
+     * 
+     * @param <TElement> the type of {@linkplain CapellaElement} to query
+     * @param candidatesSelector the {@linkplain Function} that gets the indexed candidates from one {@linkplain Session}
+     * @param predicate the {@linkplain Predicate} to verify in order to match the element
+     * @param refElement the {@linkplain Ref} of {@linkplain #TElement}
+     * @return a value indicating whether the {@linkplain CapellaElement} has been found
+     */
+    private <TElement extends Element> boolean TryGetIndexedElementBy(Function<Session, Collection<? extends Element>> candidatesSelector, 
+            Predicate<? super Element> predicate, Ref<TElement> refElement)
+    {
+        for (var session : this.capellaSessionService.GetOpenSessionsInLookupOrder())
         {
-            var element = elements.stream().filter(x -> refElement.GetType().isInstance(x)).filter(predicate).findFirst();
+            var element = candidatesSelector.apply(session).stream()
+                    .filter(x -> refElement.GetType().isInstance(x))
+                    .filter(predicate)
+                    .findFirst();
             
             if(element.isPresent())
             {
-                refElement.Set((TElement) element.get());
+                refElement.Set(refElement.GetType().cast(element.get()));
                 break;
             }
         }
@@ -1791,7 +2982,6 @@ public final class DstController implements IDstController
         return refElement.HasValue();
     }
 
-
     /**
      * Tries to get a {@linkplain EnumerationPropertyType} that matches the provided {@linkplain EnumerationParameterType}
      * 
@@ -1803,16 +2993,9 @@ public final class DstController implements IDstController
     @Override
     public boolean TryGetEnumerationPropertyType(EnumerationParameterType thing, Element referenceElement, Ref<EnumerationPropertyType> refDataType)
     {
-        var sessionUri = this.capellaSessionService.GetSession(referenceElement).getSessionResource().getURI();
-        
-        var elementsBySession = this.capellaSessionService.GetAllCapellaElementsFromOpenSessions();
-                
-        var dataTypes = elementsBySession.get(sessionUri).stream()
+        var optionalDatatype = this.GetElementsByNameOrShortName(thing, referenceElement).stream()
                 .filter(x -> x instanceof EnumerationPropertyType)
                 .map(x -> (EnumerationPropertyType)x)
-                .collect(Collectors.toList());
-        
-        var optionalDatatype = dataTypes.stream()
                 .filter(x -> AreTheseEquals(x.getName(), thing.getName(), true) 
                         || AreTheseEquals(x.getName(), thing.getShortName(), true))
                 .findAny();
@@ -1837,16 +3020,9 @@ public final class DstController implements IDstController
     @Override
     public <TThing extends NamedThing & ShortNamedThing> boolean TryGetDataType(TThing thing, Element referenceElement, Ref<DataType> refDataType)
     {
-        var sessionUri = this.capellaSessionService.GetSession(referenceElement).getSessionResource().getURI();
-        
-        var elementsBySession = this.capellaSessionService.GetAllCapellaElementsFromOpenSessions();
-                
-        var dataTypes = elementsBySession.get(sessionUri).stream()
+        var optionalScale = this.GetElementsByNameOrShortName(thing, referenceElement).stream()
                 .filter(x -> x instanceof DataType)
                 .map(x -> (DataType)x)
-                .collect(Collectors.toList());
-        
-        var optionalScale = dataTypes.stream()
                 .filter(x -> AreTheseEquals(x.getName(), thing.getName(), true) 
                         || AreTheseEquals(x.getName(), thing.getShortName(), true))
                 .findAny();
@@ -1858,4 +3034,21 @@ public final class DstController implements IDstController
         
         return refDataType.HasValue();
     }
+
+    /**
+     * Gets the {@linkplain Element} candidates named after the name or the short name of the provided {@linkplain Thing}
+     * from the session that owns the provided reference {@linkplain Element}
+     * 
+     * @param <TThing> the type of {@linkplain Thing} that is {@linkplain NamedThing} and {@linkplain ShortNamedThing}
+     * @param thing the {@linkplain #TThing} of reference
+     * @param referenceElement a {@linkplain CapellaElement} that will point to the right session
+     * @return a {@linkplain Collection} of {@linkplain Element}
+     */
+    private <TThing extends NamedThing & ShortNamedThing> Collection<Element> GetElementsByNameOrShortName(TThing thing, Element referenceElement)
+    {
+        var session = this.capellaSessionService.GetSession(referenceElement);
+        var candidates = new LinkedHashSet<Element>(this.capellaSessionService.GetElementsByName(session, thing.getName()));
+        candidates.addAll(this.capellaSessionService.GetElementsByName(session, thing.getShortName()));
+        return candidates;
+    }
 }
@@ -0,0 +1,316 @@
+/*
+ * ElementDefinitionTransferPlan.java
+ *
+ * Copyright (c) 2020-2024 Starion Group S.A.
+ *
+ * Author: Sam Gerené, Alex Vorobiev, Nathanael Smiechowski 
+ *
+ * This file is part of DEH-MDSYSML
+ *
+ * The DEH-MDSYSML is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * The DEH-MDSYSML is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package DstController;
+
+import static Utils.Operators.Operators.AreTheseEquals;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import MappingRules.ComponentToElementMappingRule;
+import cdp4common.commondata.Definition;
+import cdp4common.engineeringmodeldata.ElementDefinition;
+import cdp4common.engineeringmodeldata.ElementUsage;
+import cdp4common.engineeringmodeldata.Parameter;
+import cdp4common.engineeringmodeldata.ParameterOrOverrideBase;
+import cdp4common.engineeringmodeldata.ParameterOverride;
+import cdp4common.engineeringmodeldata.ParameterValueSet;
+
+/**
+ * The {@linkplain ElementDefinitionTransferPlan} is the immutable set of changes one {@linkplain ElementDefinition} brings to a transfer to the HUB.
+ * Computing a plan only reads the {@linkplain ElementDefinition}, hence the plans of several {@linkplain ElementDefinition}s can be computed in parallel,
+ * only their registration in the transaction has to happen on one thread
+ */
+public final class ElementDefinitionTransferPlan
+{
+    /**
+     * The number of {@linkplain ElementDefinition}s below which the plans are computed on the calling thread
+     */
+    private static final int PARALLELISMTHRESHOLD = 64;
+
+    /**
+     * The planned {@linkplain ElementDefinition}
+     */
+    private final ElementDefinition elementDefinition;
+
+    /**
+     * The plans of the contained {@linkplain ElementUsage}s
+     */
+    private final List<ElementUsageTransferPlan> elementUsages;
+
+    /**
+     * The {@linkplain Parameter}s to create or update
+     */
+    private final List<Parameter> parameters;
+
+    /**
+     * Initializes a new {@linkplain ElementDefinitionTransferPlan}
+     * 
+     * @param elementDefinition the planned {@linkplain ElementDefinition}
+     * @param elementUsages the plans of the contained {@linkplain ElementUsage}s
+     * @param parameters the {@linkplain Parameter}s to create or update
+     */
+    private ElementDefinitionTransferPlan(ElementDefinition elementDefinition, List<ElementUsageTransferPlan> elementUsages, List<Parameter> parameters)
+    {
+        this.elementDefinition = elementDefinition;
+        this.elementUsages = Collections.unmodifiableList(elementUsages);
+        this.parameters = Collections.unmodifiableList(parameters);
+    }
+
+    /**
+     * Computes the plan of the provided {@linkplain ElementDefinition}
+     * 
+     * @param elementDefinition the {@linkplain ElementDefinition}
+     * @param shouldIncludeAllParameterOverrides a value indicating whether the {@linkplain ParameterOverride}s that cannot be written
+     * along with their container have to be included as well
+     * @return an {@linkplain ElementDefinitionTransferPlan}
+     */
+    public static ElementDefinitionTransferPlan Create(ElementDefinition elementDefinition, boolean shouldIncludeAllParameterOverrides)
+    {
+        var elementUsages = elementDefinition.getContainedElement().stream()
+                .map(x -> new ElementUsageTransferPlan(x, 
+                        x.getElementDefinition().clone(false),
+                        x.getDefinition().stream()
+                            .filter(d -> AreTheseEquals(d.getLanguageCode(), ComponentToElementMappingRule.CIID))
+                            .findFirst()
+                            .orElse(null),
+                        x.getParameterOverride().stream()
+                            .filter(o -> IsToBeTransferred(o) && (shouldIncludeAllParameterOverrides || IsTransferableWithItsContainer(x, o)))
+                            .collect(Collectors.toList())))
+                .collect(Collectors.toList());
+        
+        var parameters = elementDefinition.getParameter().stream()
+                .filter(ElementDefinitionTransferPlan::IsToBeTransferred)
+                .collect(Collectors.toList());
+        
+        return new ElementDefinitionTransferPlan(elementDefinition, elementUsages, parameters);
+    }
+
+    /**
+     * Computes the plans of the provided {@linkplain ElementDefinition}s, in parallel on the common ForkJoin pool when there are enough of them
+     * 
+     * @param elementDefinitions the {@linkplain Collection} of {@linkplain ElementDefinition}
+     * @param shouldIncludeAllParameterOverrides a value indicating whether the {@linkplain ParameterOverride}s that cannot be written
+     * along with their container have to be included as well
+     * @return a {@linkplain List} of {@linkplain ElementDefinitionTransferPlan} in the order of the provided {@linkplain ElementDefinition}s
+     */
+    public static List<ElementDefinitionTransferPlan> CreateAll(Collection<ElementDefinition> elementDefinitions, boolean shouldIncludeAllParameterOverrides)
+    {
+        return CreateAll(elementDefinitions, shouldIncludeAllParameterOverrides, elementDefinitions.size() >= PARALLELISMTHRESHOLD);
+    }
+
+    /**
+     * Computes the plans of the provided {@linkplain ElementDefinition}s
+     * 
+     * @param elementDefinitions the {@linkplain Collection} of {@linkplain ElementDefinition}
+     * @param shouldIncludeAllParameterOverrides a value indicating whether the {@linkplain ParameterOverride}s that cannot be written
+     * along with their container have to be included as well
+     * @param isParallel a value indicating whether the plans are computed in parallel on the common ForkJoin pool
+     * @return a {@linkplain List} of {@linkplain ElementDefinitionTransferPlan} in the order of the provided {@linkplain ElementDefinition}s
+     */
+    static List<ElementDefinitionTransferPlan> CreateAll(Collection<ElementDefinition> elementDefinitions, boolean shouldIncludeAllParameterOverrides, boolean isParallel)
+    {
+        Stream<ElementDefinition> stream = isParallel ? elementDefinitions.parallelStream() : elementDefinitions.stream();
+        return stream.map(x -> Create(x, shouldIncludeAllParameterOverrides)).collect(Collectors.toList());
+    }
+
+    /**
+     * Gets a value indicating whether the provided {@linkplain ParameterOrOverrideBase} is new or modified
+     * 
+     * @param parameter the {@linkplain ParameterOrOverrideBase}
+     * @return a {@linkplain boolean}
+     */
+    static boolean IsToBeTransferred(ParameterOrOverrideBase parameter)
+    {
+        return parameter.getOriginal() != null || parameter.getRevisionNumber() == 0;
+    }
+
+    /**
+     * Gets a value indicating whether the provided {@linkplain ParameterOverride} can be written along with its {@linkplain ElementUsage}.
+     * The HUB accepts it in the same write as long as every Iid it refers to is known before the write: the ones of its container, 
+     * of the overridden {@linkplain Parameter} and of the {@linkplain ParameterValueSet}s its value sets override. 
+     * The value sets of a {@linkplain Parameter} created by the same transfer are created on the client, their Iids can then be pre-assigned
+     * 
+     * @param elementUsage the containing {@linkplain ElementUsage}
+     * @param parameterOverride the {@linkplain ParameterOverride}
+     * @return a value indicating whether the {@linkplain ParameterOverride} can be part of the main transaction
+     */
+    static boolean IsTransferableWithItsContainer(ElementUsage elementUsage, ParameterOverride parameterOverride)
+    {
+        var parameter = parameterOverride.getParameter();
+        
+        return elementUsage.getIid() != null
+                && parameter != null 
+                && parameter.getIid() != null
+                && parameterOverride.getValueSet().stream()
+                    .allMatch(x -> x.getParameterValueSet() != null 
+                        && (x.getParameterValueSet().getIid() != null || parameter.getRevisionNumber() == 0));
+    }
+
+    /**
+     * Pre-assigns the Iids the provided new {@linkplain ParameterOverride} misses, its own, the ones of its value sets 
+     * and the ones of the value sets of the overridden {@linkplain Parameter} when it is created by the same transfer, 
+     * so that it can be written along with its container
+     * 
+     * @param parameterOverride the {@linkplain ParameterOverride}
+     */
+    static void PreassignIids(ParameterOverride parameterOverride)
+    {
+        if(parameterOverride.getIid() == null)
+        {
+            parameterOverride.setIid(UUID.randomUUID());
+        }
+        
+        for (var valueSet : parameterOverride.getValueSet())
+        {
+            if(valueSet.getIid() == null)
+            {
+                valueSet.setIid(UUID.randomUUID());
+            }
+            
+            if(valueSet.getParameterValueSet() != null && valueSet.getParameterValueSet().getIid() == null 
+                    && parameterOverride.getParameter() != null && parameterOverride.getParameter().getRevisionNumber() == 0)
+            {
+                valueSet.getParameterValueSet().setIid(UUID.randomUUID());
+            }
+        }
+    }
+
+    /**
+     * Gets the planned {@linkplain ElementDefinition}
+     * 
+     * @return the {@linkplain ElementDefinition}
+     */
+    public ElementDefinition GetElementDefinition()
+    {
+        return this.elementDefinition;
+    }
+
+    /**
+     * Gets the plans of the contained {@linkplain ElementUsage}s
+     * 
+     * @return an unmodifiable {@linkplain List} of {@linkplain ElementUsageTransferPlan}
+     */
+    public List<ElementUsageTransferPlan> GetElementUsages()
+    {
+        return this.elementUsages;
+    }
+
+    /**
+     * Gets the {@linkplain Parameter}s to create or update
+     * 
+     * @return an unmodifiable {@linkplain List} of {@linkplain Parameter}
+     */
+    public List<Parameter> GetParameters()
+    {
+        return this.parameters;
+    }
+
+    /**
+     * The {@linkplain ElementUsageTransferPlan} is the immutable set of changes one {@linkplain ElementUsage} brings to a transfer to the HUB
+     */
+    public static final class ElementUsageTransferPlan
+    {
+        /**
+         * The planned {@linkplain ElementUsage}
+         */
+        private final ElementUsage elementUsage;
+
+        /**
+         * The clone of the {@linkplain ElementDefinition} the {@linkplain ElementUsage} uses
+         */
+        private final ElementDefinition usedElementDefinition;
+
+        /**
+         * The {@linkplain Definition} to create along with a new {@linkplain ElementUsage}, or null
+         */
+        private final Definition definition;
+
+        /**
+         * The {@linkplain ParameterOverride}s to create or update
+         */
+        private final List<ParameterOverride> parameterOverrides;
+
+        /**
+         * Initializes a new {@linkplain ElementUsageTransferPlan}
+         * 
+         * @param elementUsage the planned {@linkplain ElementUsage}
+         * @param usedElementDefinition the clone of the {@linkplain ElementDefinition} the {@linkplain ElementUsage} uses
+         * @param definition the {@linkplain Definition} to create along with a new {@linkplain ElementUsage}, or null
+         * @param parameterOverrides the {@linkplain ParameterOverride}s to create or update
+         */
+        private ElementUsageTransferPlan(ElementUsage elementUsage, ElementDefinition usedElementDefinition, 
+                Definition definition, List<ParameterOverride> parameterOverrides)
+        {
+            this.elementUsage = elementUsage;
+            this.usedElementDefinition = usedElementDefinition;
+            this.definition = definition;
+            this.parameterOverrides = Collections.unmodifiableList(parameterOverrides);
+        }
+
+        /**
+         * Gets the planned {@linkplain ElementUsage}
+         * 
+         * @return the {@linkplain ElementUsage}
+         */
+        public ElementUsage GetElementUsage()
+        {
+            return this.elementUsage;
+        }
+
+        /**
+         * Gets the clone of the {@linkplain ElementDefinition} the {@linkplain ElementUsage} uses
+         * 
+         * @return the {@linkplain ElementDefinition}
+         */
+        public ElementDefinition GetUsedElementDefinition()
+        {
+            return this.usedElementDefinition;
+        }
+
+        /**
+         * Gets the {@linkplain Definition} to create along with a new {@linkplain ElementUsage}
+         * 
+         * @return the {@linkplain Definition} or null
+         */
+        public Definition GetDefinition()
+        {
+            return this.definition;
+        }
+
+        /**
+         * Gets the {@linkplain ParameterOverride}s to create or update
+         * 
+         * @return an unmodifiable {@linkplain List} of {@linkplain ParameterOverride}
+         */
+        public List<ParameterOverride> GetParameterOverrides()
+        {
+            return this.parameterOverrides;
+        }
+    }
+}
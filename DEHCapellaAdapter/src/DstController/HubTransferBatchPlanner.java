@@ -0,0 +1,227 @@
+/*
+ * HubTransferBatchPlanner.java
+ *
+ * Copyright (c) 2020-2024 Starion Group S.A.
+ *
+ * Author: Sam Gerené, Alex Vorobiev, Nathanael Smiechowski 
+ *
+ * This file is part of DEH-MDSYSML
+ *
+ * The DEH-MDSYSML is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * The DEH-MDSYSML is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package DstController;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import cdp4common.commondata.Thing;
+import cdp4common.engineeringmodeldata.ElementDefinition;
+import cdp4common.engineeringmodeldata.ParameterOrOverrideBase;
+import cdp4common.engineeringmodeldata.Requirement;
+import cdp4common.engineeringmodeldata.RequirementsGroup;
+import cdp4common.engineeringmodeldata.RequirementsSpecification;
+
+/**
+ * The {@linkplain HubTransferBatchPlanner} splits the {@linkplain Thing}s to transfer to the HUB into dependency ordered batches.
+ * A {@linkplain Thing} is never split from the things it contains, the {@linkplain ElementDefinition}s come before the ones using them,
+ * the {@linkplain RequirementsSpecification}s come next and the relationships come last since they reference all of the others
+ */
+public final class HubTransferBatchPlanner
+{
+    /**
+     * Initializes a new {@linkplain HubTransferBatchPlanner}
+     */
+    private HubTransferBatchPlanner() { }
+
+    /**
+     * Plans the batches of the provided {@linkplain Thing}s
+     * 
+     * @param things the {@linkplain Collection} of {@linkplain Thing} to transfer
+     * @param batchSize the maximum number of {@linkplain Thing}s per batch, a single unit bigger than that gets its own batch
+     * @return a {@linkplain List} of batches
+     */
+    public static List<List<Thing>> Plan(Collection<? extends Thing> things, int batchSize)
+    {
+        var batches = new ArrayList<List<Thing>>();
+        var batch = new ArrayList<Thing>();
+        var batchWeight = 0;
+        
+        for (var unit : GetOrderedUnits(things))
+        {
+            var unitWeight = GetUnitWeight(unit);
+            
+            if(!batch.isEmpty() && batchWeight + unitWeight > batchSize)
+            {
+                batches.add(batch);
+                batch = new ArrayList<>();
+                batchWeight = 0;
+            }
+            
+            batch.addAll(unit);
+            batchWeight += unitWeight;
+        }
+        
+        if(!batch.isEmpty())
+        {
+            batches.add(batch);
+        }
+        
+        return batches;
+    }
+
+    /**
+     * Groups the provided {@linkplain Thing}s into units that have to be written together and orders them by dependency
+     * 
+     * @param things the {@linkplain Collection} of {@linkplain Thing} to transfer
+     * @return a {@linkplain List} of units
+     */
+    private static List<List<Thing>> GetOrderedUnits(Collection<? extends Thing> things)
+    {
+        var elementDefinitions = new LinkedHashMap<UUID, ElementDefinition>();
+        var requirementsSpecifications = new LinkedHashMap<Object, List<Thing>>();
+        var relationships = new ArrayList<List<Thing>>();
+        
+        for (var thing : things)
+        {
+            if(thing instanceof ElementDefinition)
+            {
+                elementDefinitions.putIfAbsent(thing.getIid(), (ElementDefinition)thing);
+            }
+            else if(thing instanceof Requirement || thing instanceof RequirementsSpecification)
+            {
+                var requirementsSpecification = thing instanceof Requirement ? thing.getContainerOfType(RequirementsSpecification.class) : thing;
+                requirementsSpecifications.computeIfAbsent(requirementsSpecification != null ? requirementsSpecification.getIid() : thing, x -> new ArrayList<>()).add(thing);
+            }
+            else
+            {
+                relationships.add(List.of(thing));
+            }
+        }
+        
+        var units = new ArrayList<List<Thing>>();
+        var visited = new HashSet<UUID>();
+        
+        for (var elementDefinition : elementDefinitions.values())
+        {
+            AddElementDefinitionUnit(elementDefinition, elementDefinitions, visited, units);
+        }
+        
+        units.addAll(requirementsSpecifications.values());
+        units.addAll(relationships);
+        return units;
+    }
+
+    /**
+     * Adds the unit of the provided {@linkplain ElementDefinition} after the units of the transferred {@linkplain ElementDefinition}s it uses
+     * 
+     * @param elementDefinition the {@linkplain ElementDefinition}
+     * @param elementDefinitions the transferred {@linkplain ElementDefinition}s by {@linkplain UUID}
+     * @param visited the {@linkplain Set} of {@linkplain UUID} of the {@linkplain ElementDefinition}s already visited
+     * @param units the {@linkplain List} of units to add to
+     */
+    private static void AddElementDefinitionUnit(ElementDefinition elementDefinition, Map<UUID, ElementDefinition> elementDefinitions, 
+            Set<UUID> visited, List<List<Thing>> units)
+    {
+        if(!visited.add(elementDefinition.getIid()))
+        {
+            return;
+        }
+        
+        for (var elementUsage : elementDefinition.getContainedElement())
+        {
+            var usedElementDefinition = elementUsage.getElementDefinition() != null 
+                    ? elementDefinitions.get(elementUsage.getElementDefinition().getIid()) : null;
+            
+            if(usedElementDefinition != null)
+            {
+                AddElementDefinitionUnit(usedElementDefinition, elementDefinitions, visited, units);
+            }
+        }
+        
+        units.add(List.of(elementDefinition));
+    }
+
+    /**
+     * Gets the number of {@linkplain Thing}s the provided unit accounts for in a write. A {@linkplain Requirement} is always written 
+     * with its whole {@linkplain RequirementsSpecification}, hence the unit of a {@linkplain RequirementsSpecification} weighs the specification only once
+     * 
+     * @param unit the {@linkplain List} of {@linkplain Thing} that have to be written together
+     * @return the weight
+     */
+    static int GetUnitWeight(List<Thing> unit)
+    {
+        var requirementsSpecification = unit.stream()
+                .map(x -> x instanceof Requirement ? x.getContainerOfType(RequirementsSpecification.class) : x)
+                .filter(x -> x instanceof RequirementsSpecification)
+                .findFirst();
+        
+        if(requirementsSpecification.isPresent())
+        {
+            return GetWeight(requirementsSpecification.get());
+        }
+        
+        return unit.stream().mapToInt(HubTransferBatchPlanner::GetWeight).sum();
+    }
+
+    /**
+     * Gets the number of {@linkplain Thing}s the provided one accounts for in a write, including the contained ones
+     * 
+     * @param thing the {@linkplain Thing}
+     * @return the weight
+     */
+    static int GetWeight(Thing thing)
+    {
+        if(thing instanceof ElementDefinition)
+        {
+            var elementDefinition = (ElementDefinition)thing;
+            
+            return 1 + elementDefinition.getParameter().stream().mapToInt(HubTransferBatchPlanner::GetWeight).sum()
+                    + elementDefinition.getContainedElement().stream()
+                        .mapToInt(x -> 1 + x.getParameterOverride().stream().mapToInt(HubTransferBatchPlanner::GetWeight).sum())
+                        .sum();
+        }
+        
+        if(thing instanceof ParameterOrOverrideBase)
+        {
+            return 1 + ((ParameterOrOverrideBase)thing).getValueSets().size();
+        }
+        
+        if(thing instanceof RequirementsSpecification)
+        {
+            var requirementsSpecification = (RequirementsSpecification)thing;
+            
+            return 1 + requirementsSpecification.getGroup().stream().mapToInt(HubTransferBatchPlanner::GetWeight).sum()
+                    + requirementsSpecification.getRequirement().stream().mapToInt(HubTransferBatchPlanner::GetWeight).sum();
+        }
+        
+        if(thing instanceof RequirementsGroup)
+        {
+            return 1 + ((RequirementsGroup)thing).getGroup().stream().mapToInt(HubTransferBatchPlanner::GetWeight).sum();
+        }
+        
+        if(thing instanceof Requirement)
+        {
+            return 1 + ((Requirement)thing).getDefinition().size();
+        }
+        
+        return 1;
+    }
+}
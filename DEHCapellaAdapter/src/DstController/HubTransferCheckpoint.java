@@ -0,0 +1,151 @@
+/*
+ * HubTransferCheckpoint.java
+ *
+ * Copyright (c) 2020-2024 Starion Group S.A.
+ *
+ * Author: Sam Gerené, Alex Vorobiev, Nathanael Smiechowski 
+ *
+ * This file is part of DEH-MDSYSML
+ *
+ * The DEH-MDSYSML is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * The DEH-MDSYSML is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package DstController;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import cdp4common.commondata.Thing;
+
+/**
+ * The {@linkplain HubTransferCheckpoint} records the batches of a chunked transfer to the HUB that got committed,
+ * so that a failed transfer can resume after the last committed batch. A checkpoint only holds as long as the Capella models, the mapped things,
+ * the things to transfer and the iteration did not change other than by its own committed batches
+ */
+public final class HubTransferCheckpoint
+{
+    /**
+     * The {@linkplain UUID}s of the {@linkplain Thing}s of the committed batches
+     */
+    private final Set<UUID> committedThings = new HashSet<>();
+
+    /**
+     * The number of Capella session changes when the checkpoint got created
+     */
+    private final long sessionChangeCount;
+
+    /**
+     * The revision of the map results when the checkpoint got created
+     */
+    private final long mapResultRevision;
+
+    /**
+     * The hash of the {@linkplain Thing}s to transfer when the checkpoint got created
+     */
+    private final int selectionHash;
+
+    /**
+     * The revision number of the iteration after the last committed batch
+     */
+    private int iterationRevisionNumber;
+
+    /**
+     * The number of committed batches
+     */
+    private int committedBatchCount;
+
+    /**
+     * Initializes a new {@linkplain HubTransferCheckpoint}
+     * 
+     * @param sessionChangeCount the number of Capella session changes that happened so far
+     * @param mapResultRevision the current revision of the map results
+     * @param thingsToTransfer the {@linkplain Collection} of {@linkplain Thing} to transfer
+     * @param iterationRevisionNumber the current revision number of the iteration
+     */
+    public HubTransferCheckpoint(long sessionChangeCount, long mapResultRevision, Collection<? extends Thing> thingsToTransfer, int iterationRevisionNumber)
+    {
+        this.sessionChangeCount = sessionChangeCount;
+        this.mapResultRevision = mapResultRevision;
+        this.selectionHash = ComputeSelectionHash(thingsToTransfer);
+        this.iterationRevisionNumber = iterationRevisionNumber;
+    }
+
+    /**
+     * Gets a value indicating whether this checkpoint can be resumed from
+     * 
+     * @param currentSessionChangeCount the number of Capella session changes that happened so far
+     * @param currentMapResultRevision the current revision of the map results
+     * @param thingsToTransfer the {@linkplain Collection} of {@linkplain Thing} to transfer
+     * @param currentIterationRevisionNumber the current revision number of the iteration
+     * @return a {@linkplain boolean}
+     */
+    public boolean CanResume(long currentSessionChangeCount, long currentMapResultRevision, Collection<? extends Thing> thingsToTransfer, int currentIterationRevisionNumber)
+    {
+        return this.sessionChangeCount == currentSessionChangeCount
+                && this.mapResultRevision == currentMapResultRevision
+                && this.iterationRevisionNumber == currentIterationRevisionNumber
+                && this.selectionHash == ComputeSelectionHash(thingsToTransfer);
+    }
+
+    /**
+     * Records the provided batch as committed
+     * 
+     * @param batch the {@linkplain Collection} of {@linkplain Thing} that got written
+     * @param iterationRevisionNumber the revision number of the iteration once the batch got written
+     */
+    public void Commit(Collection<? extends Thing> batch, int iterationRevisionNumber)
+    {
+        batch.stream().filter(x -> x.getIid() != null).forEach(x -> this.committedThings.add(x.getIid()));
+        this.iterationRevisionNumber = iterationRevisionNumber;
+        this.committedBatchCount++;
+    }
+
+    /**
+     * Gets a value indicating whether the provided {@linkplain Thing} was part of a committed batch
+     * 
+     * @param thing the {@linkplain Thing}
+     * @return a {@linkplain boolean}
+     */
+    public boolean IsCommitted(Thing thing)
+    {
+        return thing.getIid() != null && this.committedThings.contains(thing.getIid());
+    }
+
+    /**
+     * Gets the number of committed batches
+     * 
+     * @return the number of committed batches
+     */
+    public int GetCommittedBatchCount()
+    {
+        return this.committedBatchCount;
+    }
+
+    /**
+     * Computes a hash of the provided {@linkplain Thing}s that does not depend on their order
+     * 
+     * @param things the {@linkplain Collection} of {@linkplain Thing}
+     * @return the hash
+     */
+    private static int ComputeSelectionHash(Collection<? extends Thing> things)
+    {
+        return things.stream()
+                .map(x -> x.getIid() != null ? x.getIid() : (Object)Integer.valueOf(System.identityHashCode(x)))
+                .collect(Collectors.toSet())
+                .hashCode();
+    }
+}
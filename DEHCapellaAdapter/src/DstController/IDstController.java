@@ -35,8 +35,10 @@ import org.polarsys.capella.core.data.information.datatype.DataType;
 import org.polarsys.kitalpha.emde.model.Element;
 import org.polarsys.kitalpha.vp.requirements.Requirements.Requirement;
 
+import Enumerations.CapellaArchitecture;
 import Enumerations.MappingDirection;
 import Reactive.ObservableCollection;
+import Services.CapellaSession.CapellaSessionChange;
 import Services.MappingEngineService.IMappableThingCollection;
 import Utils.Ref;
 import ViewModels.Rows.MappedElementRowViewModel;
@@ -83,6 +85,14 @@ public interface IDstController extends IDstControllerBase<Element>
      */
     boolean Transfer();
 
+    /**
+     * Runs the preparation of the selected things to be transfered depending on the current {@linkplain MappingDirection}
+     * without writing anything, neither to the HUB nor to Capella
+     * 
+     * @return the {@linkplain TransferEstimate} of what would be transfered
+     */
+    TransferEstimate DryRunTransfer();
+
     /**
      * Maps the {@linkplain input} by calling the {@linkplain IMappingEngine}
      * and assign the map result to the dstMapResult or the hubMapResult
@@ -98,6 +108,32 @@ public interface IDstController extends IDstControllerBase<Element>
      */
     void LoadMapping();
 
+    /**
+     * Reloads the saved mapping of the elements affected by the provided {@linkplain CapellaSessionChange}s only
+     * 
+     * @param changes the {@linkplain Collection} of {@linkplain CapellaSessionChange}
+     */
+    void LoadMapping(Collection<CapellaSessionChange> changes);
+
+    /**
+     * Gets the number of mapping reloads that were requested but got coalesced with another one or skipped because nothing changed
+     * 
+     * @return the number of suppressed reloads
+     */
+    long GetSuppressedMappingReloadCount();
+
+    /**
+     * Stops the scheduled reloads of the mapping and releases the thread that runs them
+     */
+    void Dispose();
+
+    /**
+     * Gets the {@linkplain TransferReport} of the last transfer
+     * 
+     * @return a {@linkplain TransferReport}
+     */
+    TransferReport GetLastTransferReport();
+
     /**
      * Switches the {@linkplain MappingDirection}
      * 
@@ -164,6 +200,18 @@ public interface IDstController extends IDstControllerBase<Element>
      */
     <TElement extends Element> boolean TryGetElementBy(Predicate<? super Element> predicate, Ref<TElement> refElement);
     
+    /**
+     * Tries to get the corresponding element whose name matches the provided one and that answer to the provided {@linkplain Predicate}
+     * 
+     * @param <TElement> the type of {@linkplain CapellaElement} to query
+     * @param name the {@linkplain String} name of the searched element
+     * @param targetArchitecture the {@linkplain CapellaArchitecture} the element belongs to, or null when any architecture fits
+     * @param predicate the {@linkplain Predicate} to verify in order to match the element
+     * @param refElement the {@linkplain Ref} of {@linkplain #TElement}
+     * @return a value indicating whether the {@linkplain CapellaElement} has been found
+     */
+    <TElement extends Element> boolean TryGetElementBy(String name, CapellaArchitecture targetArchitecture, Predicate<? super Element> predicate, Ref<TElement> refElement);
+    
     /**
      * Tries to get the corresponding element that has the provided Id
      * 
@@ -0,0 +1,84 @@
+/*
+ * IHubTransferRegistrar.java
+ *
+ * Copyright (c) 2020-2024 Starion Group S.A.
+ *
+ * Author: Sam Gerené, Alex Vorobiev, Nathanael Smiechowski 
+ *
+ * This file is part of DEH-MDSYSML
+ *
+ * The DEH-MDSYSML is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * The DEH-MDSYSML is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package DstController;
+
+import java.util.Collection;
+
+import cdp4common.commondata.Thing;
+import cdp4common.engineeringmodeldata.ParameterOverride;
+import cdp4common.engineeringmodeldata.ParameterValueSetBase;
+import cdp4common.engineeringmodeldata.ValueSet;
+import cdp4common.types.ContainerList;
+import cdp4dal.exceptions.TransactionException;
+import cdp4dal.operations.ThingTransaction;
+
+/**
+ * The {@linkplain IHubTransferRegistrar} is the interface definition for the registrars the preparation of a transfer to the HUB
+ * goes through to attach, register and record the {@linkplain Thing}s to transfer
+ */
+public interface IHubTransferRegistrar
+{
+    /**
+     * Adds the provided {@linkplain Thing} to the provided {@linkplain ContainerList} when it is not already contained and registers it
+     * 
+     * @param <TThing> the type of {@linkplain Thing}
+     * @param thing the {@linkplain Thing}
+     * @param containerList the {@linkplain ContainerList} of {@linkplain Thing} typed as TThing
+     * @param transaction the {@linkplain ThingTransaction}
+     * @throws TransactionException can throw {@linkplain TransactionException}
+     */
+    <TThing extends Thing> void AddOrUpdate(TThing thing, ContainerList<TThing> containerList, ThingTransaction transaction) throws TransactionException;
+
+    /**
+     * Registers the provided {@linkplain Thing} to be created or updated
+     * 
+     * @param transaction the {@linkplain ThingTransaction}
+     * @param thing the {@linkplain Thing} to create or update
+     * @throws TransactionException can throw {@linkplain TransactionException}
+     */
+    void Register(ThingTransaction transaction, Thing thing) throws TransactionException;
+
+    /**
+     * Records the update of the provided {@linkplain ParameterValueSetBase} with the provided {@linkplain ValueSet}
+     * 
+     * @param clone the {@linkplain ParameterValueSetBase} to update
+     * @param valueSet the {@linkplain ValueSet} that contains the new values
+     */
+    void Record(ParameterValueSetBase clone, ValueSet valueSet);
+
+    /**
+     * Pre-assigns the Iids the provided new {@linkplain ParameterOverride} misses, see {@linkplain ElementDefinitionTransferPlan#PreassignIids(ParameterOverride)}
+     * 
+     * @param parameterOverride the {@linkplain ParameterOverride}
+     */
+    void PreassignIids(ParameterOverride parameterOverride);
+
+    /**
+     * Gets the {@linkplain Thing}s registered so far that do not exist yet on the HUB
+     * 
+     * @param transaction the {@linkplain ThingTransaction}
+     * @return a {@linkplain Collection} of {@linkplain Thing}
+     */
+    Collection<? extends Thing> GetAddedThings(ThingTransaction transaction);
+}
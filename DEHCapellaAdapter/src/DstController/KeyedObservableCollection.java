@@ -0,0 +1,145 @@
+/*
+ * KeyedObservableCollection.java
+ *
+ * Copyright (c) 2020-2024 Starion Group S.A.
+ *
+ * Author: Sam Gerené, Alex Vorobiev, Nathanael Smiechowski 
+ *
+ * This file is part of DEH-MDSYSML
+ *
+ * The DEH-MDSYSML is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * The DEH-MDSYSML is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package DstController;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import org.apache.commons.lang3.tuple.Pair;
+
+import Reactive.ObservableCollection;
+
+/**
+ * The {@linkplain KeyedObservableCollection} is an {@linkplain ObservableCollection} whose elements are identified by a key,
+ * it supports replacing a batch of elements in one pass so that subscribers get notified once per batch
+ * 
+ * @param <TKey> the type of key that identifies an element
+ * @param <TElement> the type of element the collection holds
+ */
+public class KeyedObservableCollection<TKey, TElement> extends ObservableCollection<TElement>
+{
+    /**
+     * The serial version UID
+     */
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * The {@linkplain Function} that computes the key of an element
+     */
+    private final transient Function<? super TElement, ? extends TKey> keySelector;
+
+    /**
+     * Initializes a new {@linkplain KeyedObservableCollection}
+     * 
+     * @param keySelector the {@linkplain Function} that computes the key of an element, a null key means the element is not keyed
+     */
+    public KeyedObservableCollection(Function<? super TElement, ? extends TKey> keySelector)
+    {
+        super();
+        this.keySelector = keySelector;
+    }
+
+    /**
+     * Gets the key of the provided element
+     * 
+     * @param element the {@code TElement}
+     * @return the {@code TKey}, or null when the element is null or not keyed
+     */
+    public TKey GetKey(TElement element)
+    {
+        return element == null ? null : this.keySelector.apply(element);
+    }
+
+    /**
+     * Gets a value indicating whether this collection contains an element with the provided key
+     * 
+     * @param key the {@code TKey}
+     * @return a value indicating whether an element is keyed by the provided key
+     */
+    public boolean ContainsKey(TKey key)
+    {
+        return key != null && this.stream().anyMatch(x -> key.equals(this.GetKey(x)));
+    }
+
+    /**
+     * Inserts the provided elements, replacing the elements already present with the same key.
+     * Within the batch, the last element for a given key wins, null elements are ignored and unkeyed elements are always inserted.
+     * The superseded elements are removed in one linear pass and the batch is added in one call so the
+     * {@linkplain #ItemsAdded()} emits once per batch
+     * 
+     * @param elements the {@linkplain Collection} of {@code TElement} to upsert
+     * @return a value indicating whether elements were added
+     */
+    public boolean Upsert(Collection<? extends TElement> elements)
+    {
+        return this.Replace(x -> false, elements).getRight();
+    }
+
+    /**
+     * Removes the elements that match the provided {@linkplain Predicate} and upserts the provided elements as one batch, 
+     * so subscribers never see the removed elements together with their replacements
+     * 
+     * @param isReplaced the {@linkplain Predicate} that matches the elements to remove whether or not they get replaced
+     * @param elements the {@linkplain Collection} of {@code TElement} to upsert
+     * @return a {@linkplain Pair} of values indicating whether elements were removed and whether elements were added
+     */
+    public synchronized Pair<Boolean, Boolean> Replace(Predicate<? super TElement> isReplaced, Collection<? extends TElement> elements)
+    {
+        var keyedElements = new LinkedHashMap<TKey, TElement>();
+        var unkeyedElements = new ArrayList<TElement>();
+        
+        for (var element : elements != null ? elements : Collections.<TElement>emptyList())
+        {
+            if(element == null)
+            {
+                continue;
+            }
+            
+            var key = this.GetKey(element);
+            
+            if(key == null)
+            {
+                unkeyedElements.add(element);
+            }
+            else
+            {
+                keyedElements.remove(key);
+                keyedElements.put(key, element);
+            }
+        }
+        
+        var hasRemovedElements = !this.isEmpty() 
+                && this.removeIf(x -> isReplaced.test(x) || keyedElements.containsKey(this.GetKey(x)));
+        
+        var batch = new ArrayList<TElement>(keyedElements.size() + unkeyedElements.size());
+        batch.addAll(keyedElements.values());
+        batch.addAll(unkeyedElements);
+        
+        return Pair.of(hasRemovedElements, !batch.isEmpty() && this.addAll(batch));
+    }
+}
@@ -0,0 +1,281 @@
+/*
+ * MappingReloadScheduler.java
+ *
+ * Copyright (c) 2020-2024 Starion Group S.A.
+ *
+ * Author: Sam Gerené, Alex Vorobiev, Nathanael Smiechowski 
+ *
+ * This file is part of DEH-MDSYSML
+ *
+ * The DEH-MDSYSML is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * The DEH-MDSYSML is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package DstController;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.NullProgressMonitor;
+
+import io.reactivex.Scheduler;
+import io.reactivex.disposables.Disposable;
+import io.reactivex.schedulers.Schedulers;
+import io.reactivex.subjects.PublishSubject;
+import io.reactivex.subjects.Subject;
+
+/**
+ * The {@linkplain MappingReloadScheduler} coalesces the requests to reload the mapping that occur within a time window into one reload, 
+ * and skips the reloads that would start from the same state as the last one. A request cancels the reload in progress, 
+ * a canceled reload is run again with the next coalesced requests
+ */
+public final class MappingReloadScheduler
+{
+    /**
+     * The default time window in milliseconds within which the reload requests are coalesced
+     */
+    public static final long DEFAULTWINDOWINMILLISECONDS = 250;
+    
+    /**
+     * The current class logger
+     */
+    private final Logger logger = LogManager.getLogger();
+    
+    /**
+     * The {@linkplain Subject} that emits the reload requests, a request is true when it asks for a full reload
+     */
+    private final Subject<Boolean> requests = PublishSubject.<Boolean>create().toSerialized();
+    
+    /**
+     * The {@linkplain Supplier} of the state the mapping is reloaded from
+     */
+    private final Supplier<Object> stateSupplier;
+    
+    /**
+     * The {@linkplain BiConsumer} that reloads the mapping, it accepts a value indicating whether a full reload is requested
+     * and the {@linkplain IProgressMonitor} to check for cancellation
+     */
+    private final BiConsumer<Boolean, IProgressMonitor> reload;
+    
+    /**
+     * The {@linkplain ExecutorService} that runs the reloads when this scheduler owns it, otherwise null
+     */
+    private final ExecutorService executor;
+    
+    /**
+     * The {@linkplain Disposable} subscription to the {@linkplain #requests}
+     */
+    private final Disposable subscription;
+    
+    /**
+     * The number of reloads that were requested but not run
+     */
+    private final AtomicLong suppressedReloadCount = new AtomicLong();
+    
+    /**
+     * The state the mapping was last reloaded from
+     */
+    private Object lastReloadedState;
+
+    /**
+     * The {@linkplain IProgressMonitor} of the reload in progress
+     */
+    private volatile IProgressMonitor currentMonitor;
+
+    /**
+     * A value indicating whether the last reload was a full reload that got canceled
+     */
+    private boolean isCanceledReloadFull;
+
+    /**
+     * Initializes a new {@linkplain MappingReloadScheduler}
+     * 
+     * @param windowInMilliseconds the time window within which the requests are coalesced, requests are run as they come when the window is not positive
+     * @param scheduler the {@linkplain Scheduler} that times the window and runs the coalesced reloads
+     * @param stateSupplier the {@linkplain Supplier} of the state the mapping is reloaded from, two equal states produce the same mapping
+     * @param reload the {@linkplain BiConsumer} that reloads the mapping, it accepts a value indicating whether a full reload is requested
+     * and the {@linkplain IProgressMonitor} to check for cancellation
+     */
+    public MappingReloadScheduler(long windowInMilliseconds, Scheduler scheduler, Supplier<Object> stateSupplier, BiConsumer<Boolean, IProgressMonitor> reload)
+    {
+        this(windowInMilliseconds, scheduler, null, stateSupplier, reload);
+    }
+
+    /**
+     * Initializes a new {@linkplain MappingReloadScheduler} that runs the reloads on the provided {@linkplain ExecutorService}, 
+     * the {@linkplain ExecutorService} is shut down when this scheduler gets disposed
+     * 
+     * @param windowInMilliseconds the time window within which the requests are coalesced, requests are run as they come when the window is not positive
+     * @param executor the {@linkplain ExecutorService} that runs the coalesced reloads
+     * @param stateSupplier the {@linkplain Supplier} of the state the mapping is reloaded from, two equal states produce the same mapping
+     * @param reload the {@linkplain BiConsumer} that reloads the mapping, it accepts a value indicating whether a full reload is requested
+     * and the {@linkplain IProgressMonitor} to check for cancellation
+     */
+    public MappingReloadScheduler(long windowInMilliseconds, ExecutorService executor, Supplier<Object> stateSupplier, BiConsumer<Boolean, IProgressMonitor> reload)
+    {
+        this(windowInMilliseconds, Schedulers.from(executor), executor, stateSupplier, reload);
+    }
+
+    /**
+     * Initializes a new {@linkplain MappingReloadScheduler}
+     * 
+     * @param windowInMilliseconds the time window within which the requests are coalesced
+     * @param scheduler the {@linkplain Scheduler} that times the window and runs the coalesced reloads
+     * @param executor the {@linkplain ExecutorService} behind the {@linkplain Scheduler} when this scheduler owns it, otherwise null
+     * @param stateSupplier the {@linkplain Supplier} of the state the mapping is reloaded from
+     * @param reload the {@linkplain BiConsumer} that reloads the mapping
+     */
+    private MappingReloadScheduler(long windowInMilliseconds, Scheduler scheduler, ExecutorService executor, 
+            Supplier<Object> stateSupplier, BiConsumer<Boolean, IProgressMonitor> reload)
+    {
+        this.executor = executor;
+        this.stateSupplier = stateSupplier;
+        this.reload = reload;
+        
+        if(windowInMilliseconds > 0)
+        {
+            this.subscription = this.requests
+                    .publish(x -> x.buffer(x.debounce(windowInMilliseconds, TimeUnit.MILLISECONDS, scheduler)))
+                    .filter(x -> !x.isEmpty())
+                    .subscribe(this::Reload, this.logger::catching);
+        }
+        else
+        {
+            this.subscription = this.requests
+                    .subscribe(x -> this.Reload(Arrays.asList(x)), this.logger::catching);
+        }
+    }
+
+    /**
+     * Creates the {@linkplain Thread} that runs the reloads
+     * 
+     * @param runnable the {@linkplain Runnable} to run
+     * @return a daemon {@linkplain Thread}
+     */
+    public static Thread CreateThread(Runnable runnable)
+    {
+        var thread = new Thread(runnable, "DEH-Capella mapping reload");
+        thread.setDaemon(true);
+        return thread;
+    }
+
+    /**
+     * Requests a reload of the mapping, cancels the reload in progress if any
+     * 
+     * @param isFullReload a value indicating whether the whole mapping has to be reloaded, 
+     * otherwise only the mapping of the changed elements is reloaded
+     */
+    public void Request(boolean isFullReload)
+    {
+        var monitor = this.currentMonitor;
+        
+        if(monitor != null)
+        {
+            monitor.setCanceled(true);
+        }
+        
+        this.requests.onNext(isFullReload);
+    }
+
+    /**
+     * Forgets the state the mapping was last reloaded from so the next request gets run
+     */
+    public synchronized void Invalidate()
+    {
+        this.lastReloadedState = null;
+    }
+
+    /**
+     * Gets the number of reloads that were requested but got coalesced with another one or skipped because the state did not change
+     * 
+     * @return the number of suppressed reloads
+     */
+    public long GetSuppressedReloadCount()
+    {
+        return this.suppressedReloadCount.get();
+    }
+
+    /**
+     * Stops handling the requests, cancels the reload in progress and shuts down the owned {@linkplain ExecutorService}
+     */
+    public void Dispose()
+    {
+        this.subscription.dispose();
+        
+        var monitor = this.currentMonitor;
+        
+        if(monitor != null)
+        {
+            monitor.setCanceled(true);
+        }
+        
+        if(this.executor != null)
+        {
+            this.executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Runs one reload for the provided coalesced requests unless the state did not change since the last reload
+     * 
+     * @param coalescedRequests the {@linkplain List} of requests, each one indicates whether a full reload is requested
+     */
+    private synchronized void Reload(List<Boolean> coalescedRequests)
+    {
+        this.suppressedReloadCount.addAndGet(coalescedRequests.size() - 1L);
+        
+        var isFullReload = coalescedRequests.contains(true) || this.isCanceledReloadFull;
+        var state = this.stateSupplier.get();
+        
+        if(state != null && Objects.equals(state, this.lastReloadedState))
+        {
+            this.suppressedReloadCount.incrementAndGet();
+            this.logger.debug(String.format("Skipped the reload of the mapping as nothing changed since the last one, %s reloads suppressed so far", 
+                    this.suppressedReloadCount.get()));
+            return;
+        }
+        
+        if(coalescedRequests.size() > 1)
+        {
+            this.logger.debug(String.format("Coalesced %s mapping reload requests", coalescedRequests.size()));
+        }
+        
+        var monitor = new NullProgressMonitor();
+        this.currentMonitor = monitor;
+        
+        try
+        {
+            this.reload.accept(isFullReload, monitor);
+            this.isCanceledReloadFull = monitor.isCanceled() && isFullReload;
+            this.lastReloadedState = monitor.isCanceled() ? null : this.stateSupplier.get();
+        }
+        catch(Exception exception)
+        {
+            this.lastReloadedState = null;
+            this.logger.catching(exception);
+        }
+        finally
+        {
+            this.currentMonitor = null;
+        }
+    }
+}
@@ -0,0 +1,245 @@
+/*
+ * TransferEstimate.java
+ *
+ * Copyright (c) 2020-2024 Starion Group S.A.
+ *
+ * Author: Sam Gerené, Alex Vorobiev, Nathanael Smiechowski 
+ *
+ * This file is part of DEH-MDSYSML
+ *
+ * The DEH-MDSYSML is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * The DEH-MDSYSML is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package DstController;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import org.eclipse.emf.ecore.EObject;
+
+import Enumerations.MappingDirection;
+import cdp4common.commondata.ClassKind;
+import cdp4common.commondata.Thing;
+
+/**
+ * The {@linkplain TransferEstimate} is the outcome of a transfer dry run: what would be written, per {@linkplain ClassKind} 
+ * for the HUB and per EClass for Capella, an estimation of the payload size and the time spent in each preparation phase
+ */
+public final class TransferEstimate
+{
+    /**
+     * The average size in bytes of one {@linkplain Thing} once serialized for the HUB
+     */
+    private static final int ESTIMATEDTHINGSIZEINBYTES = 400;
+
+    /**
+     * The average size in bytes of one Capella {@linkplain EObject} once serialized in its resource
+     */
+    private static final int ESTIMATEDELEMENTSIZEINBYTES = 300;
+
+    /**
+     * The {@linkplain MappingDirection} of the estimated transfer
+     */
+    private final MappingDirection mappingDirection;
+
+    /**
+     * The {@linkplain UUID}s of the counted {@linkplain Thing}s
+     */
+    private final Set<UUID> countedThings = new HashSet<>();
+
+    /**
+     * The counted {@linkplain EObject}s
+     */
+    private final Set<EObject> countedElements = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    /**
+     * The number of {@linkplain Thing}s per {@linkplain ClassKind}
+     */
+    private final Map<ClassKind, Integer> thingCounts = new TreeMap<>();
+
+    /**
+     * The number of {@linkplain EObject}s per EClass name
+     */
+    private final Map<String, Integer> elementCounts = new TreeMap<>();
+
+    /**
+     * The duration in milliseconds of each phase, in the order they ran
+     */
+    private final Map<String, Long> phaseDurations = new LinkedHashMap<>();
+
+    /**
+     * The number of writes the transfer would take
+     */
+    private int writeCount;
+
+    /**
+     * Initializes a new {@linkplain TransferEstimate}
+     * 
+     * @param mappingDirection the {@linkplain MappingDirection} of the estimated transfer
+     */
+    public TransferEstimate(MappingDirection mappingDirection)
+    {
+        this.mappingDirection = mappingDirection;
+    }
+
+    /**
+     * Gets the {@linkplain MappingDirection} of the estimated transfer
+     * 
+     * @return a {@linkplain MappingDirection}
+     */
+    public MappingDirection GetMappingDirection()
+    {
+        return this.mappingDirection;
+    }
+
+    /**
+     * Counts the provided {@linkplain Thing} once
+     * 
+     * @param thing the {@linkplain Thing} that would be written
+     */
+    public void AddThing(Thing thing)
+    {
+        if(thing != null && (thing.getIid() == null || this.countedThings.add(thing.getIid())))
+        {
+            this.thingCounts.merge(thing.getClassKind(), 1, Integer::sum);
+        }
+    }
+
+    /**
+     * Counts the provided {@linkplain EObject} once
+     * 
+     * @param element the {@linkplain EObject} that would be written
+     */
+    public void AddElement(EObject element)
+    {
+        if(element != null && this.countedElements.add(element))
+        {
+            this.elementCounts.merge(element.eClass().getName(), 1, Integer::sum);
+        }
+    }
+
+    /**
+     * Records the duration of one phase
+     * 
+     * @param phase the name of the phase
+     * @param durationInMilliseconds the duration in milliseconds
+     */
+    public void AddPhase(String phase, long durationInMilliseconds)
+    {
+        this.phaseDurations.merge(phase, durationInMilliseconds, Long::sum);
+    }
+
+    /**
+     * Sets the number of writes the transfer would take
+     * 
+     * @param writeCount the number of writes
+     */
+    public void SetWriteCount(int writeCount)
+    {
+        this.writeCount = writeCount;
+    }
+
+    /**
+     * Gets the number of writes the transfer would take
+     * 
+     * @return the number of writes
+     */
+    public int GetWriteCount()
+    {
+        return this.writeCount;
+    }
+
+    /**
+     * Gets the number of {@linkplain Thing}s per {@linkplain ClassKind}
+     * 
+     * @return an unmodifiable {@linkplain Map}
+     */
+    public Map<ClassKind, Integer> GetThingCounts()
+    {
+        return Collections.unmodifiableMap(this.thingCounts);
+    }
+
+    /**
+     * Gets the number of {@linkplain EObject}s per EClass name
+     * 
+     * @return an unmodifiable {@linkplain Map}
+     */
+    public Map<String, Integer> GetElementCounts()
+    {
+        return Collections.unmodifiableMap(this.elementCounts);
+    }
+
+    /**
+     * Gets the duration in milliseconds of each phase, in the order they ran
+     * 
+     * @return an unmodifiable {@linkplain Map}
+     */
+    public Map<String, Long> GetPhaseDurations()
+    {
+        return Collections.unmodifiableMap(this.phaseDurations);
+    }
+
+    /**
+     * Gets the total number of counted {@linkplain Thing}s
+     * 
+     * @return the number of {@linkplain Thing}s
+     */
+    public int GetThingCount()
+    {
+        return this.thingCounts.values().stream().mapToInt(Integer::intValue).sum();
+    }
+
+    /**
+     * Gets the total number of counted {@linkplain EObject}s
+     * 
+     * @return the number of {@linkplain EObject}s
+     */
+    public int GetElementCount()
+    {
+        return this.elementCounts.values().stream().mapToInt(Integer::intValue).sum();
+    }
+
+    /**
+     * Gets a coarse estimation of the size of what would be written, based on average serialized sizes
+     * 
+     * @return the estimated size in bytes
+     */
+    public long GetEstimatedPayloadSize()
+    {
+        return (long)this.GetThingCount() * ESTIMATEDTHINGSIZEINBYTES + (long)this.GetElementCount() * ESTIMATEDELEMENTSIZEINBYTES;
+    }
+
+    /**
+     * Gets a {@linkplain String} representation of this estimate
+     * 
+     * @return a {@linkplain String}
+     */
+    @Override
+    public String toString()
+    {
+        return String.format("%s thing(s) %s, %s element(s) %s, about %s KB in %s write(s), phases %s", 
+                this.GetThingCount(), this.thingCounts, this.GetElementCount(), this.elementCounts, 
+                this.GetEstimatedPayloadSize() / 1024, this.writeCount,
+                this.phaseDurations.entrySet().stream()
+                    .map(x -> String.format("%s: %s ms", x.getKey(), x.getValue()))
+                    .collect(Collectors.joining(", ", "[", "]")));
+    }
+}
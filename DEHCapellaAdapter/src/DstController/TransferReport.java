@@ -0,0 +1,231 @@
+/*
+ * TransferReport.java
+ *
+ * Copyright (c) 2020-2024 Starion Group S.A.
+ *
+ * Author: Sam Gerené, Alex Vorobiev, Nathanael Smiechowski 
+ *
+ * This file is part of DEH-MDSYSML
+ *
+ * The DEH-MDSYSML is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * The DEH-MDSYSML is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package DstController;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+
+import org.polarsys.kitalpha.emde.model.Element;
+
+import Enumerations.MappingDirection;
+import Utils.Stereotypes.ElementUtils;
+import cdp4common.commondata.Thing;
+
+/**
+ * The {@linkplain TransferReport} records what one transfer created or updated: the HUB {@linkplain Thing}s with their revision numbers 
+ * and the Capella {@linkplain Element}s whose mapping is affected. It allows to refresh the mapping of the transferred subset only
+ */
+public final class TransferReport
+{
+    /**
+     * The {@linkplain MappingDirection} of the transfer
+     */
+    private final MappingDirection mappingDirection;
+
+    /**
+     * The {@linkplain UUID}s of the created {@linkplain Thing}s and their revision number
+     */
+    private final Map<UUID, Integer> createdThings = new LinkedHashMap<>();
+
+    /**
+     * The {@linkplain UUID}s of the updated {@linkplain Thing}s and their revision number
+     */
+    private final Map<UUID, Integer> updatedThings = new LinkedHashMap<>();
+
+    /**
+     * The created {@linkplain Element}s by id
+     */
+    private final Map<String, Element> createdElements = new LinkedHashMap<>();
+
+    /**
+     * The updated or mapped {@linkplain Element}s by id
+     */
+    private final Map<String, Element> updatedElements = new LinkedHashMap<>();
+
+    /**
+     * A value indicating whether the transfer went through
+     */
+    private boolean isComplete;
+
+    /**
+     * Initializes a new {@linkplain TransferReport}
+     * 
+     * @param mappingDirection the {@linkplain MappingDirection} of the transfer
+     */
+    public TransferReport(MappingDirection mappingDirection)
+    {
+        this.mappingDirection = mappingDirection;
+    }
+
+    /**
+     * Gets the {@linkplain MappingDirection} of the transfer
+     * 
+     * @return a {@linkplain MappingDirection}
+     */
+    public MappingDirection GetMappingDirection()
+    {
+        return this.mappingDirection;
+    }
+
+    /**
+     * Records the provided {@linkplain Thing} as transferred, it is reported as created when it has never been written yet
+     * 
+     * @param thing the transferred {@linkplain Thing}
+     */
+    public void AddThing(Thing thing)
+    {
+        if(thing == null || thing.getIid() == null || this.createdThings.containsKey(thing.getIid()))
+        {
+            return;
+        }
+        
+        (thing.getRevisionNumber() == 0 ? this.createdThings : this.updatedThings).put(thing.getIid(), thing.getRevisionNumber());
+    }
+
+    /**
+     * Records the provided {@linkplain Element} as transferred
+     * 
+     * @param element the transferred {@linkplain Element}
+     * @param isCreated a value indicating whether the {@linkplain Element} is new
+     */
+    public void AddElement(Element element, boolean isCreated)
+    {
+        if(element == null)
+        {
+            return;
+        }
+        
+        var elementId = ElementUtils.GetId(element);
+        
+        if(elementId == null || this.createdElements.containsKey(elementId))
+        {
+            return;
+        }
+        
+        (isCreated ? this.createdElements : this.updatedElements).put(elementId, element);
+    }
+
+    /**
+     * Updates the revision numbers of the recorded {@linkplain Thing}s once the HUB has been refreshed
+     * 
+     * @param revisionNumberSelector the {@linkplain Function} that gets the current revision number of a {@linkplain Thing} 
+     * from its {@linkplain UUID}, or null when it is unknown
+     */
+    public void ResolveRevisionNumbers(Function<UUID, Integer> revisionNumberSelector)
+    {
+        for (var things : Arrays.asList(this.createdThings, this.updatedThings))
+        {
+            things.replaceAll((iid, revisionNumber) -> 
+            {
+                var resolvedRevisionNumber = revisionNumberSelector.apply(iid);
+                return resolvedRevisionNumber != null ? resolvedRevisionNumber : revisionNumber;
+            });
+        }
+    }
+
+    /**
+     * Gets the created {@linkplain Thing}s {@linkplain UUID}s and their revision number
+     * 
+     * @return an unmodifiable {@linkplain Map} of {@linkplain UUID} and revision number
+     */
+    public Map<UUID, Integer> GetCreatedThings()
+    {
+        return Collections.unmodifiableMap(this.createdThings);
+    }
+
+    /**
+     * Gets the updated {@linkplain Thing}s {@linkplain UUID}s and their revision number
+     * 
+     * @return an unmodifiable {@linkplain Map} of {@linkplain UUID} and revision number
+     */
+    public Map<UUID, Integer> GetUpdatedThings()
+    {
+        return Collections.unmodifiableMap(this.updatedThings);
+    }
+
+    /**
+     * Gets the created {@linkplain Element}s
+     * 
+     * @return an unmodifiable {@linkplain Collection} of {@linkplain Element}
+     */
+    public Collection<Element> GetCreatedElements()
+    {
+        return Collections.unmodifiableCollection(this.createdElements.values());
+    }
+
+    /**
+     * Gets the updated {@linkplain Element}s, including the ones whose mapping is affected by a transfer to the HUB
+     * 
+     * @return an unmodifiable {@linkplain Collection} of {@linkplain Element}
+     */
+    public Collection<Element> GetUpdatedElements()
+    {
+        return Collections.unmodifiableCollection(this.updatedElements.values());
+    }
+
+    /**
+     * Marks the transfer as gone through
+     */
+    public void SetComplete()
+    {
+        this.isComplete = true;
+    }
+
+    /**
+     * Gets a value indicating whether the transfer went through, when it did not the mapping state can only be fully reloaded
+     * 
+     * @return a {@linkplain boolean}
+     */
+    public boolean IsComplete()
+    {
+        return this.isComplete;
+    }
+
+    /**
+     * Gets a value indicating whether this report affects no {@linkplain Element}
+     * 
+     * @return a {@linkplain boolean}
+     */
+    public boolean IsEmpty()
+    {
+        return this.createdElements.isEmpty() && this.updatedElements.isEmpty();
+    }
+
+    /**
+     * Gets a {@linkplain String} representation of this report
+     * 
+     * @return a {@linkplain String}
+     */
+    @Override
+    public String toString()
+    {
+        return String.format("%s thing(s) created, %s thing(s) updated, %s element(s) created, %s element(s) updated", 
+                this.createdThings.size(), this.updatedThings.size(), this.createdElements.size(), this.updatedElements.size());
+    }
+}
@@ -24,6 +24,13 @@
 
 package Enumerations;
 
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
 import org.polarsys.capella.common.data.modellingcore.TraceableElement;
 import org.polarsys.capella.core.data.capellacore.CapellaElement;
 import org.polarsys.capella.core.data.cs.BlockArchitecture;
@@ -62,6 +69,15 @@ public enum CapellaArchitecture
      */
     EPBSArchitecture(org.polarsys.capella.core.data.epbs.EPBSArchitecture.class, Type.EPBS);
     
+    /**
+     * Holds the {@linkplain CapellaArchitecture} already resolved per {@linkplain Element}. 
+     * {@linkplain EObject}s do not override equals and hashCode so the entries are identity keyed, 
+     * and weak so that the elements of closed sessions are not retained. 
+     * The entries are invalidated through {@linkplain #Invalidate(Object)} when their element containment changes,
+     * and through {@linkplain #InvalidateAll(ResourceSet)} when their session gets closed
+     */
+    private static final Map<Element, CapellaArchitecture> resolvedArchitectures = Collections.synchronizedMap(new WeakHashMap<>());
+    
     /**
      * Holds the represented {@linkplain Class} of {@linkplain BlockArchitecture};
      */
@@ -101,18 +117,16 @@ public enum CapellaArchitecture
     }
     
     /**
-     * Gets the {@linkplain CapellaArchitecture} that corresponds to {@linkplain BlockArchitecture} of the provided {@linkplain TraceableElement}
+     * Gets the {@linkplain CapellaArchitecture} that corresponds to the provided architecture {@linkplain Type}
      * 
-     * @param element the {@linkplain TraceableElement} instance
+     * @param type the architecture {@linkplain Type}
      * @return the {@linkplain CapellaArchitecture}
      */
-    public static CapellaArchitecture From(Element element)
+    public static CapellaArchitecture From(Type type)
     {
-        var architectureInstance = BlockArchitectureExt.getRootBlockArchitecture(element);
-        
         for (var architecture : CapellaArchitecture.values())
         {
-            if(architecture.architectureClass.isInstance(architectureInstance))
+            if(architecture.type == type)
             {
                 return architecture;
             }
@@ -120,6 +134,90 @@ public enum CapellaArchitecture
         
         return null;
     }
+    
+    /**
+     * Gets the {@linkplain CapellaArchitecture} that corresponds to {@linkplain BlockArchitecture} of the provided {@linkplain TraceableElement}
+     * 
+     * @param element the {@linkplain TraceableElement} instance
+     * @return the {@linkplain CapellaArchitecture}
+     */
+    public static CapellaArchitecture From(Element element)
+    {
+        if(element == null)
+        {
+            return null;
+        }
+        
+        var architecture = resolvedArchitectures.get(element);
+        
+        if(architecture != null)
+        {
+            return architecture;
+        }
+        
+        var architectureInstance = BlockArchitectureExt.getRootBlockArchitecture(element);
+        
+        if(!(architectureInstance instanceof BlockArchitecture))
+        {
+            return null;
+        }
+        
+        architecture = From((BlockArchitecture)architectureInstance);
+        
+        if(architecture != null)
+        {
+            resolvedArchitectures.put(element, architecture);
+        }
+        
+        return architecture;
+    }
+    
+    /**
+     * Forgets the resolved {@linkplain CapellaArchitecture} of the provided {@linkplain EObject} or {@linkplain Resource} and of all its contents, 
+     * to be called whenever it gets added, moved or removed
+     * 
+     * @param value the {@linkplain EObject} or {@linkplain Resource}
+     */
+    public static void Invalidate(Object value)
+    {
+        if(resolvedArchitectures.isEmpty())
+        {
+            return;
+        }
+        
+        var contents = value instanceof Resource ? ((Resource)value).getAllContents() 
+                : value instanceof EObject ? ((EObject)value).eAllContents() : null;
+
+        resolvedArchitectures.remove(value);
+        
+        while(contents != null && contents.hasNext())
+        {
+            resolvedArchitectures.remove(contents.next());
+        }
+    }
+    
+    /**
+     * Forgets all the resolved {@linkplain CapellaArchitecture}
+     */
+    public static void InvalidateAll()
+    {
+        resolvedArchitectures.clear();
+    }
+
+    /**
+     * Forgets the resolved {@linkplain CapellaArchitecture} of the elements that belong to the provided {@linkplain ResourceSet}, 
+     * and of the ones that no longer belong to any, so that the entries of the other sessions are kept
+     * 
+     * @param resourceSet the {@linkplain ResourceSet} of the closed session
+     */
+    public static void InvalidateAll(ResourceSet resourceSet)
+    {
+        synchronized (resolvedArchitectures)
+        {
+            resolvedArchitectures.keySet().removeIf(x -> x.eResource() == null || x.eResource().getResourceSet() == null
+                    || x.eResource().getResourceSet() == resourceSet);
+        }
+    }
 
     /**
      * Verifies whether this represented capella architecture is the same as the one containing the provided {@linkplain CapellaElement}
@@ -129,7 +227,7 @@ public enum CapellaArchitecture
      */
     public boolean AreSameArchitecture(Element element)
     {
-        return this.architectureClass.isInstance(BlockArchitectureExt.getRootBlockArchitecture(element));
+        return this == From(element);
     }
     
     /**
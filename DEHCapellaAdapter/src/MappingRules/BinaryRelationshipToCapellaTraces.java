@@ -26,6 +26,7 @@ package MappingRules;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Map.Entry;
+import java.util.UUID;
 import java.util.stream.Collectors;
 
 import org.apache.commons.lang3.tuple.Pair;
@@ -172,7 +173,8 @@ public class BinaryRelationshipToCapellaTraces extends HubToDstBaseMappingRule<H
     }
 
     /**
-     * Gets the mappable {@linkplain BinaryRelationship} and its target and source {@linkplain MappedElementRowViewModel}
+     * Gets the mappable {@linkplain BinaryRelationship} and its target and source {@linkplain MappedElementRowViewModel},
+     * only the relationships of the {@linkplain HubRelationshipElementsCollection#GetAddedElements()} are examined
      * 
      * @param elements the {@linkplain HubRelationshipElementsCollection}
      * @return a {@linkplain HashMap} of {@linkplain BinaryRelationship} and a {@linkplain Pair} of {@linkplain MappedElementRowViewModel}
@@ -183,28 +185,40 @@ public class BinaryRelationshipToCapellaTraces extends HubToDstBaseMappingRule<H
         var relatedThings = new HashMap<BinaryRelationship, 
                 Pair<MappedElementRowViewModel<? extends Thing, ? extends CapellaElement>, MappedElementRowViewModel<? extends Thing, ? extends CapellaElement>>>();
         
-        for (var mappedElementRowViewModel : elements.stream().filter(x -> x.GetHubElement() != null).collect(Collectors.toList()))
+        var elementsByIid = new HashMap<UUID, MappedElementRowViewModel<? extends Thing, ? extends CapellaElement>>();
+        
+        for (var element : elements)
+        {
+            if(element.GetHubElement() != null)
+            {
+                elementsByIid.putIfAbsent(element.GetHubElement().getIid(), element);
+            }
+        }
+        
+        for (var mappedElementRowViewModel : elements.GetAddedElements().stream().filter(x -> x.GetHubElement() != null).collect(Collectors.toList()))
         {
             for(var relationship : mappedElementRowViewModel.GetHubElement().getRelationships().stream()
                     .filter(x -> x instanceof BinaryRelationship)
                     .map(x -> (BinaryRelationship)x).collect(Collectors.toList()))
             {
+                if(relatedThings.containsKey(relationship) || relationship.getSource() == null || relationship.getTarget() == null)
+                {
+                    continue;
+                }
+                
                 var isTarget = Operators.AreTheseEquals(relationship.getTarget().getIid(), mappedElementRowViewModel.GetHubElement().getIid());
                 
-                var otherElement = elements.stream().filter(x -> isTarget 
-                        ? Operators.AreTheseEquals(x.GetHubElement().getIid(), relationship.getSource().getIid())
-                        : Operators.AreTheseEquals(x.GetHubElement().getIid(), relationship.getTarget().getIid()))
-                .findFirst();
+                var otherElement = elementsByIid.get(isTarget ? relationship.getSource().getIid() : relationship.getTarget().getIid());
                 
-                if(otherElement.isPresent())
+                if(otherElement != null)
                 {
                     if(isTarget)
                     {
-                        relatedThings.put(relationship, Pair.of(otherElement.get(), mappedElementRowViewModel));
+                        relatedThings.put(relationship, Pair.of(otherElement, mappedElementRowViewModel));
                     }
                     else
                     {
-                        relatedThings.put(relationship, Pair.of(mappedElementRowViewModel, otherElement.get()));  
+                        relatedThings.put(relationship, Pair.of(mappedElementRowViewModel, otherElement));  
                     }
                 }
             }
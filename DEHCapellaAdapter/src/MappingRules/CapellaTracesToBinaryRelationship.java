@@ -24,8 +24,14 @@
 package MappingRules;
 
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Set;
 import java.util.UUID;
-import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+import org.apache.commons.lang3.tuple.Pair;
 
 import org.polarsys.capella.core.data.capellacore.CapellaElement;
 import org.polarsys.capella.core.data.capellacore.NamedElement;
@@ -37,7 +43,6 @@ import DstController.IDstController;
 import HubController.IHubController;
 import Services.MappingConfiguration.ICapellaMappingConfigurationService;
 import Services.MappingEngineService.MappingRule;
-import Utils.Operators.Operators;
 import Utils.Stereotypes.CapellaComponentCollection;
 import Utils.Stereotypes.CapellaTracedElementCollection;
 import ViewModels.Rows.MappedElementDefinitionRowViewModel;
@@ -103,35 +108,102 @@ public class CapellaTracesToBinaryRelationship extends DstToHubBaseMappingRule<C
     }
 
     /**
-     * Maps the provided collection of  {@linkplain MappedElementRowViewModel}
+     * Maps the provided collection of  {@linkplain MappedElementRowViewModel}, only the traces that start from or end at 
+     * one of the {@linkplain CapellaTracedElementCollection#GetAddedElements()} are examined
      * 
      * @param mappedElementDefinitions the collection of {@linkplain MappedElementRowViewModel} to map
      */
     private void Map(CapellaTracedElementCollection elements)
     {
-        for (var sourceElement : elements)
+        var elementsByDstElement = new IdentityHashMap<Object, MappedElementRowViewModel<? extends Thing, ? extends CapellaElement>>();
+        var elementsById = new HashMap<String, MappedElementRowViewModel<? extends Thing, ? extends CapellaElement>>();
+        
+        for (var element : elements)
         {
-            for (var outgoingTrace : sourceElement.GetDstElement().getOutgoingTraces())
+            Object dstElement = element.GetDstElement();
+            
+            if(dstElement instanceof CapellaElement)
             {
-                var optionalTargetElement = elements.stream()
-                        .filter(x -> outgoingTrace.getTargetElement() != null && Operators.AreTheseEquals(x.GetDstElement().getId(), outgoingTrace.getTargetElement().getId()))
-                        .findFirst();
-                
-                if(!optionalTargetElement.isPresent())
-                {
-                    continue;
-                }
-                
-                if(this.DoesRelationshipAlreadyExists(sourceElement.GetHubElement(), optionalTargetElement.get().GetHubElement()))
+                elementsByDstElement.putIfAbsent(dstElement, element);
+                elementsById.putIfAbsent(((CapellaElement)dstElement).getId(), element);
+            }
+        }
+        
+        var existingRelationships = this.GetExistingRelationships();
+        var examinedPairs = new HashSet<Pair<Object, Object>>();
+        
+        for (var addedElement : elements.GetAddedElements())
+        {
+            Object dstElement = addedElement.GetDstElement();
+            
+            if(!(dstElement instanceof CapellaElement))
+            {
+                continue;
+            }
+            
+            for (var outgoingTrace : ((CapellaElement)dstElement).getOutgoingTraces())
+            {
+                this.Map(addedElement, this.GetCounterpart(outgoingTrace.getTargetElement(), elementsByDstElement, elementsById), existingRelationships, examinedPairs);
+            }
+            
+            if(elements.HasAddedElements())
+            {
+                for (var incomingTrace : ((CapellaElement)dstElement).getIncomingTraces())
                 {
-                    continue;
+                    this.Map(this.GetCounterpart(incomingTrace.getSourceElement(), elementsByDstElement, elementsById), addedElement, existingRelationships, examinedPairs);
                 }
-                                
-                this.result.add(this.CreateBinaryRelationship(sourceElement, optionalTargetElement.get()));
             }
         }
     }
 
+    /**
+     * Maps the trace between the provided source and target {@linkplain MappedElementRowViewModel} unless the pair has already been examined
+     * or a {@linkplain BinaryRelationship} already relates their {@linkplain Thing}s
+     * 
+     * @param sourceElement the source {@linkplain MappedElementRowViewModel}, can be null
+     * @param targetElement the target {@linkplain MappedElementRowViewModel}, can be null
+     * @param existingRelationships the {@linkplain Set} of source and target {@linkplain UUID} {@linkplain Pair}s already related
+     * @param examinedPairs the {@linkplain Set} of {@linkplain MappedElementRowViewModel} {@linkplain Pair}s already examined
+     */
+    private void Map(MappedElementRowViewModel<? extends Thing, ? extends CapellaElement> sourceElement, 
+            MappedElementRowViewModel<? extends Thing, ? extends CapellaElement> targetElement, 
+            Set<Pair<UUID, UUID>> existingRelationships, Set<Pair<Object, Object>> examinedPairs)
+    {
+        if(sourceElement == null || targetElement == null || !examinedPairs.add(Pair.of(sourceElement, targetElement)))
+        {
+            return;
+        }
+        
+        if(sourceElement.GetHubElement() != null && targetElement.GetHubElement() != null
+                && existingRelationships.contains(Pair.of(sourceElement.GetHubElement().getIid(), targetElement.GetHubElement().getIid())))
+        {
+            return;
+        }
+        
+        this.result.add(this.CreateBinaryRelationship(sourceElement, targetElement));
+    }
+
+    /**
+     * Gets the {@linkplain MappedElementRowViewModel} that maps the provided traced {@linkplain CapellaElement}
+     * 
+     * @param tracedElement the traced {@linkplain CapellaElement}
+     * @param elementsByDstElement the {@linkplain MappedElementRowViewModel}s by their DST element
+     * @param elementsById the {@linkplain MappedElementRowViewModel}s by the id of their DST element
+     * @return a {@linkplain MappedElementRowViewModel} or null
+     */
+    private MappedElementRowViewModel<? extends Thing, ? extends CapellaElement> GetCounterpart(CapellaElement tracedElement,
+            IdentityHashMap<Object, MappedElementRowViewModel<? extends Thing, ? extends CapellaElement>> elementsByDstElement,
+            HashMap<String, MappedElementRowViewModel<? extends Thing, ? extends CapellaElement>> elementsById)
+    {
+        if(tracedElement == null)
+        {
+            return null;
+        }
+        
+        var counterpart = elementsByDstElement.get(tracedElement);
+        return counterpart != null ? counterpart : elementsById.get(tracedElement.getId());
+    }
+
     /**
      * Create a {@linkplain BinaryRelationship}
      * 
@@ -165,21 +237,22 @@ public class CapellaTracesToBinaryRelationship extends DstToHubBaseMappingRule<C
     }
 
     /**
-     * Verifies that no relationship already exists between the provided {@linkplain CapellaElement} source and the {@linkplain CapellaElement} target in the Hub
+     * Gets the source and target {@linkplain Thing} {@linkplain UUID}s of the {@linkplain BinaryRelationship}s that already exist in the Hub 
+     * or that have already been mapped
      * 
-     * @param source the {@linkplain Thing} source
-     * @param target the {@linkplain Thing} target
-     * @return a {@linkplain boolean}
+     * @return a {@linkplain Set} of source and target {@linkplain UUID} {@linkplain Pair}s
      */
-    private boolean DoesRelationshipAlreadyExists(Thing source, Thing target)
+    private Set<Pair<UUID, UUID>> GetExistingRelationships()
     {
-        Predicate<? super BinaryRelationship> predicate = x -> Operators.AreTheseEquals(x.getTarget().getIid(), target.getIid()) && 
-                Operators.AreTheseEquals(x.getSource().getIid(), source.getIid());
+        var existingRelationships = new HashSet<Pair<UUID, UUID>>();
         
-        return this.hubController.GetOpenIteration().getRelationship().stream()
+        Stream.concat(this.hubController.GetOpenIteration().getRelationship().stream()
                     .filter(x -> x instanceof BinaryRelationship)
-                    .map(x -> (BinaryRelationship)x)
-                    .anyMatch(predicate) 
-                || this.dstController.GetMappedTracesToBinaryRelationships().stream().anyMatch(predicate);
-    }    
+                    .map(x -> (BinaryRelationship)x), 
+                this.dstController.GetMappedTracesToBinaryRelationships().stream())
+            .filter(x -> x.getSource() != null && x.getTarget() != null)
+            .forEach(x -> existingRelationships.add(Pair.of(x.getSource().getIid(), x.getTarget().getIid())));
+        
+        return existingRelationships;
+    }
 }
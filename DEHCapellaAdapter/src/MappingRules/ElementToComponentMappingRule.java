@@ -1265,7 +1265,7 @@ public class ElementToComponentMappingRule extends HubToDstBaseMappingRule<HubEl
         
         Ref<Part> refPart = new Ref<Part>(Part.class);
         
-        if(!this.dstController.TryGetElementBy(x -> x instanceof NamedElement && 
+        if(!this.dstController.TryGetElementBy(name, null, x -> x instanceof NamedElement && 
                 AreTheseEquals(((NamedElement) x).getName(), name, true), refPart))
         {
             var part = this.transactionService.Create(Part.class, name);
@@ -1345,7 +1345,7 @@ public class ElementToComponentMappingRule extends HubToDstBaseMappingRule<HubEl
         }
         else
         {
-            if(!this.dstController.TryGetElementBy(x -> x instanceof NamedElement && 
+            if(!this.dstController.TryGetElementBy(hubElementName, null, x -> x instanceof NamedElement && 
                     AreTheseEquals(((NamedElement) x).getName(), hubElementName, true), refElement))
             {
                 var newComponent = this.transactionService.Create(componentType, hubElementName);
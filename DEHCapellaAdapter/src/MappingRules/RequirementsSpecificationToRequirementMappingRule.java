@@ -186,7 +186,7 @@ public class RequirementsSpecificationToRequirementMappingRule extends HubToDstB
     {
         var refElement = new Ref<>(Requirement.class);
         
-        if(!this.dstController.TryGetElementBy(x -> x instanceof NamedElement && 
+        if(!this.dstController.TryGetElementBy(hubRequirement.getName(), targetArchitecture, x -> x instanceof NamedElement && 
                 AreTheseEquals(((NamedElement) x).getName(), hubRequirement.getName(), true) && targetArchitecture.AreSameArchitecture(x), refElement))
         {        
             var newRequirement = this.transactionService.Create(Requirement.class, hubRequirement.getName(), targetArchitecture);
@@ -344,7 +344,7 @@ public class RequirementsSpecificationToRequirementMappingRule extends HubToDstB
         }
         else
         {
-            if(!this.dstController.TryGetElementBy(x -> x instanceof NamedElement && 
+            if(!this.dstController.TryGetElementBy(thingContainer.getName(), targetArchitecture, x -> x instanceof NamedElement && 
                     AreTheseEquals(((NamedElement) x).getName(), thingContainer.getName(), true) && targetArchitecture.AreSameArchitecture(x), refElement))
             {        
                 var newRequirementsPackage = this.transactionService.Create(Folder.class, thingContainer.getName(), targetArchitecture);
@@ -0,0 +1,97 @@
+/*
+ * NullCapellaLogService.java
+ *
+ * Copyright (c) 2020-2024 Starion Group S.A.
+ *
+ * Author: Sam Gerené, Alex Vorobiev, Nathanael Smiechowski, Antoine Théate
+ *
+ * This file is part of DEH-Capella
+ *
+ * The DEH-Capella is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * The DEH-Capella is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package Services.CapellaLog;
+
+import org.apache.logging.log4j.Level;
+
+/**
+ * The {@linkplain NullCapellaLogService} is the {@linkplain ICapellaLogService} that discards every message, 
+ * it stands in for the {@linkplain CapellaLogService} where an operation must not report anything, such as a transfer dry run
+ */
+public final class NullCapellaLogService implements ICapellaLogService
+{
+    /**
+     * Discards the provided message
+     * 
+     * @param message the {@linkplain String} message
+     * @param level the {@linkplain Level}
+     * @param args the format arguments
+     */
+    @Override
+    public void Append(String message, Level level, Object... args) { }
+
+    /**
+     * Discards the provided message
+     * 
+     * @param message the {@linkplain String} message
+     * @param level the {@linkplain Level}
+     */
+    @Override
+    public void Append(String message, Level level) { }
+
+    /**
+     * Discards the provided message
+     * 
+     * @param message the {@linkplain String} message
+     * @param successStatus the success status
+     */
+    @Override
+    public void Append(String message, boolean successStatus) { }
+
+    /**
+     * Discards the provided message
+     * 
+     * @param message the {@linkplain String} message
+     * @param args the format arguments
+     */
+    @Override
+    public void Append(String message, Object... args) { }
+
+    /**
+     * Discards the provided message
+     * 
+     * @param message the {@linkplain String} message
+     */
+    @Override
+    public void Append(String message) { }
+
+    /**
+     * Discards the provided message
+     * 
+     * @param message the {@linkplain String} message
+     * @param exception the {@linkplain Throwable}
+     */
+    @Override
+    public void Append(String message, Throwable exception) { }
+
+    /**
+     * Discards the provided message
+     * 
+     * @param message the {@linkplain String} message
+     * @param exception the {@linkplain Throwable}
+     * @param args the format arguments
+     */
+    @Override
+    public void Append(String message, Throwable exception, Object... args) { }
+}
@@ -0,0 +1,487 @@
+/*
+ * CapellaModelSnapshot.java
+ *
+ * Copyright (c) 2020-2024 Starion Group S.A.
+ *
+ * Author: Sam Gerené, Alex Vorobiev, Nathanael Smiechowski, Antoine Théate
+ *
+ * This file is part of DEH-Capella
+ *
+ * The DEH-Capella is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * The DEH-Capella is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package Services.CapellaSession;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+
+import org.eclipse.emf.ecore.EObject;
+import org.polarsys.capella.core.data.cs.BlockArchitecture;
+import org.polarsys.kitalpha.emde.model.Element;
+
+import Enumerations.CapellaArchitecture;
+
+/**
+ * The {@linkplain CapellaModelSnapshot} is an immutable and compact view of the {@linkplain Element}s of one session for read-only matching work.
+ * Each element is identified by its position, its id, name, {@linkplain org.eclipse.emf.ecore.EClass} name, container and {@linkplain CapellaArchitecture} 
+ * are held in primitive arrays that refer to one interned string table, so that candidates can be resolved 
+ * by comparing integers before touching the live model through {@linkplain #GetElement(int)}
+ */
+public final class CapellaModelSnapshot
+{
+    /**
+     * The value of the integer references that do not refer to anything
+     */
+    public static final int NONE = -1;
+
+    /**
+     * The architecture value of the name lookup keys that match any {@linkplain CapellaArchitecture}
+     */
+    private static final int ANYARCHITECTURE = -2;
+
+    /**
+     * The interned strings referred to by position
+     */
+    private final String[] strings;
+
+    /**
+     * The position of each interned string
+     */
+    private final HashMap<String, Integer> stringPositions;
+
+    /**
+     * The live {@linkplain Element}s by position
+     */
+    private final Element[] elements;
+
+    /**
+     * The string position of the id of each element
+     */
+    private final int[] ids;
+
+    /**
+     * The string position of the name of each element
+     */
+    private final int[] names;
+
+    /**
+     * The string position of the normalized name of each element
+     */
+    private final int[] nameKeys;
+
+    /**
+     * The string position of the {@linkplain org.eclipse.emf.ecore.EClass} name of each element
+     */
+    private final int[] eClasses;
+
+    /**
+     * The position of the closest container of each element
+     */
+    private final int[] parents;
+
+    /**
+     * The position of the first contained element of each element
+     */
+    private final int[] firstChildren;
+
+    /**
+     * The position of the next element that has the same container of each element
+     */
+    private final int[] nextSiblings;
+
+    /**
+     * The {@linkplain CapellaArchitecture} ordinal of each element
+     */
+    private final byte[] architectures;
+
+    /**
+     * The position of the first element that has each interned id, by string position
+     */
+    private final int[] positionsById;
+
+    /**
+     * The positions in model order of the elements by normalized name and {@linkplain CapellaArchitecture}, 
+     * the elements are also held under the {@linkplain #ANYARCHITECTURE} key of their name
+     */
+    private final HashMap<Long, int[]> positionsByName;
+
+    /**
+     * Initializes a new {@linkplain CapellaModelSnapshot}
+     *
+     * @param elements the {@linkplain Element}s in model order
+     */
+    private CapellaModelSnapshot(Collection<Element> elements)
+    {
+        var size = elements.size();
+        var internedStrings = new ArrayList<String>();
+        this.stringPositions = new HashMap<>();
+        this.elements = elements.toArray(new Element[size]);
+        this.ids = new int[size];
+        this.names = new int[size];
+        this.nameKeys = new int[size];
+        this.eClasses = new int[size];
+        this.parents = new int[size];
+        this.firstChildren = new int[size];
+        this.nextSiblings = new int[size];
+        this.architectures = new byte[size];
+        
+        var positions = new IdentityHashMap<EObject, Integer>(size);
+
+        for (var position = 0; position < size; position++)
+        {
+            positions.put(this.elements[position], position);
+        }
+
+        var lastChildren = new int[size];
+        Arrays.fill(this.firstChildren, NONE);
+        Arrays.fill(this.nextSiblings, NONE);
+        Arrays.fill(lastChildren, NONE);
+
+        for (var position = 0; position < size; position++)
+        {
+            var element = this.elements[position];
+            var name = CapellaSessionElementIndex.GetElementName(element);
+
+            this.ids[position] = this.Intern(internedStrings, CapellaSessionElementIndex.GetElementId(element));
+            this.names[position] = this.Intern(internedStrings, name);
+            this.nameKeys[position] = this.Intern(internedStrings, CapellaSessionElementIndex.NormalizeName(name));
+            this.eClasses[position] = this.Intern(internedStrings, element.eClass() == null ? null : element.eClass().getName());
+
+            var parent = GetContainerPosition(element, positions);
+            this.parents[position] = parent;
+
+            if(parent != NONE)
+            {
+                if(lastChildren[parent] == NONE)
+                {
+                    this.firstChildren[parent] = position;
+                }
+                else
+                {
+                    this.nextSiblings[lastChildren[parent]] = position;
+                }
+
+                lastChildren[parent] = position;
+            }
+        }
+
+        this.strings = internedStrings.toArray(new String[internedStrings.size()]);
+        this.ResolveArchitectures();
+        
+        this.positionsById = new int[this.strings.length];
+        Arrays.fill(this.positionsById, NONE);
+        var positionListsByName = new HashMap<Long, ArrayList<Integer>>();
+        
+        for (var position = 0; position < size; position++)
+        {
+            if(this.ids[position] != NONE && this.positionsById[this.ids[position]] == NONE)
+            {
+                this.positionsById[this.ids[position]] = position;
+            }
+            
+            if(this.nameKeys[position] != NONE)
+            {
+                positionListsByName.computeIfAbsent(NameKey(this.nameKeys[position], ANYARCHITECTURE), x -> new ArrayList<>()).add(position);
+                positionListsByName.computeIfAbsent(NameKey(this.nameKeys[position], this.architectures[position]), x -> new ArrayList<>()).add(position);
+            }
+        }
+        
+        this.positionsByName = new HashMap<>(positionListsByName.size() * 2);
+        positionListsByName.forEach((key, positions) -> this.positionsByName.put(key, positions.stream().mapToInt(Integer::intValue).toArray()));
+    }
+
+    /**
+     * Creates a {@linkplain CapellaModelSnapshot} of the provided {@linkplain Element}s
+     *
+     * @param elements the {@linkplain Element}s in model order
+     * @return a new {@linkplain CapellaModelSnapshot}
+     */
+    public static CapellaModelSnapshot Create(Collection<Element> elements)
+    {
+        return new CapellaModelSnapshot(elements);
+    }
+
+    /**
+     * Gets the number of elements in this snapshot
+     *
+     * @return an {@linkplain int}
+     */
+    public int Size()
+    {
+        return this.elements.length;
+    }
+
+    /**
+     * Gets the live {@linkplain Element} at the provided position
+     *
+     * @param position the position of the element
+     * @return the {@linkplain Element}
+     */
+    public Element GetElement(int position)
+    {
+        return this.elements[position];
+    }
+
+    /**
+     * Gets the id of the element at the provided position
+     *
+     * @param position the position of the element
+     * @return the {@linkplain String} id, or null
+     */
+    public String GetId(int position)
+    {
+        return this.GetString(this.ids[position]);
+    }
+
+    /**
+     * Gets the name of the element at the provided position
+     *
+     * @param position the position of the element
+     * @return the {@linkplain String} name, or null
+     */
+    public String GetName(int position)
+    {
+        return this.GetString(this.names[position]);
+    }
+
+    /**
+     * Gets the {@linkplain org.eclipse.emf.ecore.EClass} name of the element at the provided position
+     *
+     * @param position the position of the element
+     * @return the {@linkplain String} {@linkplain org.eclipse.emf.ecore.EClass} name, or null
+     */
+    public String GetEClassName(int position)
+    {
+        return this.GetString(this.eClasses[position]);
+    }
+
+    /**
+     * Gets the position of the closest container of the element at the provided position
+     *
+     * @param position the position of the element
+     * @return the position of the container, or {@linkplain #NONE}
+     */
+    public int GetParent(int position)
+    {
+        return this.parents[position];
+    }
+
+    /**
+     * Gets the positions of the elements directly contained by the element at the provided position
+     *
+     * @param position the position of the element
+     * @return an array of positions
+     */
+    public int[] GetChildren(int position)
+    {
+        var count = 0;
+
+        for (var child = this.firstChildren[position]; child != NONE; child = this.nextSiblings[child])
+        {
+            count++;
+        }
+
+        var children = new int[count];
+        count = 0;
+
+        for (var child = this.firstChildren[position]; child != NONE; child = this.nextSiblings[child])
+        {
+            children[count++] = child;
+        }
+
+        return children;
+    }
+
+    /**
+     * Gets the {@linkplain CapellaArchitecture} the element at the provided position belongs to
+     *
+     * @param position the position of the element
+     * @return the {@linkplain CapellaArchitecture}, or null
+     */
+    public CapellaArchitecture GetArchitecture(int position)
+    {
+        return this.architectures[position] == NONE ? null : CapellaArchitecture.values()[this.architectures[position]];
+    }
+
+    /**
+     * Gets the position of the element that has the provided id
+     *
+     * @param id the {@linkplain String} id
+     * @return the position of the element, or {@linkplain #NONE}
+     */
+    public int FindById(String id)
+    {
+        var key = this.GetStringPosition(id);
+        return key == NONE ? NONE : this.positionsById[key];
+    }
+
+    /**
+     * Gets the positions of the elements whose name matches the provided one ignoring the case and white spaces
+     *
+     * @param name the {@linkplain String} name
+     * @return an array of positions in model order
+     */
+    public int[] FindByName(String name)
+    {
+        return this.FindByName(name, null);
+    }
+
+    /**
+     * Gets the positions of the elements whose name matches the provided one ignoring the case and white spaces, 
+     * and that belong to the provided {@linkplain CapellaArchitecture} when it is not null
+     *
+     * @param name the {@linkplain String} name
+     * @param architecture the {@linkplain CapellaArchitecture}, or null
+     * @return an array of positions in model order
+     */
+    public int[] FindByName(String name, CapellaArchitecture architecture)
+    {
+        var key = this.GetStringPosition(CapellaSessionElementIndex.NormalizeName(name));
+
+        if(key == NONE)
+        {
+            return new int[0];
+        }
+
+        var matches = this.positionsByName.get(NameKey(key, architecture == null ? ANYARCHITECTURE : architecture.ordinal()));
+        return matches == null ? new int[0] : matches.clone();
+    }
+
+    /**
+     * Gets the key of the name lookup for the provided normalized name string position and architecture
+     *
+     * @param nameKey the string position of the normalized name
+     * @param architecture the {@linkplain CapellaArchitecture} ordinal, {@linkplain #NONE} or {@linkplain #ANYARCHITECTURE}
+     * @return the {@linkplain long} key
+     */
+    private static long NameKey(int nameKey, int architecture)
+    {
+        return ((long)nameKey << 8) | (architecture - ANYARCHITECTURE);
+    }
+
+    /**
+     * Gets the interned {@linkplain String} at the provided string position
+     *
+     * @param stringPosition the string position
+     * @return the {@linkplain String}, or null
+     */
+    private String GetString(int stringPosition)
+    {
+        return stringPosition == NONE ? null : this.strings[stringPosition];
+    }
+
+    /**
+     * Gets the string position of the provided {@linkplain String}
+     *
+     * @param value the {@linkplain String}
+     * @return the string position, or {@linkplain #NONE} when no element refers to this value
+     */
+    private int GetStringPosition(String value)
+    {
+        return value == null ? NONE : this.stringPositions.getOrDefault(value, NONE);
+    }
+
+    /**
+     * Interns the provided {@linkplain String} in the string table being built
+     *
+     * @param internedStrings the string table being built
+     * @param value the {@linkplain String} to intern
+     * @return the string position
+     */
+    private int Intern(ArrayList<String> internedStrings, String value)
+    {
+        if(value == null)
+        {
+            return NONE;
+        }
+
+        return this.stringPositions.computeIfAbsent(value, x -> 
+        {
+            internedStrings.add(x);
+            return internedStrings.size() - 1;
+        });
+    }
+
+    /**
+     * Resolves the {@linkplain CapellaArchitecture} of each element from its closest {@linkplain BlockArchitecture} container
+     */
+    private void ResolveArchitectures()
+    {
+        final byte unresolved = -2;
+        Arrays.fill(this.architectures, unresolved);
+        var path = new int[16];
+
+        for (var position = 0; position < this.elements.length; position++)
+        {
+            var depth = 0;
+            var current = position;
+            byte architecture = NONE;
+
+            while(current != NONE)
+            {
+                if(this.architectures[current] != unresolved)
+                {
+                    architecture = this.architectures[current];
+                    break;
+                }
+
+                if(this.elements[current] instanceof BlockArchitecture)
+                {
+                    var resolved = CapellaArchitecture.From((BlockArchitecture)this.elements[current]);
+                    architecture = resolved == null ? NONE : (byte)resolved.ordinal();
+                    this.architectures[current] = architecture;
+                    break;
+                }
+
+                if(depth == path.length)
+                {
+                    path = Arrays.copyOf(path, depth * 2);
+                }
+
+                path[depth++] = current;
+                current = this.parents[current];
+            }
+
+            for (var index = 0; index < depth; index++)
+            {
+                this.architectures[path[index]] = architecture;
+            }
+        }
+    }
+
+    /**
+     * Gets the position of the closest container of the provided {@linkplain EObject} that is part of this snapshot
+     *
+     * @param element the {@linkplain EObject}
+     * @param positions the position of each {@linkplain Element}
+     * @return the position of the container, or {@linkplain #NONE}
+     */
+    private static int GetContainerPosition(EObject element, IdentityHashMap<EObject, Integer> positions)
+    {
+        for (var container = element.eContainer(); container != null; container = container.eContainer())
+        {
+            var position = positions.get(container);
+
+            if(position != null)
+            {
+                return position;
+            }
+        }
+
+        return NONE;
+    }
+}
@@ -0,0 +1,162 @@
+/*
+ * CapellaSessionChange.java
+ *
+ * Copyright (c) 2020-2024 Starion Group S.A.
+ *
+ * Author: Sam Gerené, Alex Vorobiev, Nathanael Smiechowski, Antoine Théate
+ *
+ * This file is part of DEH-Capella
+ *
+ * The DEH-Capella is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * The DEH-Capella is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package Services.CapellaSession;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.eclipse.sirius.business.api.session.Session;
+import org.polarsys.kitalpha.emde.model.Element;
+
+/**
+ * The {@linkplain CapellaSessionChange} is the immutable set of {@linkplain Element}s that one committed transaction
+ * added to, removed from or changed in one {@linkplain Session}. Moved elements are reported as changed
+ */
+public final class CapellaSessionChange
+{
+    /**
+     * The {@linkplain Session} the change happened in
+     */
+    private final Session session;
+
+    /**
+     * The added {@linkplain Element}s
+     */
+    private final List<Element> addedElements;
+
+    /**
+     * The removed {@linkplain Element}s
+     */
+    private final List<Element> removedElements;
+
+    /**
+     * The changed {@linkplain Element}s
+     */
+    private final List<Element> changedElements;
+
+    /**
+     * The ids of the added, removed and changed {@linkplain Element}s
+     */
+    private final Set<String> affectedIds;
+
+    /**
+     * Initializes a new {@linkplain CapellaSessionChange}
+     *
+     * @param session the {@linkplain Session} the change happened in
+     * @param addedElements the added {@linkplain Element}s
+     * @param removedElements the removed {@linkplain Element}s
+     * @param changedElements the changed {@linkplain Element}s
+     */
+    public CapellaSessionChange(Session session, Collection<Element> addedElements, Collection<Element> removedElements, Collection<Element> changedElements)
+    {
+        this.session = session;
+        this.addedElements = List.copyOf(addedElements);
+        this.removedElements = List.copyOf(removedElements);
+        this.changedElements = List.copyOf(changedElements);
+        
+        this.affectedIds = Collections.unmodifiableSet(Stream.of(this.addedElements, this.removedElements, this.changedElements)
+                .flatMap(Collection::stream)
+                .map(x -> CapellaSessionElementIndex.GetElementId(x))
+                .filter(Objects::nonNull)
+                .collect(Collectors.toCollection(LinkedHashSet::new)));
+    }
+
+    /**
+     * Gets the {@linkplain Session} the change happened in
+     *
+     * @return the {@linkplain Session}
+     */
+    public Session GetSession()
+    {
+        return this.session;
+    }
+
+    /**
+     * Gets the {@linkplain Element}s that were added, including the contents of the added subtrees
+     *
+     * @return an unmodifiable {@linkplain List} of {@linkplain Element}
+     */
+    public List<Element> GetAddedElements()
+    {
+        return this.addedElements;
+    }
+
+    /**
+     * Gets the {@linkplain Element}s that were removed, including the contents of the removed subtrees
+     *
+     * @return an unmodifiable {@linkplain List} of {@linkplain Element}
+     */
+    public List<Element> GetRemovedElements()
+    {
+        return this.removedElements;
+    }
+
+    /**
+     * Gets the {@linkplain Element}s that had one of their features changed or that were moved
+     *
+     * @return an unmodifiable {@linkplain List} of {@linkplain Element}
+     */
+    public List<Element> GetChangedElements()
+    {
+        return this.changedElements;
+    }
+
+    /**
+     * Gets the ids of all the {@linkplain Element}s affected by this change
+     *
+     * @return an unmodifiable {@linkplain Set} of {@linkplain String} id
+     */
+    public Set<String> GetAffectedIds()
+    {
+        return this.affectedIds;
+    }
+
+    /**
+     * Gets a value indicating whether this change affects no {@linkplain Element}
+     *
+     * @return a {@linkplain boolean}
+     */
+    public boolean IsEmpty()
+    {
+        return this.addedElements.isEmpty() && this.removedElements.isEmpty() && this.changedElements.isEmpty();
+    }
+
+    /**
+     * Gets a {@linkplain String} representation of this change
+     *
+     * @return a {@linkplain String}
+     */
+    @Override
+    public String toString()
+    {
+        return String.format("%s added, %s removed, %s changed", 
+                this.addedElements.size(), this.removedElements.size(), this.changedElements.size());
+    }
+}
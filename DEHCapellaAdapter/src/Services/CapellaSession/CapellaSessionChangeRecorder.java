@@ -0,0 +1,206 @@
+/*
+ * CapellaSessionChangeRecorder.java
+ *
+ * Copyright (c) 2020-2024 Starion Group S.A.
+ *
+ * Author: Sam Gerené, Alex Vorobiev, Nathanael Smiechowski, Antoine Théate
+ *
+ * This file is part of DEH-Capella
+ *
+ * The DEH-Capella is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * The DEH-Capella is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package Services.CapellaSession;
+
+import java.util.LinkedHashSet;
+import java.util.function.Consumer;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.eclipse.emf.common.notify.Notification;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.transaction.ResourceSetChangeEvent;
+import org.eclipse.emf.transaction.ResourceSetListenerImpl;
+import org.eclipse.emf.transaction.TransactionalEditingDomain;
+import org.eclipse.sirius.business.api.session.Session;
+import org.polarsys.kitalpha.emde.model.Element;
+
+/**
+ * The {@linkplain CapellaSessionChangeRecorder} listens to the transactions committed on one {@linkplain Session} 
+ * and turns each of them into one {@linkplain CapellaSessionChange} handed to the provided publisher
+ */
+public class CapellaSessionChangeRecorder extends ResourceSetListenerImpl
+{
+    /**
+     * The current class Logger
+     */
+    private final Logger logger = LogManager.getLogger();
+
+    /**
+     * The recorded {@linkplain Session}
+     */
+    private final Session session;
+
+    /**
+     * The {@linkplain Consumer} of {@linkplain CapellaSessionChange} that publishes the recorded changes
+     */
+    private final Consumer<CapellaSessionChange> publisher;
+
+    /**
+     * The {@linkplain TransactionalEditingDomain} this recorder is attached to
+     */
+    private TransactionalEditingDomain editingDomain;
+
+    /**
+     * Initializes a new {@linkplain CapellaSessionChangeRecorder}
+     *
+     * @param session the {@linkplain Session} to record
+     * @param publisher the {@linkplain Consumer} of {@linkplain CapellaSessionChange} that publishes the recorded changes
+     */
+    public CapellaSessionChangeRecorder(Session session, Consumer<CapellaSessionChange> publisher)
+    {
+        this.session = session;
+        this.publisher = publisher;
+    }
+
+    /**
+     * Starts recording the changes committed on the {@linkplain Session}
+     */
+    public void Attach()
+    {
+        this.editingDomain = this.session.getTransactionalEditingDomain();
+
+        if(this.editingDomain == null)
+        {
+            this.logger.warn("The session has no editing domain, its changes cannot be recorded");
+            return;
+        }
+
+        this.editingDomain.addResourceSetListener(this);
+    }
+
+    /**
+     * Stops recording the changes committed on the {@linkplain Session}
+     */
+    public void Detach()
+    {
+        if(this.editingDomain != null)
+        {
+            this.editingDomain.removeResourceSetListener(this);
+            this.editingDomain = null;
+        }
+    }
+
+    /**
+     * Gets a value indicating whether this listener only wants to be notified after the transaction is committed
+     *
+     * @return a {@linkplain boolean}
+     */
+    @Override
+    public boolean isPostcommitOnly()
+    {
+        return true;
+    }
+
+    /**
+     * Builds the {@linkplain CapellaSessionChange} of the committed transaction and publishes it when it is not empty
+     *
+     * @param event the {@linkplain ResourceSetChangeEvent}
+     */
+    @Override
+    public void resourceSetChanged(ResourceSetChangeEvent event)
+    {
+        var added = new LinkedHashSet<Element>();
+        var removed = new LinkedHashSet<Element>();
+        var changed = new LinkedHashSet<Element>();
+
+        for (var notification : event.getNotifications())
+        {
+            this.Record(notification, added, removed, changed);
+        }
+
+        for (var element : new LinkedHashSet<Element>(added))
+        {
+            if(removed.remove(element))
+            {
+                added.remove(element);
+                changed.add(element);
+            }
+        }
+
+        changed.removeAll(added);
+        changed.removeAll(removed);
+
+        var change = new CapellaSessionChange(this.session, added, removed, changed);
+
+        if(!change.IsEmpty())
+        {
+            this.publisher.accept(change);
+        }
+    }
+
+    /**
+     * Records one {@linkplain Notification} in the provided sets
+     *
+     * @param notification the {@linkplain Notification}
+     * @param added the added {@linkplain Element}s
+     * @param removed the removed {@linkplain Element}s
+     * @param changed the changed {@linkplain Element}s
+     */
+    private void Record(Notification notification, LinkedHashSet<Element> added, LinkedHashSet<Element> removed, LinkedHashSet<Element> changed)
+    {
+        if(notification.isTouch())
+        {
+            return;
+        }
+
+        if(CapellaSessionElementIndex.IsContainmentChange(notification))
+        {
+            CapellaSessionElementIndex.ForEachValue(notification.getOldValue(), x -> CollectTree(x, removed));
+            CapellaSessionElementIndex.ForEachValue(notification.getNewValue(), x -> CollectTree(x, added));
+        }
+
+        if(notification.getNotifier() instanceof Element)
+        {
+            changed.add((Element)notification.getNotifier());
+        }
+    }
+
+    /**
+     * Collects the provided {@linkplain EObject} or {@linkplain Resource} and all its contents in the provided set
+     *
+     * @param value the {@linkplain EObject} or {@linkplain Resource}
+     * @param elements the {@linkplain LinkedHashSet} to fill
+     */
+    private static void CollectTree(Object value, LinkedHashSet<Element> elements)
+    {
+        if(value instanceof Element)
+        {
+            elements.add((Element)value);
+        }
+
+        var contents = value instanceof Resource ? ((Resource)value).getAllContents() : ((EObject)value).eAllContents();
+
+        while(contents != null && contents.hasNext())
+        {
+            var element = contents.next();
+
+            if(element instanceof Element)
+            {
+                elements.add((Element)element);
+            }
+        }
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * CapellaSessionContentsPruning.java
+ *
+ * Copyright (c) 2020-2024 Starion Group S.A.
+ *
+ * Author: Sam Gerené, Alex Vorobiev, Nathanael Smiechowski, Antoine Théate
+ *
+ * This file is part of DEH-Capella
+ *
+ * The DEH-Capella is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * The DEH-Capella is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package Services.CapellaSession;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Predicate;
+
+import org.eclipse.emf.common.notify.Notifier;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.polarsys.capella.core.data.cs.BlockArchitecture;
+
+/**
+ * The {@linkplain CapellaSessionContentsPruning} provides the common subtree pruning {@linkplain Predicate}s
+ * to use with {@linkplain ICapellaSessionService#StreamContents(org.eclipse.sirius.business.api.session.Session, Predicate)}.
+ * A pruned {@linkplain Notifier} is still visited, only its children are skipped
+ */
+public final class CapellaSessionContentsPruning
+{
+    /**
+     * The file extensions of the Sirius resources that only hold representations
+     */
+    private static final List<String> REPRESENTATIONFILEEXTENSIONS = Arrays.asList("aird", "airdfragment", "srm");
+
+    /**
+     * Initializes a new {@linkplain CapellaSessionContentsPruning}
+     */
+    private CapellaSessionContentsPruning() { }
+
+    /**
+     * Gets a {@linkplain Predicate} that never prunes
+     *
+     * @return a {@linkplain Predicate} of {@linkplain Notifier}
+     */
+    public static Predicate<Notifier> None()
+    {
+        return x -> false;
+    }
+
+    /**
+     * Gets a {@linkplain Predicate} that skips the contents of the diagram resources
+     *
+     * @return a {@linkplain Predicate} of {@linkplain Notifier}
+     */
+    public static Predicate<Notifier> SkipRepresentationResources()
+    {
+        return x -> x instanceof Resource && ((Resource)x).getURI() != null
+                && REPRESENTATIONFILEEXTENSIONS.contains(((Resource)x).getURI().fileExtension());
+    }
+
+    /**
+     * Gets a {@linkplain Predicate} that does not descend into any {@linkplain BlockArchitecture} but the provided one,
+     * diagram resources are skipped as well
+     *
+     * @param architecture the {@linkplain BlockArchitecture} to descend into
+     * @return a {@linkplain Predicate} of {@linkplain Notifier}
+     */
+    public static Predicate<Notifier> OnlyDescendInto(BlockArchitecture architecture)
+    {
+        return SkipRepresentationResources().or(x -> x instanceof BlockArchitecture && x != architecture);
+    }
+
+    /**
+     * Gets a {@linkplain Predicate} that does not descend below the instances of the provided types,
+     * diagram resources are skipped as well
+     *
+     * @param types the {@linkplain Class}es whose instances children are not of interest
+     * @return a {@linkplain Predicate} of {@linkplain Notifier}
+     */
+    public static Predicate<Notifier> DoNotDescendInto(Class<?>... types)
+    {
+        return SkipRepresentationResources().or(x -> Arrays.stream(types).anyMatch(t -> t.isInstance(x)));
+    }
+}
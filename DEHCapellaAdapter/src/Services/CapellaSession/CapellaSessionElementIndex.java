@@ -0,0 +1,1056 @@
+/*
+ * CapellaSessionElementIndex.java
+ *
+ * Copyright (c) 2020-2024 Starion Group S.A.
+ *
+ * Author: Sam Gerené, Alex Vorobiev, Nathanael Smiechowski, Antoine Théate
+ *
+ * This file is part of DEH-Capella
+ *
+ * The DEH-Capella is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * The DEH-Capella is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package Services.CapellaSession;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.emf.common.notify.Notification;
+import org.eclipse.emf.common.notify.Notifier;
+import org.eclipse.emf.ecore.EAttribute;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EReference;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.transaction.ResourceSetChangeEvent;
+import org.eclipse.emf.transaction.ResourceSetListenerImpl;
+import org.eclipse.emf.transaction.RunnableWithResult;
+import org.eclipse.emf.transaction.TransactionalEditingDomain;
+import org.eclipse.sirius.business.api.session.Session;
+import org.polarsys.capella.common.data.modellingcore.AbstractNamedElement;
+import org.polarsys.capella.common.data.modellingcore.ModelElement;
+import org.polarsys.capella.core.data.capellamodeller.Project;
+import org.polarsys.capella.core.data.capellamodeller.SystemEngineering;
+import org.polarsys.capella.core.data.cs.BlockArchitecture;
+import org.polarsys.kitalpha.emde.model.Element;
+import org.polarsys.kitalpha.vp.requirements.Requirements.IdentifiableElement;
+import org.polarsys.kitalpha.vp.requirements.Requirements.ReqIFElement;
+import org.polarsys.kitalpha.vp.requirements.Requirements.Requirement;
+import org.polarsys.kitalpha.vp.requirements.Requirements.SharedDirectAttributes;
+
+import Enumerations.CapellaArchitecture;
+import Utils.Stereotypes.ElementUtils;
+
+/**
+ * The {@linkplain CapellaSessionElementIndex} indexes the {@linkplain Element}s of one {@linkplain Session} by id, by type, by name and by ReqIF identifier,
+ * and caches the session {@linkplain Project}, {@linkplain SystemEngineering} and {@linkplain BlockArchitecture} roots.
+ * It is built once by walking the session {@linkplain ResourceSet} and is then kept up to date
+ * from the {@linkplain Notification}s of every transaction committed on the session {@linkplain TransactionalEditingDomain}
+ */
+public class CapellaSessionElementIndex extends ResourceSetListenerImpl
+{
+    /**
+     * The current class Logger
+     */
+    private final Logger logger = LogManager.getLogger();
+
+    /**
+     * The indexed {@linkplain Session}
+     */
+    private final Session session;
+
+    /**
+     * The maximum number of times the session contents are walked when they keep changing while being walked
+     */
+    private static final int MAXIMUMWALKATTEMPTS = 3;
+
+    /**
+     * The {@linkplain TransactionalEditingDomain} this index listens to, null until {@linkplain #Build()} starts
+     */
+    private TransactionalEditingDomain editingDomain;
+
+    /**
+     * A value indicating whether the indexed elements reflect the session contents
+     */
+    private boolean isBuilt;
+
+    /**
+     * Holds the {@linkplain Notification}s committed while the session contents are being walked, 
+     * they are applied once the walk is done. Null when no build is in progress
+     */
+    private ArrayList<Notification> notificationsDuringBuild;
+
+    /**
+     * The {@linkplain CapellaModelSnapshot} of the indexed {@linkplain Element}s, null until requested or once the session changed
+     */
+    private CapellaModelSnapshot snapshot;
+
+    /**
+     * Holds all the indexed {@linkplain Element} in model order with the keys they are indexed with
+     */
+    private final LinkedHashMap<Element, IndexedKeys> elements = new LinkedHashMap<>();
+
+    /**
+     * The unmodifiable {@linkplain List} of the indexed {@linkplain Element}s in model order, null until requested or once elements got added or removed
+     */
+    private List<Element> elementList;
+
+    /**
+     * Holds the indexed {@linkplain Element} by id
+     */
+    private final HashMap<String, Element> elementsById = new HashMap<>();
+
+    /**
+     * Holds the indexed {@linkplain Element} by type. Elements are partitioned by their concrete implementation {@linkplain Class}
+     * which generated EMF code maps one to one to their {@linkplain EClass}
+     */
+    private final HashMap<Class<?>, LinkedHashSet<Element>> elementsByType = new HashMap<>();
+
+    /**
+     * Holds the indexed {@linkplain Element} by normalized name
+     */
+    private final HashMap<String, LinkedHashSet<Element>> elementsByName = new HashMap<>();
+
+    /**
+     * Holds the indexed {@linkplain Requirement} by normalized ReqIF identifier
+     */
+    private final HashMap<String, LinkedHashSet<Element>> elementsByReqIFIdentifier = new HashMap<>();
+
+    /**
+     * The cached {@linkplain Project} of the session
+     */
+    private Project project;
+
+    /**
+     * The cached {@linkplain SystemEngineering} of the session
+     */
+    private SystemEngineering systemEngineering;
+
+    /**
+     * The cached {@linkplain BlockArchitecture} roots of the session
+     */
+    private final EnumMap<CapellaArchitecture, BlockArchitecture> architectures = new EnumMap<>(CapellaArchitecture.class);
+
+    /**
+     * A value indicating whether the {@linkplain #project}, the {@linkplain #systemEngineering} and the {@linkplain #architectures} are resolved
+     */
+    private boolean areRootElementsResolved;
+
+    /**
+     * Initializes a new {@linkplain CapellaSessionElementIndex}
+     *
+     * @param session the {@linkplain Session} to index
+     */
+    public CapellaSessionElementIndex(Session session)
+    {
+        this.session = session;
+    }
+
+    /**
+     * Gets a value indicating whether this index has been built and is listening to the session changes
+     *
+     * @return a {@linkplain boolean}
+     */
+    public synchronized boolean IsBuilt()
+    {
+        return this.isBuilt;
+    }
+
+    /**
+     * Builds this index by walking the whole {@linkplain Session} once, and starts listening to the committed changes
+     */
+    public void Build()
+    {
+        this.Build(new NullProgressMonitor());
+    }
+
+    /**
+     * Builds this index by walking the whole {@linkplain Session} once, and starts listening to the committed changes.
+     * The walk runs in a read-only exclusive access to the session resource set but does not hold the lock of this index,
+     * the {@linkplain Notification}s of the transactions committed before the walk got the access are queued and applied once the walk is done
+     *
+     * @param monitor the {@linkplain IProgressMonitor} that reports the progress and tells whether the build is canceled
+     * @return a value indicating whether this index is built, false when the build got canceled, failed, or when the session is not open
+     */
+    public boolean Build(IProgressMonitor monitor)
+    {
+        if(this.IsBuilt())
+        {
+            return true;
+        }
+        
+        if(!this.StartListening())
+        {
+            return false;
+        }
+        
+        var domain = this.session.getTransactionalEditingDomain();
+        List<Element> walkedElements = null;
+        var attempt = 0;
+
+        while(walkedElements == null && !monitor.isCanceled() && attempt++ < MAXIMUMWALKATTEMPTS)
+        {
+            try
+            {
+                walkedElements = WalkContentsExclusively(domain, monitor);
+            }
+            catch(InterruptedException exception)
+            {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            catch(RuntimeException exception)
+            {
+                this.logger.warn(String.format("The session could not be indexed, attempt %s of %s", attempt, MAXIMUMWALKATTEMPTS), exception);
+            }
+        }
+
+        synchronized(this)
+        {
+            if(this.isBuilt)
+            {
+                return true;
+            }
+            
+            if(walkedElements == null || this.editingDomain == null)
+            {
+                this.StopListening();
+                return false;
+            }
+            
+            this.Clear();
+            walkedElements.forEach(x -> this.Add(x));
+            
+            var notifications = this.notificationsDuringBuild;
+            this.notificationsDuringBuild = null;
+            notifications.forEach(x -> this.Apply(x));
+            
+            this.isBuilt = true;
+            this.logger.info(String.format("Indexed %s elements of the session %s", this.elements.size(), this.session.getSessionResource().getURI()));
+            return true;
+        }
+    }
+
+    /**
+     * Starts listening to the session changes ahead of the build, the changes committed until the build is done are queued
+     *
+     * @return a value indicating whether this index listens to the session changes, false when the session is not open
+     */
+    public synchronized boolean StartListening()
+    {
+        var domain = this.session.getTransactionalEditingDomain();
+
+        if(domain == null)
+        {
+            this.logger.warn("The session is not open yet, its element index cannot be built");
+            return false;
+        }
+        
+        if(this.isBuilt)
+        {
+            return true;
+        }
+        
+        if(this.editingDomain == null)
+        {
+            this.editingDomain = domain;
+            this.editingDomain.addResourceSetListener(this);
+        }
+        
+        if(this.notificationsDuringBuild == null)
+        {
+            this.notificationsDuringBuild = new ArrayList<>();
+        }
+        
+        return true;
+    }
+
+    /**
+     * Creates a {@linkplain CapellaSessionElementIndex} of the current contents of the provided {@linkplain Session} by scanning them once.
+     * The returned index does not listen to the session changes, it is meant to answer the queries when the session index cannot be built
+     *
+     * @param session the {@linkplain Session} to scan
+     * @return a {@linkplain CapellaSessionElementIndex} that is not built
+     */
+    public static CapellaSessionElementIndex Scan(Session session)
+    {
+        var index = new CapellaSessionElementIndex(session);
+        var domain = session.getTransactionalEditingDomain();
+        
+        if(domain == null)
+        {
+            return index;
+        }
+        
+        try
+        {
+            var walkedElements = WalkContentsExclusively(domain, new NullProgressMonitor());
+            
+            synchronized(index)
+            {
+                walkedElements.forEach(x -> index.Add(x));
+            }
+        }
+        catch(InterruptedException exception)
+        {
+            Thread.currentThread().interrupt();
+        }
+        
+        return index;
+    }
+
+    /**
+     * Walks the contents of the provided {@linkplain TransactionalEditingDomain} resource set in a read-only exclusive access to it, 
+     * so that no transaction can change the contents while they are walked
+     *
+     * @param domain the {@linkplain TransactionalEditingDomain}
+     * @param monitor the {@linkplain IProgressMonitor}
+     * @return a {@linkplain List} of the walked {@linkplain Element}s, or null when the walk got canceled
+     * @throws InterruptedException when the thread got interrupted while waiting for the access to the resource set
+     */
+    private static List<Element> WalkContentsExclusively(TransactionalEditingDomain domain, IProgressMonitor monitor) throws InterruptedException
+    {
+        var walk = new RunnableWithResult.Impl<List<Element>>()
+        {
+            @Override
+            public void run()
+            {
+                this.setResult(WalkContents(domain, monitor));
+            }
+        };
+        
+        domain.runExclusive(walk);
+        return walk.getResult();
+    }
+
+    /**
+     * Walks the contents of the provided {@linkplain TransactionalEditingDomain} resource set
+     *
+     * @param domain the {@linkplain TransactionalEditingDomain}
+     * @param monitor the {@linkplain IProgressMonitor}
+     * @return a {@linkplain List} of the walked {@linkplain Element}s, or null when the walk got canceled
+     */
+    private static List<Element> WalkContents(TransactionalEditingDomain domain, IProgressMonitor monitor)
+    {
+        var walkedElements = new ArrayList<Element>();
+        var contents = domain.getResourceSet().getAllContents();
+        var visitedCount = 0;
+        Notifier element;
+
+        while(contents.hasNext() && (element = contents.next()) != null)
+        {
+            if(element instanceof Element)
+            {
+                walkedElements.add((Element)element);
+            }
+            
+            if(++visitedCount % 1000 == 0)
+            {
+                if(monitor.isCanceled())
+                {
+                    return null;
+                }
+                
+                monitor.subTask(String.format("%s elements indexed", walkedElements.size()));
+            }
+        }
+        
+        return walkedElements;
+    }
+
+    /**
+     * Stops listening to the session changes
+     */
+    private void StopListening()
+    {
+        if(this.editingDomain != null)
+        {
+            this.editingDomain.removeResourceSetListener(this);
+            this.editingDomain = null;
+        }
+        
+        this.notificationsDuringBuild = null;
+        this.isBuilt = false;
+    }
+
+    /**
+     * Stops listening to the session changes and releases the indexed elements and the memoized {@linkplain CapellaArchitecture}s of the session elements
+     */
+    public synchronized void Dispose()
+    {
+        var domain = this.editingDomain != null ? this.editingDomain : this.session.getTransactionalEditingDomain();
+        this.StopListening();
+        
+        if(domain != null)
+        {
+            CapellaArchitecture.InvalidateAll(domain.getResourceSet());
+        }
+        
+        this.Clear();
+    }
+
+    /**
+     * Gets all the indexed {@linkplain Element}s in model order. The returned {@linkplain List} is unmodifiable 
+     * and is shared between callers until elements get added or removed
+     *
+     * @return a {@linkplain List} of {@linkplain Element}
+     */
+    public synchronized List<Element> GetElements()
+    {
+        if(this.elementList == null)
+        {
+            this.elementList = Collections.unmodifiableList(new ArrayList<>(this.elements.keySet()));
+        }
+        
+        return this.elementList;
+    }
+
+    /**
+     * Gets the {@linkplain CapellaModelSnapshot} of the indexed {@linkplain Element}s, 
+     * it is created on the first request and kept until the session changes
+     *
+     * @return the {@linkplain CapellaModelSnapshot}
+     */
+    public synchronized CapellaModelSnapshot GetSnapshot()
+    {
+        if(this.snapshot == null)
+        {
+            this.snapshot = CapellaModelSnapshot.Create(this.elements.keySet());
+        }
+        
+        return this.snapshot;
+    }
+
+    /**
+     * Gets the number of indexed {@linkplain Element}s
+     *
+     * @return an {@linkplain int}
+     */
+    public synchronized int Size()
+    {
+        return this.elements.size();
+    }
+
+    /**
+     * Gets the {@linkplain Element} that has the provided id
+     *
+     * @param id the {@linkplain String} id
+     * @return the {@linkplain Element} or null if none has that id
+     */
+    public synchronized Element GetElementById(String id)
+    {
+        return id == null ? null : this.elementsById.get(id);
+    }
+
+    /**
+     * Gets the {@linkplain Element}s whose name matches the provided one regardless of the case and of white spaces,
+     * callers are expected to refine the returned candidates with their own name comparison
+     *
+     * @param name the {@linkplain String} name
+     * @return a {@linkplain Collection} of {@linkplain Element}
+     */
+    public synchronized Collection<Element> GetElementsByName(String name)
+    {
+        return CopyOf(this.elementsByName.get(NormalizeName(name)));
+    }
+
+    /**
+     * Gets the {@linkplain Requirement}s whose ReqIF identifier matches the provided one regardless of the case and of white spaces,
+     * callers are expected to refine the returned candidates with their own identifier comparison
+     *
+     * @param identifier the {@linkplain String} ReqIF identifier
+     * @return a {@linkplain Collection} of {@linkplain Element}
+     */
+    public synchronized Collection<Element> GetElementsByReqIFIdentifier(String identifier)
+    {
+        return CopyOf(this.elementsByReqIFIdentifier.get(NormalizeName(identifier)));
+    }
+
+    /**
+     * Gets the {@linkplain Element}s that are instances of the provided {@linkplain Class}
+     *
+     * @param <TElement> the type of {@linkplain Element}
+     * @param elementType the {@linkplain Class} of {@linkplain #TElement}
+     * @return a {@linkplain List} of {@linkplain #TElement}
+     */
+    @SuppressWarnings("unchecked")
+    public synchronized <TElement> List<TElement> GetElementsOfType(Class<TElement> elementType)
+    {
+        var result = new ArrayList<TElement>();
+
+        for (var bucket : this.elementsByType.entrySet())
+        {
+            if(elementType.isAssignableFrom(bucket.getKey()))
+            {
+                result.addAll((Collection<TElement>)bucket.getValue());
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Gets the {@linkplain Element}s that are instances of the provided {@linkplain EClass}.
+     * Since all the elements of one type bucket share the same {@linkplain EClass}, only the first element of each bucket gets tested
+     *
+     * @param eClass the {@linkplain EClass}
+     * @return a {@linkplain List} of {@linkplain Element}
+     */
+    public synchronized List<Element> GetElementsOfType(EClass eClass)
+    {
+        var result = new ArrayList<Element>();
+
+        for (var bucket : this.elementsByType.values())
+        {
+            if(eClass.isInstance(bucket.iterator().next()))
+            {
+                result.addAll(bucket);
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Gets the {@linkplain Project} of the session
+     *
+     * @return the {@linkplain Project}, or null if the session does not contain any
+     */
+    public synchronized Project GetProject()
+    {
+        this.ResolveRootElements();
+        return this.project;
+    }
+
+    /**
+     * Gets the {@linkplain SystemEngineering} of the session
+     *
+     * @return the {@linkplain SystemEngineering}, or null if the session does not contain any
+     */
+    public synchronized SystemEngineering GetSystemEngineering()
+    {
+        this.ResolveRootElements();
+        return this.systemEngineering;
+    }
+
+    /**
+     * Gets the {@linkplain BlockArchitecture} of the session that matches the provided {@linkplain CapellaArchitecture}
+     *
+     * @param architecture the {@linkplain CapellaArchitecture}
+     * @return the {@linkplain BlockArchitecture}, or null if the session does not contain any
+     */
+    public synchronized BlockArchitecture GetArchitecture(CapellaArchitecture architecture)
+    {
+        this.ResolveRootElements();
+        return this.architectures.get(architecture);
+    }
+
+    /**
+     * Resolves the {@linkplain Project}, the {@linkplain SystemEngineering} and the {@linkplain BlockArchitecture} roots of the session
+     * from the type buckets, unless they are already resolved
+     */
+    private void ResolveRootElements()
+    {
+        if(this.areRootElementsResolved)
+        {
+            return;
+        }
+
+        this.project = FirstContainedIn(this.GetElementsOfType(Project.class), null);
+        this.systemEngineering = FirstContainedIn(this.GetElementsOfType(SystemEngineering.class), this.project);
+        this.architectures.clear();
+
+        for (var architectureInstance : this.GetElementsOfType(BlockArchitecture.class))
+        {
+            var architecture = CapellaArchitecture.From(architectureInstance);
+            
+            if(architecture != null && (this.systemEngineering == null || architectureInstance.eContainer() == this.systemEngineering))
+            {
+                this.architectures.putIfAbsent(architecture, architectureInstance);
+            }
+        }
+
+        this.areRootElementsResolved = true;
+    }
+
+    /**
+     * Gets the first of the provided {@linkplain EObject}s that is contained in the provided container,
+     * or the first one when none is, so that the roots of the session model are preferred over the ones of referenced libraries
+     *
+     * @param <TElement> the type of {@linkplain EObject}
+     * @param candidates the {@linkplain List} of candidates in model order
+     * @param container the expected container, can be null
+     * @return a {@linkplain #TElement} or null
+     */
+    private static <TElement extends EObject> TElement FirstContainedIn(List<TElement> candidates, EObject container)
+    {
+        return candidates.stream()
+                .filter(x -> x.eContainer() == container)
+                .findFirst()
+                .orElse(candidates.isEmpty() ? null : candidates.get(0));
+    }
+
+    /**
+     * Invalidates the cached root elements so they get resolved again on the next query
+     */
+    private void InvalidateRootElements()
+    {
+        this.areRootElementsResolved = false;
+        this.project = null;
+        this.systemEngineering = null;
+        this.architectures.clear();
+    }
+
+    /**
+     * Gets a value indicating whether this listener only wants to be notified after commit
+     *
+     * @return a {@linkplain boolean}
+     */
+    @Override
+    public boolean isPostcommitOnly()
+    {
+        return true;
+    }
+
+    /**
+     * Updates this index with the changes of one committed transaction
+     *
+     * @param event the {@linkplain ResourceSetChangeEvent}
+     */
+    @Override
+    public synchronized void resourceSetChanged(ResourceSetChangeEvent event)
+    {
+        if(this.notificationsDuringBuild != null)
+        {
+            this.notificationsDuringBuild.addAll(event.getNotifications());
+            return;
+        }
+        
+        for (var notification : event.getNotifications())
+        {
+            this.Apply(notification);
+        }
+        
+        this.snapshot = null;
+    }
+
+    /**
+     * Applies one {@linkplain Notification} to this index
+     *
+     * @param notification the {@linkplain Notification}
+     */
+    private void Apply(Notification notification)
+    {
+        var notifier = notification.getNotifier();
+        var feature = notification.getFeature();
+
+        if(IsContainmentChange(notification))
+        {
+            if(notifier instanceof Resource || notifier instanceof ResourceSet || notifier instanceof Project || notifier instanceof SystemEngineering)
+            {
+                this.InvalidateRootElements();
+            }
+            
+            ForEachValue(notification.getOldValue(), x -> CapellaArchitecture.Invalidate(x));
+            ForEachValue(notification.getNewValue(), x -> CapellaArchitecture.Invalidate(x));
+            ForEachValue(notification.getOldValue(), x -> this.RemoveTree(x));
+            ForEachValue(notification.getNewValue(), x -> this.AddTree(x));
+        }
+        else if(feature instanceof EAttribute && notifier instanceof Element && this.elements.containsKey(notifier))
+        {
+            this.Reindex((Element)notifier);
+        }
+    }
+
+    /**
+     * Verifies that the provided {@linkplain Notification} adds or removes contents to the resource set, a resource or a containment feature
+     *
+     * @param notification the {@linkplain Notification}
+     * @return a {@linkplain boolean}
+     */
+    static boolean IsContainmentChange(Notification notification)
+    {
+        var notifier = notification.getNotifier();
+        var feature = notification.getFeature();
+
+        return (feature instanceof EReference && ((EReference)feature).isContainment())
+                || (notifier instanceof Resource && notification.getFeatureID(Resource.class) == Resource.RESOURCE__CONTENTS)
+                || (notifier instanceof ResourceSet && notification.getFeatureID(ResourceSet.class) == ResourceSet.RESOURCE_SET__RESOURCES);
+    }
+
+    /**
+     * Adds the provided {@linkplain EObject} or {@linkplain Resource} and all its contents when it is still part of the session
+     *
+     * @param value the added {@linkplain EObject} or {@linkplain Resource}
+     */
+    private void AddTree(Object value)
+    {
+        if(!this.IsInSession(value))
+        {
+            return;
+        }
+
+        var contents = value instanceof Resource ? ((Resource)value).getAllContents() : ((EObject)value).eAllContents();
+
+        if(value instanceof Element)
+        {
+            this.Add((Element)value);
+        }
+
+        while(contents.hasNext())
+        {
+            var element = contents.next();
+
+            if(element instanceof Element)
+            {
+                this.Add((Element)element);
+            }
+        }
+    }
+
+    /**
+     * Removes the provided {@linkplain EObject} or {@linkplain Resource} and all its contents when it is no longer part of the session.
+     * Since this index is notified after commit, moved elements are still part of the session and are kept
+     *
+     * @param value the removed {@linkplain EObject} or {@linkplain Resource}
+     */
+    private void RemoveTree(Object value)
+    {
+        if(this.IsInSession(value))
+        {
+            return;
+        }
+
+        var contents = value instanceof Resource ? ((Resource)value).getAllContents() : ((EObject)value).eAllContents();
+
+        if(value instanceof Element)
+        {
+            this.Remove((Element)value);
+        }
+
+        while(contents.hasNext())
+        {
+            var element = contents.next();
+
+            if(element instanceof Element)
+            {
+                this.Remove((Element)element);
+            }
+        }
+    }
+
+    /**
+     * Verifies that the provided {@linkplain EObject} or {@linkplain Resource} currently belongs to the indexed session
+     *
+     * @param value the {@linkplain Object} to verify
+     * @return a {@linkplain boolean}
+     */
+    private boolean IsInSession(Object value)
+    {
+        var resource = value instanceof Resource ? (Resource)value
+                : value instanceof EObject ? ((EObject)value).eResource() : null;
+
+        return resource != null && this.editingDomain != null && resource.getResourceSet() == this.editingDomain.getResourceSet();
+    }
+
+    /**
+     * Adds the provided {@linkplain Element} to this index
+     *
+     * @param element the {@linkplain Element}
+     */
+    private void Add(Element element)
+    {
+        if(this.elements.containsKey(element))
+        {
+            return;
+        }
+
+        var keys = GetKeys(element);
+        this.elements.put(element, keys);
+        this.elementList = null;
+
+        if(keys.id != null)
+        {
+            this.elementsById.putIfAbsent(keys.id, element);
+        }
+
+        if(keys.name != null)
+        {
+            this.elementsByName.computeIfAbsent(keys.name, x -> new LinkedHashSet<>()).add(element);
+        }
+
+        if(keys.reqIFIdentifier != null)
+        {
+            this.elementsByReqIFIdentifier.computeIfAbsent(keys.reqIFIdentifier, x -> new LinkedHashSet<>()).add(element);
+        }
+
+        this.elementsByType.computeIfAbsent(element.getClass(), x -> new LinkedHashSet<>()).add(element);
+    }
+
+    /**
+     * Updates in place the keys the provided indexed {@linkplain Element} is indexed with, so that it keeps its position in model order
+     *
+     * @param element the {@linkplain Element}
+     */
+    private void Reindex(Element element)
+    {
+        var oldKeys = this.elements.get(element);
+        var newKeys = GetKeys(element);
+        
+        this.elements.put(element, newKeys);
+
+        if(!Objects.equals(oldKeys.id, newKeys.id))
+        {
+            if(oldKeys.id != null)
+            {
+                this.elementsById.remove(oldKeys.id, element);
+            }
+            
+            if(newKeys.id != null)
+            {
+                this.elementsById.putIfAbsent(newKeys.id, element);
+            }
+        }
+
+        MoveToBucket(this.elementsByName, oldKeys.name, newKeys.name, element);
+        MoveToBucket(this.elementsByReqIFIdentifier, oldKeys.reqIFIdentifier, newKeys.reqIFIdentifier, element);
+    }
+
+    /**
+     * Removes the provided {@linkplain Element} from this index
+     *
+     * @param element the {@linkplain Element}
+     */
+    private void Remove(Element element)
+    {
+        var keys = this.elements.remove(element);
+
+        if(keys == null)
+        {
+            return;
+        }
+
+        this.elementList = null;
+
+        if(keys.id != null)
+        {
+            this.elementsById.remove(keys.id, element);
+        }
+
+        RemoveFromBucket(this.elementsByName, keys.name, element);
+        RemoveFromBucket(this.elementsByReqIFIdentifier, keys.reqIFIdentifier, element);
+        RemoveFromBucket(this.elementsByType, element.getClass(), element);
+    }
+
+    /**
+     * Clears all the indexed {@linkplain Element}s
+     */
+    private void Clear()
+    {
+        this.InvalidateRootElements();
+        this.snapshot = null;
+        this.elementList = null;
+        this.elements.clear();
+        this.elementsById.clear();
+        this.elementsByType.clear();
+        this.elementsByName.clear();
+        this.elementsByReqIFIdentifier.clear();
+    }
+
+    /**
+     * Removes the provided {@linkplain Element} from the bucket of the provided key, and drops the bucket when it gets empty
+     *
+     * @param <TKey> the type of key
+     * @param buckets the {@linkplain HashMap} of buckets
+     * @param key the key of the bucket
+     * @param element the {@linkplain Element} to remove
+     */
+    private static <TKey> void RemoveFromBucket(HashMap<TKey, LinkedHashSet<Element>> buckets, TKey key, Element element)
+    {
+        if(key == null)
+        {
+            return;
+        }
+
+        var bucket = buckets.get(key);
+
+        if(bucket != null && bucket.remove(element) && bucket.isEmpty())
+        {
+            buckets.remove(key);
+        }
+    }
+
+    /**
+     * Moves the provided {@linkplain Element} from the bucket of the old key to the bucket of the new key, unless both keys are equal
+     *
+     * @param buckets the {@linkplain HashMap} of buckets
+     * @param oldKey the key the {@linkplain Element} is currently indexed with, can be null
+     * @param newKey the key the {@linkplain Element} is to be indexed with, can be null
+     * @param element the {@linkplain Element} to move
+     */
+    private static void MoveToBucket(HashMap<String, LinkedHashSet<Element>> buckets, String oldKey, String newKey, Element element)
+    {
+        if(Objects.equals(oldKey, newKey))
+        {
+            return;
+        }
+        
+        RemoveFromBucket(buckets, oldKey, element);
+        
+        if(newKey != null)
+        {
+            buckets.computeIfAbsent(newKey, x -> new LinkedHashSet<>()).add(element);
+        }
+    }
+
+    /**
+     * Gets the keys the provided {@linkplain Element} is to be indexed with
+     *
+     * @param element the {@linkplain Element}
+     * @return the {@linkplain IndexedKeys}
+     */
+    private static IndexedKeys GetKeys(Element element)
+    {
+        return new IndexedKeys(GetElementId(element), NormalizeName(GetElementName(element)),
+                element instanceof Requirement ? NormalizeName(((Requirement)element).getReqIFIdentifier()) : null);
+    }
+
+    /**
+     * Invokes the provided {@linkplain Consumer} on the provided notification value, either a single object or a {@linkplain Collection}
+     *
+     * @param value the notification value
+     * @param action the {@linkplain Consumer} to invoke
+     */
+    static void ForEachValue(Object value, Consumer<Object> action)
+    {
+        if(value instanceof Collection<?>)
+        {
+            ((Collection<?>)value).forEach(action);
+        }
+        else if(value instanceof EObject || value instanceof Resource)
+        {
+            action.accept(value);
+        }
+    }
+
+    /**
+     * Copies the provided bucket
+     *
+     * @param bucket the bucket, can be null
+     * @return a {@linkplain Collection} of {@linkplain Element}
+     */
+    private static Collection<Element> CopyOf(Collection<Element> bucket)
+    {
+        return bucket == null ? Collections.emptyList() : new ArrayList<>(bucket);
+    }
+
+    /**
+     * Gets the id of the provided {@linkplain Element} without assuming its type
+     *
+     * @param element the {@linkplain Element}
+     * @return the id or null
+     */
+    static String GetElementId(Element element)
+    {
+        if(element instanceof IdentifiableElement || element instanceof ModelElement)
+        {
+            return ElementUtils.GetId(element);
+        }
+
+        return null;
+    }
+
+    /**
+     * Gets the name of the provided {@linkplain Element} without assuming its type
+     *
+     * @param element the {@linkplain Element}
+     * @return the name or null
+     */
+    static String GetElementName(Element element)
+    {
+        if(element instanceof SharedDirectAttributes || element instanceof ReqIFElement)
+        {
+            return ElementUtils.GetName(element);
+        }
+
+        if(element instanceof AbstractNamedElement)
+        {
+            return ((AbstractNamedElement)element).getName();
+        }
+
+        return null;
+    }
+
+    /**
+     * Normalizes the provided name or identifier so that values that only differ by their case or white spaces share the same key
+     *
+     * @param name the {@linkplain String} name
+     * @return the normalized name or null
+     */
+    static String NormalizeName(String name)
+    {
+        return StringUtils.isBlank(name) ? null : StringUtils.deleteWhitespace(name).toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * The {@linkplain IndexedKeys} holds the keys one {@linkplain Element} has been indexed with,
+     * so it can be removed from the index even after these keys changed in the model
+     */
+    private static final class IndexedKeys
+    {
+        /**
+         * The id key
+         */
+        final String id;
+
+        /**
+         * The normalized name key
+         */
+        final String name;
+
+        /**
+         * The normalized ReqIF identifier key
+         */
+        final String reqIFIdentifier;
+
+        /**
+         * Initializes a new {@linkplain IndexedKeys}
+         *
+         * @param id the id key
+         * @param name the normalized name key
+         * @param reqIFIdentifier the normalized ReqIF identifier key
+         */
+        IndexedKeys(String id, String name, String reqIFIdentifier)
+        {
+            this.id = id;
+            this.name = name;
+            this.reqIFIdentifier = reqIFIdentifier;
+        }
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * CapellaSessionIndexWarmUpJob.java
+ *
+ * Copyright (c) 2020-2024 Starion Group S.A.
+ *
+ * Author: Sam Gerené, Alex Vorobiev, Nathanael Smiechowski, Antoine Théate
+ *
+ * This file is part of DEH-Capella
+ *
+ * The DEH-Capella is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * The DEH-Capella is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package Services.CapellaSession;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.SubMonitor;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.sirius.business.api.session.Session;
+import org.polarsys.capella.core.data.cs.Component;
+import org.polarsys.capella.core.data.cs.Part;
+import org.polarsys.kitalpha.emde.model.Element;
+import org.polarsys.kitalpha.vp.requirements.Requirements.Requirement;
+
+import Enumerations.CapellaArchitecture;
+
+/**
+ * The {@linkplain CapellaSessionIndexWarmUpJob} builds the {@linkplain CapellaSessionElementIndex} of one newly opened {@linkplain Session} 
+ * in the background, then resolves the {@linkplain CapellaArchitecture} of the elements the mapping looks up 
+ * so that the first mapping does not pay for the traversal of the model
+ */
+public class CapellaSessionIndexWarmUpJob extends Job
+{
+    /**
+     * The {@linkplain CapellaSessionElementIndex} to build
+     */
+    private final CapellaSessionElementIndex index;
+
+    /**
+     * Initializes a new {@linkplain CapellaSessionIndexWarmUpJob}
+     *
+     * @param session the {@linkplain Session} to index
+     * @param index the {@linkplain CapellaSessionElementIndex} to build
+     */
+    public CapellaSessionIndexWarmUpJob(Session session, CapellaSessionElementIndex index)
+    {
+        super(String.format("Indexing the Capella model %s", 
+                session.getSessionResource() != null ? URI.decode(session.getSessionResource().getURI().lastSegment()) : ""));
+        
+        this.index = index;
+        this.setPriority(Job.LONG);
+    }
+
+    /**
+     * Builds the index and warms up the architecture resolution
+     *
+     * @param monitor the {@linkplain IProgressMonitor}
+     * @return an {@linkplain IStatus}
+     */
+    @Override
+    protected IStatus run(IProgressMonitor monitor)
+    {
+        var subMonitor = SubMonitor.convert(monitor, this.getName(), 100);
+        
+        if(!this.index.Build(subMonitor.split(80)))
+        {
+            return Status.CANCEL_STATUS;
+        }
+        
+        var mappableElements = this.index.GetElements().stream()
+                .filter(x -> x instanceof Part || x instanceof Component || x instanceof Requirement)
+                .toArray(Element[]::new);
+        
+        var architectureMonitor = subMonitor.split(20).setWorkRemaining(mappableElements.length);
+        
+        for (var element : mappableElements)
+        {
+            CapellaArchitecture.From(element);
+            architectureMonitor.split(1);
+        }
+        
+        return Status.OK_STATUS;
+    }
+
+    /**
+     * Waits for this job to be done
+     *
+     * @return a value indicating whether the wait completed, false when the waiting thread got interrupted
+     */
+    public boolean Await()
+    {
+        try
+        {
+            this.join();
+            return true;
+        }
+        catch (InterruptedException exception)
+        {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -23,6 +23,8 @@
  */
 package Services.CapellaSession;
 
+import java.util.HashMap;
+
 import org.eclipse.sirius.business.api.session.Session;
 import org.eclipse.sirius.business.api.session.SessionManagerListener;
 import org.eclipse.sirius.viewpoint.description.Viewpoint;
@@ -84,6 +86,28 @@ public class CapellaSessionListenerService implements ICapellaSessionListenerSer
         return this.sessionUpdated.Observable();
     }
     
+    /**
+     * Backing field for {@linkplain SessionChanged}
+     */
+    private ObservableValue<CapellaSessionChange> sessionChanged = new ObservableValue<CapellaSessionChange>(CapellaSessionChange.class);
+    
+    /**
+     * The {@linkplain Observable} of {@linkplain CapellaSessionChange} that emits once per committed transaction 
+     * the elements that were added, removed or changed in one of the open {@linkplain Session}s
+     * 
+     * @return an {@linkplain Observable} of {@linkplain CapellaSessionChange}
+     */
+    @Override
+    public Observable<CapellaSessionChange> SessionChanged()
+    {
+        return this.sessionChanged.Observable();
+    }
+    
+    /**
+     * Holds the {@linkplain CapellaSessionChangeRecorder} attached to each open {@linkplain Session}
+     */
+    private final HashMap<Session, CapellaSessionChangeRecorder> changeRecorders = new HashMap<>();
+    
     /**
      * Called when a new session has been added in the manager
      * 
@@ -93,6 +117,14 @@ public class CapellaSessionListenerService implements ICapellaSessionListenerSer
     public void notifyAddSession(Session newSession)
     {
         this.sessionAdded.Value(newSession);
+        
+        // Attached once the session added subscribers ran so that the session element index sees each transaction first
+        var recorder = new CapellaSessionChangeRecorder(newSession, x -> this.sessionChanged.Value(x));
+        
+        if(this.changeRecorders.putIfAbsent(newSession, recorder) == null)
+        {
+            recorder.Attach();
+        }
     }
 
     /**
@@ -103,6 +135,13 @@ public class CapellaSessionListenerService implements ICapellaSessionListenerSer
     @Override
     public void notifyRemoveSession(Session removedSession)
     {
+        var recorder = this.changeRecorders.remove(removedSession);
+        
+        if(recorder != null)
+        {
+            recorder.Detach();
+        }
+        
         this.sessionRemoved.Value(removedSession);
     }
 
@@ -25,29 +25,42 @@ package Services.CapellaSession;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
-import java.util.function.BiConsumer;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.eclipse.core.runtime.NullProgressMonitor;
 import org.eclipse.emf.common.notify.Notifier;
 import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EClass;
 import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.transaction.TransactionalEditingDomain;
+import org.eclipse.emf.transaction.impl.InternalTransactionalEditingDomain;
 import org.eclipse.sirius.business.api.session.Session;
 import org.polarsys.capella.core.data.capellacore.CapellaElement;
 import org.polarsys.capella.core.data.capellamodeller.Project;
+import org.polarsys.capella.core.data.capellamodeller.SystemEngineering;
 import org.polarsys.capella.core.data.cs.BlockArchitecture;
 import org.polarsys.capella.core.data.cs.Component;
 import org.polarsys.capella.core.data.pa.PhysicalComponent;
 import org.polarsys.capella.core.model.helpers.BlockArchitectureExt;
 import org.polarsys.capella.core.model.helpers.BlockArchitectureExt.Type;
 import org.polarsys.kitalpha.emde.model.Element;
+import org.polarsys.kitalpha.vp.requirements.Requirements.Requirement;
 
 import Enumerations.CapellaArchitecture;
 import Reactive.ObservableValue;
 import Services.NavigationService.INavigationService;
+import Utils.Ref;
 import ViewModels.CapellaObjectBrowser.Rows.RootRowViewModel;
 import io.reactivex.Observable;
 
@@ -77,6 +90,16 @@ public class CapellaSessionService implements ICapellaSessionService
      */
     private ObservableValue<Boolean> hasAnyOpenSession = new ObservableValue<>(false, Boolean.class);
 
+    /**
+     * Holds the {@linkplain CapellaSessionElementIndex} of each open {@linkplain Session}
+     */
+    private final HashMap<Session, CapellaSessionElementIndex> elementIndexes = new HashMap<>();
+
+    /**
+     * Holds the {@linkplain CapellaSessionIndexWarmUpJob} building the {@linkplain CapellaSessionElementIndex} of the newly opened {@linkplain Session}s
+     */
+    private final HashMap<Session, CapellaSessionIndexWarmUpJob> warmUpJobs = new HashMap<>();
+
     /**
      * Gets the {@linkplain Observable} of value indicating whether there is any session open
      * 
@@ -104,6 +127,17 @@ public class CapellaSessionService implements ICapellaSessionService
         return this.sessionUpdated.Observable();
     }
 
+    /**
+     * Gets the {@linkplain Observable} of {@linkplain CapellaSessionChange} that emits once per transaction committed on one of the open {@linkplain Session}s
+     * 
+     * @return an {@linkplain Observable} of {@linkplain CapellaSessionChange}
+     */
+    @Override
+    public Observable<CapellaSessionChange> SessionChanged()
+    {
+        return this.sessionListener.SessionChanged();
+    }
+
     /**
      * Backing field for the {@linkplain #GetCurrentSession()}
      */
@@ -166,6 +200,7 @@ public class CapellaSessionService implements ICapellaSessionService
             {
                 this.hasAnyOpenSession.Value(this.sessionManager.HasAnyOpenSession());
                 this.SetCurrentSession(x);
+                this.WarmUpElementIndex(x);
             });
         
         this.sessionListener.SessionRemoved()
@@ -173,9 +208,119 @@ public class CapellaSessionService implements ICapellaSessionService
             {
                 this.hasAnyOpenSession.Value(this.sessionManager.HasAnyOpenSession());
                 this.SetCurrentSession(null);
+                this.DisposeElementIndex(x);
             });
     }
 
+    /**
+     * Schedules the background build of the {@linkplain CapellaSessionElementIndex} of the provided newly opened {@linkplain Session}
+     * 
+     * @param session the {@linkplain Session}
+     */
+    private void WarmUpElementIndex(Session session)
+    {
+        synchronized (this.elementIndexes)
+        {
+            var index = this.elementIndexes.computeIfAbsent(session, x -> new CapellaSessionElementIndex(x));
+            
+            if(index.IsBuilt() || this.warmUpJobs.containsKey(session) || !index.StartListening())
+            {
+                return;
+            }
+            
+            var job = new CapellaSessionIndexWarmUpJob(session, index);
+            this.warmUpJobs.put(session, job);
+            job.schedule();
+        }
+    }
+
+    /**
+     * Gets the {@linkplain CapellaSessionElementIndex} of the provided {@linkplain Session}. 
+     * Waits for its warm up when it is in progress, and builds it when it does not exist yet or when the warm up did not complete.
+     * A thread that owns the active transaction of the session editing domain never waits for the warm up, since the warm up needs that transaction 
+     * to walk the model, it builds the index itself instead. When it cannot be built, the returned index comes from a direct scan of the session contents, and the build is retried on the next query
+     * 
+     * @param session the {@linkplain Session}
+     * @return the {@linkplain CapellaSessionElementIndex}
+     */
+    private CapellaSessionElementIndex GetElementIndex(Session session)
+    {
+        CapellaSessionElementIndex index;
+        CapellaSessionIndexWarmUpJob job;
+        
+        synchronized (this.elementIndexes)
+        {
+            index = this.elementIndexes.computeIfAbsent(session, x -> new CapellaSessionElementIndex(x));
+            job = this.warmUpJobs.get(session);
+        }
+        
+        if(job != null && !index.IsBuilt() && !this.IsActiveTransactionOwner(session))
+        {
+            this.logger.debug("Waiting for the warm up of the session element index");
+            job.Await();
+        }
+        
+        var isBuilt = index.IsBuilt() || index.Build(new NullProgressMonitor());
+        
+        if(job != null)
+        {
+            synchronized (this.elementIndexes)
+            {
+                this.warmUpJobs.remove(session, job);
+            }
+        }
+        
+        if(!isBuilt)
+        {
+            this.logger.warn("The session element index could not be built, the session contents are scanned instead");
+            return CapellaSessionElementIndex.Scan(session);
+        }
+        
+        return index;
+    }
+
+    /**
+     * Gets a value indicating whether the current thread owns the active transaction of the editing domain of the provided {@linkplain Session}
+     * 
+     * @param session the {@linkplain Session}
+     * @return a {@linkplain boolean}
+     */
+    private boolean IsActiveTransactionOwner(Session session)
+    {
+        if(!(session.getTransactionalEditingDomain() instanceof InternalTransactionalEditingDomain))
+        {
+            return false;
+        }
+        
+        var transaction = ((InternalTransactionalEditingDomain)session.getTransactionalEditingDomain()).getActiveTransaction();
+        return transaction != null && transaction.getOwner() == Thread.currentThread();
+    }
+
+    /**
+     * Disposes the {@linkplain CapellaSessionElementIndex} of the provided {@linkplain Session}, canceling its warm up if it is still in progress
+     * 
+     * @param session the {@linkplain Session}
+     */
+    private void DisposeElementIndex(Session session)
+    {
+        synchronized (this.elementIndexes)
+        {
+            var job = this.warmUpJobs.remove(session);
+            
+            if(job != null)
+            {
+                job.cancel();
+            }
+            
+            var index = this.elementIndexes.remove(session);
+            
+            if(index != null)
+            {
+                index.Dispose();
+            }
+        }
+    }
+
     /**
      * Gets the session corresponding to a semantic {@linkplain EObject} 
      * 
@@ -209,6 +354,97 @@ public class CapellaSessionService implements ICapellaSessionService
     {
         return this.sessionManager.GetSessions();
     }
+
+    /**
+     * Runs the provided {@linkplain Runnable} under an exclusive read of the editing domains of all the open {@linkplain Session}s, 
+     * so that the models do not change while it reads them or creates elements from them
+     * 
+     * @param runnable the {@linkplain Runnable} to run
+     * @return a value indicating whether the {@linkplain Runnable} ran, false when the thread got interrupted while waiting for the editing domains
+     */
+    @Override
+    public boolean RunExclusive(Runnable runnable)
+    {
+        var domains = this.GetOpenSessions().stream()
+                .map(x -> x.getTransactionalEditingDomain())
+                .filter(x -> x != null)
+                .distinct()
+                .collect(Collectors.toList());
+        
+        try
+        {
+            RunExclusive(domains, 0, runnable);
+            return true;
+        }
+        catch(InterruptedException exception)
+        {
+            Thread.currentThread().interrupt();
+            this.logger.warn("The exclusive read of the open sessions has been interrupted");
+            return false;
+        }
+    }
+
+    /**
+     * Runs the provided {@linkplain Runnable} once the exclusive read of each of the provided {@linkplain TransactionalEditingDomain}s 
+     * from the provided index is acquired
+     * 
+     * @param domains the {@linkplain List} of {@linkplain TransactionalEditingDomain}
+     * @param index the index of the next {@linkplain TransactionalEditingDomain} to acquire
+     * @param runnable the {@linkplain Runnable} to run
+     * @throws InterruptedException when the thread got interrupted while waiting for one of the editing domains
+     */
+    private static void RunExclusive(List<TransactionalEditingDomain> domains, int index, Runnable runnable) throws InterruptedException
+    {
+        if(index == domains.size())
+        {
+            runnable.run();
+            return;
+        }
+        
+        var refInterruptedException = new Ref<>(InterruptedException.class);
+        
+        domains.get(index).runExclusive(() -> 
+        {
+            try
+            {
+                RunExclusive(domains, index + 1, runnable);
+            }
+            catch(InterruptedException exception)
+            {
+                refInterruptedException.Set(exception);
+            }
+        });
+        
+        if(refInterruptedException.HasValue())
+        {
+            throw refInterruptedException.Get();
+        }
+    }
+
+    /**
+     * Gets the open {@linkplain Session}s in the order they should be searched when looking up an element across sessions,
+     * the {@linkplain #GetCurrentSession()} first, then the other ones ordered by their session resource {@linkplain URI}
+     * so that the same element gets resolved when several sessions contain a match
+     * 
+     * @return a {@linkplain List} of {@linkplain Session}
+     */
+    @Override
+    public List<Session> GetOpenSessionsInLookupOrder()
+    {
+        var sessions = new ArrayList<Session>(this.GetOpenSessions());
+        
+        if(sessions.size() < 2)
+        {
+            return sessions;
+        }
+        
+        var session = this.GetCurrentSession();
+        
+        sessions.sort(Comparator.comparing((Session x) -> x != session)
+                .thenComparing(x -> x.getSessionResource().getURI().toString()));
+        
+        return sessions;
+    }
     
     /**
      * Gets the models of the active sessions
@@ -226,33 +462,73 @@ public class CapellaSessionService implements ICapellaSessionService
         
         var rootRowViewModel = new RootRowViewModel("Capella Models");
         
-        this.ProcessSessionsElements((uri, notifiers) -> rootRowViewModel.GetContainedRows().add(new RootRowViewModel(URI.decode(uri.lastSegment()), notifiers)));
+        for (var session : this.sessionManager.GetSessions())
+        {
+            var projects = this.StreamContents(session, CapellaSessionContentsPruning.DoNotDescendInto(Project.class))
+                    .filter(x -> x instanceof Project)
+                    .collect(Collectors.toList());
+            
+            rootRowViewModel.GetContainedRows().add(new RootRowViewModel(URI.decode(session.getSessionResource().getURI().lastSegment()), projects));
+        }
         
         return rootRowViewModel;
     }
 
     /**
-     * Loops through all {@linkplain Notifier} element from all the open {@linkplain Session}s
-     * and accept a {@linkplain BiConsumer} on them
+     * Gets a lazy {@linkplain Stream} over the contents of the provided {@linkplain Session}, 
+     * the children of the visited {@linkplain Notifier}s that verify the provided pruning {@linkplain Predicate} are skipped.
+     * Nothing is copied, the {@linkplain Stream} walks the resource set as it gets consumed so short-circuiting operations stop the traversal
      * 
-     * @param action the {@linkplain BiConsumer} of {@linkplain URI} and {@linkplain ArrayList} of {@linkplain Notifier}.
-     * The {@linkplain URI} identifies the {@linkplain Session} to which the elements from the array belongs to
+     * @param session the {@linkplain Session}
+     * @param shouldPrune the {@linkplain Predicate} that tells whether the children of one {@linkplain Notifier} are skipped
+     * @return a {@linkplain Stream} of {@linkplain Notifier}
      */
-    private void ProcessSessionsElements(BiConsumer<URI, ArrayList<Notifier>> action)
+    @Override
+    public Stream<Notifier> StreamContents(Session session, Predicate<Notifier> shouldPrune)
     {
-        for (var session : this.sessionManager.GetSessions())
+        var contents = session.getTransactionalEditingDomain().getResourceSet().getAllContents();
+        
+        var iterator = new Iterator<Notifier>()
         {
-            Notifier element;
-            var elements = new ArrayList<Notifier>();
-            var contents = session.getTransactionalEditingDomain().getResourceSet().getAllContents();
-            
-            while(contents.hasNext() && (element = contents.next()) !=null)
+            @Override
+            public boolean hasNext()
             {
-                elements.add((Notifier)element);
+                return contents.hasNext();
             }
-            
-            action.accept(session.getSessionResource().getURI(), elements);
-        }
+
+            @Override
+            public Notifier next()
+            {
+                var element = contents.next();
+                
+                if(shouldPrune.test(element))
+                {
+                    contents.prune();
+                }
+                
+                return element;
+            }
+        };
+        
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED | Spliterator.NONNULL), false);
+    }
+
+    /**
+     * Gets a lazy {@linkplain Stream} over the contents of the provided {@linkplain Session} that are instances of the provided {@linkplain Class}, 
+     * the children of the visited {@linkplain Notifier}s that verify the provided pruning {@linkplain Predicate} are skipped
+     * 
+     * @param <TElement> the type of element to stream
+     * @param session the {@linkplain Session}
+     * @param elementType the {@linkplain Class} of {@linkplain #TElement}
+     * @param shouldPrune the {@linkplain Predicate} that tells whether the children of one {@linkplain Notifier} are skipped
+     * @return a {@linkplain Stream} of {@linkplain #TElement}
+     */
+    @Override
+    public <TElement> Stream<TElement> StreamContents(Session session, Class<TElement> elementType, Predicate<Notifier> shouldPrune)
+    {
+        return this.StreamContents(session, shouldPrune)
+                .filter(x -> elementType.isInstance(x))
+                .map(x -> elementType.cast(x));
     }
     
     /**
@@ -265,19 +541,105 @@ public class CapellaSessionService implements ICapellaSessionService
     {
         var sessionAndObjectsMap = new HashMap<URI, List<Element>>();
         
-        this.ProcessSessionsElements((uri, notifiers) -> 
+        for (var session : this.sessionManager.GetSessions())
         {
-            var elements = notifiers.stream()
-                    .filter(x -> x instanceof Element)
-                    .map(x -> (Element)x)
-                    .collect(Collectors.toList());
-            
-            sessionAndObjectsMap.putIfAbsent(uri, elements);
-        });
+            sessionAndObjectsMap.putIfAbsent(session.getSessionResource().getURI(), this.GetElementIndex(session).GetElements());
+        }
         
         return sessionAndObjectsMap;
     }
 
+    /**
+     * Gets all the {@linkplain Element}s contained in the provided {@linkplain Session}
+     * 
+     * @param session the {@linkplain Session}
+     * @return a {@linkplain List} of {@linkplain Element}
+     */
+    @Override
+    public List<Element> GetElements(Session session)
+    {
+        return this.GetElementIndex(session).GetElements();
+    }
+
+    /**
+     * Gets the {@linkplain Element} that has the provided id in the provided {@linkplain Session}
+     * 
+     * @param session the {@linkplain Session}
+     * @param id the {@linkplain String} id
+     * @return the {@linkplain Element}, or null if none has that id
+     */
+    @Override
+    public Element GetElementById(Session session, String id)
+    {
+        return this.GetElementIndex(session).GetElementById(id);
+    }
+
+    /**
+     * Gets the {@linkplain Requirement}s from the provided {@linkplain Session} whose ReqIF identifier matches the provided one ignoring the case and white spaces
+     * 
+     * @param session the {@linkplain Session}
+     * @param identifier the {@linkplain String} ReqIF identifier
+     * @return a {@linkplain Collection} of {@linkplain Element} candidates
+     */
+    @Override
+    public Collection<Element> GetElementsByReqIFIdentifier(Session session, String identifier)
+    {
+        return this.GetElementIndex(session).GetElementsByReqIFIdentifier(identifier);
+    }
+
+    /**
+     * Gets the immutable {@linkplain CapellaModelSnapshot} of the provided {@linkplain Session}, 
+     * the same snapshot is returned until the session changes
+     * 
+     * @param session the {@linkplain Session}
+     * @return the {@linkplain CapellaModelSnapshot}
+     */
+    @Override
+    public CapellaModelSnapshot GetModelSnapshot(Session session)
+    {
+        return this.GetElementIndex(session).GetSnapshot();
+    }
+
+    /**
+     * Gets all the elements of the provided {@linkplain Session} that are instances of the provided {@linkplain Class}
+     * 
+     * @param <TElement> the type of element
+     * @param session the {@linkplain Session}
+     * @param elementType the {@linkplain Class} of {@linkplain #TElement}
+     * @return a {@linkplain List} of {@linkplain #TElement}
+     */
+    @Override
+    public <TElement> List<TElement> GetElementsOfType(Session session, Class<TElement> elementType)
+    {
+        return this.GetElementIndex(session).GetElementsOfType(elementType);
+    }
+
+    /**
+     * Gets all the {@linkplain Element}s of the provided {@linkplain Session} that are instances of the provided {@linkplain EClass}
+     * 
+     * @param session the {@linkplain Session}
+     * @param eClass the {@linkplain EClass}
+     * @return a {@linkplain List} of {@linkplain Element}
+     */
+    @Override
+    public List<Element> GetElementsOfType(Session session, EClass eClass)
+    {
+        return this.GetElementIndex(session).GetElementsOfType(eClass);
+    }
+
+    /**
+     * Gets the {@linkplain Element}s from the provided {@linkplain Session} whose name matches the provided one ignoring the case and white spaces
+     * 
+     * @param session the {@linkplain Session}
+     * @param name the {@linkplain String} name
+     * @return a {@linkplain Collection} of {@linkplain Element} candidates
+     */
+    @Override
+    public Collection<Element> GetElementsByName(Session session, String name)
+    {
+        return this.GetElementIndex(session).GetElementsByName(name);
+    }
+
     /**
      * Gets the top element from the {@linkplain Session} that owns the provided {@linkplain CapellaElement} in the Physical Architecture package
      * 
@@ -294,24 +656,29 @@ public class CapellaSessionService implements ICapellaSessionService
      * Gets the top element from the {@linkplain Session} in the provided {@linkplain CapellaArchitecture}
      * 
      * @param architecture the {@linkplain CapellaArchitecture} from which to get the top element
-     * @return a {@linkplain CapellaElement}
+     * @return a {@linkplain CapellaElement}, or null when the session does not contain that architecture
      */
     @Override
     public Component GetTopElement(CapellaArchitecture architecture)
     {
-        return this.GetTopElement(this.GetProject(), architecture.GetType());
+        return GetSystem(this.GetArchitectureInstance(architecture));
     }
 
     /**
      * Gets the top element from the provided {@linkplain Session} in the Physical Architecture package
      * 
      * @param session the {@linkplain Session}
-     * @return a {@linkplain PhysicalComponent}
+     * @return a {@linkplain PhysicalComponent}, or null when the session does not contain any Physical Architecture
      */
     @Override
     public PhysicalComponent GetTopElement(Session session)
     {
-        return (PhysicalComponent) this.GetTopElement(this.GetProject(session), Type.PA);
+        if(session == null)
+        {
+            return null;
+        }
+        
+        return (PhysicalComponent) GetSystem(this.GetElementIndex(session).GetArchitecture(CapellaArchitecture.PhysicalArchitecture));
     }
     
     /**
@@ -322,7 +689,7 @@ public class CapellaSessionService implements ICapellaSessionService
     @Override
     public PhysicalComponent GetTopElement()
     {
-        return (PhysicalComponent) this.GetTopElement(this.GetProject(), Type.PA);
+        return this.GetTopElement(this.GetCurrentSession());
     }
         
     /**
@@ -330,12 +697,19 @@ public class CapellaSessionService implements ICapellaSessionService
      * 
      * @param referenceElement the {@linkplain CapellaElement} used to search the correct session
      * @param architectureType the architecture {@linkplain Type}
-     * @return a {@linkplain Component}
+     * @return a {@linkplain Component}, or null when the session does not contain that architecture
      */
     @Override
     public Component GetTopElement(CapellaElement referenceElement, Type architectureType)
     {
-        return GetTopElement(this.GetProject(referenceElement), architectureType);
+        var session = this.GetSession(referenceElement);
+        
+        if(session == null)
+        {
+            return null;
+        }
+        
+        return GetSystem(this.GetElementIndex(session).GetArchitecture(CapellaArchitecture.From(architectureType)));
     }
 
     /**
@@ -343,13 +717,23 @@ public class CapellaSessionService implements ICapellaSessionService
      * 
      * @param project the {@linkplain Project} used to search the correct session
      * @param architectureType the architecture {@linkplain Type}
-     * @return a {@linkplain CapellaElement}
+     * @return a {@linkplain CapellaElement}, or null when the project does not contain that architecture
      */
     @Override
     public Component GetTopElement(Project project, Type architectureType)
     {
-        var architecture = BlockArchitectureExt.getBlockArchitecture(architectureType, project);
-        return architecture.getSystem();
+        return project == null ? null : GetSystem(BlockArchitectureExt.getBlockArchitecture(architectureType, project));
+    }
+
+    /**
+     * Gets the system {@linkplain Component} of the provided {@linkplain BlockArchitecture}
+     * 
+     * @param architecture the {@linkplain BlockArchitecture}, can be null
+     * @return a {@linkplain Component}, or null when the architecture is null
+     */
+    private static Component GetSystem(BlockArchitecture architecture)
+    {
+        return architecture == null ? null : architecture.getSystem();
     }
             
     /**
@@ -387,19 +771,19 @@ public class CapellaSessionService implements ICapellaSessionService
     @Override
     public Project GetProject(Session session)
     {
-        var contents = session.getTransactionalEditingDomain().getResourceSet().getAllContents();
-        
-        Notifier element;
-        
-        while(contents.hasNext() && (element = contents.next()) !=null)
-        {
-            if(element instanceof Project)
-            {
-                return (Project)element;
-            }
-        }
-        
-        return null;
+        return this.GetElementIndex(session).GetProject();
+    }
+
+    /**
+     * Gets the {@linkplain SystemEngineering} element from the provided {@linkplain Session}
+     * 
+     * @param session the {@linkplain Session}
+     * @return a {@linkplain SystemEngineering} element
+     */
+    @Override
+    public SystemEngineering GetSystemEngineering(Session session)
+    {
+        return this.GetElementIndex(session).GetSystemEngineering();
     }
 
     /**
@@ -411,6 +795,6 @@ public class CapellaSessionService implements ICapellaSessionService
     @Override
     public BlockArchitecture GetArchitectureInstance(CapellaArchitecture targetArchitecture)
     {
-        return BlockArchitectureExt.getBlockArchitecture(targetArchitecture.GetType(), this.GetProject());
+        return this.GetElementIndex(this.GetCurrentSession()).GetArchitecture(targetArchitecture);
     }
 }
@@ -40,6 +40,14 @@ public interface ICapellaSessionListenerService extends SessionManagerListener
      */
     Observable<Session> SessionUpdated();
 
+    /**
+     * The {@linkplain Observable} of {@linkplain CapellaSessionChange} that emits once per committed transaction 
+     * the elements that were added, removed or changed in one of the open {@linkplain Session}s
+     * 
+     * @return an {@linkplain Observable} of {@linkplain CapellaSessionChange}
+     */
+    Observable<CapellaSessionChange> SessionChanged();
+
     /**
      * The {@linkplain Observable} of {@linkplain Session} when the one {@linkplain Session} gets removed from the {@linkplain SessionManager}
      * 
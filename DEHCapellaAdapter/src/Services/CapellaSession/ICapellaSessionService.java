@@ -26,17 +26,23 @@ package Services.CapellaSession;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
 
+import org.eclipse.emf.common.notify.Notifier;
 import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EClass;
 import org.eclipse.emf.ecore.EObject;
 import org.eclipse.sirius.business.api.session.Session;
 import org.polarsys.capella.core.data.capellacore.CapellaElement;
 import org.polarsys.capella.core.data.capellamodeller.Project;
+import org.polarsys.capella.core.data.capellamodeller.SystemEngineering;
 import org.polarsys.capella.core.data.cs.BlockArchitecture;
 import org.polarsys.capella.core.data.cs.Component;
 import org.polarsys.capella.core.data.pa.PhysicalComponent;
 import org.polarsys.capella.core.model.helpers.BlockArchitectureExt.Type;
 import org.polarsys.kitalpha.emde.model.Element;
+import org.polarsys.kitalpha.vp.requirements.Requirements.Requirement;
 
 import Enumerations.CapellaArchitecture;
 import ViewModels.CapellaObjectBrowser.Rows.RootRowViewModel;
@@ -83,6 +89,91 @@ public interface ICapellaSessionService
      */
     HashMap<URI, List<Element>> GetAllCapellaElementsFromOpenSessions();
 
+    /**
+     * Gets all the {@linkplain Element}s contained in the provided {@linkplain Session}
+     * 
+     * @param session the {@linkplain Session}
+     * @return a {@linkplain List} of {@linkplain Element}
+     */
+    List<Element> GetElements(Session session);
+
+    /**
+     * Gets the {@linkplain Element} that has the provided id in the provided {@linkplain Session}
+     * 
+     * @param session the {@linkplain Session}
+     * @param id the {@linkplain String} id
+     * @return the {@linkplain Element}, or null if none has that id
+     */
+    Element GetElementById(Session session, String id);
+
+    /**
+     * Gets a lazy {@linkplain Stream} over the contents of the provided {@linkplain Session}, 
+     * the children of the visited {@linkplain Notifier}s that verify the provided pruning {@linkplain Predicate} are skipped
+     * 
+     * @param session the {@linkplain Session}
+     * @param shouldPrune the {@linkplain Predicate} that tells whether the children of one {@linkplain Notifier} are skipped
+     * @return a {@linkplain Stream} of {@linkplain Notifier}
+     */
+    Stream<Notifier> StreamContents(Session session, Predicate<Notifier> shouldPrune);
+
+    /**
+     * Gets a lazy {@linkplain Stream} over the contents of the provided {@linkplain Session} that are instances of the provided {@linkplain Class}, 
+     * the children of the visited {@linkplain Notifier}s that verify the provided pruning {@linkplain Predicate} are skipped
+     * 
+     * @param <TElement> the type of element to stream
+     * @param session the {@linkplain Session}
+     * @param elementType the {@linkplain Class} of {@linkplain #TElement}
+     * @param shouldPrune the {@linkplain Predicate} that tells whether the children of one {@linkplain Notifier} are skipped
+     * @return a {@linkplain Stream} of {@linkplain #TElement}
+     */
+    <TElement> Stream<TElement> StreamContents(Session session, Class<TElement> elementType, Predicate<Notifier> shouldPrune);
+
+    /**
+     * Gets the {@linkplain Requirement}s from the provided {@linkplain Session} whose ReqIF identifier matches the provided one ignoring the case and white spaces
+     * 
+     * @param session the {@linkplain Session}
+     * @param identifier the {@linkplain String} ReqIF identifier
+     * @return a {@linkplain Collection} of {@linkplain Element} candidates
+     */
+    Collection<Element> GetElementsByReqIFIdentifier(Session session, String identifier);
+
+    /**
+     * Gets the immutable {@linkplain CapellaModelSnapshot} of the provided {@linkplain Session}, 
+     * the same snapshot is returned until the session changes
+     * 
+     * @param session the {@linkplain Session}
+     * @return the {@linkplain CapellaModelSnapshot}
+     */
+    CapellaModelSnapshot GetModelSnapshot(Session session);
+
+    /**
+     * Gets all the elements of the provided {@linkplain Session} that are instances of the provided {@linkplain Class}
+     * 
+     * @param <TElement> the type of element
+     * @param session the {@linkplain Session}
+     * @param elementType the {@linkplain Class} of {@linkplain #TElement}
+     * @return a {@linkplain List} of {@linkplain #TElement}
+     */
+    <TElement> List<TElement> GetElementsOfType(Session session, Class<TElement> elementType);
+
+    /**
+     * Gets all the {@linkplain Element}s of the provided {@linkplain Session} that are instances of the provided {@linkplain EClass}
+     * 
+     * @param session the {@linkplain Session}
+     * @param eClass the {@linkplain EClass}
+     * @return a {@linkplain List} of {@linkplain Element}
+     */
+    List<Element> GetElementsOfType(Session session, EClass eClass);
+
+    /**
+     * Gets the {@linkplain Element}s from the provided {@linkplain Session} whose name matches the provided one ignoring the case and white spaces
+     * 
+     * @param session the {@linkplain Session}
+     * @param name the {@linkplain String} name
+     * @return a {@linkplain Collection} of {@linkplain Element} candidates
+     */
+    Collection<Element> GetElementsByName(Session session, String name);
+
     /**
      * Gets the {@linkplain Observable} of {@linkplain Session} that indicates when the emitted session gets saved
      * 
@@ -90,6 +181,13 @@ public interface ICapellaSessionService
      */
     Observable<Session> SessionUpdated();
 
+    /**
+     * Gets the {@linkplain Observable} of {@linkplain CapellaSessionChange} that emits once per transaction committed on one of the open {@linkplain Session}s
+     * 
+     * @return an {@linkplain Observable} of {@linkplain CapellaSessionChange}
+     */
+    Observable<CapellaSessionChange> SessionChanged();
+
     /**
      * Gets the {@linkplain Project} from the {@linkplain Session} that owns the provided {@linkplain CapellaElement}
      * 
@@ -103,7 +201,7 @@ public interface ICapellaSessionService
      * 
      * @param referenceElement the {@linkplain CapellaElement} used to search the correct session
      * @param architectureType the architecture {@linkplain Type}
-     * @return a {@linkplain CapellaElement}
+     * @return a {@linkplain CapellaElement}, or null when the architecture does not exist
      */
     CapellaElement GetTopElement(CapellaElement referenceElement, Type architectureType);
 
@@ -111,7 +209,7 @@ public interface ICapellaSessionService
      * Gets the top element from the {@linkplain Session} that owns the provided {@linkplain CapellaElement} in the Physical Architecture package
      * 
      * @param referenceElement the {@linkplain CapellaElement} used to search the correct session
-     * @return a {@linkplain CapellaElement}
+     * @return a {@linkplain CapellaElement}, or null when the architecture does not exist
      */
     CapellaElement GetTopElement(CapellaElement referenceElement);
 
@@ -120,7 +218,7 @@ public interface ICapellaSessionService
      * 
      * @param project the {@linkplain Project} used to search the correct session
      * @param architectureType the architecture {@linkplain Type}
-     * @return a {@linkplain CapellaElement}
+     * @return a {@linkplain CapellaElement}, or null when the architecture does not exist
      */
     Component GetTopElement(Project project, Type architectureType);
 
@@ -128,7 +226,7 @@ public interface ICapellaSessionService
      * Gets the top element from the provided {@linkplain Session} in the Physical Architecture package
      * 
      * @param session the {@linkplain Session}
-     * @return a {@linkplain PhysicalComponent}
+     * @return a {@linkplain PhysicalComponent}, or null when the architecture does not exist
      */
     PhysicalComponent GetTopElement(Session session);
 
@@ -139,6 +237,23 @@ public interface ICapellaSessionService
      */
     Collection<Session> GetOpenSessions();
 
+    /**
+     * Runs the provided {@linkplain Runnable} under an exclusive read of the editing domains of all the open {@linkplain Session}s, 
+     * so that the models do not change while it reads them or creates elements from them
+     * 
+     * @param runnable the {@linkplain Runnable} to run
+     * @return a value indicating whether the {@linkplain Runnable} ran, false when the thread got interrupted while waiting for the editing domains
+     */
+    boolean RunExclusive(Runnable runnable);
+
+    /**
+     * Gets the open {@linkplain Session}s in the order they should be searched when looking up an element across sessions,
+     * the {@linkplain #GetCurrentSession()} first, then the other ones ordered by their session resource {@linkplain URI}
+     * 
+     * @return a {@linkplain List} of {@linkplain Session}
+     */
+    List<Session> GetOpenSessionsInLookupOrder();
+
     /**
      * Gets the {@linkplain Project} element from the provided {@linkplain Session}
      * 
@@ -147,6 +262,14 @@ public interface ICapellaSessionService
      */
     Project GetProject(Session session);
 
+    /**
+     * Gets the {@linkplain SystemEngineering} element from the provided {@linkplain Session}
+     * 
+     * @param session the {@linkplain Session}
+     * @return a {@linkplain SystemEngineering} element
+     */
+    SystemEngineering GetSystemEngineering(Session session);
+
     /**
      * Gets the current {@linkplain Session} to work with
      * 
@@ -171,7 +294,7 @@ public interface ICapellaSessionService
     /**
      * Gets the top element from the {@linkplain #GetCurrentSession()} in the Physical Architecture package
      * 
-     * @return a {@linkplain PhysicalComponent}
+     * @return a {@linkplain PhysicalComponent}, or null when the architecture does not exist
      */
     PhysicalComponent GetTopElement();
 
@@ -187,7 +310,7 @@ public interface ICapellaSessionService
      * Gets the top element from the {@linkplain Session} in the provided {@linkplain CapellaArchitecture}
      * 
      * @param architecture the {@linkplain CapellaArchitecture} from which to get the top element
-     * @return a {@linkplain CapellaElement}
+     * @return a {@linkplain CapellaElement}, or null when the architecture does not exist
      */
     Component GetTopElement(CapellaArchitecture architecture);
 }
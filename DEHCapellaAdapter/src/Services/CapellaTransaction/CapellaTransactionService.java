@@ -29,6 +29,7 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
@@ -46,7 +47,6 @@ import org.polarsys.capella.core.data.information.DataPkg;
 import org.polarsys.capella.core.data.information.Unit;
 import org.polarsys.capella.core.data.information.datatype.DataType;
 import org.polarsys.capella.core.model.helpers.BlockArchitectureExt;
-import org.polarsys.capella.core.model.helpers.BlockArchitectureExt.Type;
 import org.polarsys.capella.vp.requirements.CapellaRequirements.CapellaModule;
 import org.polarsys.capella.vp.requirements.CapellaRequirements.CapellaTypesFolder;
 import org.polarsys.kitalpha.emde.model.Element;
@@ -80,17 +80,22 @@ public class CapellaTransactionService implements ICapellaTransactionService
     /**
      * Backing field for {@linkplain #GetClones(Class)} and {@linkplain #GetClones()}
      */
-    private HashMap<String, ClonedReferenceElement<? extends Element>> cloneReferences = new HashMap<>();
+    private final Map<String, ClonedReferenceElement<? extends Element>> cloneReferences = new ConcurrentHashMap<>();
     
     /**
      * Holds the newly created {@linkplain CapellaElement} for future reference such as in {@linkplain #IsClonedOrNew(EObject)}, {@linkplain #GetNew(String, Class)}
      */
-    private HashMap<String, Element> newReferences = new HashMap<>();
+    private final Map<String, Element> newReferences = new ConcurrentHashMap<>();
 
     /**
      * Holds the associated target {@linkplain CapellaArchitecture} by {@linkplain CapellaElement} id. Typically {@linkplain Requirement}
      */
-    private HashMap<String, CapellaArchitecture> registeredTargetArchitecture = new HashMap<>();
+    private final Map<String, CapellaArchitecture> registeredTargetArchitecture = new ConcurrentHashMap<>();
+    
+    /**
+     * Holds the {@linkplain CapellaTransactionStage} the current thread registers its references into, see {@linkplain #BeginStage()}
+     */
+    private final ThreadLocal<CapellaTransactionStage> currentStage = new ThreadLocal<>();
     
     /**
      * Gets a read only {@linkplain Collection} of the clones reference
@@ -100,7 +105,17 @@ public class CapellaTransactionService implements ICapellaTransactionService
     @Override
     public Map<String, ClonedReferenceElement<? extends Element>> GetClones()
     {
-        return Collections.unmodifiableMap(cloneReferences);
+        var stage = this.currentStage.get();
+        
+        if(stage == null)
+        {
+            return Collections.unmodifiableMap(this.cloneReferences);
+        }
+        
+        var clones = new HashMap<String, ClonedReferenceElement<? extends Element>>();
+        this.cloneReferences.entrySet().stream().filter(x -> !stage.IsReset(x.getKey())).forEach(x -> clones.put(x.getKey(), x.getValue()));
+        clones.putAll(stage.cloneReferences);
+        return Collections.unmodifiableMap(clones);
     }
     
     /**
@@ -113,7 +128,7 @@ public class CapellaTransactionService implements ICapellaTransactionService
     @Override
     public <TElement extends Element> Collection<ClonedReferenceElement<? extends Element>> GetClones(Class<TElement> clazz)
     {
-        return Collections.unmodifiableCollection(cloneReferences.values().stream()
+        return Collections.unmodifiableCollection(this.GetClones().values().stream()
                 .filter(x -> clazz.isAssignableFrom(x.GetOriginal().getClass()))
                 .collect(Collectors.toList()));
     }
@@ -138,7 +153,7 @@ public class CapellaTransactionService implements ICapellaTransactionService
     @SuppressWarnings("unchecked")
     public <TElement extends Element> ClonedReferenceElement<TElement> GetClone(TElement element)
     {
-        return (ClonedReferenceElement<TElement>) this.cloneReferences.get(ElementUtils.GetId(element));
+        return (ClonedReferenceElement<TElement>) this.Get(x -> x.cloneReferences, this.cloneReferences, ElementUtils.GetId(element));
     }
 
     /**
@@ -153,7 +168,7 @@ public class CapellaTransactionService implements ICapellaTransactionService
     @SuppressWarnings("unchecked")
     public <TElement extends Element> TElement GetNew(String id, Class<TElement> elementType)
     {
-        return (TElement) this.newReferences.get(id);
+        return (TElement) this.Get(x -> x.newReferences, this.newReferences, id);
     }
     
     /**
@@ -174,14 +189,16 @@ public class CapellaTransactionService implements ICapellaTransactionService
         
         var elementId = ElementUtils.GetId(original);
         
-        if(this.cloneReferences.containsKey(elementId))
+        var existingReference = this.Get(x -> x.cloneReferences, this.cloneReferences, elementId);
+        
+        if(existingReference != null)
         {
-            return (TElement) this.cloneReferences.get(elementId).GetClone();
+            return (TElement) existingReference.GetClone();
         }
         else
         {
             var clonedReference = new ClonedReferenceElement<TElement>(original);
-            this.cloneReferences.put(elementId, clonedReference);
+            this.Put(x -> x.cloneReferences, this.cloneReferences, elementId, clonedReference);
             return clonedReference.GetClone();
         }
     }
@@ -201,8 +218,8 @@ public class CapellaTransactionService implements ICapellaTransactionService
             return false;
         }
         
-        return this.cloneReferences.containsKey(ElementUtils.GetId((Element)element)) 
-                && this.cloneReferences.get(ElementUtils.GetId((Element)element)).GetClone() == element;
+        var clonedReference = this.Get(x -> x.cloneReferences, this.cloneReferences, ElementUtils.GetId((Element)element));
+        return clonedReference != null && clonedReference.GetClone() == element;
     }    
 
     /**
@@ -239,8 +256,8 @@ public class CapellaTransactionService implements ICapellaTransactionService
     {
         var elementId = ElementUtils.GetId(element);
         
-        return this.newReferences.containsKey(elementId)
-                && this.newReferences.get(elementId) == element;
+        var newReference = this.Get(x -> x.newReferences, this.newReferences, elementId);
+        return newReference != null && newReference == element;
     }
 
     /**
@@ -307,7 +324,7 @@ public class CapellaTransactionService implements ICapellaTransactionService
         if (eClassAndFactory.getLeft() != null && eClassAndFactory.getRight() != null && eClassAndFactory.getLeft() instanceof EClass) 
         {
             var reference = clazz.cast(eClassAndFactory.getRight().create((EClass)eClassAndFactory.getLeft()));
-            this.newReferences.put(ElementUtils.GetId(reference), reference);            
+            this.Put(x -> x.newReferences, this.newReferences, ElementUtils.GetId(reference), reference);
             
             return reference;
         }
@@ -325,7 +342,7 @@ public class CapellaTransactionService implements ICapellaTransactionService
     @Override
     public CapellaArchitecture GetTargetArchitecture(Element capellaElement)
     {
-        return this.registeredTargetArchitecture.get(ElementUtils.GetId(capellaElement));
+        return this.Get(x -> x.registeredTargetArchitecture, this.registeredTargetArchitecture, ElementUtils.GetId(capellaElement));
     }    
 
     /**
@@ -337,7 +354,61 @@ public class CapellaTransactionService implements ICapellaTransactionService
     @Override
     public void RegisterTargetArchitecture(Element element, CapellaArchitecture targetArchitecture)
     {
-        this.registeredTargetArchitecture.putIfAbsent(ElementUtils.GetId(element), targetArchitecture);
+        if(targetArchitecture != null && this.GetTargetArchitecture(element) == null)
+        {
+            this.Put(x -> x.registeredTargetArchitecture, this.registeredTargetArchitecture, ElementUtils.GetId(element), targetArchitecture);
+        }
+    }
+    
+    /**
+     * Gets the value registered for the provided element id, from the {@linkplain CapellaTransactionStage} of the current thread first
+     * 
+     * @param <TValue> the type of the registered value
+     * @param stagedValues the {@linkplain Function} that selects the staged map from the {@linkplain CapellaTransactionStage}
+     * @param values the current {@linkplain Map}
+     * @param elementId the {@linkplain String} element id
+     * @return the registered {@linkplain #TValue} or null
+     */
+    private <TValue> TValue Get(Function<CapellaTransactionStage, Map<String, TValue>> stagedValues, Map<String, TValue> values, String elementId)
+    {
+        var stage = this.currentStage.get();
+        
+        if(stage == null)
+        {
+            return values.get(elementId);
+        }
+        
+        var stagedValue = stagedValues.apply(stage).get(elementId);
+        
+        if(stagedValue != null || stage.IsReset(elementId))
+        {
+            return stagedValue;
+        }
+        
+        return values.get(elementId);
+    }
+    
+    /**
+     * Registers the provided value, into the {@linkplain CapellaTransactionStage} of the current thread if any
+     * 
+     * @param <TValue> the type of the registered value
+     * @param stagedValues the {@linkplain Function} that selects the staged map from the {@linkplain CapellaTransactionStage}
+     * @param values the current {@linkplain Map}
+     * @param elementId the {@linkplain String} element id
+     * @param value the {@linkplain #TValue} to register
+     */
+    private <TValue> void Put(Function<CapellaTransactionStage, Map<String, TValue>> stagedValues, Map<String, TValue> values, String elementId, TValue value)
+    {
+        var stage = this.currentStage.get();
+        
+        if(stage == null)
+        {
+            values.put(elementId, value);
+        }
+        else
+        {
+            stagedValues.apply(stage).put(elementId, value);
+        }
     }
     
     /**
@@ -350,6 +421,81 @@ public class CapellaTransactionService implements ICapellaTransactionService
         this.newReferences.clear();
         this.registeredTargetArchitecture.clear();
     }
+
+    /**
+     * Reset the clones references, the new ones and the registered target architecture of the elements that have one of the provided ids
+     * 
+     * @param elementIds the {@linkplain Collection} of {@linkplain String} ids of the elements to forget
+     */
+    @Override
+    public void Reset(Collection<String> elementIds)
+    {
+        this.cloneReferences.keySet().removeAll(elementIds);
+        this.newReferences.keySet().removeAll(elementIds);
+        this.registeredTargetArchitecture.keySet().removeAll(elementIds);
+    }
+    
+    /**
+     * Starts registering the clones, the new elements and the target architectures of the current thread into a {@linkplain CapellaTransactionStage}
+     * that replaces all of the current ones once applied, see {@linkplain #Apply(CapellaTransactionStage)}
+     */
+    @Override
+    public void BeginStage()
+    {
+        this.currentStage.set(new CapellaTransactionStage(null));
+    }
+    
+    /**
+     * Starts registering the clones, the new elements and the target architectures of the current thread into a {@linkplain CapellaTransactionStage}
+     * that replaces the ones of the elements that have one of the provided ids once applied, see {@linkplain #Apply(CapellaTransactionStage)}
+     * 
+     * @param elementIds the {@linkplain Collection} of {@linkplain String} ids of the elements to forget once applied
+     */
+    @Override
+    public void BeginStage(Collection<String> elementIds)
+    {
+        this.currentStage.set(new CapellaTransactionStage(elementIds));
+    }
+    
+    /**
+     * Stops registering the references of the current thread into its {@linkplain CapellaTransactionStage}
+     * 
+     * @return the {@linkplain CapellaTransactionStage} of the current thread, or null if none was begun
+     */
+    @Override
+    public CapellaTransactionStage EndStage()
+    {
+        var stage = this.currentStage.get();
+        this.currentStage.remove();
+        return stage;
+    }
+    
+    /**
+     * Applies the provided {@linkplain CapellaTransactionStage}, resetting the references it replaces
+     * 
+     * @param stage the {@linkplain CapellaTransactionStage} to apply
+     */
+    @Override
+    public void Apply(CapellaTransactionStage stage)
+    {
+        if(stage == null)
+        {
+            return;
+        }
+        
+        if(stage.GetResetElementIds() == null)
+        {
+            this.Reset();
+        }
+        else
+        {
+            this.Reset(stage.GetResetElementIds());
+        }
+        
+        this.cloneReferences.putAll(stage.cloneReferences);
+        this.newReferences.putAll(stage.newReferences);
+        this.registeredTargetArchitecture.putAll(stage.registeredTargetArchitecture);
+    }
     
     /**
      * Adds the provided {@linkplain DataType} to the {@linkplain DataPackage} of the current project
@@ -387,7 +533,7 @@ public class CapellaTransactionService implements ICapellaTransactionService
             @Override
             public void run()
             {
-                var architecture = BlockArchitectureExt.getBlockArchitecture(Type.SA, project);
+                var architecture = sessionService.GetArchitectureInstance(CapellaArchitecture.SystemAnalysis);
                 
                 var requirementTypeModule = architecture.getOwnedExtensions().stream()
                         .filter(x -> x instanceof CapellaTypesFolder && AreTheseEquals(((CapellaTypesFolder) x).getReqIFLongName(), "RequirementTypes"))
@@ -434,7 +580,7 @@ public class CapellaTransactionService implements ICapellaTransactionService
             @Override
             public void run()
             {
-                var architecture = BlockArchitectureExt.getBlockArchitecture(Type.SA, project);
+                var architecture = sessionService.GetArchitectureInstance(CapellaArchitecture.SystemAnalysis);
                 var dataPackage = BlockArchitectureExt.getDataPkg(architecture, true);
                 getDataPackageElementCollectionFunction.apply(dataPackage).add(newElement);
                 Logger.info(String.format("%s %s has been added to %s", newElement.getClass().getSimpleName(), newElement.getName(), dataPackage.getName()));
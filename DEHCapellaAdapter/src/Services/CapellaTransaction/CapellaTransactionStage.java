@@ -0,0 +1,92 @@
+/*
+ * CapellaTransactionStage.java
+ *
+ * Copyright (c) 2020-2024 Starion Group S.A.
+ *
+ * Author: Sam Gerené, Alex Vorobiev, Nathanael Smiechowski 
+ *
+ * This file is part of DEH-Capella
+ *
+ * The DEH-Capella is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * The DEH-Capella is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package Services.CapellaTransaction;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+
+import org.polarsys.kitalpha.emde.model.Element;
+
+import Enumerations.CapellaArchitecture;
+
+/**
+ * The CapellaTransactionStage holds the clones, the new elements and the target architectures registered while a mapping gets computed,
+ * until the {@linkplain CapellaTransactionService} applies them
+ */
+@Annotations.ExludeFromCodeCoverageGeneratedReport
+public final class CapellaTransactionStage
+{
+    /**
+     * The staged {@linkplain ClonedReferenceElement} by element id
+     */
+    final Map<String, ClonedReferenceElement<? extends Element>> cloneReferences = new HashMap<>();
+
+    /**
+     * The staged new {@linkplain Element} by element id
+     */
+    final Map<String, Element> newReferences = new HashMap<>();
+
+    /**
+     * The staged target {@linkplain CapellaArchitecture} by element id
+     */
+    final Map<String, CapellaArchitecture> registeredTargetArchitecture = new HashMap<>();
+
+    /**
+     * The ids of the elements whose current references get replaced by this stage, null when all of them are
+     */
+    private final Collection<String> resetElementIds;
+
+    /**
+     * Initializes a new {@linkplain CapellaTransactionStage}
+     * 
+     * @param resetElementIds the {@linkplain Collection} of {@linkplain String} ids of the elements whose current references get replaced, null for all
+     */
+    public CapellaTransactionStage(Collection<String> resetElementIds)
+    {
+        this.resetElementIds = resetElementIds == null ? null : new HashSet<>(resetElementIds);
+    }
+
+    /**
+     * Gets the ids of the elements whose current references get replaced by this stage
+     * 
+     * @return a {@linkplain Collection} of {@linkplain String} ids, null when all of them are
+     */
+    Collection<String> GetResetElementIds()
+    {
+        return this.resetElementIds;
+    }
+
+    /**
+     * Gets a value indicating whether the current references of the element that has the provided id get replaced by this stage
+     * 
+     * @param elementId the {@linkplain String} element id
+     * @return a value indicating whether the element is reset
+     */
+    boolean IsReset(String elementId)
+    {
+        return this.resetElementIds == null || this.resetElementIds.contains(elementId);
+    }
+}
@@ -88,6 +88,41 @@ public interface ICapellaTransactionService
      */
     void Reset();
 
+    /**
+     * Reset the clones references, the new ones and the registered target architecture of the elements that have one of the provided ids
+     * 
+     * @param elementIds the {@linkplain Collection} of {@linkplain String} ids of the elements to forget
+     */
+    void Reset(Collection<String> elementIds);
+
+    /**
+     * Starts registering the clones, the new elements and the target architectures of the current thread into a {@linkplain CapellaTransactionStage}
+     * that replaces all of the current ones once applied, see {@linkplain #Apply(CapellaTransactionStage)}
+     */
+    void BeginStage();
+
+    /**
+     * Starts registering the clones, the new elements and the target architectures of the current thread into a {@linkplain CapellaTransactionStage}
+     * that replaces the ones of the elements that have one of the provided ids once applied, see {@linkplain #Apply(CapellaTransactionStage)}
+     * 
+     * @param elementIds the {@linkplain Collection} of {@linkplain String} ids of the elements to forget once applied
+     */
+    void BeginStage(Collection<String> elementIds);
+
+    /**
+     * Stops registering the references of the current thread into its {@linkplain CapellaTransactionStage}
+     * 
+     * @return the {@linkplain CapellaTransactionStage} of the current thread, or null if none was begun
+     */
+    CapellaTransactionStage EndStage();
+
+    /**
+     * Applies the provided {@linkplain CapellaTransactionStage}, resetting the references it replaces
+     * 
+     * @param stage the {@linkplain CapellaTransactionStage} to apply
+     */
+    void Apply(CapellaTransactionStage stage);
+
     /**
      * Adds the provided {@linkplain Unit} to the {@linkplain DataPackage} of the current project
      * 
@@ -23,14 +23,37 @@
  */
 package Services.CapellaUserPreference;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.UUID;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.eclipse.core.runtime.Platform;
+import org.osgi.framework.FrameworkUtil;
+
 import Services.UserPreferenceService.UserPreferenceBaseService;
 import Services.UserPreferenceService.UserPreferenceService;
+import Utils.Ref;
 
 /**
  * The {@linkplain CapellaUserPreferenceService} is dst adapter specific {@linkplain UserPreferenceService}
  */
 public class CapellaUserPreferenceService extends UserPreferenceBaseService<CapellaUserPreference> implements ICapellaUserPreferenceService
 {
+    /**
+     * The name of the directory that holds the {@linkplain MappingStateSnapshot} files
+     */
+    private static final String MAPPINGSTATEDIRECTORYNAME = "MappingState";
+    
+    /**
+     * The current class logger
+     */
+    private final Logger logger = LogManager.getLogger();
+    
     /**
      * Gets the {@linkplain Class} of {@linkplain #TUserPreference}
      */
@@ -85,4 +108,113 @@ public class CapellaUserPreferenceService extends UserPreferenceBaseService<Cape
         
         return defaultValue;
     }
+
+    /**
+     * Saves the provided {@linkplain MappingStateSnapshot}, replacing the one of the same model and iteration. 
+     * The snapshot is written to a temporary file first so a crash never leaves a partial snapshot behind
+     * 
+     * @param snapshot the {@linkplain MappingStateSnapshot}
+     * @return a value indicating whether the snapshot has been saved
+     */
+    @Override
+    public boolean SaveMappingStateSnapshot(MappingStateSnapshot snapshot)
+    {
+        var file = this.GetMappingStateSnapshotFile(snapshot.GetModelUri(), snapshot.GetIterationIid());
+        
+        if(file == null)
+        {
+            return false;
+        }
+        
+        try
+        {
+            Files.createDirectories(file.getParent());
+            var temporaryFile = Files.createTempFile(file.getParent(), file.getFileName().toString(), ".tmp");
+            
+            try(var outputStream = Files.newOutputStream(temporaryFile))
+            {
+                snapshot.Write(outputStream);
+            }
+            
+            Files.move(temporaryFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            return true;
+        }
+        catch(IOException exception)
+        {
+            this.logger.catching(exception);
+            return false;
+        }
+    }
+
+    /**
+     * Tries to read the {@linkplain MappingStateSnapshot} saved for the provided model and iteration
+     * 
+     * @param modelUri the {@linkplain String} URI of the Capella model
+     * @param iterationIid the {@linkplain UUID} Iid of the iteration
+     * @param refSnapshot the {@linkplain Ref} of {@linkplain MappingStateSnapshot}
+     * @return a value indicating whether a snapshot of the current version has been found
+     */
+    @Override
+    public boolean TryGetMappingStateSnapshot(String modelUri, UUID iterationIid, Ref<MappingStateSnapshot> refSnapshot)
+    {
+        var file = this.GetMappingStateSnapshotFile(modelUri, iterationIid);
+        
+        if(file == null || !Files.isRegularFile(file))
+        {
+            return false;
+        }
+        
+        try(var inputStream = Files.newInputStream(file))
+        {
+            var snapshot = MappingStateSnapshot.Read(inputStream);
+            
+            if(snapshot.IsFor(modelUri, iterationIid))
+            {
+                refSnapshot.Set(snapshot);
+            }
+        }
+        catch(IOException exception)
+        {
+            this.logger.warn(String.format("The mapping state snapshot %s is discarded: %s", file, exception.getMessage()));
+        }
+        
+        return refSnapshot.HasValue();
+    }
+
+    /**
+     * Gets the {@linkplain Path} of the {@linkplain MappingStateSnapshot} file of the provided model and iteration
+     * 
+     * @param modelUri the {@linkplain String} URI of the Capella model
+     * @param iterationIid the {@linkplain UUID} Iid of the iteration
+     * @return the {@linkplain Path}, or null when the adapter does not run in an Eclipse platform
+     */
+    private Path GetMappingStateSnapshotFile(String modelUri, UUID iterationIid)
+    {
+        var directory = this.GetMappingStateDirectory();
+        
+        if(directory == null)
+        {
+            return null;
+        }
+        
+        var key = UUID.nameUUIDFromBytes(String.format("%s|%s", modelUri, iterationIid).getBytes(StandardCharsets.UTF_8));
+        return directory.resolve(String.format("%s.v%s.snapshot", key, MappingStateSnapshot.VERSION));
+    }
+
+    /**
+     * Gets the directory that holds the {@linkplain MappingStateSnapshot} files, within the state location of the adapter plug-in
+     * 
+     * @return the {@linkplain Path}, or null when the adapter does not run in an Eclipse platform
+     */
+    protected Path GetMappingStateDirectory()
+    {
+        var bundle = FrameworkUtil.getBundle(CapellaUserPreferenceService.class);
+        
+        if(bundle == null || !Platform.isRunning())
+        {
+            return null;
+        }
+        
+        return Platform.getStateLocation(bundle).append(MAPPINGSTATEDIRECTORYNAME).toFile().toPath();
+    }
 }
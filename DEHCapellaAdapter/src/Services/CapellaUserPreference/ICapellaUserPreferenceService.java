@@ -23,6 +23,10 @@
  */
 package Services.CapellaUserPreference;
 
+import java.util.UUID;
+
+import Utils.Ref;
+
 /**
  * The {@linkplain ICapellaUserPreferenceService} is the interface definition for the {@linkplain CapellaUserPreferenceService}
  */
@@ -46,5 +50,23 @@ public interface ICapellaUserPreferenceService
      * @return a TValue
      */
     <TValue> TValue Get(UserPreferenceKey userPreferenceKey, Class<TValue> valueType, TValue defaultValue);
-    
+
+    /**
+     * Saves the provided {@linkplain MappingStateSnapshot}, replacing the one of the same model and iteration
+     * 
+     * @param snapshot the {@linkplain MappingStateSnapshot}
+     * @return a value indicating whether the snapshot has been saved
+     */
+    boolean SaveMappingStateSnapshot(MappingStateSnapshot snapshot);
+
+    /**
+     * Tries to read the {@linkplain MappingStateSnapshot} saved for the provided model and iteration
+     * 
+     * @param modelUri the {@linkplain String} URI of the Capella model
+     * @param iterationIid the {@linkplain UUID} Iid of the iteration
+     * @param refSnapshot the {@linkplain Ref} of {@linkplain MappingStateSnapshot}
+     * @return a value indicating whether a snapshot of the current version has been found
+     */
+    boolean TryGetMappingStateSnapshot(String modelUri, UUID iterationIid, Ref<MappingStateSnapshot> refSnapshot);
+
 }
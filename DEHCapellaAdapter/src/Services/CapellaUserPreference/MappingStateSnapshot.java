@@ -0,0 +1,422 @@
+/*
+ * MappingStateSnapshot.java
+ *
+ * Copyright (c) 2020-2024 Starion Group S.A.
+ *
+ * Author: Sam Gerené, Alex Vorobiev, Nathanael Smiechowski 
+ *
+ * This file is part of DEH-Capella
+ *
+ * The DEH-Capella is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * The DEH-Capella is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package Services.CapellaUserPreference;
+
+import static Utils.Operators.Operators.AreTheseEquals;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+
+import Enumerations.CapellaArchitecture;
+import Enumerations.MappingDirection;
+
+/**
+ * The {@linkplain MappingStateSnapshot} is the resolved mapping state of one Capella model for one iteration, 
+ * it is saved on disk by the {@linkplain CapellaUserPreferenceService} so the next start of the adapter can validate and reuse it. 
+ * The file format starts with a magic number and a version, files of any other version are discarded
+ */
+public final class MappingStateSnapshot
+{
+    /**
+     * The version of the file format
+     */
+    public static final int VERSION = 1;
+
+    /**
+     * The magic number every snapshot file starts with
+     */
+    private static final int MAGICNUMBER = 0x44434d53;
+
+    /**
+     * The {@linkplain String} URI of the Capella model
+     */
+    private final String modelUri;
+
+    /**
+     * The {@linkplain UUID} Iid of the iteration
+     */
+    private final UUID iterationIid;
+
+    /**
+     * The time stamp of the Capella model when the snapshot was taken
+     */
+    private final long modelTimeStamp;
+
+    /**
+     * The {@linkplain Entry}s, one per correspondence
+     */
+    private final List<Entry> entries;
+
+    /**
+     * Initializes a new {@linkplain MappingStateSnapshot}
+     * 
+     * @param modelUri the {@linkplain String} URI of the Capella model
+     * @param iterationIid the {@linkplain UUID} Iid of the iteration
+     * @param modelTimeStamp the time stamp of the Capella model
+     * @param entries the {@linkplain Entry}s
+     */
+    public MappingStateSnapshot(String modelUri, UUID iterationIid, long modelTimeStamp, List<Entry> entries)
+    {
+        this.modelUri = modelUri;
+        this.iterationIid = iterationIid;
+        this.modelTimeStamp = modelTimeStamp;
+        this.entries = Collections.unmodifiableList(new ArrayList<>(entries));
+    }
+
+    /**
+     * Gets the {@linkplain String} URI of the Capella model
+     * 
+     * @return a {@linkplain String}
+     */
+    public String GetModelUri()
+    {
+        return this.modelUri;
+    }
+
+    /**
+     * Gets the {@linkplain UUID} Iid of the iteration
+     * 
+     * @return a {@linkplain UUID}
+     */
+    public UUID GetIterationIid()
+    {
+        return this.iterationIid;
+    }
+
+    /**
+     * Gets the time stamp of the Capella model when the snapshot was taken
+     * 
+     * @return a {@linkplain long}
+     */
+    public long GetModelTimeStamp()
+    {
+        return this.modelTimeStamp;
+    }
+
+    /**
+     * Gets the {@linkplain Entry}s
+     * 
+     * @return an unmodifiable {@linkplain List} of {@linkplain Entry}
+     */
+    public List<Entry> GetEntries()
+    {
+        return this.entries;
+    }
+
+    /**
+     * Verifies that this snapshot was taken from the provided model and iteration
+     * 
+     * @param modelUri the {@linkplain String} URI of the Capella model
+     * @param iterationIid the {@linkplain UUID} Iid of the iteration
+     * @return a {@linkplain boolean}
+     */
+    public boolean IsFor(String modelUri, UUID iterationIid)
+    {
+        return AreTheseEquals(this.modelUri, modelUri) && AreTheseEquals(this.iterationIid, iterationIid);
+    }
+
+    /**
+     * Writes this snapshot to the provided {@linkplain OutputStream}
+     * 
+     * @param outputStream the {@linkplain OutputStream}
+     * @throws IOException
+     */
+    public void Write(OutputStream outputStream) throws IOException
+    {
+        var output = new DataOutputStream(outputStream);
+        output.writeInt(MAGICNUMBER);
+        output.writeInt(VERSION);
+        WriteNullable(output, this.modelUri);
+        WriteNullable(output, this.iterationIid);
+        output.writeLong(this.modelTimeStamp);
+        output.writeInt(this.entries.size());
+        
+        for (var entry : this.entries)
+        {
+            WriteNullable(output, entry.correspondenceIid);
+            WriteNullable(output, entry.externalId);
+            WriteNullable(output, entry.resolvedElementId);
+            WriteNullable(output, entry.hubIid);
+            output.writeInt(entry.hubRevisionNumber);
+            output.writeByte(entry.targetArchitecture == null ? -1 : entry.targetArchitecture.ordinal());
+            output.writeByte(entry.mappingDirection == null ? -1 : entry.mappingDirection.ordinal());
+        }
+        
+        output.flush();
+    }
+
+    /**
+     * Reads a {@linkplain MappingStateSnapshot} from the provided {@linkplain InputStream}
+     * 
+     * @param inputStream the {@linkplain InputStream}
+     * @return the {@linkplain MappingStateSnapshot}
+     * @throws IOException when the stream is not a snapshot or has been written by another version
+     */
+    public static MappingStateSnapshot Read(InputStream inputStream) throws IOException
+    {
+        var input = new DataInputStream(inputStream);
+        
+        if(input.readInt() != MAGICNUMBER)
+        {
+            throw new IOException("The stream is not a mapping state snapshot");
+        }
+        
+        var version = input.readInt();
+        
+        if(version != VERSION)
+        {
+            throw new IOException(String.format("The mapping state snapshot version %s is not supported", version));
+        }
+        
+        var modelUri = ReadNullableString(input);
+        var iterationIid = ReadNullableUuid(input);
+        var modelTimeStamp = input.readLong();
+        var count = input.readInt();
+        var entries = new ArrayList<Entry>(count);
+        
+        for (var index = 0; index < count; index++)
+        {
+            entries.add(new Entry(ReadNullableUuid(input), ReadNullableString(input), ReadNullableString(input), ReadNullableUuid(input), 
+                    input.readInt(), ReadEnum(input, CapellaArchitecture.values()), ReadEnum(input, MappingDirection.values())));
+        }
+        
+        return new MappingStateSnapshot(modelUri, iterationIid, modelTimeStamp, entries);
+    }
+
+    /**
+     * Writes the provided nullable {@linkplain String}
+     * 
+     * @param output the {@linkplain DataOutputStream}
+     * @param value the {@linkplain String}
+     * @throws IOException
+     */
+    private static void WriteNullable(DataOutputStream output, String value) throws IOException
+    {
+        output.writeBoolean(value != null);
+        
+        if(value != null)
+        {
+            output.writeUTF(value);
+        }
+    }
+
+    /**
+     * Writes the provided nullable {@linkplain UUID}
+     * 
+     * @param output the {@linkplain DataOutputStream}
+     * @param value the {@linkplain UUID}
+     * @throws IOException
+     */
+    private static void WriteNullable(DataOutputStream output, UUID value) throws IOException
+    {
+        output.writeBoolean(value != null);
+        
+        if(value != null)
+        {
+            output.writeLong(value.getMostSignificantBits());
+            output.writeLong(value.getLeastSignificantBits());
+        }
+    }
+
+    /**
+     * Reads a nullable {@linkplain String}
+     * 
+     * @param input the {@linkplain DataInputStream}
+     * @return a {@linkplain String}, or null
+     * @throws IOException
+     */
+    private static String ReadNullableString(DataInputStream input) throws IOException
+    {
+        return input.readBoolean() ? input.readUTF() : null;
+    }
+
+    /**
+     * Reads a nullable {@linkplain UUID}
+     * 
+     * @param input the {@linkplain DataInputStream}
+     * @return a {@linkplain UUID}, or null
+     * @throws IOException
+     */
+    private static UUID ReadNullableUuid(DataInputStream input) throws IOException
+    {
+        return input.readBoolean() ? new UUID(input.readLong(), input.readLong()) : null;
+    }
+
+    /**
+     * Reads an enumeration value written as its ordinal
+     * 
+     * @param <TEnum> the type of enumeration
+     * @param input the {@linkplain DataInputStream}
+     * @param values the values of the {@linkplain #TEnum}
+     * @return a {@linkplain #TEnum}, or null
+     * @throws IOException when the ordinal is unknown
+     */
+    private static <TEnum extends Enum<TEnum>> TEnum ReadEnum(DataInputStream input, TEnum[] values) throws IOException
+    {
+        var ordinal = input.readByte();
+        
+        if(ordinal >= values.length)
+        {
+            throw new IOException(String.format("Unknown value %s of %s", ordinal, values[0].getDeclaringClass().getSimpleName()));
+        }
+        
+        return ordinal < 0 ? null : values[ordinal];
+    }
+
+    /**
+     * Verifies that the provided {@linkplain Object} holds the same state as this snapshot
+     * 
+     * @param object the {@linkplain Object} to compare
+     * @return a {@linkplain boolean}
+     */
+    @Override
+    public boolean equals(Object object)
+    {
+        if(!(object instanceof MappingStateSnapshot))
+        {
+            return false;
+        }
+        
+        var other = (MappingStateSnapshot)object;
+        
+        return this.IsFor(other.modelUri, other.iterationIid) && this.modelTimeStamp == other.modelTimeStamp && this.entries.equals(other.entries);
+    }
+
+    /**
+     * Gets the hash code of this snapshot
+     * 
+     * @return an {@linkplain int}
+     */
+    @Override
+    public int hashCode()
+    {
+        return Objects.hash(this.modelUri, this.iterationIid, this.modelTimeStamp, this.entries);
+    }
+
+    /**
+     * The {@linkplain Entry} is the resolved state of one correspondence
+     */
+    public static final class Entry
+    {
+        /**
+         * The {@linkplain UUID} Iid of the correspondence
+         */
+        public final UUID correspondenceIid;
+
+        /**
+         * The external identifier of the correspondence
+         */
+        public final String externalId;
+
+        /**
+         * The id of the Capella element the external identifier resolved to, or null when no element was found
+         */
+        public final String resolvedElementId;
+
+        /**
+         * The {@linkplain UUID} Iid of the hub Thing
+         */
+        public final UUID hubIid;
+
+        /**
+         * The revision number of the hub Thing, or -1 when it was not found
+         */
+        public final int hubRevisionNumber;
+
+        /**
+         * The target {@linkplain CapellaArchitecture}
+         */
+        public final CapellaArchitecture targetArchitecture;
+
+        /**
+         * The {@linkplain MappingDirection}
+         */
+        public final MappingDirection mappingDirection;
+
+        /**
+         * Initializes a new {@linkplain Entry}
+         * 
+         * @param correspondenceIid the {@linkplain UUID} Iid of the correspondence
+         * @param externalId the external identifier of the correspondence
+         * @param resolvedElementId the id of the Capella element the external identifier resolved to, or null
+         * @param hubIid the {@linkplain UUID} Iid of the hub Thing
+         * @param hubRevisionNumber the revision number of the hub Thing, or -1
+         * @param targetArchitecture the target {@linkplain CapellaArchitecture}
+         * @param mappingDirection the {@linkplain MappingDirection}
+         */
+        public Entry(UUID correspondenceIid, String externalId, String resolvedElementId, UUID hubIid, int hubRevisionNumber, 
+                CapellaArchitecture targetArchitecture, MappingDirection mappingDirection)
+        {
+            this.correspondenceIid = correspondenceIid;
+            this.externalId = externalId;
+            this.resolvedElementId = resolvedElementId;
+            this.hubIid = hubIid;
+            this.hubRevisionNumber = hubRevisionNumber;
+            this.targetArchitecture = targetArchitecture;
+            this.mappingDirection = mappingDirection;
+        }
+
+        /**
+         * Verifies that the provided {@linkplain Object} holds the same state as this entry
+         * 
+         * @param object the {@linkplain Object} to compare
+         * @return a {@linkplain boolean}
+         */
+        @Override
+        public boolean equals(Object object)
+        {
+            if(!(object instanceof Entry))
+            {
+                return false;
+            }
+            
+            var other = (Entry)object;
+            
+            return AreTheseEquals(this.correspondenceIid, other.correspondenceIid) && AreTheseEquals(this.externalId, other.externalId)
+                    && AreTheseEquals(this.resolvedElementId, other.resolvedElementId) && AreTheseEquals(this.hubIid, other.hubIid)
+                    && this.hubRevisionNumber == other.hubRevisionNumber && this.targetArchitecture == other.targetArchitecture
+                    && this.mappingDirection == other.mappingDirection;
+        }
+
+        /**
+         * Gets the hash code of this entry
+         * 
+         * @return an {@linkplain int}
+         */
+        @Override
+        public int hashCode()
+        {
+            return Objects.hash(this.correspondenceIid, this.externalId, this.resolvedElementId, this.hubIid, 
+                    this.hubRevisionNumber, this.targetArchitecture, this.mappingDirection);
+        }
+    }
+}
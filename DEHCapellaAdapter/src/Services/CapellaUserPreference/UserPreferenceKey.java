@@ -32,5 +32,17 @@ public enum UserPreferenceKey
      * The {@linkplain AlertMoreThanOneCapellaModelOpen} points to one entry in the user preference where the value is an assert 
      * whether the {@linkplain AlertMoreThanOneCapellaModelOpenDialog} should be shown to the user at certain point
      */
-    ShouldNeverRemindMeThatMoreThanOneCapellaModelIsOpen
+    ShouldNeverRemindMeThatMoreThanOneCapellaModelIsOpen,
+    
+    /**
+     * The {@linkplain MappingReloadWindowInMilliseconds} points to one entry in the user preference where the value is the time window 
+     * in milliseconds within which the requests to reload the mapping are coalesced into one reload
+     */
+    MappingReloadWindowInMilliseconds,
+    
+    /**
+     * The {@linkplain HubTransferBatchSize} points to one entry in the user preference where the value is the maximum number of things 
+     * written to the HUB at once, a transfer is written in one go when it is zero
+     */
+    HubTransferBatchSize
 }
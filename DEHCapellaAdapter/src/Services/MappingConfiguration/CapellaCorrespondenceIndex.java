@@ -0,0 +1,262 @@
+/*
+ * CapellaCorrespondenceIndex.java
+ *
+ * Copyright (c) 2020-2024 Starion Group S.A.
+ *
+ * Author: Sam Gerené, Alex Vorobiev, Nathanael Smiechowski 
+ *
+ * This file is part of DEH-Capella
+ *
+ * The DEH-Capella is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * The DEH-Capella is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package Services.MappingConfiguration;
+
+import static Utils.Operators.Operators.AreTheseEquals;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import org.apache.commons.lang3.tuple.MutableTriple;
+
+/**
+ * The {@linkplain CapellaCorrespondenceIndex} indexes the correspondences of the current {@linkplain cdp4common.engineeringmodeldata.ExternalIdentifierMap} 
+ * by external identifier and by internal Iid. Correspondences are {@linkplain MutableTriple}s that can be updated in place, 
+ * so each one is tracked by identity with the keys it was indexed with
+ */
+public class CapellaCorrespondenceIndex
+{
+    /**
+     * Holds the indexed correspondences with the keys they are indexed with
+     */
+    private final IdentityHashMap<MutableTriple<UUID, CapellaExternalIdentifier, UUID>, IndexedKeys> correspondences = new IdentityHashMap<>();
+    
+    /**
+     * Holds the indexed correspondences by external identifier
+     */
+    private final LinkedHashMap<String, List<MutableTriple<UUID, CapellaExternalIdentifier, UUID>>> correspondencesByExternalId = new LinkedHashMap<>();
+    
+    /**
+     * Holds the indexed correspondences by internal Iid
+     */
+    private final HashMap<UUID, List<MutableTriple<UUID, CapellaExternalIdentifier, UUID>>> correspondencesByInternalId = new HashMap<>();
+
+    /**
+     * Gets the number of indexed correspondences
+     * 
+     * @return an {@linkplain int}
+     */
+    public int Size()
+    {
+        return this.correspondences.size();
+    }
+
+    /**
+     * Gets the distinct external identifiers of the indexed correspondences in the order they were indexed
+     * 
+     * @return a {@linkplain Set} of {@linkplain String} external identifiers
+     */
+    public Set<String> GetExternalIds()
+    {
+        return new LinkedHashSet<>(this.correspondencesByExternalId.keySet());
+    }
+
+    /**
+     * Gets the correspondences whose external identifier is the provided one
+     * 
+     * @param externalId the {@linkplain String} external identifier
+     * @return a {@linkplain List} of correspondences
+     */
+    public List<MutableTriple<UUID, CapellaExternalIdentifier, UUID>> GetByExternalId(String externalId)
+    {
+        return CopyOf(this.correspondencesByExternalId.get(externalId));
+    }
+
+    /**
+     * Gets the correspondences whose internal Iid is the provided one
+     * 
+     * @param internalId the {@linkplain UUID} internal Iid
+     * @return a {@linkplain List} of correspondences
+     */
+    public List<MutableTriple<UUID, CapellaExternalIdentifier, UUID>> GetByInternalId(UUID internalId)
+    {
+        return CopyOf(this.correspondencesByInternalId.get(internalId));
+    }
+
+    /**
+     * Indexes the provided correspondence, or re-indexes it when its keys changed since it was indexed
+     * 
+     * @param correspondence the correspondence
+     */
+    public void Index(MutableTriple<UUID, CapellaExternalIdentifier, UUID> correspondence)
+    {
+        var indexedKeys = this.correspondences.get(correspondence);
+        
+        if(indexedKeys != null)
+        {
+            if(indexedKeys.IsUpToDate(correspondence))
+            {
+                return;
+            }
+            
+            this.Remove(correspondence);
+        }
+        
+        var keys = new IndexedKeys(correspondence);
+        this.correspondences.put(correspondence, keys);
+
+        if(keys.externalId != null)
+        {
+            this.correspondencesByExternalId.computeIfAbsent(keys.externalId, x -> new ArrayList<>()).add(correspondence);
+        }
+        
+        if(keys.internalId != null)
+        {
+            this.correspondencesByInternalId.computeIfAbsent(keys.internalId, x -> new ArrayList<>()).add(correspondence);
+        }
+    }
+
+    /**
+     * Removes the provided correspondence from this index
+     * 
+     * @param correspondence the correspondence
+     */
+    public void Remove(MutableTriple<UUID, CapellaExternalIdentifier, UUID> correspondence)
+    {
+        var keys = this.correspondences.remove(correspondence);
+        
+        if(keys == null)
+        {
+            return;
+        }
+        
+        RemoveFromBucket(this.correspondencesByExternalId, keys.externalId, correspondence);
+        RemoveFromBucket(this.correspondencesByInternalId, keys.internalId, correspondence);
+    }
+
+    /**
+     * Makes this index reflect the provided correspondences. The index is rebuilt in the order of the provided correspondences
+     * only when some of them were added, removed or updated without going through {@linkplain #Index(MutableTriple)}
+     * 
+     * @param correspondences the {@linkplain Collection} of correspondences
+     * @return a value indicating whether this index had to be rebuilt
+     */
+    public boolean Synchronize(Collection<MutableTriple<UUID, CapellaExternalIdentifier, UUID>> correspondences)
+    {
+        if(correspondences.size() == this.correspondences.size() && correspondences.stream()
+                .allMatch(x -> this.correspondences.containsKey(x) && this.correspondences.get(x).IsUpToDate(x)))
+        {
+            return false;
+        }
+        
+        this.Clear();
+        correspondences.forEach(x -> this.Index(x));
+        return true;
+    }
+
+    /**
+     * Clears this index
+     */
+    public void Clear()
+    {
+        this.correspondences.clear();
+        this.correspondencesByExternalId.clear();
+        this.correspondencesByInternalId.clear();
+    }
+
+    /**
+     * Removes the provided correspondence from the bucket of the provided key, and drops the bucket when it gets empty
+     *
+     * @param <TKey> the type of key
+     * @param buckets the {@linkplain HashMap} of buckets
+     * @param key the key of the bucket
+     * @param correspondence the correspondence to remove
+     */
+    private static <TKey> void RemoveFromBucket(HashMap<TKey, List<MutableTriple<UUID, CapellaExternalIdentifier, UUID>>> buckets, 
+            TKey key, MutableTriple<UUID, CapellaExternalIdentifier, UUID> correspondence)
+    {
+        var bucket = key == null ? null : buckets.get(key);
+        
+        if(bucket == null)
+        {
+            return;
+        }
+        
+        bucket.removeIf(x -> x == correspondence);
+        
+        if(bucket.isEmpty())
+        {
+            buckets.remove(key);
+        }
+    }
+
+    /**
+     * Copies the provided bucket so the callers cannot alter this index
+     * 
+     * @param bucket the bucket, or null
+     * @return a {@linkplain List} of correspondences
+     */
+    private static List<MutableTriple<UUID, CapellaExternalIdentifier, UUID>> CopyOf(List<MutableTriple<UUID, CapellaExternalIdentifier, UUID>> bucket)
+    {
+        return bucket == null ? Collections.emptyList() : new ArrayList<>(bucket);
+    }
+
+    /**
+     * The {@linkplain IndexedKeys} holds the keys one correspondence has been indexed with,
+     * so it can be removed from the index even after it has been updated in place
+     */
+    private static final class IndexedKeys
+    {
+        /**
+         * The external identifier key
+         */
+        final String externalId;
+        
+        /**
+         * The internal Iid key
+         */
+        final UUID internalId;
+
+        /**
+         * Initializes a new {@linkplain IndexedKeys} from the current values of the provided correspondence
+         * 
+         * @param correspondence the correspondence
+         */
+        IndexedKeys(MutableTriple<UUID, CapellaExternalIdentifier, UUID> correspondence)
+        {
+            this.externalId = correspondence.getMiddle() == null ? null : correspondence.getMiddle().Identifier;
+            this.internalId = correspondence.getRight();
+        }
+
+        /**
+         * Verifies that these keys are still the ones of the provided correspondence
+         * 
+         * @param correspondence the correspondence
+         * @return a {@linkplain boolean}
+         */
+        boolean IsUpToDate(MutableTriple<UUID, CapellaExternalIdentifier, UUID> correspondence)
+        {
+            return AreTheseEquals(this.externalId, correspondence.getMiddle() == null ? null : correspondence.getMiddle().Identifier)
+                    && AreTheseEquals(this.internalId, correspondence.getRight());
+        }
+    }
+}
@@ -0,0 +1,158 @@
+/*
+ * CapellaHubThingResolver.java
+ *
+ * Copyright (c) 2020-2024 Starion Group S.A.
+ *
+ * Author: Sam Gerené, Alex Vorobiev, Nathanael Smiechowski 
+ *
+ * This file is part of DEH-Capella
+ *
+ * The DEH-Capella is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * The DEH-Capella is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package Services.MappingConfiguration;
+
+import static Utils.Operators.Operators.AreTheseEquals;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.UUID;
+
+import HubController.IHubController;
+import Utils.Ref;
+import cdp4common.commondata.Thing;
+import cdp4common.engineeringmodeldata.Requirement;
+import cdp4common.engineeringmodeldata.RequirementsSpecification;
+
+/**
+ * The {@linkplain CapellaHubThingResolver} resolves the hub {@linkplain Thing}s a batch of correspondences refer to, 
+ * each distinct Iid is looked up once in the iteration cache. The {@linkplain RequirementsSpecification}s are deep cloned 
+ * once and shared by all the mapped {@linkplain Requirement}s they contain
+ */
+public class CapellaHubThingResolver
+{
+    /**
+     * The {@linkplain IHubController}
+     */
+    private final IHubController hubController;
+    
+    /**
+     * Holds the resolved {@linkplain Thing}s by Iid, the Iids that could not be resolved are held with a null value
+     */
+    private final HashMap<UUID, Thing> things = new HashMap<>();
+    
+    /**
+     * Holds the deep clone of each {@linkplain RequirementsSpecification} one mapped {@linkplain Requirement} belongs to
+     */
+    private final IdentityHashMap<RequirementsSpecification, RequirementsSpecification> requirementsSpecificationClones = new IdentityHashMap<>();
+
+    /**
+     * Initializes a new {@linkplain CapellaHubThingResolver}
+     * 
+     * @param hubController the {@linkplain IHubController}
+     */
+    public CapellaHubThingResolver(IHubController hubController)
+    {
+        this.hubController = hubController;
+    }
+
+    /**
+     * Resolves the provided Iids in one pass, the ones already resolved are skipped
+     * 
+     * @param iids the {@linkplain Collection} of {@linkplain UUID} Iids, may contain duplicates
+     * @return the number of {@linkplain Thing}s that were resolved by this call
+     */
+    public int Resolve(Collection<UUID> iids)
+    {
+        var resolvedCount = 0;
+        
+        for (var iid : iids)
+        {
+            if(iid == null || this.things.containsKey(iid))
+            {
+                continue;
+            }
+            
+            var refThing = new Ref<>(Thing.class);
+            this.things.put(iid, this.hubController.TryGetThingById(iid, refThing) ? refThing.Get() : null);
+            
+            if(refThing.HasValue())
+            {
+                resolvedCount++;
+            }
+        }
+        
+        return resolvedCount;
+    }
+
+    /**
+     * Tries to get the {@linkplain Thing} that has the provided Iid, it is resolved on the fly when it was not part of a batch
+     * 
+     * @param <TThing> the type of {@linkplain Thing}
+     * @param iid the {@linkplain UUID} Iid
+     * @param refThing the {@linkplain Ref} of {@linkplain #TThing}
+     * @return a value indicating whether a {@linkplain #TThing} has been found
+     */
+    public <TThing extends Thing> boolean TryGet(UUID iid, Ref<TThing> refThing)
+    {
+        if(iid != null && !this.things.containsKey(iid))
+        {
+            this.Resolve(Collections.singleton(iid));
+        }
+        
+        var thing = iid == null ? null : this.things.get(iid);
+        
+        if(refThing.GetType().isInstance(thing))
+        {
+            refThing.Set(refThing.GetType().cast(thing));
+        }
+        
+        return refThing.HasValue();
+    }
+
+    /**
+     * Gets the non deprecated copy of the provided {@linkplain Requirement} from the shared clone of its {@linkplain RequirementsSpecification}
+     * 
+     * @param requirement the {@linkplain Requirement}
+     * @return the cloned {@linkplain Requirement}, or null
+     */
+    public Requirement GetFromSharedClone(Requirement requirement)
+    {
+        var requirementsSpecification = requirement.getContainerOfType(RequirementsSpecification.class);
+        
+        if(requirementsSpecification == null)
+        {
+            return null;
+        }
+        
+        var clone = this.requirementsSpecificationClones.computeIfAbsent(requirementsSpecification, x -> x.clone(true));
+        
+        return clone.getRequirement().stream()
+                .filter(x -> AreTheseEquals(x.getIid(), requirement.getIid()) && !x.isDeprecated())
+                .findFirst()
+                .orElse(null);
+    }
+
+    /**
+     * Gets the number of {@linkplain RequirementsSpecification} deep clones shared by the mapped {@linkplain Requirement}s
+     * 
+     * @return an {@linkplain int}
+     */
+    public int GetRequirementsSpecificationCloneCount()
+    {
+        return this.requirementsSpecificationClones.size();
+    }
+}
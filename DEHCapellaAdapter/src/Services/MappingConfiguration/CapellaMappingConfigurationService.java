@@ -26,16 +26,26 @@ package Services.MappingConfiguration;
 import static Utils.Operators.Operators.AreTheseEquals;
 import static Utils.Stereotypes.StereotypeUtils.GetChildren;
 
-import java.lang.reflect.InvocationTargetException;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiFunction;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 import org.apache.commons.lang3.tuple.ImmutableTriple;
 import org.apache.commons.lang3.tuple.MutableTriple;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.sirius.business.api.session.Session;
 import org.polarsys.capella.common.data.modellingcore.AbstractNamedElement;
 import org.polarsys.capella.core.data.capellacore.CapellaElement;
 import org.polarsys.capella.core.data.capellacore.NamedElement;
@@ -47,8 +57,11 @@ import org.polarsys.kitalpha.vp.requirements.Requirements.Requirement;
 import Enumerations.CapellaArchitecture;
 import Enumerations.MappingDirection;
 import HubController.IHubController;
+import Services.CapellaSession.CapellaSessionContentsPruning;
 import Services.CapellaSession.ICapellaSessionService;
 import Services.CapellaTransaction.ICapellaTransactionService;
+import Services.CapellaUserPreference.ICapellaUserPreferenceService;
+import Services.CapellaUserPreference.MappingStateSnapshot;
 import Utils.Ref;
 import Utils.StreamExtensions;
 import Utils.Stereotypes.ElementUtils;
@@ -71,6 +84,12 @@ import cdp4common.engineeringmodeldata.RequirementsSpecification;
  */
 public class CapellaMappingConfigurationService extends MappingConfigurationService<Element, CapellaExternalIdentifier> implements ICapellaMappingConfigurationService
 {
+    /**
+     * The factories of the {@linkplain IMappedElementRowViewModel} that represent a hub {@linkplain Thing} whose Capella element does not exist yet
+     */
+    private static final Map<Class<? extends Thing>, BiFunction<Thing, CapellaArchitecture, IMappedElementRowViewModel>> HUBTODSTROWVIEWMODELFACTORIES = 
+            CreateHubToDstRowViewModelFactories();
+    
     /**
      * The {@linkplain ICapellaSessionService} instance
      */
@@ -80,6 +99,27 @@ public class CapellaMappingConfigurationService extends MappingConfigurationServ
      * The {@linkplain ICapellaTransactionService}
      */
     private final ICapellaTransactionService transactionService;
+    
+    /**
+     * The {@linkplain CapellaCorrespondenceIndex} of the correspondences by external identifier and by internal Iid
+     */
+    private final CapellaCorrespondenceIndex correspondenceIndex = new CapellaCorrespondenceIndex();
+    
+    /**
+     * Holds the external identifiers that could not be resolved in one {@linkplain Session}, even by walking its contents, 
+     * so that walk is not repeated until the session changes. It is written by the session change subscription as well as by the mapping loads
+     */
+    private final ConcurrentHashMap<Session, Set<String>> unresolvableExternalIds = new ConcurrentHashMap<>();
+    
+    /**
+     * The {@linkplain ICapellaUserPreferenceService} that stores the {@linkplain MappingStateSnapshot}s
+     */
+    private final ICapellaUserPreferenceService userPreferenceService;
+    
+    /**
+     * Holds the last {@linkplain MappingStateSnapshot} saved or read for each {@linkplain Session}
+     */
+    private final ConcurrentHashMap<Session, MappingStateSnapshot> mappingStateSnapshots = new ConcurrentHashMap<>();
 
     /**
      * Initializes a new {@linkplain MagicDrawMappingConfigurationService}
@@ -87,12 +127,15 @@ public class CapellaMappingConfigurationService extends MappingConfigurationServ
      * @param hubController the {@linkplain IHubController}
      * @param sessionService the {@linkplain ICapellaSessionService}
      * @param transactionService the {@linkplain ICapellaTransactionService}
+     * @param userPreferenceService the {@linkplain ICapellaUserPreferenceService}
      */
-    public CapellaMappingConfigurationService(IHubController hubController, ICapellaSessionService sessionService, ICapellaTransactionService transactionService)
+    public CapellaMappingConfigurationService(IHubController hubController, ICapellaSessionService sessionService, 
+            ICapellaTransactionService transactionService, ICapellaUserPreferenceService userPreferenceService)
     {
         super(hubController, CapellaExternalIdentifier.class);
         this.sessionService = sessionService;
         this.transactionService = transactionService;
+        this.userPreferenceService = userPreferenceService;
         
         this.hubController.GetIsSessionOpenObservable()
         .subscribe(x -> 
@@ -100,30 +143,353 @@ public class CapellaMappingConfigurationService extends MappingConfigurationServ
             if(!x)
             {
                 this.correspondences.clear();
+                this.correspondenceIndex.Clear();
                 this.SetExternalIdentifierMap(new ExternalIdentifierMap());
             }
         });
+        
+        this.sessionService.SessionChanged()
+            .subscribe(x -> this.unresolvableExternalIds.remove(x.GetSession()));
     }
     
     /**
-     * Loads the mapping configuration and generates the map result respectively
+     * Loads the mapping configuration and generates the map result respectively. 
+     * Only the elements the correspondences refer to are resolved, through the element index of each open session, 
+     * so the cost of loading scales with the number of correspondences rather than with the size of the models. 
+     * The resolved state is saved as a {@linkplain MappingStateSnapshot} per model, the next start of the adapter reuses the entries 
+     * whose model and hub revisions did not change in between and only resolves the other ones
      * 
      * @return a {@linkplain Collection} of {@linkplain IMappedElementRowViewModel}
      */
     @Override
     public Collection<IMappedElementRowViewModel> LoadMapping()
     {
-        var mappedElements = new ArrayList<IMappedElementRowViewModel>();    
-        var sessionsAndElementsMap = this.sessionService.GetAllCapellaElementsFromOpenSessions();
+        return this.LoadMapping(new NullProgressMonitor());
+    }
+
+    /**
+     * Loads the mapping configuration and generates the map result respectively, stops as soon as the provided {@linkplain IProgressMonitor} gets canceled. 
+     * Nothing is saved in the {@linkplain MappingStateSnapshot}s by a canceled load
+     * 
+     * @param monitor the {@linkplain IProgressMonitor} to check for cancellation
+     * @return a {@linkplain Collection} of {@linkplain IMappedElementRowViewModel}, incomplete when the {@linkplain IProgressMonitor} got canceled
+     */
+    @Override
+    public Collection<IMappedElementRowViewModel> LoadMapping(IProgressMonitor monitor)
+    {
+        var mappedDstElements = new ArrayList<Element>();    
+        this.correspondenceIndex.Synchronize(this.correspondences);
+        
+        var openSessions = this.sessionService.GetOpenSessions();
+        this.unresolvableExternalIds.keySet().retainAll(openSessions);
+        this.mappingStateSnapshots.keySet().retainAll(openSessions);
+        var iterationIid = this.hubController.GetOpenIteration() == null ? null : this.hubController.GetOpenIteration().getIid();
         
-        for (var sessionUri : sessionsAndElementsMap.keySet())
+        if(this.correspondenceIndex.Size() == 0)
         {
-            mappedElements.addAll(this.LoadMapping(sessionsAndElementsMap.get(sessionUri)));
+            return new ArrayList<>();
         }
+        
+        var externalIds = this.correspondenceIndex.GetExternalIds();
+        var hubThings = new CapellaHubThingResolver(this.hubController);
+        var resolvedElementIdsBySession = new HashMap<Session, Map<String, String>>();
+        
+        for (var session : openSessions)
+        {
+            if(monitor.isCanceled())
+            {
+                return new ArrayList<>();
+            }
+            
+            var rehydratedElementIds = this.RehydrateFromMappingStateSnapshot(session, iterationIid, hubThings);
+            var knownUnresolvableExternalIds = this.unresolvableExternalIds.getOrDefault(session, Collections.emptySet());
+            var resolvedElementIds = new HashMap<String, String>();
+            var unresolvedExternalIds = new HashSet<String>();
+            
+            for (var externalId : externalIds)
+            {
+                if(knownUnresolvableExternalIds.contains(externalId))
+                {
+                    continue;
+                }
                 
+                var element = GetElementFromSemanticResources(session, rehydratedElementIds.get(externalId));
+                
+                if(element == null)
+                {
+                    element = this.sessionService.GetElementById(session, externalId);
+                }
+                
+                if(element == null)
+                {
+                    unresolvedExternalIds.add(externalId);
+                }
+                else if(element instanceof Part || element instanceof Component || element instanceof Requirement)
+                {
+                    resolvedElementIds.put(externalId, ElementUtils.GetId(element));
+                    mappedDstElements.add(element);
+                }
+            }
+            
+            this.CollectUnresolvedElements(session, unresolvedExternalIds, mappedDstElements, resolvedElementIds);
+            resolvedElementIdsBySession.put(session, resolvedElementIds);
+        }
+        
+        var mappedElements = this.LoadMapping(mappedDstElements, hubThings, monitor);
+        
+        if(monitor.isCanceled())
+        {
+            return mappedElements;
+        }
+        
+        for (var session : openSessions)
+        {
+            this.SaveMappingStateSnapshot(session, iterationIid, hubThings, resolvedElementIdsBySession.get(session));
+        }
+        
         return mappedElements;
     }
 
+    /**
+     * Reuses the {@linkplain MappingStateSnapshot} saved for the provided {@linkplain Session} the first time its mapping is loaded. 
+     * When the model did not change on disk since the snapshot was taken, each entry whose hub {@linkplain Thing} still has the same revision is reused: 
+     * the external identifiers that could not be resolved back then are known to be missing, and the other ones are resolved from the id 
+     * of the Capella element they resolved to. The entries whose hub revision changed are left to be resolved again
+     * 
+     * @param session the {@linkplain Session}
+     * @param iterationIid the {@linkplain UUID} Iid of the open iteration
+     * @param hubThings the {@linkplain CapellaHubThingResolver} that resolves the hub {@linkplain Thing}s
+     * @return a {@linkplain Map} of the resolved Capella element ids by external identifier of the reused entries, empty when nothing can be reused
+     */
+    private Map<String, String> RehydrateFromMappingStateSnapshot(Session session, UUID iterationIid, CapellaHubThingResolver hubThings)
+    {
+        if(iterationIid == null || this.mappingStateSnapshots.containsKey(session))
+        {
+            return Collections.emptyMap();
+        }
+        
+        var refSnapshot = new Ref<>(MappingStateSnapshot.class);
+        
+        if(!this.userPreferenceService.TryGetMappingStateSnapshot(GetModelUri(session), iterationIid, refSnapshot))
+        {
+            return Collections.emptyMap();
+        }
+        
+        this.mappingStateSnapshots.put(session, refSnapshot.Get());
+        
+        if(refSnapshot.Get().GetModelTimeStamp() != GetModelTimeStamp(session) || this.unresolvableExternalIds.containsKey(session))
+        {
+            this.logger.info(String.format("The mapping state snapshot of %s is outdated, the mapping is fully resolved", GetModelUri(session)));
+            return Collections.emptyMap();
+        }
+        
+        var entries = refSnapshot.Get().GetEntries();
+        
+        hubThings.Resolve(entries.stream()
+                .map(x -> x.hubIid)
+                .collect(Collectors.toList()));
+        
+        var missingExternalIds = ConcurrentHashMap.<String>newKeySet();
+        var rehydratedElementIds = new HashMap<String, String>();
+        var changedCount = 0;
+        
+        for (var entry : entries)
+        {
+            if(entry.externalId == null)
+            {
+                continue;
+            }
+            
+            var refHubThing = new Ref<>(Thing.class);
+            var hubRevisionNumber = hubThings.TryGet(entry.hubIid, refHubThing) ? refHubThing.Get().getRevisionNumber() : -1;
+            
+            if(hubRevisionNumber != entry.hubRevisionNumber)
+            {
+                changedCount++;
+            }
+            else if(entry.resolvedElementId == null)
+            {
+                missingExternalIds.add(entry.externalId);
+            }
+            else
+            {
+                rehydratedElementIds.put(entry.externalId, entry.resolvedElementId);
+            }
+        }
+        
+        missingExternalIds.removeAll(rehydratedElementIds.keySet());
+        
+        if(!missingExternalIds.isEmpty())
+        {
+            this.unresolvableExternalIds.put(session, missingExternalIds);
+        }
+        
+        this.logger.info(String.format("Rehydrated the mapping state of %s from its snapshot, %s of %s entries are reused, %s are known to be missing and %s changed of revision", 
+                GetModelUri(session), rehydratedElementIds.size(), entries.size(), missingExternalIds.size(), changedCount));
+        
+        return rehydratedElementIds;
+    }
+
+    /**
+     * Gets the {@linkplain Element} that has the provided id from the semantic resources of the provided {@linkplain Session}, 
+     * through the id map of the resources so that the element index of the session does not need to be built
+     * 
+     * @param session the {@linkplain Session}
+     * @param elementId the id of the Capella element, may be null
+     * @return the {@linkplain Element}, or null
+     */
+    private static Element GetElementFromSemanticResources(Session session, String elementId)
+    {
+        if(elementId == null)
+        {
+            return null;
+        }
+        
+        for (var resource : session.getSemanticResources())
+        {
+            var element = resource.getEObject(elementId);
+            
+            if(element instanceof Element && AreTheseEquals(ElementUtils.GetId((Element)element), elementId))
+            {
+                return (Element)element;
+            }
+        }
+        
+        return null;
+    }
+
+    /**
+     * Saves the current mapping state of the provided {@linkplain Session} when it differs from the last saved one, 
+     * and reports how many mapped hub things changed of revision in between
+     * 
+     * @param session the {@linkplain Session}
+     * @param iterationIid the {@linkplain UUID} Iid of the open iteration
+     * @param hubThings the {@linkplain CapellaHubThingResolver} that resolves the hub {@linkplain Thing}s
+     * @param resolvedElementIds the {@linkplain Map} of the ids of the Capella elements resolved in the session by external identifier
+     */
+    private void SaveMappingStateSnapshot(Session session, UUID iterationIid, CapellaHubThingResolver hubThings, Map<String, String> resolvedElementIds)
+    {
+        if(iterationIid == null)
+        {
+            return;
+        }
+        
+        var entries = new ArrayList<MappingStateSnapshot.Entry>();
+        
+        for (var correspondence : this.correspondences)
+        {
+            var refHubThing = new Ref<>(Thing.class);
+            var externalId = correspondence.getMiddle().Identifier;
+            
+            entries.add(new MappingStateSnapshot.Entry(correspondence.getLeft(), externalId, 
+                    resolvedElementIds.get(externalId), correspondence.getRight(), 
+                    hubThings.TryGet(correspondence.getRight(), refHubThing) ? refHubThing.Get().getRevisionNumber() : -1, 
+                    correspondence.getMiddle().TargetArchitecture, correspondence.getMiddle().MappingDirection));
+        }
+        
+        var snapshot = new MappingStateSnapshot(GetModelUri(session), iterationIid, GetModelTimeStamp(session), entries);
+        var previousSnapshot = this.mappingStateSnapshots.put(session, snapshot);
+        
+        if(previousSnapshot != null)
+        {
+            var previousRevisions = previousSnapshot.GetEntries().stream()
+                    .filter(x -> x.hubIid != null)
+                    .collect(Collectors.toMap(x -> x.hubIid, x -> x.hubRevisionNumber, (x, y) -> x));
+            
+            var changedCount = entries.stream()
+                    .filter(x -> previousRevisions.containsKey(x.hubIid) && previousRevisions.get(x.hubIid) != x.hubRevisionNumber)
+                    .count();
+            
+            this.logger.debug(String.format("%s mapped hub things changed of revision since the last mapping state snapshot of %s", changedCount, GetModelUri(session)));
+        }
+        
+        if(!snapshot.equals(previousSnapshot))
+        {
+            this.userPreferenceService.SaveMappingStateSnapshot(snapshot);
+        }
+    }
+
+    /**
+     * Gets the {@linkplain String} URI of the model the provided {@linkplain Session} holds
+     * 
+     * @param session the {@linkplain Session}
+     * @return a {@linkplain String}
+     */
+    private static String GetModelUri(Session session)
+    {
+        return session.getSessionResource().getURI().toString();
+    }
+
+    /**
+     * Gets the latest time stamp of the semantic resources of the provided {@linkplain Session}
+     * 
+     * @param session the {@linkplain Session}
+     * @return a {@linkplain long}
+     */
+    private static long GetModelTimeStamp(Session session)
+    {
+        return session.getSemanticResources().stream()
+                .mapToLong(x -> x.getTimeStamp())
+                .max()
+                .orElse(0L);
+    }
+
+    /**
+     * Collects the mapped elements the element index of the provided {@linkplain Session} could not resolve, by walking the session contents. 
+     * The walk stops as soon as all of them are found, the ones that are not found are remembered until the session changes
+     * 
+     * @param session the {@linkplain Session}
+     * @param unresolvedExternalIds the {@linkplain Set} of external identifiers that could not be resolved
+     * @param mappedDstElements the {@linkplain Collection} of mapped {@linkplain Element} to complete
+     * @param resolvedElementIds the {@linkplain Map} of the ids of the resolved Capella elements by external identifier to complete
+     */
+    private void CollectUnresolvedElements(Session session, Set<String> unresolvedExternalIds, Collection<Element> mappedDstElements, 
+            Map<String, String> resolvedElementIds)
+    {
+        var knownUnresolvableExternalIds = this.unresolvableExternalIds.get(session);
+        
+        if(knownUnresolvableExternalIds != null)
+        {
+            unresolvedExternalIds.removeAll(knownUnresolvableExternalIds);
+        }
+        
+        if(unresolvedExternalIds.isEmpty())
+        {
+            return;
+        }
+        
+        this.sessionService.StreamContents(session, Element.class, CapellaSessionContentsPruning.SkipRepresentationResources())
+            .takeWhile(x -> !unresolvedExternalIds.isEmpty())
+            .filter(x -> x instanceof Part || x instanceof Component || x instanceof Requirement)
+            .filter(x -> unresolvedExternalIds.remove(ElementUtils.GetId(x)))
+            .forEach(x -> 
+            {
+                resolvedElementIds.put(ElementUtils.GetId(x), ElementUtils.GetId(x));
+                mappedDstElements.add(x);
+            });
+        
+        if(!unresolvedExternalIds.isEmpty())
+        {
+            this.logger.debug(String.format("%s mapped elements could not be found in the session %s", unresolvedExternalIds.size(), session.getSessionResource().getURI()));
+            this.unresolvableExternalIds.computeIfAbsent(session, x -> ConcurrentHashMap.newKeySet()).addAll(unresolvedExternalIds);
+        }
+    }
+
+    /**
+     * Loads the mapping configuration of the provided elements only, used to refresh the mapping of the elements that changed
+     * 
+     * @param elements the {@linkplain Collection} of {@linkplain Element} to load the mapping of
+     * @param monitor the {@linkplain IProgressMonitor} to check for cancellation
+     * @return a {@linkplain Collection} of {@linkplain IMappedElementRowViewModel}, incomplete when the {@linkplain IProgressMonitor} got canceled
+     */
+    @Override
+    public Collection<IMappedElementRowViewModel> ReloadMapping(Collection<Element> elements, IProgressMonitor monitor)
+    {
+        return this.LoadMapping(elements.stream()
+                .filter(x -> x instanceof Part || x instanceof Component || x instanceof Requirement)
+                .collect(Collectors.toList()), new CapellaHubThingResolver(this.hubController), monitor);
+    }
+
     /**
      * Loading all mapped HubElement that misses their target on the currently loaded Capella Model 
      * 
@@ -131,74 +497,70 @@ public class CapellaMappingConfigurationService extends MappingConfigurationServ
      */
     private void LoadMappingForMissingCapellaElement(ArrayList<IMappedElementRowViewModel> mappedElements)
     {
-        var mappedElementRowViewModels = StreamExtensions.OfType(mappedElements, MappedElementRowViewModel.class);
+        var loadedHubElementIids = StreamExtensions.OfType(mappedElements, MappedElementRowViewModel.class).stream()
+                .filter(x -> x.GetHubElement() != null)
+                .map(x -> x.GetHubElement().getIid())
+                .collect(Collectors.toSet());
         
         var correspondencesNotLoaded = this.correspondences.stream()
-                .filter(x -> x.middle.MappingDirection == MappingDirection.FromHubToDst && mappedElementRowViewModels.stream()
-                        .noneMatch(p -> p.GetHubElement() != null && AreTheseEquals(x.right, p.GetHubElement().getIid())))
+                .filter(x -> x.middle.MappingDirection == MappingDirection.FromHubToDst && !loadedHubElementIids.contains(x.right))
                 .collect(Collectors.toList());
         
+        var hubThings = new CapellaHubThingResolver(this.hubController);
+        hubThings.Resolve(correspondencesNotLoaded.stream().map(x -> x.getRight()).collect(Collectors.toList()));
+        
         for (MutableTriple<UUID, CapellaExternalIdentifier, UUID> correspondence : correspondencesNotLoaded)
         {
-            var refMappedElement = new Ref<IMappedElementRowViewModel>(IMappedElementRowViewModel.class);
+            var refHubElement = new Ref<>(Thing.class);
+            
+            var rowViewModelFactory = hubThings.TryGet(correspondence.getRight(), refHubElement)
+                    ? HUBTODSTROWVIEWMODELFACTORIES.get(refHubElement.Get().getClass())
+                    : null;
             
-            try
+            if(rowViewModelFactory != null)
             {
-                if(this.TryGetMappedElement(correspondence, MappedHubRequirementRowViewModel.class, cdp4common.engineeringmodeldata.Requirement.class, refMappedElement)
-                        || this.TryGetMappedElement(correspondence, MappedElementDefinitionRowViewModel.class, ElementDefinition.class, refMappedElement))
-                {
-                    mappedElements.add((IMappedElementRowViewModel) refMappedElement.Get());
-                }
-                else
-                {
-                    this.logger.warn(String.format("Could not initialize the IMappedElementRowViewModel for the internalIid [%s] and externalId [%s]", 
-                            correspondence.getRight(), correspondence.getMiddle().Identifier));
-                }
+                mappedElements.add(rowViewModelFactory.apply(refHubElement.Get(), correspondence.getMiddle().TargetArchitecture));
             }
-            catch (InstantiationException | IllegalAccessException | IllegalArgumentException
-                    | InvocationTargetException | NoSuchMethodException | SecurityException exception)
+            else
             {
-                this.logger.catching(exception);
+                this.logger.warn(String.format("Could not initialize the IMappedElementRowViewModel for the internalIid [%s] and externalId [%s]", 
+                        correspondence.getRight(), correspondence.getMiddle().Identifier));
             }
         }
     }
 
     /**
-     * Tries to get the {@linkplain IMappedElementRowViewModel} based on the provided correspondence represented by a 
-     * {@linkplain Triple} of {@linkplain UUID}, {@linkplain CapellaExternalIdentifier}, {@linkplain UUID}
-     * 
-     * if the represented thing is of the provided {@linkplain Class} thingType, a rowViewModelType is initialized and 
-     * sets as the value carried by the provided {@linkplain Ref} of {@linkplain IMappedElementRowViewModel}
+     * Creates the factories of the {@linkplain IMappedElementRowViewModel} that represent a hub {@linkplain Thing} mapped to a Capella element 
+     * that does not exist yet, by concrete type of {@linkplain Thing}
      * 
-     * @param <TThing> the type of {@linkplain Thing} the internalId of the correspondence could represent
-     * @param <TRowViewModel> the type of {@linkplain IMappedElementRowViewModel} & {@linkplain IHaveTargetArchitecture} that should be initialized if the Thing is found
-     * @param correspondence a {@linkplain Triple} of {@linkplain UUID}, {@linkplain CapellaExternalIdentifier}, {@linkplain UUID} representing an id correspondence
-     * @param rowViewModelType the {@linkplain Class} of {@linkplain #TRowViewModel}
-     * @param thingType the {@linkplain Class} of {@linkplain #TThing}
-     * @param refMappedElement the {@linkplain Ref} of {@linkplain IMappedElementRowViewModel}
-     * @return a value indicating whether the {@linkplain IMappedElementRowViewModel} could be initialized
-     * @throws InstantiationException
-     * @throws IllegalAccessException
-     * @throws IllegalArgumentException
-     * @throws InvocationTargetException
-     * @throws NoSuchMethodException
-     * @throws SecurityException
+     * @return an unmodifiable {@linkplain Map} of factories
      */
-    private <TThing extends Thing, TRowViewModel extends IMappedElementRowViewModel & IHaveTargetArchitecture> boolean TryGetMappedElement(
-            MutableTriple<UUID, CapellaExternalIdentifier, UUID> correspondence, Class<TRowViewModel> rowViewModelType, Class<TThing> thingType, Ref<IMappedElementRowViewModel> refMappedElement) 
-                    throws InstantiationException, IllegalAccessException, IllegalArgumentException, InvocationTargetException, NoSuchMethodException, SecurityException
+    private static Map<Class<? extends Thing>, BiFunction<Thing, CapellaArchitecture, IMappedElementRowViewModel>> CreateHubToDstRowViewModelFactories()
     {
-        var refHubElement = new Ref<TThing>(thingType);
+        var factories = new HashMap<Class<? extends Thing>, BiFunction<Thing, CapellaArchitecture, IMappedElementRowViewModel>>();
         
-        if(this.hubController.TryGetThingById(correspondence.getRight(), refHubElement))
-        {
-            TRowViewModel newMappedElement = rowViewModelType.getDeclaredConstructor(thingType, MappingDirection.class).newInstance(refHubElement.Get(), MappingDirection.FromHubToDst);
-                
-            newMappedElement.SetTargetArchitecture(correspondence.getMiddle().TargetArchitecture);
-            refMappedElement.Set(newMappedElement);
-        }
+        factories.put(cdp4common.engineeringmodeldata.Requirement.class, (thing, targetArchitecture) -> WithTargetArchitecture(
+                new MappedHubRequirementRowViewModel((cdp4common.engineeringmodeldata.Requirement)thing, MappingDirection.FromHubToDst), targetArchitecture));
         
-        return refMappedElement.HasValue();
+        factories.put(ElementDefinition.class, (thing, targetArchitecture) -> WithTargetArchitecture(
+                new MappedElementDefinitionRowViewModel((ElementDefinition)thing, MappingDirection.FromHubToDst), targetArchitecture));
+        
+        return Collections.unmodifiableMap(factories);
+    }
+
+    /**
+     * Sets the provided {@linkplain CapellaArchitecture} as the target architecture of the provided row view model
+     * 
+     * @param <TRowViewModel> the type of {@linkplain IMappedElementRowViewModel} & {@linkplain IHaveTargetArchitecture}
+     * @param rowViewModel the {@linkplain #TRowViewModel}
+     * @param targetArchitecture the target {@linkplain CapellaArchitecture}
+     * @return the provided {@linkplain #TRowViewModel}
+     */
+    private static <TRowViewModel extends IMappedElementRowViewModel & IHaveTargetArchitecture> TRowViewModel WithTargetArchitecture(
+            TRowViewModel rowViewModel, CapellaArchitecture targetArchitecture)
+    {
+        rowViewModel.SetTargetArchitecture(targetArchitecture);
+        return rowViewModel;
     }
 
     /**
@@ -209,28 +571,54 @@ public class CapellaMappingConfigurationService extends MappingConfigurationServ
      */
     @Override
     public Collection<IMappedElementRowViewModel> LoadMapping(Collection<Element> elements)
+    {
+        return this.LoadMapping(elements, new CapellaHubThingResolver(this.hubController), new NullProgressMonitor());
+    }
+
+    /**
+     * Loads the mapping configuration of the provided elements, resolving the hub {@linkplain Thing}s in one batch
+     * 
+     * @param elements a {@linkplain Collection} of {@linkplain Element}
+     * @param hubThings the {@linkplain CapellaHubThingResolver} that resolves the hub {@linkplain Thing}s
+     * @param monitor the {@linkplain IProgressMonitor} to check for cancellation
+     * @return a {@linkplain Collection} of {@linkplain IMappedElementRowViewModel}, incomplete when the {@linkplain IProgressMonitor} got canceled
+     */
+    private Collection<IMappedElementRowViewModel> LoadMapping(Collection<Element> elements, CapellaHubThingResolver hubThings, IProgressMonitor monitor)
     {
         var mappedElements = new ArrayList<IMappedElementRowViewModel>();
+        this.correspondenceIndex.Synchronize(this.correspondences);
+        
+        var resolvedCount = hubThings.Resolve(elements.stream()
+                .flatMap(x -> this.correspondenceIndex.GetByExternalId(ElementUtils.GetId(x)).stream())
+                .map(x -> x.getRight())
+                .collect(Collectors.toList()));
         
         for (var element : elements)
         {
-            mappedElements.addAll(this.GetMappedElements(element));
+            if(monitor.isCanceled())
+            {
+                return mappedElements;
+            }
+            
+            mappedElements.addAll(this.GetMappedElements(element, hubThings));
         }
         
+        this.logger.debug(String.format("Resolved %s hub things and shared %s requirements specification clones to load %s mapped elements", 
+                resolvedCount, hubThings.GetRequirementsSpecificationCloneCount(), mappedElements.size()));
+        
         return mappedElements;
     }
     
     /**
-     * Retrieves the mapped elements for the given CapellaElement.
+     * Retrieves the mapped elements for the given CapellaElement. The {@linkplain #correspondenceIndex} is expected to be synchronized
      *
      * @param element The CapellaElement for which mapped elements are retrieved.
+     * @param hubThings the {@linkplain CapellaHubThingResolver} that resolves the hub {@linkplain Thing}s
      * @return A collection of IMappedElementRowViewModel representing the mapped elements.
      */
-    private Collection<IMappedElementRowViewModel> GetMappedElements(Element element)
+    private Collection<IMappedElementRowViewModel> GetMappedElements(Element element, CapellaHubThingResolver hubThings)
     {
-        var correspondences = this.correspondences.stream()
-                .filter(x -> AreTheseEquals(x.middle.Identifier, ElementUtils.GetId(element)))
-                .collect(Collectors.toList());
+        var correspondences = this.correspondenceIndex.GetByExternalId(ElementUtils.GetId(element));
         
         var result = new ArrayList<IMappedElementRowViewModel>();
         
@@ -256,7 +644,7 @@ public class CapellaMappingConfigurationService extends MappingConfigurationServ
                 
                 mappedElement.SetTargetArchitecture(targetArchitecture);
                 
-                if(this.hubController.TryGetThingById(internalId, refElementUsage))
+                if(hubThings.TryGet(internalId, refElementUsage))
                 {
                     mappedElement.SetHubElement(refElementUsage.Get().clone(false));
                 }
@@ -280,7 +668,7 @@ public class CapellaMappingConfigurationService extends MappingConfigurationServ
                 
                 mappedElement.SetTargetArchitecture(targetArchitecture);
                 
-                if(this.hubController.TryGetThingById(internalId, refElementDefinition))
+                if(hubThings.TryGet(internalId, refElementDefinition))
                 {
                     mappedElement.SetHubElement(refElementDefinition.Get().clone(false));
                 }
@@ -292,7 +680,7 @@ public class CapellaMappingConfigurationService extends MappingConfigurationServ
                 if(mappingDirection == MappingDirection.FromHubToDst)
                 {
                     var mappedElement = new MappedHubRequirementRowViewModel(this.transactionService.Clone((Requirement)element), mappingDirection);
-                    this.GetMappedRequirement(mappedElement, internalId);
+                    this.GetMappedRequirement(mappedElement, internalId, hubThings);
                     mappedElement.SetTargetArchitecture(targetArchitecture);
                     
                     result.add(mappedElement);
@@ -300,7 +688,7 @@ public class CapellaMappingConfigurationService extends MappingConfigurationServ
                 else
                 {
                     var mappedElement = new MappedDstRequirementRowViewModel((Requirement)element, mappingDirection);
-                    this.GetMappedRequirement(mappedElement, internalId);
+                    this.GetMappedRequirement(mappedElement, internalId, hubThings);
                     result.add(mappedElement);
                 }            
             }
@@ -310,24 +698,19 @@ public class CapellaMappingConfigurationService extends MappingConfigurationServ
     }
 
     /**
-     * Gets the mapped {@linkplain cdp4common.engineeringmodeldata.Requirement}
+     * Gets the mapped {@linkplain cdp4common.engineeringmodeldata.Requirement} from the shared clone of its {@linkplain RequirementsSpecification}
      * 
      * @param mappedElement the {@linkplain MappedRequirementBaseRowViewModel}
      * @param internalId the internal id of the queried Thing
-     * @param clazz the {@linkplain Class} of the queried Thing
+     * @param hubThings the {@linkplain CapellaHubThingResolver} that resolves the hub {@linkplain Thing}s
      */
-    private void GetMappedRequirement(MappedRequirementBaseRowViewModel mappedElement, UUID internalId)
+    private void GetMappedRequirement(MappedRequirementBaseRowViewModel mappedElement, UUID internalId, CapellaHubThingResolver hubThings)
     {
         var refHubRequirement = new Ref<>(cdp4common.engineeringmodeldata.Requirement.class);
         
-        if(this.hubController.TryGetThingById(internalId, refHubRequirement))
+        if(hubThings.TryGet(internalId, refHubRequirement))
         {
-            var requirementSpecification = refHubRequirement.Get().getContainerOfType(RequirementsSpecification.class).clone(true);
-            
-            mappedElement.SetHubElement(requirementSpecification.getRequirement().stream()
-                    .filter(x -> AreTheseEquals(x.getIid(), refHubRequirement.Get().getIid()) && !x.isDeprecated())
-                    .findFirst()
-                    .orElse(null));
+            mappedElement.SetHubElement(hubThings.GetFromSharedClone(refHubRequirement.Get()));
         }
     }
 
@@ -363,9 +746,15 @@ public class CapellaMappingConfigurationService extends MappingConfigurationServ
         externalIdentifier.Identifier = externalId;
         externalIdentifier.TargetArchitecture = targetArchitecture;
         
-        this.AddToExternalIdentifierMap(internalId, externalIdentifier, 
+        Predicate<MutableTriple<UUID, CapellaExternalIdentifier, UUID>> isTheCorrespondence = 
                 x -> x.getMiddle().TargetArchitecture == targetArchitecture
                     && AreTheseEquals(x.getMiddle().MappingDirection, mappingDirection)
-                    && AreTheseEquals(x.getRight(), internalId));
+                    && AreTheseEquals(x.getRight(), internalId);
+        
+        this.AddToExternalIdentifierMap(internalId, externalIdentifier, isTheCorrespondence);
+        
+        this.correspondences.stream()
+            .filter(isTheCorrespondence)
+            .forEach(x -> this.correspondenceIndex.Index(x));
     }
 }
@@ -26,6 +26,9 @@ package Services.MappingConfiguration;
 import java.util.Collection;
 import java.util.UUID;
 
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.polarsys.kitalpha.emde.model.Element;
+
 import Enumerations.CapellaArchitecture;
 import Enumerations.MappingDirection;
 import ViewModels.Interfaces.IMappedElementRowViewModel;
@@ -43,6 +46,23 @@ public interface ICapellaMappingConfigurationService extends IMappingConfigurati
      */
     Collection<IMappedElementRowViewModel> LoadMapping();
 
+    /**
+     * Loads the mapping configuration and generates the map result respectively, stops as soon as the provided {@linkplain IProgressMonitor} gets canceled
+     * 
+     * @param monitor the {@linkplain IProgressMonitor} to check for cancellation
+     * @return a {@linkplain Collection} of {@linkplain IMappedElementRowViewModel}, incomplete when the {@linkplain IProgressMonitor} got canceled
+     */
+    Collection<IMappedElementRowViewModel> LoadMapping(IProgressMonitor monitor);
+
+    /**
+     * Loads the mapping configuration of the provided elements only, used to refresh the mapping of the elements that changed
+     * 
+     * @param elements the {@linkplain Collection} of {@linkplain Element} to load the mapping of
+     * @param monitor the {@linkplain IProgressMonitor} to check for cancellation
+     * @return a {@linkplain Collection} of {@linkplain IMappedElementRowViewModel}, incomplete when the {@linkplain IProgressMonitor} got canceled
+     */
+    Collection<IMappedElementRowViewModel> ReloadMapping(Collection<Element> elements, IProgressMonitor monitor);
+
     /**
      * Adds one correspondence to the {@linkplain ExternalIdentifierMap}
      * 
@@ -24,6 +24,7 @@
 package Utils.Stereotypes;
 
 import java.util.ArrayList;
+import java.util.Collection;
 
 import org.polarsys.capella.core.data.capellacore.CapellaElement;
 
@@ -42,4 +43,41 @@ import cdp4common.commondata.Thing;
  * Meaning that defining a rule that takes as input a {@linkplain ArrayList} of any type isn't supported because of the java generic implementation.
  */
 @SuppressWarnings("serial")
-public class CapellaTracedElementCollection extends ArrayList<MappedElementRowViewModel<? extends Thing, ? extends CapellaElement>> implements IMappableThingCollection { }
+public class CapellaTracedElementCollection extends ArrayList<MappedElementRowViewModel<? extends Thing, ? extends CapellaElement>> implements IMappableThingCollection
+{
+    /**
+     * The elements of this collection that have just been mapped, the other elements are only looked up as counterparts
+     */
+    private final ArrayList<MappedElementRowViewModel<? extends Thing, ? extends CapellaElement>> addedElements = new ArrayList<>();
+    
+    /**
+     * Sets the elements of this collection that have just been mapped
+     * 
+     * @param addedElements the {@linkplain Collection} of added {@linkplain MappedElementRowViewModel}
+     */
+    public void SetAddedElements(Collection<? extends MappedElementRowViewModel<? extends Thing, ? extends CapellaElement>> addedElements)
+    {
+        this.addedElements.clear();
+        this.addedElements.addAll(addedElements);
+    }
+    
+    /**
+     * Gets a value indicating whether only a subset of this collection has to be examined
+     * 
+     * @return a {@linkplain boolean}
+     */
+    public boolean HasAddedElements()
+    {
+        return !this.addedElements.isEmpty();
+    }
+    
+    /**
+     * Gets the elements of this collection that have to be examined, which are all of them unless some added elements were set
+     * 
+     * @return a {@linkplain Collection} of {@linkplain MappedElementRowViewModel}
+     */
+    public Collection<MappedElementRowViewModel<? extends Thing, ? extends CapellaElement>> GetAddedElements()
+    {
+        return this.HasAddedElements() ? this.addedElements : this;
+    }
+}
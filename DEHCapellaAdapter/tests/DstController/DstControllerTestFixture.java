@@ -25,6 +25,8 @@ package DstController;
 
 import static org.mockito.Mockito.*;
 
+import java.awt.EventQueue;
+import java.lang.reflect.Method;
 import java.net.URI;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -32,9 +34,16 @@ import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
 
 import org.apache.commons.lang3.tuple.Pair;
+import org.apache.logging.log4j.Level;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.NullProgressMonitor;
 import org.eclipse.emf.common.util.BasicEList;
+import org.eclipse.emf.common.util.TreeIterator;
+import org.eclipse.emf.ecore.EClass;
 import org.eclipse.emf.ecore.EObject;
 import org.eclipse.emf.ecore.resource.Resource;
 import org.eclipse.pde.internal.core.project.RequirementSpecification;
@@ -48,16 +57,20 @@ import org.mockito.invocation.InvocationOnMock;
 import org.mockito.stubbing.Answer;
 import org.polarsys.capella.core.data.capellacore.CapellaElement;
 import org.polarsys.capella.core.data.capellacore.Feature;
+import org.polarsys.capella.core.data.capellacore.NamedElement;
 import org.polarsys.capella.core.data.capellacore.Trace;
+import org.polarsys.capella.core.data.cs.AbstractDeploymentLink;
 import org.polarsys.capella.core.data.cs.BlockArchitecture;
 import org.polarsys.capella.core.data.cs.Component;
 import org.polarsys.capella.core.data.cs.Interface;
+import org.polarsys.capella.core.data.cs.Part;
 import org.polarsys.capella.core.data.fa.ComponentPort;
 import org.polarsys.capella.core.data.information.Property;
 import org.polarsys.capella.core.data.information.datatype.DataType;
 import org.polarsys.capella.core.data.information.datavalue.DataValue;
 import org.polarsys.capella.core.data.la.LogicalComponent;
 import org.polarsys.capella.core.data.pa.PhysicalComponent;
+import org.polarsys.capella.core.data.pa.deployment.PartDeploymentLink;
 import org.polarsys.kitalpha.emde.model.ElementExtension;
 import org.polarsys.kitalpha.vp.requirements.Requirements.Requirement;
 import org.polarsys.kitalpha.vp.requirements.Requirements.AbstractRelation;
@@ -70,16 +83,23 @@ import com.google.common.collect.ImmutableList;
 import Enumerations.CapellaArchitecture;
 import Enumerations.MappingDirection;
 import HubController.IHubController;
+import MappingRules.ComponentToElementMappingRule;
 import Services.CapellaLog.ICapellaLogService;
 import Services.CapellaSession.ICapellaSessionService;
+import Services.CapellaSession.CapellaSessionChange;
+import Services.CapellaTransaction.CapellaTransactionStage;
 import Services.CapellaTransaction.ClonedReferenceElement;
 import Services.CapellaTransaction.ICapellaTransactionService;
 import Services.CapellaUserPreference.ICapellaUserPreferenceService;
+import Services.CapellaUserPreference.UserPreferenceKey;
 import Services.HistoryService.ICapellaLocalExchangeHistoryService;
 import Services.LocalExchangeHistory.ILocalExchangeHistoryService;
 import Services.MappingConfiguration.ICapellaMappingConfigurationService;
 import Services.MappingConfiguration.IMappingConfigurationService;
 import Services.MappingEngineService.IMappableThingCollection;
+import Utils.Stereotypes.CapellaComponentCollection;
+import Utils.Stereotypes.CapellaTracedElementCollection;
+import Utils.Stereotypes.HubRelationshipElementsCollection;
 import Services.MappingEngineService.IMappingEngineService;
 import Services.NavigationService.INavigationService;
 import Utils.Ref;
@@ -88,7 +108,9 @@ import ViewModels.Rows.MappedElementDefinitionRowViewModel;
 import ViewModels.Rows.MappedElementRowViewModel;
 import ViewModels.Rows.MappedHubRequirementRowViewModel;
 import ViewModels.Rows.MappedDstRequirementRowViewModel;
+import cdp4common.ChangeKind;
 import cdp4common.commondata.ClassKind;
+import cdp4common.commondata.Definition;
 import cdp4common.commondata.Thing;
 import cdp4common.engineeringmodeldata.ElementDefinition;
 import cdp4common.engineeringmodeldata.ElementUsage;
@@ -136,6 +158,8 @@ public class DstControllerTestFixture
         this.navigationService = mock(INavigationService.class);
         
         when(this.userPreference.Get(any(), any(), any())).thenReturn(true);
+        when(this.userPreference.Get(eq(UserPreferenceKey.MappingReloadWindowInMilliseconds), any(), any())).thenReturn(0L);
+        when(this.userPreference.Get(eq(UserPreferenceKey.HubTransferBatchSize), any(), any())).thenReturn(0);
         
         when(this.capellaSessionService.SessionUpdated())
             .thenReturn(Observable.fromArray(mock(org.eclipse.sirius.business.api.session.Session.class)));
@@ -143,6 +167,14 @@ public class DstControllerTestFixture
         when(this.capellaSessionService.SessionUpdated())
             .thenReturn(Observable.fromArray(mock(org.eclipse.sirius.business.api.session.Session.class)));
         
+        when(this.capellaSessionService.SessionChanged()).thenReturn(Observable.empty());
+        
+        when(this.capellaSessionService.RunExclusive(any())).thenAnswer(x -> 
+        {
+            x.getArgument(0, Runnable.class).run();
+            return true;
+        });
+        
         when(this.hubController.GetIsSessionOpenObservable()).thenReturn(Observable.fromArray(false, true));
         
         when(this.hubController.GetSessionEventObservable()).thenReturn(Observable.fromArray(true));
@@ -182,13 +214,180 @@ public class DstControllerTestFixture
                     new MappedHubRequirementRowViewModel(new cdp4common.engineeringmodeldata.Requirement(), mock(Requirement.class), MappingDirection.FromHubToDst)
                     ));
         
-        when(this.mappingConfigurationService.LoadMapping()).thenReturn(loadedMapping);
+        when(this.mappingConfigurationService.LoadMapping(any(IProgressMonitor.class))).thenReturn(loadedMapping);
         when(this.mappingEngine.Map(any())).thenReturn(loadedMapping);
         assertDoesNotThrow(() -> this.controller.LoadMapping());
         
-        verify(this.mappingConfigurationService, times(4)).LoadMapping();
+        verify(this.mappingConfigurationService, times(3)).LoadMapping(any(IProgressMonitor.class));
+        assertEquals(1, this.controller.GetSuppressedMappingReloadCount());
+    }
+    
+    @Test
+    public void VerifyLoadMappingThatNeedsANewDataTypeMapsOutsideTheExclusiveRead()
+    {
+        var isInExclusiveRead = new AtomicBoolean();
+        
+        doAnswer(x -> 
+        {
+            isInExclusiveRead.set(true);
+            
+            try
+            {
+                x.getArgument(0, Runnable.class).run();
+                return true;
+            }
+            finally
+            {
+                isInExclusiveRead.set(false);
+            }
+        }).when(this.capellaSessionService).RunExclusive(any());
+        
+        doAnswer(x -> 
+        {
+            if(isInExclusiveRead.get())
+            {
+                throw new IllegalStateException("Cannot activate read/write transaction in read-only transaction context");
+            }
+            
+            return null;
+        }).when(this.transactionService).AddReferenceDataToDataPackage(any(DataType.class));
+        
+        var loadedMapping = new ArrayList<IMappedElementRowViewModel>();
+        loadedMapping.add(new MappedElementDefinitionRowViewModel(new ElementDefinition(), mock(LogicalComponent.class), MappingDirection.FromHubToDst));
+        var newDataType = mock(DataType.class);
+        
+        when(this.mappingConfigurationService.LoadMapping(any(IProgressMonitor.class))).thenReturn(loadedMapping);
+        when(this.mappingEngine.Map(any())).thenAnswer(x -> 
+        {
+            this.transactionService.AddReferenceDataToDataPackage(newDataType);
+            return new ArrayList<>((Collection<?>)x.getArgument(0));
+        });
+        
+        this.controller.LoadMapping();
+        
+        verify(this.capellaSessionService, atLeastOnce()).RunExclusive(any());
+        verify(this.transactionService, atLeastOnce()).AddReferenceDataToDataPackage(newDataType);
+        verify(this.logService, never()).Append(contains("Could not load"), eq(Level.ERROR));
+    }
+    
+    @Test
+    public void VerifyLoadedMappingIsPublishedOnTheUIThread() throws InterruptedException
+    {
+        var loadedMapping = new ArrayList<IMappedElementRowViewModel>();
+        loadedMapping.add(new MappedElementDefinitionRowViewModel(new ElementDefinition(), mock(LogicalComponent.class), MappingDirection.FromDstToHub));
+        
+        when(this.mappingConfigurationService.LoadMapping(any(IProgressMonitor.class))).thenReturn(loadedMapping);
+        when(this.mappingEngine.Map(any())).thenAnswer(x -> new ArrayList<>((Collection<?>)x.getArgument(0)));
+        clearInvocations(this.capellaSessionService);
+        
+        var isPublishedOnTheUIThread = new ArrayList<Boolean>();
+        this.controller.GetDstMapResult().ItemsAdded().subscribe(x -> isPublishedOnTheUIThread.add(EventQueue.isDispatchThread()));
+        
+        var thread = new Thread(() -> this.controller.LoadMapping());
+        thread.start();
+        thread.join();
+        
+        assertFalse(isPublishedOnTheUIThread.isEmpty());
+        assertTrue(isPublishedOnTheUIThread.stream().allMatch(x -> x));
+        verify(this.capellaSessionService, times(1)).RunExclusive(any());
     }
     
+    @Test
+    public void VerifyIncrementalLoadMapping()
+    {
+        assertDoesNotThrow(() -> this.controller.LoadMapping(new ArrayList<>()));
+        verify(this.mappingConfigurationService, times(2)).LoadMapping(any(IProgressMonitor.class));
+        
+        var component = mock(LogicalComponent.class);
+        var componentId = UUID.randomUUID().toString();
+        when(component.getId()).thenReturn(componentId);
+        var removedComponent = mock(LogicalComponent.class);
+        var removedComponentId = UUID.randomUUID().toString();
+        when(removedComponent.getId()).thenReturn(removedComponentId);
+        
+        var mappedElement = new MappedElementDefinitionRowViewModel(new ElementDefinition(), component, MappingDirection.FromDstToHub);
+        var removedMappedElement = new MappedElementDefinitionRowViewModel(new ElementDefinition(), removedComponent, MappingDirection.FromDstToHub);
+        this.controller.GetDstMapResult().add((MappedElementRowViewModel)removedMappedElement);
+        
+        when(this.mappingConfigurationService.ReloadMapping(any(), any())).thenReturn(Arrays.asList(mappedElement));
+        when(this.mappingEngine.Map(any())).thenReturn(new ArrayList<>(Arrays.asList(mappedElement)));
+        
+        var change = new CapellaSessionChange(null, Arrays.asList(), Arrays.<Element>asList(removedComponent), Arrays.<Element>asList(component));
+        var stage = new CapellaTransactionStage(Arrays.asList(componentId, removedComponentId));
+        when(this.transactionService.EndStage()).thenReturn(stage);
+        
+        assertDoesNotThrow(() -> this.controller.LoadMapping(Arrays.asList(change)));
+        
+        verify(this.transactionService, times(1)).BeginStage(argThat((Collection<String> x) -> x.contains(componentId) && x.contains(removedComponentId)));
+        verify(this.transactionService, times(1)).Apply(stage);
+        verify(this.transactionService, never()).Reset(any());
+        verify(this.mappingConfigurationService, times(1)).ReloadMapping(argThat(x -> x.size() == 1 && x.contains(component)), any());
+        verify(this.mappingConfigurationService, times(2)).LoadMapping(any(IProgressMonitor.class));
+        assertTrue(this.controller.GetDstMapResult().stream().noneMatch(x -> x.GetDstElement() == removedComponent));
+        assertTrue(this.controller.GetDstMapResult().stream().anyMatch(x -> x.GetDstElement() == component));
+    }
+    
+    @Test
+    public void VerifyCanceledIncrementalLoadMappingKeepsTheTrackedClones() throws Exception
+    {
+        var component = mock(LogicalComponent.class);
+        when(component.getId()).thenReturn(UUID.randomUUID().toString());
+        var mappedElement = new MappedElementDefinitionRowViewModel(new ElementDefinition(), component, MappingDirection.FromDstToHub);
+        this.controller.GetDstMapResult().add((MappedElementRowViewModel)mappedElement);
+        
+        var monitor = new NullProgressMonitor();
+        when(this.mappingConfigurationService.ReloadMapping(any(), any())).thenReturn(Arrays.asList(mappedElement));
+        when(this.transactionService.EndStage()).thenReturn(new CapellaTransactionStage(Arrays.asList(component.getId())));
+        
+        when(this.mappingEngine.Map(any())).thenAnswer(x -> 
+        {
+            monitor.setCanceled(true);
+            return new ArrayList<>((Collection<?>)x.getArgument(0));
+        });
+        
+        var change = new CapellaSessionChange(null, Arrays.asList(), Arrays.asList(), Arrays.<Element>asList(component));
+        Method loadMapping = DstController.class.getDeclaredMethod("LoadMapping", Collection.class, IProgressMonitor.class);
+        loadMapping.setAccessible(true);
+        
+        assertFalse((boolean)loadMapping.invoke(this.controller, Arrays.asList(change), monitor));
+        
+        verify(this.transactionService, times(1)).BeginStage(any());
+        verify(this.transactionService, times(1)).EndStage();
+        verify(this.transactionService, never()).Apply(any());
+        verify(this.transactionService, never()).Reset(any());
+        verify(this.transactionService, never()).Reset();
+        assertTrue(this.controller.GetDstMapResult().stream().anyMatch(x -> x == mappedElement));
+    }
+    
+    @Test
+    public void VerifyTracesAreMappedOncePerBulkLoadThenIncrementally()
+    {
+        var loadedMapping = new ArrayList<IMappedElementRowViewModel>();
+        loadedMapping.add(new MappedElementDefinitionRowViewModel(new ElementDefinition(), mock(LogicalComponent.class), MappingDirection.FromDstToHub));
+        loadedMapping.add(new MappedDstRequirementRowViewModel(new cdp4common.engineeringmodeldata.Requirement(), mock(Requirement.class), MappingDirection.FromDstToHub));
+        
+        when(this.mappingConfigurationService.LoadMapping(any(IProgressMonitor.class))).thenReturn(loadedMapping);
+        when(this.mappingEngine.Map(any())).thenAnswer(x -> new ArrayList<>((Collection<?>)x.getArgument(0)));
+        clearInvocations(this.mappingEngine);
+        
+        this.controller.LoadMapping();
+        
+        assertEquals(2, this.controller.GetDstMapResult().size());
+        verify(this.mappingEngine, times(1)).Map(argThat(x -> x instanceof CapellaTracedElementCollection 
+                && !((CapellaTracedElementCollection)x).HasAddedElements()));
+        verify(this.mappingEngine, never()).Map(argThat(x -> x instanceof HubRelationshipElementsCollection));
+        
+        var input = new CapellaComponentCollection();
+        input.add(new MappedElementDefinitionRowViewModel(new ElementDefinition(), mock(LogicalComponent.class), MappingDirection.FromDstToHub));
+        this.controller.Map(input, MappingDirection.FromDstToHub);
+        
+        assertEquals(3, this.controller.GetDstMapResult().size());
+        verify(this.mappingEngine, times(1)).Map(argThat(x -> x instanceof CapellaTracedElementCollection 
+                && ((CapellaTracedElementCollection)x).size() == 3
+                && ((CapellaTracedElementCollection)x).GetAddedElements().size() == 1
+                && ((CapellaTracedElementCollection)x).GetAddedElements().contains(input.get(0))));
+    }
+
     @Test
     public void VerifyMap()
     {
@@ -212,6 +411,32 @@ public class DstControllerTestFixture
         assertTrue(this.controller.Map(mock(IMappableThingCollection.class), MappingDirection.FromHubToDst));
         assertFalse(this.controller.Map(mock(IMappableThingCollection.class), null));
     }
+
+    @Test
+    public void VerifyMapReplacesSupersededRows()
+    {
+        var elementDefinition = new ElementDefinition(UUID.randomUUID(), null, null);
+        var component = mock(LogicalComponent.class);
+        when(component.getId()).thenReturn(UUID.randomUUID().toString());
+        
+        var mapResult = new ArrayList<MappedElementRowViewModel<? extends Thing, ? extends CapellaElement>>();
+        mapResult.add(new MappedElementDefinitionRowViewModel(elementDefinition, component, MappingDirection.FromDstToHub));
+        when(this.mappingEngine.Map(any())).thenReturn(mapResult);
+
+        assertTrue(this.controller.Map(mock(IMappableThingCollection.class), MappingDirection.FromDstToHub));
+        assertTrue(this.controller.Map(mock(IMappableThingCollection.class), MappingDirection.FromDstToHub));
+        assertEquals(1, this.controller.GetDstMapResult().size());
+        assertSame(mapResult.get(0), this.controller.GetDstMapResult().get(0));
+        
+        mapResult.clear();
+        mapResult.add(new MappedElementDefinitionRowViewModel(new ElementDefinition(), component, MappingDirection.FromHubToDst));
+        mapResult.add(new MappedElementDefinitionRowViewModel(new ElementDefinition(), component, MappingDirection.FromHubToDst));
+
+        assertTrue(this.controller.Map(mock(IMappableThingCollection.class), MappingDirection.FromHubToDst));
+        assertTrue(this.controller.Map(mock(IMappableThingCollection.class), MappingDirection.FromHubToDst));
+        assertEquals(1, this.controller.GetHubMapResult().size());
+        assertSame(mapResult.get(1), this.controller.GetHubMapResult().get(0));
+    }
     
     @Test
     public void VerifyTransfer() throws TransactionException
@@ -295,7 +520,338 @@ public class DstControllerTestFixture
         this.controller.GetSelectedDstMapResultForTransfer().add(requirement);
         this.controller.GetSelectedDstMapResultForTransfer().add(elementDefinition);
         assertTrue(this.controller.Transfer());
-        verify(this.hubController, times(10)).Refresh();
+        verify(this.hubController, times(8)).Refresh();
+        verify(this.logService, times(2)).Append(eq("Transfer to the HUB done in %s round trip(s), %s write(s) and %s refresh(es)"), anyInt(), anyInt(), anyInt());
+    }
+    
+    @Test
+    public void VerifyTransferToHubIsDoneInOneWriteWhenEverythingAlreadyExists() throws TransactionException
+    {
+        var elementDefinition = new ElementDefinition();
+        elementDefinition.setIid(UUID.randomUUID());
+        var parameter = new Parameter();
+        parameter.setIid(UUID.randomUUID());
+        parameter.setRevisionNumber(1);
+        elementDefinition.getParameter().add(parameter);
+        
+        var elementUsage = new ElementUsage();
+        elementUsage.setIid(UUID.randomUUID());
+        elementUsage.setRevisionNumber(1);
+        elementUsage.setElementDefinition(elementDefinition);
+        elementDefinition.getContainedElement().add(elementUsage);
+        
+        var parameterOverride = new ParameterOverride();
+        parameterOverride.setIid(UUID.randomUUID());
+        parameterOverride.setParameter(parameter);
+        elementUsage.getParameterOverride().add(parameterOverride);
+        
+        var transaction = mock(ThingTransaction.class);
+        when(transaction.getAddedThing()).thenReturn(ImmutableList.of());
+        when(this.hubController.GetIterationTransaction()).thenReturn(Pair.of(new Iteration(), transaction));
+        when(this.hubController.TrySupplyAndCreateLogEntry(any(ThingTransaction.class))).thenReturn(true);
+        this.controller.GetSelectedDstMapResultForTransfer().add(elementDefinition);
+        
+        var result = this.controller.TransferToHub();
+        assertTrue(result.getLeft());
+        assertTrue(result.getRight());
+        verify(this.hubController, times(1)).Write(any(ThingTransaction.class));
+        verify(this.hubController, never()).Refresh();
+        verify(transaction, times(1)).createOrUpdate(parameterOverride);
+        
+        parameter.setRevisionNumber(0);
+        when(this.hubController.Refresh()).thenReturn(true);
+        this.controller.TransferToHub();
+        verify(this.hubController, times(2)).Write(any(ThingTransaction.class));
+        verify(this.hubController, never()).Refresh();
+        
+        parameter.setIid(null);
+        this.controller.TransferToHub();
+        verify(this.hubController, times(4)).Write(any(ThingTransaction.class));
+        verify(this.hubController, times(1)).Refresh();
+    }
+    
+    @Test
+    public void VerifyParameterOverridesOnNewThingsGoInTheFirstWrite() throws TransactionException
+    {
+        var elementDefinition = new ElementDefinition();
+        elementDefinition.setIid(UUID.randomUUID());
+        var parameter = new Parameter();
+        parameter.setIid(UUID.randomUUID());
+        var parameterValueSet = new ParameterValueSet();
+        parameter.getValueSet().add(parameterValueSet);
+        elementDefinition.getParameter().add(parameter);
+        
+        var elementUsage = new ElementUsage();
+        elementUsage.setIid(UUID.randomUUID());
+        elementUsage.setElementDefinition(elementDefinition);
+        elementDefinition.getContainedElement().add(elementUsage);
+        
+        var parameterOverride = new ParameterOverride();
+        parameterOverride.setParameter(parameter);
+        var parameterOverrideValueSet = new ParameterOverrideValueSet();
+        parameterOverrideValueSet.setParameterValueSet(parameterValueSet);
+        parameterOverride.getValueSet().add(parameterOverrideValueSet);
+        elementUsage.getParameterOverride().add(parameterOverride);
+        
+        var transaction = mock(ThingTransaction.class);
+        when(transaction.getAddedThing()).thenReturn(ImmutableList.of());
+        when(this.hubController.GetIterationTransaction()).thenReturn(Pair.of(new Iteration(), transaction));
+        when(this.hubController.TrySupplyAndCreateLogEntry(any(ThingTransaction.class))).thenReturn(true);
+        this.controller.GetSelectedDstMapResultForTransfer().add(elementDefinition);
+        
+        var result = this.controller.TransferToHub();
+        assertTrue(result.getLeft());
+        assertTrue(result.getRight());
+        verify(this.hubController, times(1)).Write(any(ThingTransaction.class));
+        verify(this.hubController, never()).Refresh();
+        assertNotNull(parameterOverride.getIid());
+        assertNotNull(parameterOverrideValueSet.getIid());
+        assertNotNull(parameterValueSet.getIid());
+    }
+    
+    @Test
+    public void VerifyDryRunTransferToHubDoesNotWrite() throws TransactionException
+    {
+        var elementDefinition = new ElementDefinition();
+        elementDefinition.setIid(UUID.randomUUID());
+        var parameter = new Parameter();
+        parameter.setIid(UUID.randomUUID());
+        parameter.setRevisionNumber(1);
+        elementDefinition.getParameter().add(parameter);
+        
+        var elementUsage = new ElementUsage();
+        elementUsage.setIid(UUID.randomUUID());
+        elementUsage.setRevisionNumber(1);
+        elementUsage.setElementDefinition(elementDefinition);
+        elementDefinition.getContainedElement().add(elementUsage);
+        
+        var parameterOverride = new ParameterOverride();
+        parameterOverride.setIid(UUID.randomUUID());
+        parameterOverride.setParameter(parameter);
+        elementUsage.getParameterOverride().add(parameterOverride);
+        
+        var transaction = mock(ThingTransaction.class);
+        when(this.hubController.GetIterationTransaction()).thenReturn(Pair.of(new Iteration(), transaction));
+        this.controller.GetSelectedDstMapResultForTransfer().add(elementDefinition);
+        var transferReport = this.controller.GetLastTransferReport();
+        
+        var estimate = this.controller.DryRunTransfer();
+        
+        assertEquals(MappingDirection.FromDstToHub, estimate.GetMappingDirection());
+        assertEquals(1, estimate.GetThingCounts().get(ClassKind.ElementDefinition));
+        assertEquals(1, estimate.GetThingCounts().get(ClassKind.ParameterOverride));
+        assertEquals(1, estimate.GetWriteCount());
+        assertTrue(estimate.GetEstimatedPayloadSize() > 0);
+        assertTrue(estimate.GetPhaseDurations().containsKey("Things preparation"));
+        assertEquals(1, this.controller.GetSelectedDstMapResultForTransfer().size());
+        assertSame(transferReport, this.controller.GetLastTransferReport());
+        assertNull(elementDefinition.getContainer());
+        verify(transaction, never()).createOrUpdate(any(Thing.class));
+        verify(this.logService, never()).Append(contains("have been updated or created"), anyInt(), anyInt());
+        verify(this.hubController, never()).TrySupplyAndCreateLogEntry(any(ThingTransaction.class));
+        verify(this.hubController, never()).Write(any(ThingTransaction.class));
+        verify(this.transferHistory, never()).Append(any(Thing.class), any(ChangeKind.class));
+    }
+    
+    @Test
+    public void VerifyDryRunTransferToDstEstimatesFromThePlannedClones()
+    {
+        var componentClass = mock(EClass.class);
+        when(componentClass.getName()).thenReturn("LogicalComponent");
+        var propertyClass = mock(EClass.class);
+        when(propertyClass.getName()).thenReturn("Property");
+        var component = mock(LogicalComponent.class);
+        when(component.eClass()).thenReturn(componentClass);
+        var newProperty = mock(Property.class);
+        when(newProperty.eClass()).thenReturn(propertyClass);
+        var unchangedProperty = mock(Property.class);
+        when(unchangedProperty.eClass()).thenReturn(propertyClass);
+        
+        TreeIterator<EObject> allContents = mock(TreeIterator.class);
+        doAnswer(x -> 
+        {
+            Arrays.<EObject>asList(newProperty, unchangedProperty).forEach(x.getArgument(0));
+            return null;
+        }).when(allContents).forEachRemaining(any());
+        
+        when(component.eAllContents()).thenReturn(allContents);
+        when(this.transactionService.IsCloned(component)).thenReturn(true);
+        when(this.transactionService.IsClonedOrNew(newProperty)).thenReturn(true);
+        
+        this.controller.ChangeMappingDirection();
+        this.controller.GetSelectedHubMapResultForTransfer().add(component);
+        
+        var estimate = this.controller.DryRunTransfer();
+        
+        assertEquals(MappingDirection.FromHubToDst, estimate.GetMappingDirection());
+        assertEquals(1, estimate.GetElementCounts().get("LogicalComponent"));
+        assertEquals(1, estimate.GetElementCounts().get("Property"));
+        assertEquals(1, estimate.GetWriteCount());
+        assertTrue(estimate.GetPhaseDurations().containsKey("Elements analysis"));
+        assertEquals(1, this.controller.GetSelectedHubMapResultForTransfer().size());
+        verify(this.transactionService, never()).Commit(any(Runnable.class));
+        verify(this.transactionService, never()).Reset();
+        verify(this.transferHistory, never()).Append(any(NamedElement.class), any(ChangeKind.class));
+    }
+    
+    @Test
+    public void VerifyTheDefinitionOfAnAddedElementUsageIsTransferred() throws TransactionException
+    {
+        var elementDefinition = new ElementDefinition(UUID.randomUUID(), null, null);
+        var addedElementUsage = new ElementUsage(UUID.randomUUID(), null, null);
+        addedElementUsage.setElementDefinition(new ElementDefinition(UUID.randomUUID(), null, null));
+        var addedDefinition = new Definition(UUID.randomUUID(), null, null);
+        addedDefinition.setLanguageCode(ComponentToElementMappingRule.CIID);
+        addedElementUsage.getDefinition().add(addedDefinition);
+        var existingElementUsage = new ElementUsage(UUID.randomUUID(), null, null);
+        existingElementUsage.setElementDefinition(new ElementDefinition(UUID.randomUUID(), null, null));
+        var existingDefinition = new Definition(UUID.randomUUID(), null, null);
+        existingDefinition.setLanguageCode(ComponentToElementMappingRule.CIID);
+        existingElementUsage.getDefinition().add(existingDefinition);
+        elementDefinition.getContainedElement().add(addedElementUsage);
+        elementDefinition.getContainedElement().add(existingElementUsage);
+        
+        var transaction = mock(ThingTransaction.class);
+        when(transaction.getAddedThing()).thenReturn(ImmutableList.of((Thing)addedElementUsage));
+        when(this.hubController.GetIterationTransaction()).thenReturn(Pair.of(new Iteration(), transaction));
+        when(this.hubController.TrySupplyAndCreateLogEntry(any(ThingTransaction.class))).thenReturn(true);
+        this.controller.GetSelectedDstMapResultForTransfer().add(elementDefinition);
+        
+        assertTrue(this.controller.TransferToHub().getLeft());
+        verify(transaction, times(1)).createOrUpdate(addedDefinition);
+        verify(transaction, never()).createOrUpdate(existingDefinition);
+        verify(transaction, times(1)).getAddedThing();
+    }
+    
+    @Test
+    public void VerifyChunkedTransferToHubResumesAfterTheLastCommittedBatch() throws TransactionException
+    {
+        when(this.userPreference.Get(eq(UserPreferenceKey.HubTransferBatchSize), any(), any())).thenReturn(1);
+        
+        var usedElementDefinition = new ElementDefinition(UUID.randomUUID(), null, null);
+        var elementDefinition = new ElementDefinition(UUID.randomUUID(), null, null);
+        var elementUsage = new ElementUsage();
+        elementUsage.setIid(UUID.randomUUID());
+        elementUsage.setElementDefinition(usedElementDefinition);
+        elementDefinition.getContainedElement().add(elementUsage);
+        
+        var transaction = mock(ThingTransaction.class);
+        when(transaction.getAddedThing()).thenReturn(ImmutableList.of());
+        var iterationTransaction = Pair.of(new Iteration(), transaction);
+        
+        when(this.hubController.GetIterationTransaction())
+            .thenReturn(iterationTransaction)
+            .thenThrow(new IllegalStateException("Request timeout"))
+            .thenReturn(iterationTransaction);
+        
+        when(this.hubController.TrySupplyAndCreateLogEntry(any(ThingTransaction.class))).thenReturn(true);
+        when(this.hubController.Refresh()).thenReturn(true);
+        
+        this.controller.GetSelectedDstMapResultForTransfer().add(elementDefinition);
+        this.controller.GetSelectedDstMapResultForTransfer().add(usedElementDefinition);
+        
+        assertFalse(this.controller.TransferToHub().getLeft());
+        verify(this.hubController, times(1)).Write(any(ThingTransaction.class));
+        verify(transaction, times(1)).createOrUpdate(usedElementDefinition);
+        verify(transaction, never()).createOrUpdate(elementDefinition);
+        
+        assertTrue(this.controller.TransferToHub().getLeft());
+        verify(this.hubController, times(2)).Write(any(ThingTransaction.class));
+        verify(this.hubController, times(1)).Refresh();
+        verify(transaction, times(1)).createOrUpdate(usedElementDefinition);
+        verify(transaction, times(1)).createOrUpdate(elementDefinition);
+    }
+    
+    @Test
+    public void VerifyChunkedTransferToHubRestartsWhenTheIterationChangedSinceTheLastCommittedBatch() throws TransactionException
+    {
+        when(this.userPreference.Get(eq(UserPreferenceKey.HubTransferBatchSize), any(), any())).thenReturn(1);
+        
+        var iteration = new Iteration();
+        iteration.setRevisionNumber(1);
+        when(this.hubController.GetOpenIteration()).thenReturn(iteration);
+        
+        var usedElementDefinition = new ElementDefinition(UUID.randomUUID(), null, null);
+        var elementDefinition = new ElementDefinition(UUID.randomUUID(), null, null);
+        var elementUsage = new ElementUsage();
+        elementUsage.setIid(UUID.randomUUID());
+        elementUsage.setElementDefinition(usedElementDefinition);
+        elementDefinition.getContainedElement().add(elementUsage);
+        
+        var transaction = mock(ThingTransaction.class);
+        when(transaction.getAddedThing()).thenReturn(ImmutableList.of());
+        var iterationTransaction = Pair.of(new Iteration(), transaction);
+        
+        when(this.hubController.GetIterationTransaction())
+            .thenReturn(iterationTransaction)
+            .thenThrow(new IllegalStateException("Request timeout"))
+            .thenReturn(iterationTransaction);
+        
+        when(this.hubController.TrySupplyAndCreateLogEntry(any(ThingTransaction.class))).thenReturn(true);
+        when(this.hubController.Refresh()).thenReturn(true);
+        
+        this.controller.GetSelectedDstMapResultForTransfer().add(elementDefinition);
+        this.controller.GetSelectedDstMapResultForTransfer().add(usedElementDefinition);
+        
+        assertFalse(this.controller.TransferToHub().getLeft());
+        verify(this.hubController, times(1)).Write(any(ThingTransaction.class));
+        verify(transaction, times(1)).createOrUpdate(usedElementDefinition);
+        
+        iteration.setRevisionNumber(2);
+        
+        assertTrue(this.controller.TransferToHub().getLeft());
+        verify(this.hubController, times(3)).Write(any(ThingTransaction.class));
+        verify(transaction, times(2)).createOrUpdate(usedElementDefinition);
+        verify(transaction, times(1)).createOrUpdate(elementDefinition);
+    }
+    
+    @Test
+    public void VerifyTransferAppliesTheTransferReport()
+    {
+        var elementDefinition = new ElementDefinition(UUID.randomUUID(), null, null);
+        var component = mock(LogicalComponent.class);
+        when(component.getId()).thenReturn(UUID.randomUUID().toString());
+        this.controller.GetDstMapResult().add(new MappedElementDefinitionRowViewModel(elementDefinition, component, MappingDirection.FromDstToHub));
+        
+        var transaction = mock(ThingTransaction.class);
+        when(transaction.getAddedThing()).thenReturn(ImmutableList.of());
+        when(this.hubController.GetIterationTransaction()).thenReturn(Pair.of(new Iteration(), transaction));
+        when(this.hubController.TrySupplyAndCreateLogEntry(any(ThingTransaction.class))).thenReturn(true);
+        when(this.hubController.Refresh()).thenReturn(true);
+        when(this.mappingConfigurationService.ReloadMapping(any(), any())).thenReturn(new ArrayList<>());
+        clearInvocations(this.mappingConfigurationService);
+        
+        this.controller.GetSelectedDstMapResultForTransfer().add(elementDefinition);
+        assertTrue(this.controller.Transfer());
+        
+        var transferReport = this.controller.GetLastTransferReport();
+        assertTrue(transferReport.IsComplete());
+        assertEquals(MappingDirection.FromDstToHub, transferReport.GetMappingDirection());
+        assertTrue(transferReport.GetCreatedThings().containsKey(elementDefinition.getIid()));
+        assertTrue(transferReport.GetUpdatedElements().contains(component));
+        verify(this.mappingConfigurationService, times(1)).ReloadMapping(argThat(x -> x.size() == 1 && x.contains(component)), any());
+        verify(this.mappingConfigurationService, never()).LoadMapping(any(IProgressMonitor.class));
+    }
+    
+    @Test
+    public void VerifyFailedTransferReloadsTheWholeMapping()
+    {
+        var elementDefinition = new ElementDefinition(UUID.randomUUID(), null, null);
+        this.controller.GetDstMapResult().add(new MappedElementDefinitionRowViewModel(elementDefinition, mock(LogicalComponent.class), MappingDirection.FromDstToHub));
+        
+        var transaction = mock(ThingTransaction.class);
+        when(transaction.getAddedThing()).thenReturn(ImmutableList.of());
+        when(this.hubController.GetIterationTransaction()).thenReturn(Pair.of(new Iteration(), transaction));
+        when(this.hubController.TrySupplyAndCreateLogEntry(any(ThingTransaction.class))).thenReturn(true);
+        when(this.hubController.Refresh()).thenReturn(false);
+        clearInvocations(this.mappingConfigurationService);
+        
+        this.controller.GetSelectedDstMapResultForTransfer().add(elementDefinition);
+        assertFalse(this.controller.Transfer());
+        
+        assertFalse(this.controller.GetLastTransferReport().IsComplete());
+        verify(this.mappingConfigurationService, times(1)).LoadMapping(any(IProgressMonitor.class));
+        verify(this.mappingConfigurationService, never()).ReloadMapping(any(), any());
     }
     
     @Test
@@ -377,6 +933,12 @@ public class DstControllerTestFixture
         refElement.Set(null);
         assertTrue(this.controller.TryGetElementByName(elementDefinition, refElement));
         assertSame(component0, refElement.Get());
+        refElement.Set(null);
+        assertTrue(this.controller.TryGetElementBy("Component2", null, x -> true, refElement));
+        assertSame(component2, refElement.Get());
+        refElement.Set(null);
+        assertFalse(this.controller.TryGetElementBy("component2", CapellaArchitecture.PhysicalArchitecture, x -> true, refElement));
+        assertFalse(this.controller.TryGetElementBy("component1", null, x -> false, refElement));
     }
     
     private void SetupCapellaSession(CapellaElement... elements)
@@ -390,6 +952,23 @@ public class DstControllerTestFixture
         var sessionElements = new HashMap<org.eclipse.emf.common.util.URI, List<Element>>();
         sessionElements.put(sessionUri, Arrays.<Element>asList(elements));
         when(this.capellaSessionService.GetAllCapellaElementsFromOpenSessions()).thenReturn(sessionElements);
+        when(this.capellaSessionService.GetOpenSessions()).thenReturn(Arrays.asList(session));
+        when(this.capellaSessionService.GetOpenSessionsInLookupOrder()).thenReturn(Arrays.asList(session));
+        when(this.capellaSessionService.GetElementById(eq(session), any())).thenAnswer(x -> Arrays.stream(elements)
+                .filter(e -> e.getId() != null && e.getId().equals(x.getArgument(1)))
+                .findFirst().orElse(null));
+        when(this.capellaSessionService.GetElementsByReqIFIdentifier(eq(session), any())).thenAnswer(x -> Arrays.stream(elements)
+                .filter(e -> e instanceof Requirement && x.getArgument(1) != null 
+                        && x.getArgument(1, String.class).equalsIgnoreCase(((Requirement)e).getReqIFIdentifier()))
+                .collect(Collectors.toList()));
+        when(this.capellaSessionService.GetElements(session)).thenReturn(Arrays.<Element>asList(elements));
+        when(this.capellaSessionService.GetElementsOfType(eq(session), any(Class.class))).thenAnswer(x -> Arrays.stream(elements)
+                .filter(e -> x.getArgument(1, Class.class).isInstance(e))
+                .collect(Collectors.toList()));
+        when(this.capellaSessionService.GetElementsByName(any(), any())).thenAnswer(x -> Arrays.stream(elements)
+                .filter(e -> e instanceof NamedElement && x.getArgument(1) != null 
+                        && ((NamedElement)e).getName().equalsIgnoreCase(x.getArgument(1, String.class)))
+                .collect(Collectors.toList()));
     }
     
     @Test
@@ -520,4 +1099,52 @@ public class DstControllerTestFixture
 
         assertTrue(this.controller.TransferToDst());
     }
+
+    @Test
+    public void VerifyTransferToDstOnlyReconcilesTheDeploymentLinksThatDiffer()
+    {
+        var topElement = mock(PhysicalComponent.class);
+        when(topElement.getId()).thenReturn(UUID.randomUUID().toString());
+        var location = mock(Part.class);
+        when(topElement.eContents()).thenReturn(new BasicEList<EObject>(Arrays.asList(location)));
+        when(this.capellaSessionService.GetTopElement(CapellaArchitecture.PhysicalArchitecture)).thenReturn(topElement);
+        
+        var deployedPart = mock(Part.class);
+        var partToDeploy = mock(Part.class);
+        var component = mock(PhysicalComponent.class);
+        when(component.getId()).thenReturn(UUID.randomUUID().toString());
+        when(component.eContainer()).thenReturn(topElement);
+        when(component.eContents()).thenReturn(new BasicEList<EObject>(Arrays.asList(deployedPart, partToDeploy)));
+        
+        var mapResult = new ArrayList<MappedElementRowViewModel<? extends Thing, ? extends CapellaElement>>();
+        mapResult.add(new MappedElementDefinitionRowViewModel(new ElementDefinition(), component, MappingDirection.FromHubToDst));
+        when(this.mappingEngine.Map(any())).thenReturn(mapResult);
+        assertTrue(this.controller.Map(mock(IMappableThingCollection.class), MappingDirection.FromHubToDst));
+        
+        var keptLink = mock(PartDeploymentLink.class);
+        when(keptLink.getDeployedElement()).thenReturn(deployedPart);
+        var staleLink = mock(PartDeploymentLink.class);
+        when(staleLink.getDeployedElement()).thenReturn(mock(Part.class));
+        var links = new BasicEList<AbstractDeploymentLink>(Arrays.asList(keptLink, staleLink));
+        when(location.getOwnedDeploymentLinks()).thenReturn(links);
+        
+        var newLink = mock(PartDeploymentLink.class);
+        when(newLink.getDeployedElement()).thenReturn(partToDeploy);
+        when(this.transactionService.Create(PartDeploymentLink.class)).thenReturn(newLink);
+        when(this.transactionService.GetOriginal(any())).thenAnswer(x -> x.getArgument(0));
+        when(this.transactionService.Commit(any())).thenAnswer(x ->
+        {
+            x.getArgument(0, Runnable.class).run();
+            return true;
+        });
+        
+        assertTrue(this.controller.TransferToDst());
+        assertEquals(Arrays.asList(keptLink, newLink), links);
+        verify(newLink, times(1)).setDeployedElement(partToDeploy);
+        verify(newLink, times(1)).setLocation(location);
+        verify(this.logService, times(1)).Append("Deployment links: %s kept, %s added, %s removed", 1, 1, 1);
+        
+        assertTrue(this.controller.TransferToDst());
+        verify(this.transactionService, times(1)).Create(PartDeploymentLink.class);
+    }
 }
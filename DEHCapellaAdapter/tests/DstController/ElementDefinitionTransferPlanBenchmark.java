@@ -0,0 +1,128 @@
+/*
+ * ElementDefinitionTransferPlanBenchmark.java
+ *
+ * Copyright (c) 2020-2024 Starion Group S.A.
+ *
+ * Author: Sam Gerené, Alex Vorobiev, Nathanael Smiechowski 
+ *
+ * This file is part of DEH-MDSYSML
+ *
+ * The DEH-MDSYSML is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * The DEH-MDSYSML is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package DstController;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.apache.commons.lang3.time.StopWatch;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import MappingRules.ComponentToElementMappingRule;
+import cdp4common.commondata.Definition;
+import cdp4common.engineeringmodeldata.ElementDefinition;
+import cdp4common.engineeringmodeldata.ElementUsage;
+import cdp4common.engineeringmodeldata.Parameter;
+import cdp4common.engineeringmodeldata.ParameterOverride;
+
+/**
+ * Times the parallel planning of the {@linkplain ElementDefinitionTransferPlan}s against the sequential one, 
+ * excluded from the default test run, run it with -Dbenchmark=true
+ */
+@Tag("benchmark")
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+public class ElementDefinitionTransferPlanBenchmark
+{
+    private static final int ELEMENTDEFINITIONCOUNT = 2000;
+    private static final int WARMUPCOUNT = 5;
+    private static final int RUNCOUNT = 10;
+
+    private final Logger logger = LogManager.getLogger();
+
+    @Test
+    public void BenchmarkParallelPlansAgainstSequentialPlans()
+    {
+        var elementDefinitions = new ArrayList<ElementDefinition>();
+        
+        for (var index = 0; index < ELEMENTDEFINITIONCOUNT; index++)
+        {
+            elementDefinitions.add(this.CreateElementDefinition());
+        }
+        
+        for (var warmup = 0; warmup < WARMUPCOUNT; warmup++)
+        {
+            ElementDefinitionTransferPlan.CreateAll(elementDefinitions, false, false);
+            ElementDefinitionTransferPlan.CreateAll(elementDefinitions, false, true);
+        }
+        
+        var sequentialTime = this.Measure(() -> ElementDefinitionTransferPlan.CreateAll(elementDefinitions, false, false));
+        var parallelTime = this.Measure(() -> ElementDefinitionTransferPlan.CreateAll(elementDefinitions, false, true));
+        
+        var sequentialPlans = ElementDefinitionTransferPlan.CreateAll(elementDefinitions, false, false);
+        var parallelPlans = ElementDefinitionTransferPlan.CreateAll(elementDefinitions, false, true);
+        
+        for (var index = 0; index < elementDefinitions.size(); index++)
+        {
+            assertSame(sequentialPlans.get(index).GetElementDefinition(), parallelPlans.get(index).GetElementDefinition());
+            assertEquals(sequentialPlans.get(index).GetParameters(), parallelPlans.get(index).GetParameters());
+        }
+        
+        this.logger.info(String.format("Planning %s element definitions: sequential %s µs, parallel %s µs, speedup %.2f", 
+                elementDefinitions.size(), sequentialTime, parallelTime, (double)sequentialTime / Math.max(1, parallelTime)));
+    }
+
+    private long Measure(Supplier<List<ElementDefinitionTransferPlan>> planner)
+    {
+        var times = new ArrayList<Long>();
+        
+        for (var run = 0; run < RUNCOUNT; run++)
+        {
+            var timer = StopWatch.createStarted();
+            assertEquals(ELEMENTDEFINITIONCOUNT, planner.get().size());
+            timer.stop();
+            times.add(timer.getTime(TimeUnit.MICROSECONDS));
+        }
+        
+        times.sort(Long::compare);
+        return times.get(times.size() / 2);
+    }
+
+    private ElementDefinition CreateElementDefinition()
+    {
+        var elementDefinition = new ElementDefinition(UUID.randomUUID(), null, null);
+        elementDefinition.getParameter().add(new Parameter(UUID.randomUUID(), null, null));
+        
+        var elementUsage = new ElementUsage(UUID.randomUUID(), null, null);
+        elementUsage.setElementDefinition(new ElementDefinition(UUID.randomUUID(), null, null));
+        var definition = new Definition(UUID.randomUUID(), null, null);
+        definition.setLanguageCode(ComponentToElementMappingRule.CIID);
+        elementUsage.getDefinition().add(definition);
+        
+        var parameterOverride = new ParameterOverride(UUID.randomUUID(), null, null);
+        parameterOverride.setParameter(elementDefinition.getParameter().get(0));
+        elementUsage.getParameterOverride().add(parameterOverride);
+        elementDefinition.getContainedElement().add(elementUsage);
+        
+        return elementDefinition;
+    }
+}
@@ -0,0 +1,140 @@
+/*
+ * ElementDefinitionTransferPlanTestFixture.java
+ *
+ * Copyright (c) 2020-2024 Starion Group S.A.
+ *
+ * Author: Sam Gerené, Alex Vorobiev, Nathanael Smiechowski 
+ *
+ * This file is part of DEH-MDSYSML
+ *
+ * The DEH-MDSYSML is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * The DEH-MDSYSML is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package DstController;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import MappingRules.ComponentToElementMappingRule;
+import cdp4common.commondata.Definition;
+import cdp4common.engineeringmodeldata.ElementDefinition;
+import cdp4common.engineeringmodeldata.ElementUsage;
+import cdp4common.engineeringmodeldata.Parameter;
+import cdp4common.engineeringmodeldata.ParameterOverride;
+
+public class ElementDefinitionTransferPlanTestFixture
+{
+    private ElementDefinition elementDefinition;
+    private ElementUsage elementUsage;
+    private Definition definition;
+    private Parameter newParameter;
+    private Parameter unchangedParameter;
+    private ParameterOverride parameterOverride;
+
+    @BeforeEach
+    public void Setup()
+    {
+        this.elementDefinition = this.CreateElementDefinition();
+        this.elementUsage = this.elementDefinition.getContainedElement().get(0);
+        this.definition = this.elementUsage.getDefinition().get(1);
+        this.newParameter = this.elementDefinition.getParameter().get(0);
+        this.unchangedParameter = this.elementDefinition.getParameter().get(1);
+        this.parameterOverride = this.elementUsage.getParameterOverride().get(0);
+    }
+
+    private ElementDefinition CreateElementDefinition()
+    {
+        var elementDefinition = new ElementDefinition(UUID.randomUUID(), null, null);
+        
+        var newParameter = new Parameter(UUID.randomUUID(), null, null);
+        var unchangedParameter = new Parameter(UUID.randomUUID(), null, null);
+        unchangedParameter.setRevisionNumber(2);
+        elementDefinition.getParameter().add(newParameter);
+        elementDefinition.getParameter().add(unchangedParameter);
+        
+        var elementUsage = new ElementUsage(UUID.randomUUID(), null, null);
+        elementUsage.setElementDefinition(new ElementDefinition(UUID.randomUUID(), null, null));
+        var otherDefinition = new Definition(UUID.randomUUID(), null, null);
+        otherDefinition.setLanguageCode("en");
+        var definition = new Definition(UUID.randomUUID(), null, null);
+        definition.setLanguageCode(ComponentToElementMappingRule.CIID);
+        elementUsage.getDefinition().add(otherDefinition);
+        elementUsage.getDefinition().add(definition);
+        
+        var parameterOverride = new ParameterOverride(UUID.randomUUID(), null, null);
+        parameterOverride.setParameter(newParameter);
+        elementUsage.getParameterOverride().add(parameterOverride);
+        elementDefinition.getContainedElement().add(elementUsage);
+        
+        return elementDefinition;
+    }
+
+    @Test
+    public void VerifyCreate()
+    {
+        var plan = ElementDefinitionTransferPlan.Create(this.elementDefinition, false);
+        
+        assertSame(this.elementDefinition, plan.GetElementDefinition());
+        assertEquals(1, plan.GetParameters().size());
+        assertSame(this.newParameter, plan.GetParameters().get(0));
+        assertEquals(1, plan.GetElementUsages().size());
+        
+        var elementUsagePlan = plan.GetElementUsages().get(0);
+        assertSame(this.elementUsage, elementUsagePlan.GetElementUsage());
+        assertSame(this.definition, elementUsagePlan.GetDefinition());
+        assertEquals(this.elementUsage.getElementDefinition().getIid(), elementUsagePlan.GetUsedElementDefinition().getIid());
+        assertNotSame(this.elementUsage.getElementDefinition(), elementUsagePlan.GetUsedElementDefinition());
+        assertTrue(elementUsagePlan.GetParameterOverrides().isEmpty());
+        assertThrows(UnsupportedOperationException.class, () -> plan.GetParameters().clear());
+        
+        var planWithAllOverrides = ElementDefinitionTransferPlan.Create(this.elementDefinition, true);
+        assertSame(this.parameterOverride, planWithAllOverrides.GetElementUsages().get(0).GetParameterOverrides().get(0));
+        
+        this.elementUsage.setRevisionNumber(1);
+        this.newParameter.setRevisionNumber(1);
+        this.parameterOverride.setRevisionNumber(0);
+        assertEquals(1, ElementDefinitionTransferPlan.Create(this.elementDefinition, false).GetElementUsages().get(0).GetParameterOverrides().size());
+        this.elementUsage.getDefinition().remove(this.definition);
+        assertNull(ElementDefinitionTransferPlan.Create(this.elementDefinition, false).GetElementUsages().get(0).GetDefinition());
+    }
+
+    @Test
+    public void VerifyParallelPlansMatchSequentialPlans()
+    {
+        var elementDefinitions = new ArrayList<ElementDefinition>();
+        
+        for (var index = 0; index < 500; index++)
+        {
+            elementDefinitions.add(this.CreateElementDefinition());
+        }
+        
+        var sequentialPlans = ElementDefinitionTransferPlan.CreateAll(elementDefinitions, false, false);
+        var parallelPlans = ElementDefinitionTransferPlan.CreateAll(elementDefinitions, false, true);
+        
+        assertEquals(elementDefinitions.size(), parallelPlans.size());
+        assertEquals(elementDefinitions.size(), ElementDefinitionTransferPlan.CreateAll(elementDefinitions, false).size());
+        
+        for (var index = 0; index < elementDefinitions.size(); index++)
+        {
+            assertSame(elementDefinitions.get(index), parallelPlans.get(index).GetElementDefinition());
+            assertEquals(sequentialPlans.get(index).GetParameters(), parallelPlans.get(index).GetParameters());
+            assertSame(sequentialPlans.get(index).GetElementUsages().get(0).GetDefinition(), parallelPlans.get(index).GetElementUsages().get(0).GetDefinition());
+        }
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * HubTransferBatchPlannerTestFixture.java
+ *
+ * Copyright (c) 2020-2024 Starion Group S.A.
+ *
+ * Author: Sam Gerené, Alex Vorobiev, Nathanael Smiechowski 
+ *
+ * This file is part of DEH-MDSYSML
+ *
+ * The DEH-MDSYSML is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * The DEH-MDSYSML is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package DstController;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import cdp4common.commondata.Thing;
+import cdp4common.engineeringmodeldata.BinaryRelationship;
+import cdp4common.engineeringmodeldata.ElementDefinition;
+import cdp4common.engineeringmodeldata.ElementUsage;
+import cdp4common.engineeringmodeldata.Requirement;
+import cdp4common.engineeringmodeldata.RequirementsSpecification;
+
+public class HubTransferBatchPlannerTestFixture
+{
+    private ElementDefinition elementDefinition;
+    private ElementDefinition usedElementDefinition;
+    private Requirement requirement;
+    private BinaryRelationship relationship;
+    private List<Thing> things;
+
+    @BeforeEach
+    public void Setup()
+    {
+        this.usedElementDefinition = new ElementDefinition(UUID.randomUUID(), null, null);
+        this.elementDefinition = new ElementDefinition(UUID.randomUUID(), null, null);
+        var elementUsage = new ElementUsage(UUID.randomUUID(), null, null);
+        elementUsage.setElementDefinition(this.usedElementDefinition);
+        this.elementDefinition.getContainedElement().add(elementUsage);
+        
+        var requirementsSpecification = new RequirementsSpecification(UUID.randomUUID(), null, null);
+        this.requirement = new Requirement(UUID.randomUUID(), null, null);
+        requirementsSpecification.getRequirement().add(this.requirement);
+        
+        this.relationship = new BinaryRelationship(UUID.randomUUID(), null, null);
+        this.things = Arrays.asList(this.relationship, this.elementDefinition, this.requirement, this.usedElementDefinition);
+    }
+
+    @Test
+    public void VerifyGetWeight()
+    {
+        assertEquals(2, HubTransferBatchPlanner.GetWeight(this.elementDefinition));
+        assertEquals(1, HubTransferBatchPlanner.GetWeight(this.usedElementDefinition));
+        assertEquals(1, HubTransferBatchPlanner.GetWeight(this.requirement));
+        assertEquals(2, HubTransferBatchPlanner.GetUnitWeight(Arrays.asList(this.requirement)));
+        assertEquals(1, HubTransferBatchPlanner.GetWeight(this.relationship));
+    }
+
+    @Test
+    public void VerifyPlan()
+    {
+        var batches = HubTransferBatchPlanner.Plan(this.things, 2);
+        
+        assertEquals(4, batches.size());
+        assertEquals(Arrays.asList(this.usedElementDefinition), batches.get(0));
+        assertEquals(Arrays.asList(this.elementDefinition), batches.get(1));
+        assertEquals(Arrays.asList(this.requirement), batches.get(2));
+        assertEquals(Arrays.asList(this.relationship), batches.get(3));
+        
+        batches = HubTransferBatchPlanner.Plan(this.things, 3);
+        
+        assertEquals(2, batches.size());
+        assertEquals(Arrays.asList(this.usedElementDefinition, this.elementDefinition), batches.get(0));
+        assertEquals(Arrays.asList(this.requirement, this.relationship), batches.get(1));
+        
+        assertEquals(1, HubTransferBatchPlanner.Plan(this.things, 1000).size());
+        assertTrue(HubTransferBatchPlanner.Plan(Arrays.asList(), 10).isEmpty());
+    }
+}
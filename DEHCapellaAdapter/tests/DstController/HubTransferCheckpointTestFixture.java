@@ -0,0 +1,72 @@
+/*
+ * HubTransferCheckpointTestFixture.java
+ *
+ * Copyright (c) 2020-2024 Starion Group S.A.
+ *
+ * Author: Sam Gerené, Alex Vorobiev, Nathanael Smiechowski 
+ *
+ * This file is part of DEH-MDSYSML
+ *
+ * The DEH-MDSYSML is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * The DEH-MDSYSML is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package DstController;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Arrays;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+import cdp4common.engineeringmodeldata.ElementDefinition;
+
+public class HubTransferCheckpointTestFixture
+{
+    @Test
+    public void VerifyCommit()
+    {
+        var committedThing = new ElementDefinition(UUID.randomUUID(), null, null);
+        var remainingThing = new ElementDefinition(UUID.randomUUID(), null, null);
+        var thingsToTransfer = Arrays.asList(committedThing, remainingThing);
+        var checkpoint = new HubTransferCheckpoint(3, 7, thingsToTransfer, 12);
+        
+        assertTrue(checkpoint.CanResume(3, 7, thingsToTransfer, 12));
+        assertFalse(checkpoint.CanResume(4, 7, thingsToTransfer, 12));
+        assertEquals(0, checkpoint.GetCommittedBatchCount());
+        
+        checkpoint.Commit(Arrays.asList(committedThing), 13);
+        
+        assertEquals(1, checkpoint.GetCommittedBatchCount());
+        assertTrue(checkpoint.IsCommitted(committedThing));
+        assertFalse(checkpoint.IsCommitted(remainingThing));
+        assertFalse(checkpoint.IsCommitted(new ElementDefinition()));
+        assertTrue(checkpoint.CanResume(3, 7, thingsToTransfer, 13));
+        assertFalse(checkpoint.CanResume(3, 7, thingsToTransfer, 12));
+    }
+    
+    @Test
+    public void VerifyCanResumeDiscardsTheCheckpointWhenAnythingChanged()
+    {
+        var thing = new ElementDefinition(UUID.randomUUID(), null, null);
+        var otherThing = new ElementDefinition(UUID.randomUUID(), null, null);
+        var checkpoint = new HubTransferCheckpoint(3, 7, Arrays.asList(thing, otherThing), 12);
+        
+        assertTrue(checkpoint.CanResume(3, 7, Arrays.asList(otherThing, thing), 12));
+        assertFalse(checkpoint.CanResume(3, 8, Arrays.asList(thing, otherThing), 12));
+        assertFalse(checkpoint.CanResume(3, 7, Arrays.asList(thing), 12));
+        assertFalse(checkpoint.CanResume(3, 7, Arrays.asList(thing, otherThing, new ElementDefinition(UUID.randomUUID(), null, null)), 12));
+        assertFalse(checkpoint.CanResume(3, 7, Arrays.asList(thing, otherThing), 14));
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * HubTransferRegistrarTestFixture.java
+ *
+ * Copyright (c) 2020-2024 Starion Group S.A.
+ *
+ * Author: Sam Gerené, Alex Vorobiev, Nathanael Smiechowski 
+ *
+ * This file is part of DEH-MDSYSML
+ *
+ * The DEH-MDSYSML is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * The DEH-MDSYSML is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package DstController;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+import Enumerations.MappingDirection;
+import Services.HistoryService.ICapellaLocalExchangeHistoryService;
+import cdp4common.ChangeKind;
+import cdp4common.commondata.ClassKind;
+import cdp4common.commondata.Thing;
+import cdp4common.engineeringmodeldata.ElementDefinition;
+import cdp4common.engineeringmodeldata.Iteration;
+import cdp4common.engineeringmodeldata.ParameterOverride;
+import cdp4dal.exceptions.TransactionException;
+import cdp4dal.operations.ThingTransaction;
+
+public class HubTransferRegistrarTestFixture
+{
+    @Test
+    public void VerifyAddOrUpdate() throws TransactionException
+    {
+        var exchangeHistory = mock(ICapellaLocalExchangeHistoryService.class);
+        var registrar = new HubTransferRegistrar(exchangeHistory);
+        var transaction = mock(ThingTransaction.class);
+        var iteration = new Iteration(UUID.randomUUID(), null, null);
+        var elementDefinition = new ElementDefinition(UUID.randomUUID(), null, null);
+        
+        registrar.AddOrUpdate(elementDefinition, iteration.getElement(), transaction);
+        registrar.AddOrUpdate(elementDefinition, iteration.getElement(), transaction);
+        
+        assertSame(iteration, elementDefinition.getContainer());
+        assertEquals(1, iteration.getElement().size());
+        verify(exchangeHistory, times(1)).Append(elementDefinition, ChangeKind.CREATE);
+        verify(exchangeHistory, times(1)).Append(elementDefinition, ChangeKind.UPDATE);
+        verify(transaction, times(2)).createOrUpdate(elementDefinition);
+    }
+
+    @Test
+    public void VerifyPreassignIids()
+    {
+        var registrar = new HubTransferRegistrar(mock(ICapellaLocalExchangeHistoryService.class));
+        var parameterOverride = new ParameterOverride();
+        
+        registrar.PreassignIids(parameterOverride);
+        
+        assertNotNull(parameterOverride.getIid());
+    }
+
+    @Test
+    public void VerifyCountingRegistrarAttachesNothing() throws TransactionException
+    {
+        var estimate = new TransferEstimate(MappingDirection.FromDstToHub);
+        var registrar = new CountingHubTransferRegistrar(estimate);
+        var transaction = mock(ThingTransaction.class);
+        var iteration = new Iteration(UUID.randomUUID(), null, null);
+        var newElementDefinition = new ElementDefinition(UUID.randomUUID(), null, null);
+        var existingElementDefinition = new ElementDefinition(UUID.randomUUID(), null, null);
+        existingElementDefinition.setRevisionNumber(1);
+        var parameterOverride = new ParameterOverride();
+        
+        registrar.AddOrUpdate(newElementDefinition, iteration.getElement(), transaction);
+        registrar.Register(transaction, existingElementDefinition);
+        registrar.PreassignIids(parameterOverride);
+        
+        assertNull(newElementDefinition.getContainer());
+        assertTrue(iteration.getElement().isEmpty());
+        assertNull(parameterOverride.getIid());
+        assertEquals(2, estimate.GetThingCounts().get(ClassKind.ElementDefinition));
+        assertEquals(1, registrar.GetAddedThings(transaction).size());
+        assertTrue(registrar.GetAddedThings(transaction).contains(newElementDefinition));
+        verify(transaction, never()).createOrUpdate(any(Thing.class));
+        verify(transaction, never()).getAddedThing();
+    }
+}
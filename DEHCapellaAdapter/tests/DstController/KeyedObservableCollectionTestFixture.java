@@ -0,0 +1,99 @@
+/*
+ * KeyedObservableCollectionTestFixture.java
+ *
+ * Copyright (c) 2020-2024 Starion Group S.A.
+ *
+ * Author: Sam Gerené, Alex Vorobiev, Nathanael Smiechowski 
+ *
+ * This file is part of DEH-MDSYSML
+ *
+ * The DEH-MDSYSML is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * The DEH-MDSYSML is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package DstController;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class KeyedObservableCollectionTestFixture
+{
+    private KeyedObservableCollection<Character, String> collection;
+    private ArrayList<Collection<String>> addedBatches;
+
+    @BeforeEach
+    public void Setup()
+    {
+        this.collection = new KeyedObservableCollection<>(x -> x.isEmpty() ? null : x.charAt(0));
+        this.addedBatches = new ArrayList<>();
+        this.collection.ItemsAdded().subscribe(x -> this.addedBatches.add(x));
+    }
+
+    @Test
+    public void VerifyUpsert()
+    {
+        assertFalse(this.collection.Upsert(null));
+        assertFalse(this.collection.Upsert(new ArrayList<>()));
+        assertFalse(this.collection.Upsert(Arrays.asList((String)null)));
+        assertTrue(this.addedBatches.isEmpty());
+        
+        assertTrue(this.collection.Upsert(Arrays.asList("alpha", "bravo", "", "charlie", "beta")));
+        assertEquals(4, this.collection.size());
+        assertTrue(this.collection.containsAll(Arrays.asList("alpha", "beta", "", "charlie")));
+        assertFalse(this.collection.contains("bravo"));
+        assertEquals(1, this.addedBatches.size());
+        
+        assertTrue(this.collection.Upsert(Arrays.asList("apple", "", "delta")));
+        assertEquals(6, this.collection.size());
+        assertFalse(this.collection.contains("alpha"));
+        assertTrue(this.collection.containsAll(Arrays.asList("apple", "beta", "charlie", "delta")));
+        assertEquals(2, this.collection.stream().filter(String::isEmpty).count());
+        assertEquals(2, this.addedBatches.size());
+    }
+
+    @Test
+    public void VerifyContainsKey()
+    {
+        this.collection.Upsert(Arrays.asList("alpha", ""));
+        assertTrue(this.collection.ContainsKey('a'));
+        assertFalse(this.collection.ContainsKey('b'));
+        assertFalse(this.collection.ContainsKey(null));
+        assertEquals('a', this.collection.GetKey("alpha"));
+        assertNull(this.collection.GetKey(null));
+    }
+
+    @Test
+    public void VerifyReplace()
+    {
+        this.collection.Upsert(Arrays.asList("alpha", "bravo", "charlie"));
+        
+        var result = this.collection.Replace(x -> x.startsWith("c"), Arrays.asList("beta", "delta"));
+        assertTrue(result.getLeft());
+        assertTrue(result.getRight());
+        assertEquals(3, this.collection.size());
+        assertTrue(this.collection.containsAll(Arrays.asList("alpha", "beta", "delta")));
+        assertEquals(2, this.addedBatches.size());
+        
+        result = this.collection.Replace(x -> true, null);
+        assertTrue(result.getLeft());
+        assertFalse(result.getRight());
+        assertTrue(this.collection.isEmpty());
+        assertEquals(2, this.addedBatches.size());
+    }
+}
@@ -0,0 +1,142 @@
+/*
+ * MappingReloadSchedulerTestFixture.java
+ *
+ * Copyright (c) 2020-2024 Starion Group S.A.
+ *
+ * Author: Sam Gerené, Alex Vorobiev, Nathanael Smiechowski 
+ *
+ * This file is part of DEH-MDSYSML
+ *
+ * The DEH-MDSYSML is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * The DEH-MDSYSML is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package DstController;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import Utils.Ref;
+import io.reactivex.schedulers.TestScheduler;
+
+public class MappingReloadSchedulerTestFixture
+{
+    private TestScheduler testScheduler;
+    private ArrayList<Boolean> reloads;
+    private Ref<Integer> state;
+    private MappingReloadScheduler scheduler;
+
+    @BeforeEach
+    public void Setup()
+    {
+        this.testScheduler = new TestScheduler();
+        this.reloads = new ArrayList<>();
+        this.state = new Ref<>(Integer.class, 0);
+        
+        this.scheduler = new MappingReloadScheduler(100, this.testScheduler, () -> this.state.Get(), (x, monitor) -> this.reloads.add(x));
+    }
+
+    @Test
+    public void VerifyRequestsAreCoalesced()
+    {
+        this.scheduler.Request(false);
+        this.testScheduler.advanceTimeBy(50, TimeUnit.MILLISECONDS);
+        this.scheduler.Request(true);
+        this.testScheduler.advanceTimeBy(50, TimeUnit.MILLISECONDS);
+        this.scheduler.Request(false);
+        assertTrue(this.reloads.isEmpty());
+        
+        this.testScheduler.advanceTimeBy(100, TimeUnit.MILLISECONDS);
+        assertEquals(1, this.reloads.size());
+        assertTrue(this.reloads.get(0));
+        assertEquals(2, this.scheduler.GetSuppressedReloadCount());
+        
+        this.scheduler.Request(false);
+        this.testScheduler.advanceTimeBy(100, TimeUnit.MILLISECONDS);
+        assertEquals(1, this.reloads.size());
+        assertEquals(3, this.scheduler.GetSuppressedReloadCount());
+        
+        this.state.Set(1);
+        this.scheduler.Request(false);
+        this.testScheduler.advanceTimeBy(100, TimeUnit.MILLISECONDS);
+        assertEquals(2, this.reloads.size());
+        assertFalse(this.reloads.get(1));
+        assertEquals(3, this.scheduler.GetSuppressedReloadCount());
+    }
+
+    @Test
+    public void VerifyReloadsFromTheSameStateAreSkipped()
+    {
+        this.scheduler = new MappingReloadScheduler(0, this.testScheduler, () -> "state", (x, monitor) -> this.reloads.add(x));
+        
+        this.scheduler.Request(true);
+        this.scheduler.Request(true);
+        assertEquals(1, this.reloads.size());
+        assertEquals(1, this.scheduler.GetSuppressedReloadCount());
+        
+        this.scheduler.Invalidate();
+        this.scheduler.Request(false);
+        assertEquals(2, this.reloads.size());
+        
+        this.scheduler.Dispose();
+        this.scheduler.Request(true);
+        assertEquals(2, this.reloads.size());
+    }
+
+    @Test
+    public void VerifyCanceledReloadIsRunAgain()
+    {
+        var monitors = new ArrayList<IProgressMonitor>();
+        
+        this.scheduler = new MappingReloadScheduler(0, this.testScheduler, () -> "state", (x, monitor) -> 
+        {
+            this.reloads.add(x);
+            monitors.add(monitor);
+            
+            if(monitors.size() == 1)
+            {
+                this.scheduler.Request(false);
+            }
+        });
+        
+        this.scheduler.Request(true);
+        
+        assertEquals(2, this.reloads.size());
+        assertTrue(monitors.get(0).isCanceled());
+        assertFalse(monitors.get(1).isCanceled());
+        assertTrue(this.reloads.get(1));
+        assertEquals(0, this.scheduler.GetSuppressedReloadCount());
+    }
+
+    @Test
+    public void VerifyDisposeShutsTheOwnedExecutorDown()
+    {
+        var executor = Executors.newSingleThreadExecutor(MappingReloadScheduler::CreateThread);
+        var ownedScheduler = new MappingReloadScheduler(0, executor, () -> this.state.Get(), (x, monitor) -> this.reloads.add(x));
+        
+        assertFalse(executor.isShutdown());
+        ownedScheduler.Dispose();
+        assertTrue(executor.isShutdown());
+        
+        this.scheduler.Dispose();
+        ownedScheduler.Request(true);
+        assertTrue(this.reloads.isEmpty());
+    }
+}
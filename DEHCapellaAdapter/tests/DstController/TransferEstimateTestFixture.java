@@ -0,0 +1,99 @@
+/*
+ * TransferEstimateTestFixture.java
+ *
+ * Copyright (c) 2020-2024 Starion Group S.A.
+ *
+ * Author: Sam Gerené, Alex Vorobiev, Nathanael Smiechowski 
+ *
+ * This file is part of DEH-MDSYSML
+ *
+ * The DEH-MDSYSML is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * The DEH-MDSYSML is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package DstController;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.util.UUID;
+
+import org.eclipse.emf.ecore.EClass;
+import org.junit.jupiter.api.Test;
+import org.polarsys.capella.core.data.la.LogicalComponent;
+
+import Enumerations.MappingDirection;
+import cdp4common.commondata.ClassKind;
+import cdp4common.engineeringmodeldata.ElementDefinition;
+import cdp4common.engineeringmodeldata.Parameter;
+
+public class TransferEstimateTestFixture
+{
+    @Test
+    public void VerifyAddThing()
+    {
+        var estimate = new TransferEstimate(MappingDirection.FromDstToHub);
+        var elementDefinition = new ElementDefinition(UUID.randomUUID(), null, null);
+        
+        estimate.AddThing(elementDefinition);
+        estimate.AddThing(elementDefinition.clone(false));
+        estimate.AddThing(new Parameter(UUID.randomUUID(), null, null));
+        estimate.AddThing(null);
+        
+        assertEquals(MappingDirection.FromDstToHub, estimate.GetMappingDirection());
+        assertEquals(2, estimate.GetThingCount());
+        assertEquals(1, estimate.GetThingCounts().get(ClassKind.ElementDefinition));
+        assertEquals(1, estimate.GetThingCounts().get(ClassKind.Parameter));
+        assertEquals(0, estimate.GetElementCount());
+        assertTrue(estimate.GetEstimatedPayloadSize() > 0);
+    }
+
+    @Test
+    public void VerifyAddElement()
+    {
+        var estimate = new TransferEstimate(MappingDirection.FromHubToDst);
+        var eClass = mock(EClass.class);
+        when(eClass.getName()).thenReturn("LogicalComponent");
+        var logicalComponent = mock(LogicalComponent.class);
+        when(logicalComponent.eClass()).thenReturn(eClass);
+        var otherLogicalComponent = mock(LogicalComponent.class);
+        when(otherLogicalComponent.eClass()).thenReturn(eClass);
+        
+        estimate.AddElement(logicalComponent);
+        estimate.AddElement(logicalComponent);
+        estimate.AddElement(otherLogicalComponent);
+        estimate.AddElement(null);
+        
+        assertEquals(2, estimate.GetElementCount());
+        assertEquals(2, estimate.GetElementCounts().get("LogicalComponent"));
+        assertEquals(0, estimate.GetThingCount());
+        assertThrows(UnsupportedOperationException.class, () -> estimate.GetElementCounts().clear());
+    }
+
+    @Test
+    public void VerifyPhases()
+    {
+        var estimate = new TransferEstimate(MappingDirection.FromDstToHub);
+        assertEquals(0, estimate.GetEstimatedPayloadSize());
+        
+        estimate.AddPhase("Selection", 3);
+        estimate.AddPhase("Things preparation", 5);
+        estimate.AddPhase("Selection", 1);
+        estimate.SetWriteCount(2);
+        
+        assertEquals(4L, estimate.GetPhaseDurations().get("Selection"));
+        assertEquals("Selection", estimate.GetPhaseDurations().keySet().iterator().next());
+        assertEquals(2, estimate.GetWriteCount());
+        assertTrue(estimate.toString().contains("Things preparation: 5 ms"));
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * TransferReportTestFixture.java
+ *
+ * Copyright (c) 2020-2024 Starion Group S.A.
+ *
+ * Author: Sam Gerené, Alex Vorobiev, Nathanael Smiechowski 
+ *
+ * This file is part of DEH-MDSYSML
+ *
+ * The DEH-MDSYSML is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * The DEH-MDSYSML is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package DstController;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.polarsys.capella.core.data.la.LogicalComponent;
+
+import Enumerations.MappingDirection;
+import cdp4common.engineeringmodeldata.ElementDefinition;
+
+public class TransferReportTestFixture
+{
+    @Test
+    public void VerifyAddThing()
+    {
+        var report = new TransferReport(MappingDirection.FromDstToHub);
+        var createdThing = new ElementDefinition(UUID.randomUUID(), null, null);
+        var updatedThing = new ElementDefinition(UUID.randomUUID(), null, null);
+        updatedThing.setRevisionNumber(3);
+        
+        report.AddThing(createdThing);
+        report.AddThing(updatedThing);
+        report.AddThing(null);
+        
+        assertEquals(MappingDirection.FromDstToHub, report.GetMappingDirection());
+        assertEquals(0, report.GetCreatedThings().get(createdThing.getIid()).intValue());
+        assertEquals(3, report.GetUpdatedThings().get(updatedThing.getIid()).intValue());
+        assertTrue(report.IsEmpty());
+        assertFalse(report.IsComplete());
+        
+        report.ResolveRevisionNumbers(x -> x.equals(createdThing.getIid()) ? 4 : null);
+        assertEquals(4, report.GetCreatedThings().get(createdThing.getIid()).intValue());
+        assertEquals(3, report.GetUpdatedThings().get(updatedThing.getIid()).intValue());
+        
+        report.SetComplete();
+        assertTrue(report.IsComplete());
+    }
+
+    @Test
+    public void VerifyAddElement()
+    {
+        var report = new TransferReport(MappingDirection.FromHubToDst);
+        var createdElement = mock(LogicalComponent.class);
+        when(createdElement.getId()).thenReturn(UUID.randomUUID().toString());
+        var updatedElement = mock(LogicalComponent.class);
+        when(updatedElement.getId()).thenReturn(UUID.randomUUID().toString());
+        
+        report.AddElement(createdElement, true);
+        report.AddElement(createdElement, false);
+        report.AddElement(updatedElement, false);
+        report.AddElement(null, false);
+        
+        assertFalse(report.IsEmpty());
+        assertEquals(1, report.GetCreatedElements().size());
+        assertTrue(report.GetCreatedElements().contains(createdElement));
+        assertEquals(1, report.GetUpdatedElements().size());
+        assertTrue(report.GetUpdatedElements().contains(updatedElement));
+        assertThrows(UnsupportedOperationException.class, () -> report.GetUpdatedElements().clear());
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * CapellaArchitectureTestFixture.java
+ *
+ * Copyright (c) 2020-2024 Starion Group S.A.
+ *
+ * Author: Sam Gerené, Alex Vorobiev, Nathanael Smiechowski 
+ *
+ * This file is part of DEH-MDSYSML
+ *
+ * The DEH-MDSYSML is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * The DEH-MDSYSML is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package Enumerations;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import org.eclipse.emf.common.util.BasicEList;
+import org.eclipse.emf.common.util.TreeIterator;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.polarsys.capella.core.data.la.LogicalArchitecture;
+import org.polarsys.capella.core.data.la.LogicalComponent;
+import org.polarsys.capella.core.data.pa.PhysicalArchitecture;
+
+public class CapellaArchitectureTestFixture
+{
+    private LogicalArchitecture logicalArchitecture;
+    private PhysicalArchitecture physicalArchitecture;
+    private LogicalComponent component;
+    private LogicalComponent otherSessionComponent;
+    private ResourceSet resourceSet;
+
+    @BeforeEach
+    public void Setup()
+    {
+        CapellaArchitecture.InvalidateAll();
+        this.logicalArchitecture = mock(LogicalArchitecture.class);
+        this.physicalArchitecture = mock(PhysicalArchitecture.class);
+        
+        this.resourceSet = mock(ResourceSet.class);
+        var resource = mock(Resource.class);
+        when(resource.getResourceSet()).thenReturn(this.resourceSet);
+        var otherResource = mock(Resource.class);
+        when(otherResource.getResourceSet()).thenReturn(mock(ResourceSet.class));
+        
+        this.component = mock(LogicalComponent.class);
+        when(this.component.eContainer()).thenReturn(this.logicalArchitecture);
+        when(this.component.eResource()).thenReturn(resource);
+        when(this.component.eAllContents()).thenReturn(mock(TreeIterator.class));
+        when(this.component.eContents()).thenReturn(new BasicEList<EObject>());
+        
+        this.otherSessionComponent = mock(LogicalComponent.class);
+        when(this.otherSessionComponent.eContainer()).thenReturn(this.logicalArchitecture);
+        when(this.otherSessionComponent.eResource()).thenReturn(otherResource);
+    }
+
+    @Test
+    public void VerifyResolvedArchitecturesAreCached()
+    {
+        assertNull(CapellaArchitecture.From((org.polarsys.kitalpha.emde.model.Element)null));
+        assertEquals(CapellaArchitecture.LogicalArchitecture, CapellaArchitecture.From(this.component));
+        
+        when(this.component.eContainer()).thenReturn(this.physicalArchitecture);
+        assertEquals(CapellaArchitecture.LogicalArchitecture, CapellaArchitecture.From(this.component));
+        assertTrue(CapellaArchitecture.LogicalArchitecture.AreSameArchitecture(this.component));
+        
+        CapellaArchitecture.Invalidate(this.component);
+        assertEquals(CapellaArchitecture.PhysicalArchitecture, CapellaArchitecture.From(this.component));
+    }
+
+    @Test
+    public void VerifyInvalidateAllOnlyForgetsTheProvidedResourceSet()
+    {
+        assertEquals(CapellaArchitecture.LogicalArchitecture, CapellaArchitecture.From(this.component));
+        assertEquals(CapellaArchitecture.LogicalArchitecture, CapellaArchitecture.From(this.otherSessionComponent));
+        
+        when(this.component.eContainer()).thenReturn(this.physicalArchitecture);
+        when(this.otherSessionComponent.eContainer()).thenReturn(this.physicalArchitecture);
+        
+        CapellaArchitecture.InvalidateAll(this.resourceSet);
+        
+        assertEquals(CapellaArchitecture.PhysicalArchitecture, CapellaArchitecture.From(this.component));
+        assertEquals(CapellaArchitecture.LogicalArchitecture, CapellaArchitecture.From(this.otherSessionComponent));
+        
+        CapellaArchitecture.InvalidateAll();
+        assertEquals(CapellaArchitecture.PhysicalArchitecture, CapellaArchitecture.From(this.otherSessionComponent));
+    }
+}
@@ -313,4 +313,16 @@ public class CapellaTracesToBinaryRelationshipTestFixture
         assertEquals(1, mapResult.size());
         assertEquals(this.relationship0Name, mapResult.get(0).getName());
     }
+
+    @Test
+    public void VerifyTransformOnlyExaminesAddedElements()
+    {
+        this.elements.SetAddedElements(Arrays.asList(this.elements.get(0)));
+        var mapResult = this.mappingRule.Transform(this.elements);
+        assertEquals(1, mapResult.size());
+        assertEquals(this.relationship0Name, mapResult.get(0).getName());
+        
+        this.elements.SetAddedElements(Arrays.asList(this.elements.get(1)));
+        assertTrue(this.mappingRule.Transform(this.elements).isEmpty());
+    }
 }
@@ -196,6 +196,13 @@ class ElementToComponentMappingRuleTestFixture
             return true;
         });
         
+        when(this.dstController.TryGetElementBy(any(), any(), any(), any(Ref.class))).thenAnswer(x -> 
+        {
+            var refElement = x.getArgument(3, Ref.class);
+            refElement.Set(this.MockElement("", PhysicalComponent.class));
+            return true;
+        });
+        
         when(this.transactionService.Clone(any())).thenAnswer(x -> x.getArgument(0));
         
         assertEquals(2, this.mappingRule.Transform(this.elements).size());
@@ -0,0 +1,110 @@
+/*
+ * CapellaModelSnapshotTestFixture.java
+ *
+ * Copyright (c) 2020-2024 Starion Group S.A.
+ *
+ * Author: Sam Gerené, Alex Vorobiev, Nathanael Smiechowski, Antoine Théate
+ *
+ * This file is part of DEH-Capella
+ *
+ * The DEH-Capella is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * The DEH-Capella is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package Services.CapellaSession;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.polarsys.capella.core.data.la.LogicalArchitecture;
+import org.polarsys.capella.core.data.la.LogicalComponent;
+import org.polarsys.capella.core.data.pa.PhysicalArchitecture;
+import org.polarsys.capella.core.data.pa.PhysicalComponent;
+import org.polarsys.kitalpha.emde.model.Element;
+
+import Enumerations.CapellaArchitecture;
+
+public class CapellaModelSnapshotTestFixture
+{
+    private LogicalArchitecture logicalArchitecture;
+    private LogicalComponent logicalComponent;
+    private PhysicalArchitecture physicalArchitecture;
+    private PhysicalComponent physicalComponent;
+    private PhysicalComponent physicalSubComponent;
+    private CapellaModelSnapshot snapshot;
+
+    @BeforeEach
+    public void Setup()
+    {
+        CapellaArchitecture.InvalidateAll();
+        this.logicalArchitecture = mock(LogicalArchitecture.class);
+        this.logicalComponent = mock(LogicalComponent.class);
+        when(this.logicalComponent.getName()).thenReturn("Component");
+        when(this.logicalComponent.getId()).thenReturn(UUID.randomUUID().toString());
+        when(this.logicalComponent.eContainer()).thenReturn(this.logicalArchitecture);
+        
+        this.physicalArchitecture = mock(PhysicalArchitecture.class);
+        this.physicalComponent = mock(PhysicalComponent.class);
+        when(this.physicalComponent.getName()).thenReturn("component");
+        when(this.physicalComponent.getId()).thenReturn(UUID.randomUUID().toString());
+        when(this.physicalComponent.eContainer()).thenReturn(this.physicalArchitecture);
+        this.physicalSubComponent = mock(PhysicalComponent.class);
+        when(this.physicalSubComponent.getName()).thenReturn("Sub Component");
+        when(this.physicalSubComponent.eContainer()).thenReturn(this.physicalComponent);
+
+        this.snapshot = CapellaModelSnapshot.Create(Arrays.<Element>asList(this.logicalArchitecture, this.logicalComponent, 
+                this.physicalArchitecture, this.physicalComponent, this.physicalSubComponent));
+    }
+
+    @Test
+    public void VerifyStructure()
+    {
+        assertEquals(5, this.snapshot.Size());
+        assertEquals(0, CapellaModelSnapshot.Create(Collections.emptyList()).Size());
+        assertSame(this.logicalComponent, this.snapshot.GetElement(1));
+        assertEquals(this.logicalComponent.getId(), this.snapshot.GetId(1));
+        assertEquals("Component", this.snapshot.GetName(1));
+        assertNull(this.snapshot.GetEClassName(1));
+        assertEquals(CapellaModelSnapshot.NONE, this.snapshot.GetParent(0));
+        assertEquals(0, this.snapshot.GetParent(1));
+        assertEquals(3, this.snapshot.GetParent(4));
+        assertArrayEquals(new int[] { 3 }, this.snapshot.GetChildren(2));
+        assertArrayEquals(new int[0], this.snapshot.GetChildren(4));
+        assertEquals(CapellaArchitecture.LogicalArchitecture, this.snapshot.GetArchitecture(1));
+        assertEquals(CapellaArchitecture.PhysicalArchitecture, this.snapshot.GetArchitecture(2));
+        assertEquals(CapellaArchitecture.PhysicalArchitecture, this.snapshot.GetArchitecture(4));
+    }
+
+    @Test
+    public void VerifyQueries()
+    {
+        assertEquals(3, this.snapshot.FindById(this.physicalComponent.getId()));
+        assertEquals(CapellaModelSnapshot.NONE, this.snapshot.FindById(UUID.randomUUID().toString()));
+        assertEquals(CapellaModelSnapshot.NONE, this.snapshot.FindById(null));
+        assertArrayEquals(new int[] { 1, 3 }, this.snapshot.FindByName("COMPONENT"));
+        assertArrayEquals(new int[] { 3 }, this.snapshot.FindByName("component", CapellaArchitecture.PhysicalArchitecture));
+        assertArrayEquals(new int[] { 4 }, this.snapshot.FindByName("subcomponent"));
+        assertArrayEquals(new int[0], this.snapshot.FindByName("component", CapellaArchitecture.SystemAnalysis));
+        assertArrayEquals(new int[0], this.snapshot.FindByName(null));
+        assertEquals(CapellaModelSnapshot.NONE, this.snapshot.FindById("Component"));
+        
+        this.snapshot.FindByName("component")[0] = 4;
+        assertArrayEquals(new int[] { 1, 3 }, this.snapshot.FindByName("component"));
+    }
+}
@@ -0,0 +1,229 @@
+/*
+ * CapellaSessionElementIndexTestFixture.java
+ *
+ * Copyright (c) 2020-2024 Starion Group S.A.
+ *
+ * Author: Sam Gerené, Alex Vorobiev, Nathanael Smiechowski, Antoine Théate
+ *
+ * This file is part of DEH-Capella
+ *
+ * The DEH-Capella is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * The DEH-Capella is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package Services.CapellaSession;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.emf.common.notify.Notification;
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EAttribute;
+import org.eclipse.emf.transaction.ResourceSetChangeEvent;
+import org.eclipse.sirius.business.api.session.Session;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.polarsys.capella.core.data.la.LogicalComponent;
+import org.polarsys.capella.core.data.pa.PhysicalComponent;
+import org.polarsys.kitalpha.vp.requirements.Requirements.Requirement;
+
+import Enumerations.CapellaArchitecture;
+
+public class CapellaSessionElementIndexTestFixture extends CapellaSessionRelatedBaseTestFixture
+{
+    private Session session;
+    private CapellaSessionElementIndex index;
+
+    @BeforeEach
+    public void Setup()
+    {
+        when(this.LogicalComponent.getName()).thenReturn("Logical Component");
+        this.session = this.GetSession(URI.createURI("t.e.s.t"));
+        this.index = new CapellaSessionElementIndex(this.session);
+    }
+
+    @Test
+    public void VerifyBuild()
+    {
+        assertFalse(this.index.IsBuilt());
+        assertFalse(new CapellaSessionElementIndex(mock(Session.class)).IsBuilt());
+        assertDoesNotThrow(() -> this.index.Build());
+        assertTrue(this.index.IsBuilt());
+        assertEquals(16, this.index.Size());
+        verify(this.session.getTransactionalEditingDomain(), times(1)).addResourceSetListener(this.index);
+    }
+
+    @Test
+    public void VerifyCanceledBuild()
+    {
+        var monitor = mock(IProgressMonitor.class);
+        when(monitor.isCanceled()).thenReturn(true);
+        
+        assertFalse(this.index.Build(monitor));
+        assertFalse(this.index.IsBuilt());
+        verify(this.session.getTransactionalEditingDomain(), times(1)).removeResourceSetListener(this.index);
+    }
+
+    @Test
+    public void VerifyFailedBuild() throws InterruptedException
+    {
+        doThrow(new IllegalStateException("Concurrent write")).when(this.session.getTransactionalEditingDomain()).runExclusive(any());
+        
+        assertFalse(assertDoesNotThrow(() -> this.index.Build(new NullProgressMonitor())));
+        assertFalse(this.index.IsBuilt());
+        verify(this.session.getTransactionalEditingDomain(), times(3)).runExclusive(any());
+        verify(this.session.getTransactionalEditingDomain(), times(1)).removeResourceSetListener(this.index);
+    }
+
+    @Test
+    public void VerifyScan()
+    {
+        var scan = CapellaSessionElementIndex.Scan(this.session);
+        
+        assertFalse(scan.IsBuilt());
+        assertEquals(16, scan.Size());
+        assertSame(this.LogicalComponent, scan.GetElementById(this.LogicalComponentId));
+        verify(this.session.getTransactionalEditingDomain(), never()).addResourceSetListener(any());
+    }
+
+    @Test
+    public void VerifyChangesDuringBuildAreApplied()
+    {
+        assertTrue(this.index.StartListening());
+        
+        var notification = mock(Notification.class);
+        when(notification.getNotifier()).thenReturn(this.LogicalComponent);
+        when(notification.getFeature()).thenReturn(mock(EAttribute.class));
+        var event = mock(ResourceSetChangeEvent.class);
+        when(event.getNotifications()).thenReturn(Arrays.asList(notification));
+
+        when(this.LogicalComponent.getName()).thenReturn("Renamed");
+        this.index.resourceSetChanged(event);
+        assertEquals(0, this.index.Size());
+        
+        assertTrue(this.index.Build(new NullProgressMonitor()));
+        assertTrue(this.index.GetElementsByName("renamed").contains(this.LogicalComponent));
+        assertEquals(16, this.index.Size());
+        verify(this.session.getTransactionalEditingDomain(), times(1)).addResourceSetListener(this.index);
+    }
+
+    @Test
+    public void VerifyQueries()
+    {
+        this.index.Build();
+
+        assertSame(this.LogicalComponent, this.index.GetElementById(this.LogicalComponentId));
+        assertNull(this.index.GetElementById(null));
+        assertTrue(this.index.GetElementsOfType(LogicalComponent.class).contains(this.LogicalComponent));
+        assertEquals(1, this.index.GetElementsOfType(LogicalComponent.class).size());
+        assertEquals(5, this.index.GetElementsOfType(Requirement.class).size());
+        assertTrue(this.index.GetElementsOfType(PhysicalComponent.class).isEmpty());
+        assertTrue(this.index.GetElementsByName("logicalcomponent").contains(this.LogicalComponent));
+        assertTrue(this.index.GetElementsByName("LOGICAL COMPONENT").contains(this.LogicalComponent));
+        assertTrue(this.index.GetElementsByName("Physical Component").isEmpty());
+        assertTrue(this.index.GetElementsByName(null).isEmpty());
+    }
+
+    @Test
+    public void VerifyGetSnapshot()
+    {
+        this.index.Build();
+        var snapshot = this.index.GetSnapshot();
+        
+        assertEquals(16, snapshot.Size());
+        assertSame(snapshot, this.index.GetSnapshot());
+        assertEquals(1, snapshot.FindByName("logical component").length);
+        assertSame(this.LogicalComponent, snapshot.GetElement(snapshot.FindById(this.LogicalComponentId)));
+        
+        var notification = mock(Notification.class);
+        when(notification.getNotifier()).thenReturn(this.LogicalComponent);
+        when(notification.getFeature()).thenReturn(mock(EAttribute.class));
+        var event = mock(ResourceSetChangeEvent.class);
+        when(event.getNotifications()).thenReturn(Arrays.asList(notification));
+        when(this.LogicalComponent.getName()).thenReturn("Renamed");
+        this.index.resourceSetChanged(event);
+        
+        assertNotSame(snapshot, this.index.GetSnapshot());
+        assertEquals(1, this.index.GetSnapshot().FindByName("renamed").length);
+    }
+
+    @Test
+    public void VerifyGetElementsByReqIFIdentifier()
+    {
+        var requirement = this.index.GetElementsOfType(Requirement.class);
+        assertTrue(requirement.isEmpty());
+        
+        this.index.Build();
+        requirement = this.index.GetElementsOfType(Requirement.class);
+        when(requirement.get(0).getReqIFIdentifier()).thenReturn("REQ-001");
+        
+        var notification = mock(Notification.class);
+        when(notification.getNotifier()).thenReturn(requirement.get(0));
+        when(notification.getFeature()).thenReturn(mock(EAttribute.class));
+        var event = mock(ResourceSetChangeEvent.class);
+        when(event.getNotifications()).thenReturn(Arrays.asList(notification));
+        this.index.resourceSetChanged(event);
+        
+        assertTrue(this.index.GetElementsByReqIFIdentifier("req-001").contains(requirement.get(0)));
+        assertTrue(this.index.GetElementsByReqIFIdentifier("REQ-001").contains(requirement.get(0)));
+        assertEquals(1, this.index.GetElementsByReqIFIdentifier("REQ-001").size());
+        assertTrue(this.index.GetElementsByReqIFIdentifier("REQ-002").isEmpty());
+        assertTrue(this.index.GetElementsByReqIFIdentifier(null).isEmpty());
+    }
+
+    @Test
+    public void VerifyRootElements()
+    {
+        this.index.Build();
+
+        assertNotNull(this.index.GetProject());
+        assertNotNull(this.index.GetSystemEngineering());
+        assertSame(this.index.GetProject(), this.index.GetProject());
+        assertNull(this.index.GetArchitecture(CapellaArchitecture.PhysicalArchitecture));
+
+        this.index.Dispose();
+        assertNull(this.index.GetProject());
+    }
+
+    @Test
+    public void VerifyRenameAndDispose()
+    {
+        this.index.Build();
+        var elements = this.index.GetElements();
+        assertSame(elements, this.index.GetElements());
+        assertThrows(UnsupportedOperationException.class, () -> elements.clear());
+
+        var notification = mock(Notification.class);
+        when(notification.getNotifier()).thenReturn(this.LogicalComponent);
+        when(notification.getFeature()).thenReturn(mock(EAttribute.class));
+        var event = mock(ResourceSetChangeEvent.class);
+        when(event.getNotifications()).thenReturn(Arrays.asList(notification));
+
+        when(this.LogicalComponent.getName()).thenReturn("Renamed");
+        assertDoesNotThrow(() -> this.index.resourceSetChanged(event));
+        assertTrue(this.index.GetElementsByName("Logical Component").isEmpty());
+        assertTrue(this.index.GetElementsByName("renamed").contains(this.LogicalComponent));
+        assertEquals(16, this.index.Size());
+        assertSame(elements, this.index.GetElements());
+        assertEquals(elements.indexOf(this.LogicalComponent), new ArrayList<>(this.index.GetElements()).indexOf(this.LogicalComponent));
+
+        this.index.Dispose();
+        assertFalse(this.index.IsBuilt());
+        assertEquals(0, this.index.Size());
+    }
+}
@@ -28,12 +28,14 @@ import static org.mockito.Mockito.*;
 import java.lang.reflect.Field;
 import java.lang.reflect.Modifier;
 import java.util.ArrayList;
+import java.util.Arrays;
 
 import static org.junit.Assert.assertFalse;
 import static org.junit.jupiter.api.Assertions.*;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 
 import Reactive.ObservableValue;
 import Utils.Ref;
@@ -41,9 +43,16 @@ import io.reactivex.functions.Consumer;
 
 import org.eclipse.core.runtime.ILog;
 import org.eclipse.core.runtime.Platform;
+import org.eclipse.emf.common.notify.Notification;
+import org.eclipse.emf.ecore.EAttribute;
+import org.eclipse.emf.ecore.EReference;
+import org.eclipse.emf.transaction.ResourceSetChangeEvent;
+import org.eclipse.emf.transaction.ResourceSetListener;
+import org.eclipse.emf.transaction.TransactionalEditingDomain;
 import org.eclipse.sirius.business.api.session.Session;
 import org.eclipse.sirius.business.api.session.SessionManager;
 import org.eclipse.sirius.viewpoint.description.Viewpoint;
+import org.polarsys.kitalpha.emde.model.Element;
 
 public class CapellaSessionListenerServiceTestFixture
 {
@@ -87,6 +96,53 @@ public class CapellaSessionListenerServiceTestFixture
         assertEquals(3, timesSessionEventRaised.Get());
     }
     
+    @Test
+    public void VerifySessionChanged()
+    {
+        var session = mock(Session.class);
+        var editingDomain = mock(TransactionalEditingDomain.class);
+        when(session.getTransactionalEditingDomain()).thenReturn(editingDomain);
+        
+        var changes = new ArrayList<CapellaSessionChange>();
+        this.service.SessionChanged().subscribe(x -> changes.add(x));
+        
+        this.service.notifyAddSession(session);
+        var listener = ArgumentCaptor.forClass(ResourceSetListener.class);
+        verify(editingDomain, times(1)).addResourceSetListener(listener.capture());
+        
+        var container = mock(Element.class);
+        var child = mock(Element.class);
+        var renamed = mock(Element.class);
+        
+        var containmentReference = mock(EReference.class);
+        when(containmentReference.isContainment()).thenReturn(true);
+        var containmentNotification = mock(Notification.class);
+        when(containmentNotification.getNotifier()).thenReturn(container);
+        when(containmentNotification.getFeature()).thenReturn(containmentReference);
+        when(containmentNotification.getNewValue()).thenReturn(child);
+        
+        var attributeNotification = mock(Notification.class);
+        when(attributeNotification.getNotifier()).thenReturn(renamed);
+        when(attributeNotification.getFeature()).thenReturn(mock(EAttribute.class));
+        
+        var event = mock(ResourceSetChangeEvent.class);
+        when(event.getNotifications()).thenReturn(Arrays.asList(containmentNotification, attributeNotification));
+        
+        assertDoesNotThrow(() -> listener.getValue().resourceSetChanged(event));
+        assertEquals(1, changes.size());
+        assertSame(session, changes.get(0).GetSession());
+        assertEquals(Arrays.asList(child), changes.get(0).GetAddedElements());
+        assertTrue(changes.get(0).GetRemovedElements().isEmpty());
+        assertEquals(Arrays.asList(container, renamed), changes.get(0).GetChangedElements());
+        
+        when(event.getNotifications()).thenReturn(Arrays.asList());
+        listener.getValue().resourceSetChanged(event);
+        assertEquals(1, changes.size());
+        
+        this.service.notifyRemoveSession(session);
+        verify(editingDomain, times(1)).removeResourceSetListener(listener.getValue());
+    }
+    
     @Test
     public void VerifyViewpointEvents()
     {
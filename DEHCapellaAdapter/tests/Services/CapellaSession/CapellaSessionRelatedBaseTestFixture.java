@@ -23,6 +23,7 @@
  */
 package Services.CapellaSession;
 
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
@@ -41,7 +42,9 @@ import org.eclipse.emf.common.util.URI;
 import org.eclipse.emf.ecore.EObject;
 import org.eclipse.emf.ecore.resource.Resource;
 import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.transaction.RunnableWithResult;
 import org.eclipse.emf.transaction.TransactionalEditingDomain;
+import org.eclipse.emf.transaction.impl.InternalTransactionalEditingDomain;
 import org.eclipse.sirius.business.api.session.Session;
 import org.polarsys.capella.core.data.capellacore.BooleanPropertyValue;
 import org.polarsys.capella.core.data.capellacore.CapellaElement;
@@ -99,7 +102,7 @@ public abstract class CapellaSessionRelatedBaseTestFixture
         var sessionResource = mock(Resource.class);
         when(sessionResource.getURI()).thenReturn(sessionUri);
         when(session.getSessionResource()).thenReturn(sessionResource);
-        TransactionalEditingDomain transactionalEditingDomain = mock(TransactionalEditingDomain.class);
+        TransactionalEditingDomain transactionalEditingDomain = mock(InternalTransactionalEditingDomain.class);
         ResourceSet resourceSet = mock(ResourceSet.class);
         
         var sessionObjects = new ArrayList<Notifier>();
@@ -141,8 +144,30 @@ public abstract class CapellaSessionRelatedBaseTestFixture
         when(resourceSet.getAllContents()).thenReturn(tree);
         when(transactionalEditingDomain.getResourceSet()).thenReturn(resourceSet);
         when(session.getTransactionalEditingDomain()).thenReturn(transactionalEditingDomain);
+        RunExclusiveOn(transactionalEditingDomain);
         return session;
     }
+
+    /**
+     * Makes the provided mocked {@linkplain TransactionalEditingDomain} run the exclusive read-only {@linkplain Runnable}s it gets
+     * 
+     * @param transactionalEditingDomain the mocked {@linkplain TransactionalEditingDomain}
+     */
+    protected static void RunExclusiveOn(TransactionalEditingDomain transactionalEditingDomain)
+    {
+        try
+        {
+            when(transactionalEditingDomain.runExclusive(any())).thenAnswer(x -> 
+            {
+                x.getArgument(0, Runnable.class).run();
+                return x.getArgument(0) instanceof RunnableWithResult<?> ? ((RunnableWithResult<?>)x.getArgument(0)).getResult() : null;
+            });
+        }
+        catch (InterruptedException exception)
+        {
+            Thread.currentThread().interrupt();
+        }
+    }
     
     /**
      * Gets the session elements as a {@linkplain List} of {@linkplain CapellaElement}
@@ -33,6 +33,8 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
 import static org.junit.Assert.assertFalse;
 import static org.junit.jupiter.api.Assertions.*;
@@ -51,7 +53,9 @@ import org.polarsys.capella.core.data.information.Property;
 import org.polarsys.capella.core.data.information.datavalue.NumericValue;
 import org.polarsys.capella.core.data.la.LogicalArchitecture;
 import org.polarsys.capella.core.data.la.LogicalComponent;
+import org.polarsys.capella.core.model.helpers.BlockArchitectureExt.Type;
 import org.polarsys.kitalpha.vp.requirements.Requirements.Folder;
+import org.polarsys.kitalpha.vp.requirements.Requirements.Requirement;
 import org.polarsys.kitalpha.emde.model.Element;
 
 import Reactive.ObservableValue;
@@ -78,6 +82,8 @@ import org.eclipse.emf.ecore.resource.ResourceSet;
 import org.eclipse.emf.ecore.util.EcoreUtil;
 import org.eclipse.emf.edit.provider.AdapterFactoryTreeIterator;
 import org.eclipse.emf.transaction.TransactionalEditingDomain;
+import org.eclipse.emf.transaction.impl.InternalTransaction;
+import org.eclipse.emf.transaction.impl.InternalTransactionalEditingDomain;
 import org.eclipse.sirius.business.api.session.Session;
 import org.eclipse.sirius.business.api.session.SessionManager;
 
@@ -143,6 +149,23 @@ public class CapellaSessionServiceTestFixture extends CapellaSessionRelatedBaseT
         assertEquals(null, requirementType);
     }
 
+    @Test
+    public void VerifyStreamContents()
+    {
+        var session = this.GetSession(URI.createURI("t.e.s.t"));
+        assertEquals(16, this.service.StreamContents(session, CapellaSessionContentsPruning.None()).count());
+        
+        session = this.GetSession(URI.createURI("t.e.s.t"));
+        assertEquals(5, this.service.StreamContents(session, Requirement.class, CapellaSessionContentsPruning.None()).count());
+        
+        session = this.GetSession(URI.createURI("t.e.s.t"));
+        assertEquals(1, this.service.StreamContents(session, CapellaSessionContentsPruning.DoNotDescendInto(Project.class)).count());
+        
+        session = this.GetSession(URI.createURI("t.e.s.t"));
+        assertTrue(this.service.StreamContents(session, LogicalComponent.class, CapellaSessionContentsPruning.OnlyDescendInto(null))
+                .findFirst().isEmpty());
+    }
+
     @Test
     public void VerifyGetAllCapellaElementsFromOpenSessions()
     {
@@ -155,4 +178,78 @@ public class CapellaSessionServiceTestFixture extends CapellaSessionRelatedBaseT
         assertTrue(result.Get().keySet().contains(this.sessionUri));
         assertEquals(16, result.Get().get(this.sessionUri).size());
     }
+
+    @Test
+    public void VerifyGetTopElementWithoutArchitecture()
+    {
+        var session = this.GetSession(URI.createURI("t.e.s.t"));
+        
+        assertNull(assertDoesNotThrow(() -> this.service.GetTopElement(session)));
+        assertNull(this.service.GetTopElement((Session)null));
+        assertNull(this.service.GetTopElement((Project)null, Type.PA));
+    }
+
+    @Test
+    public void VerifyQueriesFallBackToAScanWhenTheIndexCannotBeBuilt() throws InterruptedException
+    {
+        var session = this.GetSession(URI.createURI("t.e.s.t"));
+        var domain = session.getTransactionalEditingDomain();
+        
+        doThrow(new IllegalStateException("Concurrent write"))
+            .doThrow(new IllegalStateException("Concurrent write"))
+            .doThrow(new IllegalStateException("Concurrent write"))
+            .doAnswer(x -> 
+            {
+                x.getArgument(0, Runnable.class).run();
+                return null;
+            })
+            .when(domain).runExclusive(any());
+        
+        assertEquals(16, this.service.GetElements(session).size());
+        assertSame(this.LogicalComponent, this.service.GetElementById(session, this.LogicalComponentId));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void VerifyLookupInsideRunExclusiveDoesNotWaitForThePendingWarmUp() throws Exception
+    {
+        var session = this.GetSession(URI.createURI("t.e.s.t"));
+        var domain = (InternalTransactionalEditingDomain)session.getTransactionalEditingDomain();
+        when(this.sessionManager.GetSessions()).thenReturn(Arrays.asList(session));
+        
+        var exclusiveDepth = new AtomicInteger();
+        var owner = new AtomicReference<Thread>();
+        var transaction = mock(InternalTransaction.class);
+        when(transaction.getOwner()).thenAnswer(x -> owner.get());
+        when(domain.getActiveTransaction()).thenAnswer(x -> exclusiveDepth.get() > 0 ? transaction : null);
+        
+        doAnswer(x -> 
+        {
+            owner.set(Thread.currentThread());
+            exclusiveDepth.incrementAndGet();
+            
+            try
+            {
+                x.getArgument(0, Runnable.class).run();
+                return null;
+            }
+            finally
+            {
+                exclusiveDepth.decrementAndGet();
+            }
+        }).when(domain).runExclusive(any());
+        
+        var job = mock(CapellaSessionIndexWarmUpJob.class);
+        when(job.Await()).thenThrow(new AssertionError("The lookup waited for the warm up while owning the model lock"));
+        
+        Field warmUpJobsField = CapellaSessionService.class.getDeclaredField("warmUpJobs");
+        warmUpJobsField.setAccessible(true);
+        ((HashMap<Session, CapellaSessionIndexWarmUpJob>)warmUpJobsField.get(this.service)).put(session, job);
+        
+        var result = new Ref<>(Element.class);
+        
+        assertTrue(this.service.RunExclusive(() -> result.Set(this.service.GetElementById(session, this.LogicalComponentId))));
+        assertSame(this.LogicalComponent, result.Get());
+        verify(job, never()).Await();
+    }
 }
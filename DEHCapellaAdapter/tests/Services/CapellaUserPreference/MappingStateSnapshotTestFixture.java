@@ -0,0 +1,72 @@
+/*
+ * MappingStateSnapshotTestFixture.java
+ *
+ * Copyright (c) 2020-2024 Starion Group S.A.
+ *
+ * Author: Sam Gerené, Alex Vorobiev, Nathanael Smiechowski, Antoine Théate
+ *
+ * This file is part of DEH-Capella
+ *
+ * The DEH-Capella is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * The DEH-Capella is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package Services.CapellaUserPreference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+import Enumerations.CapellaArchitecture;
+import Enumerations.MappingDirection;
+
+public class MappingStateSnapshotTestFixture
+{
+    @Test
+    public void VerifyWriteAndRead() throws IOException
+    {
+        var iterationIid = UUID.randomUUID();
+        
+        var snapshot = new MappingStateSnapshot("file:/model.aird", iterationIid, 42L, Arrays.asList(
+                new MappingStateSnapshot.Entry(UUID.randomUUID(), "externalId0", "externalId0", UUID.randomUUID(), 3, 
+                        CapellaArchitecture.PhysicalArchitecture, MappingDirection.FromHubToDst),
+                new MappingStateSnapshot.Entry(null, "externalId1", null, UUID.randomUUID(), -1, null, MappingDirection.FromDstToHub)));
+        
+        var outputStream = new ByteArrayOutputStream();
+        snapshot.Write(outputStream);
+        var readSnapshot = MappingStateSnapshot.Read(new ByteArrayInputStream(outputStream.toByteArray()));
+        
+        assertEquals(snapshot, readSnapshot);
+        assertEquals(snapshot.hashCode(), readSnapshot.hashCode());
+        assertTrue(readSnapshot.IsFor("file:/model.aird", iterationIid));
+        assertFalse(readSnapshot.IsFor("file:/model.aird", UUID.randomUUID()));
+        assertEquals(42L, readSnapshot.GetModelTimeStamp());
+        assertNull(readSnapshot.GetEntries().get(1).resolvedElementId);
+        assertNull(readSnapshot.GetEntries().get(1).targetArchitecture);
+    }
+
+    @Test
+    public void VerifyReadRejectsOtherFormats()
+    {
+        assertThrows(IOException.class, () -> MappingStateSnapshot.Read(new ByteArrayInputStream(new byte[] { 1, 2, 3, 4, 5, 6, 7, 8 })));
+        
+        var versionTwo = new byte[] { 0x44, 0x43, 0x4d, 0x53, 0, 0, 0, 2 };
+        assertThrows(IOException.class, () -> MappingStateSnapshot.Read(new ByteArrayInputStream(versionTwo)));
+    }
+}
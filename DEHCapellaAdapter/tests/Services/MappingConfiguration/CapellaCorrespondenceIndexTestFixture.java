@@ -0,0 +1,110 @@
+/*
+ * CapellaCorrespondenceIndexTestFixture.java
+ *
+ * Copyright (c) 2020-2024 Starion Group S.A.
+ *
+ * Author: Sam Gerené, Alex Vorobiev, Nathanael Smiechowski, Antoine Théate
+ *
+ * This file is part of DEH-Capella
+ *
+ * The DEH-Capella is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * The DEH-Capella is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package Services.MappingConfiguration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.UUID;
+
+import org.apache.commons.lang3.tuple.MutableTriple;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import Enumerations.MappingDirection;
+
+public class CapellaCorrespondenceIndexTestFixture
+{
+    private CapellaCorrespondenceIndex index;
+    private MutableTriple<UUID, CapellaExternalIdentifier, UUID> correspondence0;
+    private MutableTriple<UUID, CapellaExternalIdentifier, UUID> correspondence1;
+    private UUID internalId;
+
+    @BeforeEach
+    public void Setup()
+    {
+        this.index = new CapellaCorrespondenceIndex();
+        this.internalId = UUID.randomUUID();
+        this.correspondence0 = MutableTriple.of(UUID.randomUUID(), this.CreateExternalIdentifier("id0"), this.internalId);
+        this.correspondence1 = MutableTriple.of(UUID.randomUUID(), this.CreateExternalIdentifier("id1"), this.internalId);
+    }
+
+    private CapellaExternalIdentifier CreateExternalIdentifier(String identifier)
+    {
+        var externalIdentifier = new CapellaExternalIdentifier();
+        externalIdentifier.Identifier = identifier;
+        externalIdentifier.MappingDirection = MappingDirection.FromDstToHub;
+        return externalIdentifier;
+    }
+
+    @Test
+    public void VerifyIndex()
+    {
+        assertTrue(this.index.GetByExternalId("id0").isEmpty());
+        assertTrue(this.index.GetByExternalId(null).isEmpty());
+        this.index.Index(this.correspondence0);
+        this.index.Index(this.correspondence1);
+        this.index.Index(this.correspondence1);
+        
+        assertEquals(2, this.index.Size());
+        assertEquals(Arrays.asList(this.correspondence0), this.index.GetByExternalId("id0"));
+        assertEquals(2, this.index.GetByInternalId(this.internalId).size());
+        
+        this.correspondence0.setMiddle(this.CreateExternalIdentifier("id2"));
+        this.correspondence0.setRight(UUID.randomUUID());
+        this.index.Index(this.correspondence0);
+        
+        assertTrue(this.index.GetByExternalId("id0").isEmpty());
+        assertEquals(1, this.index.GetByExternalId("id2").size());
+        assertEquals(Arrays.asList(this.correspondence1), this.index.GetByInternalId(this.internalId));
+        
+        this.index.Remove(this.correspondence1);
+        assertTrue(this.index.GetByInternalId(this.internalId).isEmpty());
+        assertEquals(1, this.index.Size());
+    }
+
+    @Test
+    public void VerifySynchronize()
+    {
+        var correspondences = new ArrayList<>(Arrays.asList(this.correspondence0, this.correspondence1));
+        
+        assertTrue(this.index.Synchronize(correspondences));
+        assertFalse(this.index.Synchronize(correspondences));
+        assertEquals(2, this.index.Size());
+        
+        this.correspondence1.getMiddle().Identifier = "id2";
+        assertTrue(this.index.Synchronize(correspondences));
+        assertEquals(1, this.index.GetByExternalId("id2").size());
+        assertTrue(this.index.GetByExternalId("id1").isEmpty());
+        
+        correspondences.remove(this.correspondence0);
+        assertTrue(this.index.Synchronize(correspondences));
+        assertTrue(this.index.GetByExternalId("id0").isEmpty());
+        assertEquals(1, this.index.Size());
+        
+        this.index.Clear();
+        assertEquals(0, this.index.Size());
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * CapellaHubThingResolverTestFixture.java
+ *
+ * Copyright (c) 2020-2024 Starion Group S.A.
+ *
+ * Author: Sam Gerené, Alex Vorobiev, Nathanael Smiechowski, Antoine Théate
+ *
+ * This file is part of DEH-Capella
+ *
+ * The DEH-Capella is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * The DEH-Capella is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package Services.MappingConfiguration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.util.Arrays;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import HubController.IHubController;
+import Utils.Ref;
+import cdp4common.commondata.Thing;
+import cdp4common.engineeringmodeldata.ElementDefinition;
+import cdp4common.engineeringmodeldata.Requirement;
+import cdp4common.engineeringmodeldata.RequirementsSpecification;
+
+public class CapellaHubThingResolverTestFixture
+{
+    private IHubController hubController;
+    private CapellaHubThingResolver resolver;
+    private Requirement requirement0;
+    private Requirement requirement1;
+    private ElementDefinition elementDefinition;
+
+    @BeforeEach
+    public void Setup()
+    {
+        this.hubController = mock(IHubController.class);
+        this.requirement0 = new Requirement(UUID.randomUUID(), null, null);
+        this.requirement1 = new Requirement(UUID.randomUUID(), null, null);
+        var requirementsSpecification = new RequirementsSpecification(UUID.randomUUID(), null, null);
+        requirementsSpecification.getRequirement().add(this.requirement0);
+        requirementsSpecification.getRequirement().add(this.requirement1);
+        this.elementDefinition = new ElementDefinition(UUID.randomUUID(), null, null);
+        
+        when(this.hubController.TryGetThingById(any(UUID.class), any(Ref.class))).thenAnswer(x -> 
+        {
+            var iid = x.getArgument(0, UUID.class);
+            
+            var thing = Arrays.<Thing>asList(this.requirement0, this.requirement1, this.elementDefinition).stream()
+                    .filter(t -> t.getIid().equals(iid))
+                    .findFirst();
+            
+            thing.ifPresent(t -> x.getArgument(1, Ref.class).Set(t));
+            return thing.isPresent();
+        });
+        
+        this.resolver = new CapellaHubThingResolver(this.hubController);
+    }
+
+    @Test
+    public void VerifyResolve()
+    {
+        var unknownIid = UUID.randomUUID();
+        
+        assertEquals(2, this.resolver.Resolve(Arrays.asList(this.elementDefinition.getIid(), this.requirement0.getIid(), 
+                this.elementDefinition.getIid(), unknownIid, null)));
+        
+        assertEquals(0, this.resolver.Resolve(Arrays.asList(this.elementDefinition.getIid(), unknownIid)));
+        
+        var refElementDefinition = new Ref<>(ElementDefinition.class);
+        assertTrue(this.resolver.TryGet(this.elementDefinition.getIid(), refElementDefinition));
+        assertSame(this.elementDefinition, refElementDefinition.Get());
+        assertFalse(this.resolver.TryGet(this.requirement0.getIid(), new Ref<>(ElementDefinition.class)));
+        assertFalse(this.resolver.TryGet(unknownIid, new Ref<>(Thing.class)));
+        assertTrue(this.resolver.TryGet(this.requirement1.getIid(), new Ref<>(Requirement.class)));
+        
+        verify(this.hubController, times(4)).TryGetThingById(any(UUID.class), any(Ref.class));
+    }
+
+    @Test
+    public void VerifyGetFromSharedClone()
+    {
+        var clone0 = this.resolver.GetFromSharedClone(this.requirement0);
+        var clone1 = this.resolver.GetFromSharedClone(this.requirement1);
+        
+        assertNotSame(this.requirement0, clone0);
+        assertEquals(this.requirement0.getIid(), clone0.getIid());
+        assertSame(clone0.getContainer(), clone1.getContainer());
+        assertEquals(1, this.resolver.GetRequirementsSpecificationCloneCount());
+        
+        this.requirement1.setDeprecated(true);
+        assertNotNull(this.resolver.GetFromSharedClone(this.requirement1));
+        assertNull(this.resolver.GetFromSharedClone(new Requirement(UUID.randomUUID(), null, null)));
+    }
+}
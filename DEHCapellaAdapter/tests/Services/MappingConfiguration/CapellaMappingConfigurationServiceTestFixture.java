@@ -33,13 +33,16 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.UUID;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
 import org.apache.commons.lang3.tuple.ImmutableTriple;
 import org.apache.commons.lang3.tuple.MutableTriple;
+import org.eclipse.core.runtime.NullProgressMonitor;
 import org.eclipse.emf.common.notify.Notifier;
 import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.resource.Resource;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.invocation.InvocationOnMock;
@@ -52,10 +55,13 @@ import HubController.IHubController;
 import Services.CapellaSession.CapellaSessionRelatedBaseTestFixture;
 import Services.CapellaSession.ICapellaSessionService;
 import Services.CapellaTransaction.ICapellaTransactionService;
+import Services.CapellaUserPreference.ICapellaUserPreferenceService;
+import Services.CapellaUserPreference.MappingStateSnapshot;
 import Utils.Ref;
 import ViewModels.Interfaces.IMappedElementRowViewModel;
 import cdp4common.commondata.*;
 import cdp4common.engineeringmodeldata.ElementDefinition;
+import cdp4common.engineeringmodeldata.Iteration;
 import cdp4common.engineeringmodeldata.RequirementsSpecification;
 import io.reactivex.Observable;
 
@@ -68,6 +74,7 @@ public class CapellaMappingConfigurationServiceTestFixture extends CapellaSessio
     private ElementDefinition elementDefinition0;
     private cdp4common.engineeringmodeldata.Requirement requirement;
     private ICapellaTransactionService transactionService;
+    private ICapellaUserPreferenceService userPreferenceService;
 
     /**
      * @throws java.lang.Exception
@@ -85,7 +92,9 @@ public class CapellaMappingConfigurationServiceTestFixture extends CapellaSessio
         
         this.sessionService = mock(ICapellaSessionService.class);
         this.transactionService = mock(ICapellaTransactionService.class);
-        this.service = new CapellaMappingConfigurationService(this.hubController, this.sessionService, this.transactionService);
+        when(this.sessionService.SessionChanged()).thenReturn(Observable.empty());
+        this.userPreferenceService = mock(ICapellaUserPreferenceService.class);
+        this.service = new CapellaMappingConfigurationService(this.hubController, this.sessionService, this.transactionService, this.userPreferenceService);
     }
 
     @Test
@@ -97,11 +106,8 @@ public class CapellaMappingConfigurationServiceTestFixture extends CapellaSessio
         var session = this.GetSession(this.sessionUri);
         var elements = this.GetSessionElements(session, org.polarsys.kitalpha.emde.model.Element.class);
         
-        var sessionAndObjectsMap = new HashMap<URI, List<Element>>();
-        
-        sessionAndObjectsMap.putIfAbsent(this.sessionUri, elements);
-        
-        when(this.sessionService.GetAllCapellaElementsFromOpenSessions()).thenReturn(sessionAndObjectsMap);
+        when(this.sessionService.GetOpenSessions()).thenReturn(Arrays.asList(session));
+        when(this.sessionService.StreamContents(eq(session), eq(Element.class), any())).thenAnswer(x -> elements.stream());
         
         var result = new Ref<Collection<IMappedElementRowViewModel>>(null);
         assertDoesNotThrow(() -> result.Set(this.service.LoadMapping()));
@@ -142,6 +148,144 @@ public class CapellaMappingConfigurationServiceTestFixture extends CapellaSessio
         assertEquals(2, result.Get().size());
     }
 
+    @Test
+    public void VerifyLoadMappingResolvesMappedElementsOnly()
+    {
+        this.sessionUri = URI.createURI("t.e.s.t");
+        var session = this.GetSession(this.sessionUri);
+        
+        when(this.sessionService.GetOpenSessions()).thenReturn(Arrays.asList(session));
+        when(this.sessionService.GetElementById(eq(session), eq(this.LogicalComponentId))).thenReturn(this.LogicalComponent);
+        when(this.sessionService.StreamContents(eq(session), eq(Element.class), any())).thenAnswer(x -> Stream.empty());
+        when(this.hubController.TryGetThingById(any(UUID.class), any(Ref.class))).thenAnswer(x -> 
+        {
+            x.getArgument(1, Ref.class).Set(this.elementDefinition0);
+            return true;
+        });
+        
+        var componentExternalId = new CapellaExternalIdentifier();
+        componentExternalId.Identifier = this.LogicalComponentId;
+        componentExternalId.MappingDirection = MappingDirection.FromDstToHub;
+        this.service.correspondences.add(MutableTriple.of(UUID.randomUUID(), componentExternalId, this.elementDefinition0.getIid()));
+        
+        assertEquals(1, this.service.LoadMapping().size());
+        verify(this.sessionService, never()).StreamContents(any(), any(), any());
+        
+        var missingExternalId = new CapellaExternalIdentifier();
+        missingExternalId.Identifier = UUID.randomUUID().toString();
+        missingExternalId.MappingDirection = MappingDirection.FromDstToHub;
+        this.service.correspondences.add(MutableTriple.of(UUID.randomUUID(), missingExternalId, this.elementDefinition0.getIid()));
+        
+        assertEquals(1, this.service.LoadMapping().size());
+        assertEquals(1, this.service.LoadMapping().size());
+        verify(this.sessionService, times(1)).StreamContents(any(), any(), any());
+    }
+
+    @Test
+    public void VerifyLoadMappingRehydratesFromMappingStateSnapshot()
+    {
+        this.sessionUri = URI.createURI("t.e.s.t");
+        var session = this.GetSession(this.sessionUri);
+        var iteration = new Iteration(UUID.randomUUID(), null, null);
+        var missingExternalId = UUID.randomUUID().toString();
+        
+        when(this.hubController.GetOpenIteration()).thenReturn(iteration);
+        when(this.sessionService.GetOpenSessions()).thenReturn(Arrays.asList(session));
+        when(this.sessionService.StreamContents(eq(session), eq(Element.class), any())).thenAnswer(x -> Stream.empty());
+        
+        when(this.userPreferenceService.TryGetMappingStateSnapshot(eq(this.sessionUri.toString()), eq(iteration.getIid()), any(Ref.class))).thenAnswer(x -> 
+        {
+            x.getArgument(2, Ref.class).Set(new MappingStateSnapshot(this.sessionUri.toString(), iteration.getIid(), 0L, 
+                    Arrays.asList(new MappingStateSnapshot.Entry(UUID.randomUUID(), missingExternalId, null, this.requirement.getIid(), 
+                            -1, null, MappingDirection.FromDstToHub))));
+            return true;
+        });
+        
+        var externalIdentifier = new CapellaExternalIdentifier();
+        externalIdentifier.Identifier = missingExternalId;
+        externalIdentifier.MappingDirection = MappingDirection.FromDstToHub;
+        this.service.correspondences.add(MutableTriple.of(UUID.randomUUID(), externalIdentifier, this.requirement.getIid()));
+        
+        assertTrue(this.service.LoadMapping().isEmpty());
+        assertTrue(this.service.LoadMapping().isEmpty());
+        verify(this.sessionService, never()).StreamContents(any(), any(), any());
+        verify(this.userPreferenceService, times(1)).TryGetMappingStateSnapshot(any(), any(), any(Ref.class));
+        verify(this.userPreferenceService, times(1)).SaveMappingStateSnapshot(any(MappingStateSnapshot.class));
+    }
+
+    @Test
+    public void VerifyLoadMappingOnlyResolvesTheSnapshotEntriesThatChanged()
+    {
+        this.sessionUri = URI.createURI("t.e.s.t");
+        var session = this.GetSession(this.sessionUri);
+        var iteration = new Iteration(UUID.randomUUID(), null, null);
+        var changedExternalId = UUID.randomUUID().toString();
+        var resource = mock(Resource.class);
+        
+        when(resource.getEObject(this.LogicalComponentId)).thenReturn(this.LogicalComponent);
+        when(session.getSemanticResources()).thenReturn(Arrays.asList(resource));
+        when(this.hubController.GetOpenIteration()).thenReturn(iteration);
+        when(this.sessionService.GetOpenSessions()).thenReturn(Arrays.asList(session));
+        when(this.sessionService.StreamContents(eq(session), eq(Element.class), any())).thenAnswer(x -> Stream.empty());
+        
+        when(this.hubController.TryGetThingById(any(UUID.class), any(Ref.class))).thenAnswer(x -> 
+        {
+            x.getArgument(1, Ref.class).Set(x.getArgument(0).equals(this.elementDefinition0.getIid()) ? this.elementDefinition0 : this.requirement);
+            return true;
+        });
+        
+        when(this.userPreferenceService.TryGetMappingStateSnapshot(eq(this.sessionUri.toString()), eq(iteration.getIid()), any(Ref.class))).thenAnswer(x -> 
+        {
+            x.getArgument(2, Ref.class).Set(new MappingStateSnapshot(this.sessionUri.toString(), iteration.getIid(), 0L, Arrays.asList(
+                    new MappingStateSnapshot.Entry(UUID.randomUUID(), this.LogicalComponentId, this.LogicalComponentId, this.elementDefinition0.getIid(), 
+                            this.elementDefinition0.getRevisionNumber(), null, MappingDirection.FromDstToHub),
+                    new MappingStateSnapshot.Entry(UUID.randomUUID(), changedExternalId, null, this.requirement.getIid(), 
+                            this.requirement.getRevisionNumber() + 1, null, MappingDirection.FromDstToHub))));
+            return true;
+        });
+        
+        var componentExternalId = new CapellaExternalIdentifier();
+        componentExternalId.Identifier = this.LogicalComponentId;
+        componentExternalId.MappingDirection = MappingDirection.FromDstToHub;
+        this.service.correspondences.add(MutableTriple.of(UUID.randomUUID(), componentExternalId, this.elementDefinition0.getIid()));
+        
+        var changedIdentifier = new CapellaExternalIdentifier();
+        changedIdentifier.Identifier = changedExternalId;
+        changedIdentifier.MappingDirection = MappingDirection.FromDstToHub;
+        this.service.correspondences.add(MutableTriple.of(UUID.randomUUID(), changedIdentifier, this.requirement.getIid()));
+        
+        assertEquals(1, this.service.LoadMapping().size());
+        verify(this.sessionService, never()).GetElementById(any(), eq(this.LogicalComponentId));
+        verify(this.sessionService, times(1)).GetElementById(any(), eq(changedExternalId));
+        verify(this.sessionService, times(1)).StreamContents(any(), any(), any());
+        
+        verify(this.userPreferenceService, times(1)).SaveMappingStateSnapshot(argThat(x -> x.GetEntries().stream()
+                .anyMatch(e -> this.LogicalComponentId.equals(e.externalId) && this.LogicalComponentId.equals(e.resolvedElementId))
+                && x.GetEntries().stream().anyMatch(e -> changedExternalId.equals(e.externalId) && e.resolvedElementId == null)));
+    }
+
+    @Test
+    public void VerifyCanceledLoadMappingStopsAndSavesNothing()
+    {
+        this.sessionUri = URI.createURI("t.e.s.t");
+        var session = this.GetSession(this.sessionUri);
+        
+        when(this.hubController.GetOpenIteration()).thenReturn(new Iteration(UUID.randomUUID(), null, null));
+        when(this.sessionService.GetOpenSessions()).thenReturn(Arrays.asList(session));
+        
+        var componentExternalId = new CapellaExternalIdentifier();
+        componentExternalId.Identifier = this.LogicalComponentId;
+        componentExternalId.MappingDirection = MappingDirection.FromDstToHub;
+        this.service.correspondences.add(MutableTriple.of(UUID.randomUUID(), componentExternalId, this.elementDefinition0.getIid()));
+        
+        var monitor = new NullProgressMonitor();
+        monitor.setCanceled(true);
+        
+        assertTrue(this.service.LoadMapping(monitor).isEmpty());
+        verify(this.sessionService, never()).GetElementById(any(), any());
+        verify(this.userPreferenceService, never()).SaveMappingStateSnapshot(any(MappingStateSnapshot.class));
+    }
+
     @Test
     public void VerifyCreateExternalIdentifierMap()
     {